@@ -0,0 +1,197 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Bioclipse Team and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contact: http://www.bioclipse.net/
+ ******************************************************************************/
+package moss;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+
+/**
+ * Base class for tests that run the miner on a small data set of
+ * molecules. The data set is written to a temporary directory, which
+ * also takes the output files of the runs.
+ *
+ * @author The Bioclipse Team
+ */
+public abstract class AbstractMinerTest {
+
+    /** Small molecule data set (name, value, SMILES). */
+    protected static final String[] MOLECULES = {
+        "m1,0,CC(=O)Oc1ccccc1C(=O)O",
+        "m2,0,CC(C)Cc1ccc(cc1)C(C)C(=O)O",
+        "m3,1,CN1C=NC2=C1C(=O)N(C(=O)N2C)C",
+        "m4,0,CC(=O)Nc1ccc(O)cc1",
+        "m5,0,c1ccc2c(c1)cccc2",
+        "m6,1,OC(=O)c1ccccc1O",
+        "m7,0,CCN(CC)CC(=O)Nc1c(C)cccc1C",
+        "m8,0,COc1ccc2[nH]cc(CCN(C)C)c2c1",
+        "m9,1,CN1CCC[C@H]1c1cccnc1",
+        "m10,0,NCCc1ccc(O)c(O)c1",
+        "m11,0,OC1C(O)C(O)C(O)C(O)C1O",
+        "m12,1,CC(C)NCC(O)COc1cccc2ccccc12",
+        "m13,0,Clc1ccc(cc1)C(c1ccccc1)N1CCN(CC1)CCOCC(=O)O",
+        "m14,0,O=C(O)CCc1ccccc1",
+        "m15,1,CCOC(=O)c1ccc(N)cc1",
+        "m16,0,CC1=CC(=O)CCC1",
+        "m17,0,c1ccncc1",
+        "m18,1,c1ccoc1",
+        "m19,0,C1CCNCC1",
+        "m20,0,O=C1NC(=O)c2ccccc12",
+        "m21,1,CC(=O)c1ccc(O)cc1",
+        "m22,0,Nc1ncnc2[nH]cnc12",
+        "m23,0,O=C(O)c1ccncc1",
+        "m24,1,CCOc1ccccc1C(N)=O",
+        "m25,0,CSc1ccc(cc1)C(=O)O",
+        "m26,0,Oc1ccc(cc1)C=CC(=O)O",
+        "m27,1,c1ccc(cc1)N1CCNCC1",
+        "m28,0,CC(O)C(=O)O",
+        "m29,0,OCC(O)CO",
+        "m30,1,CN(C)CCCN1c2ccccc2CCc2ccccc12",
+        "m31,0,FC(F)(F)c1ccc(cc1)OC(CCNC)c1ccccc1",
+        "m32,0,O=C(NCc1ccccc1)c1ccccc1",
+        "m33,1,CC12CCC3C(CCC4=CC(=O)CCC34C)C1CCC2O",
+        "m34,0,CC12CCC3c4ccc(O)cc4CCC3C1CCC2O",
+        "m35,0,Brc1ccc(cc1)S(=O)(=O)N",
+        "m36,1,NS(=O)(=O)c1cc(C(=O)O)c(NCc2ccco2)cc1Cl",
+        "m37,0,CC(C)(C)NCC(O)c1ccc(O)c(CO)c1",
+        "m38,0,O=C1CCCN1",
+        "m39,1,c1ccc2ncccc2c1",
+        "m40,0,Oc1ccccc1"
+    };
+
+    /** Directory for the data set and the output files. */
+    protected static File dir;
+    /** The data set. */
+    protected static File data;
+    /** Counter for unique output file names. */
+    private static int outcnt = 0;
+
+    @BeforeClass public static void createDataSet() throws IOException {
+        dir = File.createTempFile("moss", "");
+        assertTrue(dir.delete() && dir.mkdir());
+        data = new File(dir, "data.smi");
+        writeDataSet(new FileOutputStream(data));
+    }
+
+    @AfterClass public static void deleteDataSet() {
+        File[] files = dir.listFiles();
+        if (files != null)
+            for (File f : files) f.delete();
+        dir.delete();
+    }
+
+    /**
+     * Writes the data set to a stream and closes the stream.
+     *
+     * @param stream the stream to write to
+     */
+    protected static void writeDataSet(OutputStream stream)
+        throws IOException {
+        Writer writer = new OutputStreamWriter(stream, "US-ASCII");
+        try {
+            for (String mol : MOLECULES) writer.write(mol + "\n");
+        } finally {
+            writer.close();
+        }
+    }
+
+    /**
+     * Runs the miner on a data set and returns the found substructures.
+     *
+     * @param in      the data set to search
+     * @param out     the name of the output file
+     * @param options the search options
+     * @param log     buffer for the log messages (may be null)
+     * @return        the contents of the output file
+     */
+    protected static String mine(File in, String out, String options,
+                                 ByteArrayOutputStream log)
+        throws IOException {
+        List<String> args = new ArrayList<String>();
+        File res = new File(dir, out);
+        args.add(in.getPath());
+        args.add(res.getPath());
+        for (String opt : options.split(" +"))
+            if (opt.length() > 0) args.add(opt);
+        args.add("-T");
+        Miner miner = new Miner();
+        if (log == null) log = new ByteArrayOutputStream();
+        miner.setLog(new PrintStream(log, true));
+        miner.init(args.toArray(new String[args.size()]));
+        miner.run();
+        assertNull(log.toString(), miner.getError());
+        return read(res);
+    }
+
+    /**
+     * Runs the miner on the data set and returns the found substructures.
+     *
+     * @param options the search options
+     * @return        the contents of the output file
+     */
+    protected static String mine(String options) throws IOException {
+        return mine(data, "out" + (outcnt++) + ".txt", options, null);
+    }
+
+    /**
+     * Reads a whole file into a string.
+     *
+     * @param file the file to read
+     * @return     the contents of the file
+     */
+    protected static String read(File file) throws IOException {
+        InputStream stream = new FileInputStream(file);
+        Reader reader = new InputStreamReader(stream, "US-ASCII");
+        StringBuilder sb = new StringBuilder();
+        try {
+            char[] buf = new char[4096];
+            for (int n; (n = reader.read(buf)) > 0; )
+                sb.append(buf, 0, n);
+        } finally {
+            reader.close();
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Checks that adding an option does not change the search result.
+     *
+     * @param base   the search options of the reference run
+     * @param option the option(s) to add
+     */
+    protected static void assertSameResult(String base, String option)
+        throws IOException {
+        String expected = mine(base);
+        assertTrue("no substructures found with " + base,
+                   expected.indexOf('\n') < expected.length() - 1);
+        assertEquals(base + " " + option, expected,
+                     mine(base + " " + option));
+    }
+
+}
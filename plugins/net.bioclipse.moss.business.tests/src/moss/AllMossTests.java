@@ -0,0 +1,41 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Bioclipse Team and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contact: http://www.bioclipse.net/
+ ******************************************************************************/
+package moss;
+
+import org.junit.runner.RunWith;
+import org.junit.runners.Suite;
+import org.junit.runners.Suite.SuiteClasses;
+
+@RunWith(Suite.class)
+@SuiteClasses({
+    ParallelSearchTest.class,
+    MarkersTest.class,
+    CompactEmbeddingTest.class,
+    RelativeEmbeddingTest.class,
+    MemGuardTest.class,
+    EmbCacheTest.class,
+    EmbedTest.class,
+    MiningResultTest.class,
+    RepositoryTest.class,
+    FingerprintTest.class,
+    OverlapGraphTest.class,
+    MinImageTest.class,
+    SuppPoolTest.class,
+    ExtListTest.class,
+    GraphLoaderTest.class,
+    MappedTableReaderTest.class,
+    NotationParseTest.class,
+    GraphFileTest.class,
+    GzipTest.class
+})
+public class AllMossTests {
+
+}
@@ -0,0 +1,99 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Bioclipse Team and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contact: http://www.bioclipse.net/
+ ******************************************************************************/
+package moss;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.io.IOException;
+
+import org.junit.Test;
+
+/**
+ * Tests for the compact storage of embeddings (option -Z).
+ *
+ * @author The Bioclipse Team
+ */
+public class CompactEmbeddingTest extends AbstractMinerTest {
+
+    /**
+     * Creates a cycle graph with four nodes.
+     *
+     * @return the graph
+     */
+    private static NamedGraph cycle() {
+        NamedGraph graph = new NamedGraph(null, 4, 4, "c", 0, 0);
+        for (int i = 0; i < 4; i++) graph.addNode(0);
+        for (int i = 0; i < 4; i++) graph.addEdge(i, (i + 1) % 4, 0);
+        return graph;
+    }
+
+    /**
+     * Creates an embedding of a single edge into a graph.
+     *
+     * @param graph the graph to embed into
+     * @param e     the index of the edge
+     * @param succ  the successor in the list of embeddings
+     * @return      the embedding
+     */
+    private static Embedding edge(Graph graph, int e, Embedding succ) {
+        Embedding emb = new Embedding();
+        emb.graph = graph;
+        emb.edges = new Edge[] { graph.edges[e] };
+        emb.nodes = new Node[] { graph.edges[e].src, graph.edges[e].dst };
+        emb.succ  = succ;
+        return emb;
+    }
+
+    @Test public void testCreateExpand() {
+        NamedGraph g0 = cycle();
+        NamedGraph g1 = cycle();
+        g0.succ = g1;
+        Markers.number(g0);
+        Embedding list = null;
+        for (int e = 4; --e >= 0; ) list = edge(g1, e, list);
+        EmbBlock blk = EmbBlock.create(list, 3);
+        assertEquals(3, blk.count());
+        assertSame(g1, blk.graph);
+        Embedding emb = blk.expand();
+        for (int e = 0; e < 3; e++, emb = emb.succ) {
+            assertSame(g1, emb.graph);
+            assertSame(g1.edges[e], emb.edges[0]);
+            assertSame(g1.edges[e].src, emb.nodes[0]);
+            assertSame(g1.edges[e].dst, emb.nodes[1]);
+        }
+        assertNull(emb);
+        assertEquals(1, list.count());
+        assertEquals(48 + Embedding.memory(9), blk.memory());
+    }
+
+    @Test public void testUnnumbered() {
+        NamedGraph graph = cycle();
+        assertNull(EmbBlock.create(edge(graph, 0, null), 1));
+    }
+
+    @Test public void testMemory() {
+        assertEquals(16, Embedding.memory(0));
+        assertEquals(24, Embedding.memory(1));
+        assertEquals(24, Embedding.memory(2));
+        assertEquals(32, Embedding.memory(3));
+    }
+
+    @Test public void testSameResult() throws IOException {
+        assertSameResult("-s10 -S100", "-Z");
+        assertSameResult("-s10 -S100 -C", "-Z");
+        assertSameResult("-s10 -S100 -r5:6 -R", "-Z");
+        assertSameResult("-s10 -S100 -x", "-Z");
+        assertSameResult("-s10 -S100 -P -Z", "-w4");
+    }
+
+}
@@ -0,0 +1,156 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Bioclipse Team and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contact: http://www.bioclipse.net/
+ ******************************************************************************/
+package moss;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for the cache of reembedded embeddings (option -J#).
+ *
+ * @author The Bioclipse Team
+ */
+public class EmbCacheTest extends AbstractMinerTest {
+
+    /** The cache of the test thread. */
+    private EmbCache cache;
+    /** The fragment to reembed (a single edge). */
+    private Fragment frag;
+    /** Two graphs to reembed the fragment into. */
+    private Graph g1, g2;
+
+    /**
+     * Creates a cycle graph with alternating node types, prepared
+     * for embedding a fragment into it.
+     *
+     * @param n the number of nodes
+     * @return  the graph
+     */
+    private static Graph cycle(int n) {
+        Graph graph = new Graph(null, n, n);
+        for (int i = 0; i < n; i++) graph.addNode(i & 1);
+        for (int i = 0; i < n; i++) graph.addEdge(i, (i + 1) % n, 0);
+        graph.prepare();
+        return graph;
+    }
+
+    @Before public void setUp() {
+        cache = EmbCache.get();
+        Graph sub = new Graph(null, 2, 1);
+        sub.addNode(0);
+        sub.addNode(1);
+        sub.addEdge(0, 1, 0);
+        sub.prepareEmbed();
+        frag = new Fragment(sub);
+        g1 = cycle(4);
+        g2 = cycle(6);
+    }
+
+    @After public void tearDown() {
+        cache.init(0);
+    }
+
+    /**
+     * Computes the memory needed by a list of embeddings.
+     *
+     * @param list the list of embeddings
+     * @return     the estimated memory
+     */
+    private static long memory(Embedding list) {
+        long mem = 0;
+        for (Embedding emb = list; emb != null; emb = emb.succ)
+            mem += emb.memory();
+        return mem;
+    }
+
+    /**
+     * Counts the embeddings in a list.
+     *
+     * @param list the list of embeddings
+     * @return     the number of embeddings
+     */
+    private static int count(Embedding list) {
+        int n = 0;
+        for (Embedding emb = list; emb != null; emb = emb.succ) n++;
+        return n;
+    }
+
+    @Test public void testGetPerThread() throws InterruptedException {
+        final EmbCache[] other = new EmbCache[1];
+        Thread t = new Thread() {
+            @Override public void run() { other[0] = EmbCache.get(); }
+        };
+        t.start();
+        t.join();
+        assertSame(cache, EmbCache.get());
+        assertNotSame(cache, other[0]);
+    }
+
+    @Test public void testDisabled() {
+        cache.init(0);
+        Embedding list = cache.embed(frag, g1);
+        assertEquals(4, count(list));
+        assertNotSame(list, cache.embed(frag, g1));
+        assertEquals(0, cache.getHits());
+        assertEquals(0, cache.getMisses());
+    }
+
+    @Test public void testHit() {
+        cache.init(1 << 20);
+        Embedding list = cache.embed(frag, g1);
+        assertNotNull(list);
+        assertSame(list, cache.embed(frag, g1));
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+        assertNotSame(list, cache.embed(frag, g2));
+        assertEquals(2, cache.getMisses());
+        frag.cid = 0;
+        assertNotSame(list, cache.embed(frag, g1));
+        assertEquals(3, cache.getMisses());
+        cache.init(1 << 20);
+        assertEquals(0, cache.getHits());
+        assertEquals(0, cache.getMisses());
+    }
+
+    @Test public void testEviction() {
+        long m1 = memory(cache.embed(frag, g1));
+        long m2 = memory(cache.embed(frag, g2));
+        assertTrue(m1 < m2);
+        cache.init(m1 + m2 - 1);
+        Embedding l1 = cache.embed(frag, g1);
+        assertSame(l1, cache.embed(frag, g1));
+        Embedding l2 = cache.embed(frag, g2);
+        assertSame(l2, cache.embed(frag, g2));
+        assertNotSame(l1, cache.embed(frag, g1));
+        assertEquals(2, cache.getHits());
+        assertEquals(3, cache.getMisses());
+        cache.init(m1);
+        cache.embed(frag, g2);
+        cache.embed(frag, g2);
+        assertEquals(0, cache.getHits());
+    }
+
+    @Test public void testSameResult() throws IOException {
+        assertSameResult("-s10 -S100 -P", "-J1");
+        assertSameResult("-s10 -S100 -P -Z -Y", "-J1");
+        assertSameResult("-s10 -S100 -P -J1", "-w4");
+    }
+
+}
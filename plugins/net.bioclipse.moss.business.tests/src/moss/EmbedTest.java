@@ -0,0 +1,160 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Bioclipse Team and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contact: http://www.bioclipse.net/
+ ******************************************************************************/
+package moss;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Tests for the iterative embedding of graphs, which must find the
+ * same embeddings in the same order as the recursive embedding.
+ *
+ * @author The Bioclipse Team
+ */
+public class EmbedTest extends AbstractMinerTest {
+
+    /** Substructures to embed (SMILES). */
+    private static final String[] SUBS = {
+        "CC", "C=O", "OC=O", "CCN", "NC=O", "CC(C)C", "c1ccccc1",
+        "c1ccncc1", "C1CCNCC1", "c1ccc2ccccc2c1", "OS(=O)=O", "NN",
+        "ClC(Cl)Cl", "OCC(O)CO", "CCCCCCCCCCCCCCCC"
+    };
+
+    @After public void restore() {
+        Graph.setFastEmbed(true);
+    }
+
+    /**
+     * Reads the molecules of the data set.
+     *
+     * @param masks the masks for the node and edge types
+     * @return      the molecules, prepared for embedding into them
+     */
+    private static List<Graph> molecules(int[] masks) throws IOException {
+        List<Graph> graphs = new ArrayList<Graph>();
+        GraphReader reader = GraphReader.createReader(
+            new FileReader(data), GraphReader.GRAPHS, "smiles");
+        while (reader.readGraph()) {
+            Graph graph = reader.getGraph();
+            graph.maskTypes(masks);
+            graph.prepare();
+            graphs.add(graph);
+        }
+        reader.close();
+        return graphs;
+    }
+
+    /**
+     * Parses a substructure and prepares it for embedding.
+     *
+     * @param desc  the description of the substructure (SMILES)
+     * @param masks the masks for the node and edge types
+     * @return      the substructure
+     */
+    private static Graph sub(String desc, int[] masks) throws IOException {
+        Graph graph = new SMILES().parse(new StringReader(desc));
+        graph.maskTypes(masks);
+        assertTrue(graph.prepareEmbed());
+        return graph;
+    }
+
+    /**
+     * Embeds a substructure with the given method.
+     *
+     * @param graph the graph to embed into
+     * @param sub   the substructure to embed
+     * @param fast  whether to use the iterative embedding
+     * @return      the list of embeddings
+     */
+    private static Embedding embed(Graph graph, Graph sub, boolean fast) {
+        Graph.setFastEmbed(fast);
+        return graph.embed(sub);
+    }
+
+    /**
+     * Compares the embeddings of all substructures into all molecules.
+     *
+     * @param masks the masks for the node and edge types
+     * @return      the total number of embeddings
+     */
+    private static int compare(int[] masks) throws IOException {
+        int n = 0;
+        List<Graph> graphs = molecules(masks);
+        for (String desc : SUBS) {
+            Graph sub = sub(desc, masks);
+            for (Graph graph : graphs) {
+                Embedding a = embed(graph, sub, false);
+                Embedding b = embed(graph, sub, true);
+                for (; a != null; a = a.succ, b = b.succ, n++) {
+                    assertSame(graph, b.graph);
+                    assertArrayEquals(desc, a.nodes, b.nodes);
+                    assertArrayEquals(desc, a.edges, b.edges);
+                }
+                assertNull(desc, b);
+                Graph.setFastEmbed(false);
+                boolean c = graph.contains(sub);
+                Graph.setFastEmbed(true);
+                assertEquals(desc, c, graph.contains(sub));
+                assertEquals(desc, c, graph.embed(sub) != null);
+            }
+        }
+        return n;
+    }
+
+    @Test public void testSameEmbeddings() throws IOException {
+        int[] masks = { Atoms.ELEMMASK, Bonds.BONDMASK,
+                        Atoms.ELEMMASK, Bonds.BONDMASK };
+        assertTrue(compare(masks) > 500);
+    }
+
+    @Test public void testSameEmbeddingsUntyped() throws IOException {
+        int[] masks = { Atoms.ELEMMASK, 0, Atoms.ELEMMASK, 0 };
+        assertTrue(compare(masks) > 500);
+    }
+
+    @Test public void testContains() throws IOException {
+        int[] masks = { Atoms.ELEMMASK, Bonds.BONDMASK,
+                        Atoms.ELEMMASK, Bonds.BONDMASK };
+        Graph graph = molecules(masks).get(0);
+        for (boolean fast : new boolean[] { false, true }) {
+            Graph.setFastEmbed(fast);
+            assertTrue(graph.contains(sub("OC(C)=O", masks)));
+            assertFalse(graph.contains(sub("OO", masks)));
+            assertFalse(graph.contains(sub("CCCCCCCCCCCC", masks)));
+            assertFalse(graph.contains(sub("N", masks)));
+        }
+    }
+
+    @Test public void testSameResult() throws IOException {
+        String[] options = { "-s10 -S100 -P", "-s10 -S100 -P -r5:6 -R",
+                             "-jc1ccccc1 -s5 -S100 -M1" };
+        for (String opts : options) {
+            String expected = mine(opts);
+            Graph.setFastEmbed(false);
+            assertEquals(opts, expected, mine(opts));
+            Graph.setFastEmbed(true);
+        }
+    }
+
+}
@@ -0,0 +1,119 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Bioclipse Team and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contact: http://www.bioclipse.net/
+ ******************************************************************************/
+package moss;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+/**
+ * Tests for the extension table that is used to check whether a
+ * fragment is closed, and for the closed fragments found by searches.
+ *
+ * @author The Bioclipse Team
+ */
+public class ExtListTest extends AbstractMinerTest {
+
+    /**
+     * Returns the record of an extension as an array.
+     *
+     * @param list the extension list
+     * @param i    the index of the extension
+     * @return     the extension record
+     */
+    private static int[] record(ExtList list, int i) {
+        int k = list.offs[i];
+        int n = ExtList.RING + list.data[k + ExtList.LEN];
+        return Arrays.copyOfRange(list.data, k, k + n);
+    }
+
+    @Test public void testSort() {
+        ExtList list = new ExtList();
+        list.add(2, -1, 1, 6);
+        list.add(0,  3, 1, 6);
+        list.add(2, -1, 1, 6);
+        list.add(0, -1, 2, 8);
+        list.add(0, -1, 1, 8);
+        assertEquals(5, list.size());
+        list.sort();
+        assertEquals(4, list.size());
+        assertArrayEquals(new int[] { 0, -1, 1, 8, 0 }, record(list, 0));
+        assertArrayEquals(new int[] { 0, -1, 2, 8, 0 }, record(list, 1));
+        assertArrayEquals(new int[] { 0,  3, 1, 6, 0 }, record(list, 2));
+        assertArrayEquals(new int[] { 2, -1, 1, 6, 0 }, record(list, 3));
+    }
+
+    @Test public void testMerge() {
+        ExtList list = new ExtList();
+        for (int i = 0; i < 50; i += 2) list.add(i, -1, 1, 6);
+        list.sort();
+        for (int i = 0; i < 50; i += 3) list.add(i, -1, 1, 6);
+        list.add(49, -1, 1, 6);
+        list.sort();
+        list.sort();
+        int[] src = new int[list.size()];
+        for (int i = 0; i < src.length; i++) src[i] = record(list, i)[0];
+        int n = 0;
+        for (int i = 0; i < 50; i++)
+            if ((i % 2 == 0) || (i % 3 == 0) || (i == 49)) n++;
+        assertEquals(n, src.length);
+        for (int i = 1; i < src.length; i++)
+            assertEquals(true, src[i - 1] < src[i]);
+    }
+
+    @Test public void testRings() {
+        ExtList list = new ExtList();
+        int[] ring = { 1, 6, 4, 1, 6, 5 };
+        list.add(0, 3, 1, 6, ring, 6);
+        list.add(0, 3, 1, 6, ring, 3);
+        list.add(0, 3, 1, 6);
+        ring[5] = 2;
+        list.add(0, 3, 1, 6, ring, 6);
+        list.add(0, 3, 1, 6, new int[] { 1, 6, 4, 1, 6, 5 }, 6);
+        list.sort();
+        assertEquals(4, list.size());
+        assertArrayEquals(new int[] { 0, 3, 1, 6, 0 }, record(list, 0));
+        assertArrayEquals(new int[] { 0, 3, 1, 6, 3, 1, 6, 4 },
+                          record(list, 1));
+        assertArrayEquals(new int[] { 0, 3, 1, 6, 6, 1, 6, 4, 1, 6, 2 },
+                          record(list, 2));
+        assertArrayEquals(new int[] { 0, 3, 1, 6, 6, 1, 6, 4, 1, 6, 5 },
+                          record(list, 3));
+    }
+
+    @Test public void testLarge() {
+        ExtList list = new ExtList();
+        int[] ring = new int[30];
+        for (int i = 0; i < 1000; i++)
+            list.add(i % 100, -1, 1, 6, ring, (i % 10) * 3);
+        assertEquals(1000, list.size());
+        list.sort();
+        assertEquals(100, list.size());
+        list.add(5, -1, 1, 6, ring, 15);
+        list.add(5, -1, 1, 6, ring, 18);
+        list.sort();
+        assertEquals(101, list.size());
+    }
+
+    @Test public void testClosed() throws IOException {
+        assertEquals(1705346986, mine("-s5 -S100").hashCode());
+        assertEquals(-2140046408, mine("-s5 -S100 -r5:6 -R").hashCode());
+        assertEquals(1867568030, mine("-s5 -S100 -g").hashCode());
+        assertSameResult("-s5 -S100", "-M1");
+        assertSameResult("-s5 -S100 -r5:6 -R", "-Y");
+        assertSameResult("-s5 -S100", "-w4");
+    }
+
+}
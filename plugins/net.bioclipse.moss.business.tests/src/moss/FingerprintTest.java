@@ -0,0 +1,138 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Bioclipse Team and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contact: http://www.bioclipse.net/
+ ******************************************************************************/
+package moss;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Tests for the 64 bit fingerprints of graphs.
+ *
+ * @author The Bioclipse Team
+ */
+public class FingerprintTest {
+
+    /** Pairs of different notations of the same molecule (SMILES). */
+    private static final String[][] SAME = {
+        { "OC(=O)c1ccccc1O",         "c1ccc(c(c1)C(=O)O)O" },
+        { "CCN(CC)CC",               "N(CC)(CC)CC" },
+        { "c1ccncc1",                "n1ccccc1" },
+        { "CC(C)NCC(O)COc1cccc2ccccc12",
+          "c12ccccc1c(OCC(CNC(C)C)O)ccc2" },
+        { "C1CCC2CCCCC2C1",          "C1CCCC2C1CCCC2" }
+    };
+
+    /**
+     * Parses a molecule.
+     *
+     * @param desc the description of the molecule (SMILES)
+     * @return     the graph
+     */
+    private static Graph parse(String desc) throws IOException {
+        Graph graph = new SMILES().parse(new StringReader(desc));
+        graph.mark(-1);
+        return graph;
+    }
+
+    /**
+     * Creates a copy of a graph with randomly permuted nodes and edges.
+     *
+     * @param graph the graph to copy
+     * @param rand  the random number generator
+     * @return      the copy
+     */
+    private static Graph shuffle(Graph graph, Random rand) {
+        int n = graph.getNodeCount();
+        int[] perm = new int[n];
+        for (int i = 0; i < n; i++) perm[i] = i;
+        for (int i = n; --i > 0; ) {
+            int k = rand.nextInt(i + 1), t = perm[i];
+            perm[i] = perm[k]; perm[k] = t;
+        }
+        Map<Node, Integer> inv = new IdentityHashMap<Node, Integer>();
+        for (int i = 0; i < n; i++) inv.put(graph.nodes[perm[i]], i);
+        Graph copy = new Graph(null, n, graph.getEdgeCount());
+        for (int i = 0; i < n; i++)
+            copy.addNode(graph.nodes[perm[i]].type);
+        for (int k = graph.getEdgeCount(); --k >= 0; ) {
+            Edge edge = graph.edges[k];
+            int s = inv.get(edge.src), d = inv.get(edge.dst);
+            if (rand.nextBoolean()) copy.addEdge(s, d, edge.type);
+            else                    copy.addEdge(d, s, edge.type);
+        }
+        copy.mark(-1);
+        return copy;
+    }
+
+    @Test public void testSameMolecule() throws IOException {
+        for (String[] pair : SAME)
+            assertEquals(pair[0], parse(pair[0]).fingerprint(),
+                         parse(pair[1]).fingerprint());
+    }
+
+    @Test public void testPermuted() throws IOException {
+        Random rand = new Random(42);
+        for (String mol : AbstractMinerTest.MOLECULES) {
+            Graph graph = parse(mol.split(",")[2]);
+            long fp = graph.fingerprint();
+            for (int i = 0; i < 5; i++)
+                assertEquals(mol, fp, shuffle(graph, rand).fingerprint());
+        }
+    }
+
+    @Test public void testDifferent() throws IOException {
+        Map<Long, String> seen = new HashMap<Long, String>();
+        for (String mol : AbstractMinerTest.MOLECULES) {
+            String other = seen.put(parse(mol.split(",")[2])
+                                    .fingerprint(), mol);
+            assertTrue(mol + " " + other, other == null);
+        }
+        assertTrue(parse("CCCCCC").fingerprint()
+                != parse("CCCCCCC").fingerprint());
+        assertTrue(parse("CC(C)CCC").fingerprint()
+                != parse("CCC(C)CC").fingerprint());
+        assertTrue(parse("c1ccccc1").fingerprint()
+                != parse("C1CCCCC1").fingerprint());
+    }
+
+    @Test public void testMarkers() throws IOException {
+        Graph graph = parse("CC(=O)Oc1ccccc1C(=O)O");
+        graph.fingerprint();
+        for (int i = graph.getNodeCount(); --i >= 0; )
+            assertEquals(-1, Markers.get().get(graph.nodes[i]));
+    }
+
+    @Test public void testFragment() throws IOException {
+        Graph graph = parse("CC(C)Cc1ccc(cc1)C(C)C(=O)O");
+        graph.prepare();
+        for (String desc : new String[] { "c1ccccc1", "CC(=O)O",
+                                          "c1ccccc1CC", "CC(C)C" }) {
+            Graph sub = parse(desc);
+            assertTrue(sub.prepareEmbed());
+            Embedding emb = graph.embed(sub);
+            assertNotNull(desc, emb);
+            Fragment frag = new Fragment();
+            frag.list = frag.tail = emb;
+            assertEquals(desc, sub.fingerprint(), frag.fingerprint());
+        }
+    }
+
+}
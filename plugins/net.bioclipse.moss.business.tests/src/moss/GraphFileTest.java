@@ -0,0 +1,189 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Bioclipse Team and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contact: http://www.bioclipse.net/
+ ******************************************************************************/
+package moss;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+import org.junit.Test;
+
+/**
+ * Tests for the binary files of prepared graph databases (class
+ * GraphFile and option -u). Graphs must be restored exactly, and a
+ * file must only be used if its key matches.
+ *
+ * @author The Bioclipse Team
+ */
+public class GraphFileTest extends AbstractMinerTest {
+
+    /** The key used for the stored graphs. */
+    private static final int[] KEY = { 7, -1, 0, 42 };
+
+    /**
+     * Parses the data set into a list of named graphs.
+     *
+     * @param ntn the notation of the graphs
+     * @return    the first graph of the list
+     */
+    private static NamedGraph parseAll(Notation ntn) throws IOException {
+        NamedGraph list = null, tail = null;
+        for (int i = 0; i < MOLECULES.length; i++) {
+            String[] f = MOLECULES[i].split(",");
+            NamedGraph graph = new NamedGraph(ntn.parse(f[2]),
+                (i == 3) ? null : f[0], Float.parseFloat(f[1]) + 0.5f,
+                i & 1);
+            graph.nodes[0].mark = i;
+            graph.edges[0].mark = -i;
+            graph.edges[0].flags |= 1L << (i % 40);
+            if (tail == null) list = graph; else tail.succ = graph;
+            tail = graph;
+        }
+        return list;
+    }
+
+    /**
+     * Writes the data set to a graph file.
+     *
+     * @param name the name of the graph file
+     * @return     the graph file
+     */
+    private static File writeFile(String name) throws IOException {
+        File file = new File(dir, name);
+        new GraphFile(file.getPath(), KEY).write(parseAll(new SMILES()),
+                                                 5);
+        return file;
+    }
+
+    /**
+     * Reads a graph file with a given key.
+     *
+     * @param file the graph file
+     * @param key  the expected key
+     * @return     the graphs read (or null)
+     */
+    private static NamedGraph readFile(File file, int[] key)
+        throws IOException {
+        return new GraphFile(file.getPath(), key).read(new SMILES());
+    }
+
+    @Test public void testRoundTrip() throws IOException {
+        File file = writeFile("round.mgf");
+        Notation ntn = new SMILES();
+        GraphFile gf = new GraphFile(file.getPath(), KEY.clone());
+        NamedGraph read = gf.read(ntn);
+        assertEquals(5, gf.getFlags());
+        NamedGraph orig = parseAll(new SMILES());
+        int n = 0;
+        for ( ; orig != null; orig = orig.succ, read = read.succ, n++) {
+            assertNotNull(read);
+            assertSame(ntn, read.getNotation());
+            assertEquals(orig.name, read.name);
+            assertEquals(orig.value, read.value, 0);
+            assertEquals(orig.group, read.group);
+            assertEquals(orig.toString(), read.toString());
+            assertEquals(orig.nodecnt, read.nodecnt);
+            assertEquals(orig.edgecnt, read.edgecnt);
+            for (int i = 0; i < orig.nodecnt; i++) {
+                Node a = orig.nodes[i], b = read.nodes[i];
+                assertEquals(a.type, b.type);
+                assertEquals(a.mark, b.mark);
+                assertEquals(a.id,   b.id);
+                assertEquals(a.deg,  b.deg);
+                for (int k = 0; k < a.deg; k++) {
+                    Edge x = a.edges[k], y = b.edges[k];
+                    assertEquals(x.type,  y.type);
+                    assertEquals(x.mark,  y.mark);
+                    assertEquals(x.flags, y.flags);
+                    assertEquals(x.id,    y.id);
+                    assertSame(b, (x.src == a) ? y.src : y.dst);
+                }
+            }
+        }
+        assertNull(read);
+        assertEquals(MOLECULES.length, n);
+    }
+
+    @Test public void testKeyMismatch() throws IOException {
+        File file = writeFile("key.mgf");
+        assertNotNull(readFile(file, KEY));
+        assertNull(readFile(file, new int[] { 7, -1, 0, 43 }));
+        assertNull(readFile(file, new int[] { 8, -1, 0, 42 }));
+        assertNull(readFile(file, new int[] { 7, -1, 0 }));
+        assertNull(readFile(file, new int[] { 7, -1, 0, 42, 0 }));
+        assertNull(readFile(file, new int[0]));
+    }
+
+    @Test public void testMissingOrDamaged() throws IOException {
+        assertNull(readFile(new File(dir, "missing.mgf"), KEY));
+        File file = writeFile("damaged.mgf");
+        RandomAccessFile raf = new RandomAccessFile(file, "rw");
+        try {
+            raf.setLength(raf.length() / 2);
+        } finally {
+            raf.close();
+        }
+        assertNull(readFile(file, KEY));
+        file = writeFile("magic.mgf");
+        raf = new RandomAccessFile(file, "rw");
+        try {
+            raf.writeInt(0);
+        } finally {
+            raf.close();
+        }
+        assertNull(readFile(file, KEY));
+    }
+
+    @Test public void testMinerKey() throws IOException {
+        File in = new File(dir, "key.smi");
+        writeDataSet(new FileOutputStream(in));
+        String gf = new File(dir, "data.mgf").getPath();
+        String base = "-s10 -S100";
+        String plain = mine(in, "plain.txt", base, null);
+        String rings = mine(in, "rings.txt", base + " -r5:6 -R", null);
+        assertFalse(plain.equals(rings));
+
+        ByteArrayOutputStream log = new ByteArrayOutputStream();
+        assertEquals(plain, mine(in, "u1.txt", base + " -u" + gf, log));
+        assertTrue(log.toString().contains("missing or outdated"));
+        assertTrue(new File(gf).isFile());
+
+        log = new ByteArrayOutputStream();
+        assertEquals(plain, mine(in, "u2.txt", base + " -u" + gf, log));
+        assertFalse(log.toString().contains("missing or outdated"));
+
+        log = new ByteArrayOutputStream();
+        assertEquals(rings, mine(in, "u3.txt",
+                                 base + " -r5:6 -R -u" + gf, log));
+        assertTrue(log.toString().contains("missing or outdated"));
+
+        assertTrue(in.setLastModified(in.lastModified() - 10000));
+        log = new ByteArrayOutputStream();
+        assertEquals(rings, mine(in, "u4.txt",
+                                 base + " -r5:6 -R -u" + gf, log));
+        assertTrue(log.toString().contains("missing or outdated"));
+
+        log = new ByteArrayOutputStream();
+        assertEquals(rings, mine(in, "u5.txt",
+                                 base + " -r5:6 -R -u" + gf, log));
+        assertFalse(log.toString().contains("missing or outdated"));
+    }
+
+}
@@ -0,0 +1,194 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Bioclipse Team and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contact: http://www.bioclipse.net/
+ ******************************************************************************/
+package moss;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Tests for the pipelined loading of graph data sets (class GraphLoader
+ * and option -w). The graphs must be delivered in input order and a
+ * parse error must be reported for the right graph.
+ *
+ * @author The Bioclipse Team
+ */
+public class GraphLoaderTest extends AbstractMinerTest {
+
+    /** Number of records of the large data set (several batches). */
+    private static final int RECORDS = 3 * GraphLoader.BATCHSIZE + 17;
+
+    /**
+     * Writes a data set that cycles through the molecules with unique
+     * names and optionally contains an erroneous record.
+     *
+     * @param name the name of the file
+     * @param cnt  the number of records
+     * @param bad  the index of the erroneous record (-1: none)
+     * @return     the data set
+     */
+    private static File writeLarge(String name, int cnt, int bad)
+        throws IOException {
+        File file = new File(dir, name);
+        Writer writer = new OutputStreamWriter(
+            new FileOutputStream(file), "US-ASCII");
+        try {
+            for (int i = 0; i < cnt; i++) {
+                String[] f = MOLECULES[i % MOLECULES.length].split(",");
+                String smi = (i == bad) ? "C(C" : f[2];
+                writer.write("g" + i + "," + (i % 7) + "," + smi + "\n");
+            }
+        } finally {
+            writer.close();
+        }
+        return file;
+    }
+
+    /**
+     * Creates a SMILES table reader for a data set.
+     *
+     * @param file the data set
+     * @return     the reader
+     */
+    private static GraphReader reader(File file) throws IOException {
+        return GraphReader.createReader(new FileReader(file),
+                                        GraphReader.GRAPHS, "smiles");
+    }
+
+    /**
+     * Reads a data set sequentially.
+     *
+     * @param file the data set
+     * @param recs list for the records (name, value, graph)
+     * @return     the error that occurred (null if none)
+     */
+    private static IOException readAll(File file, List<String> recs)
+        throws IOException {
+        GraphReader reader = reader(file);
+        try {
+            while (reader.readGraph())
+                recs.add(reader.getName() + " " + reader.getValue()
+                         + " " + reader.getGraph());
+        } catch (IOException e) {
+            return e;
+        } finally {
+            reader.close();
+        }
+        return null;
+    }
+
+    /**
+     * Loads a data set with a graph loader.
+     *
+     * @param file    the data set
+     * @param threads the number of parser threads
+     * @param recs    list for the records (name, value, graph)
+     * @return        the batch with the error (null if none)
+     */
+    private static GraphLoader.LoadBatch loadAll(File file, int threads,
+                                                 List<String> recs)
+        throws IOException {
+        GraphReader reader = reader(file);
+        assertTrue(reader.setSplit(true));
+        GraphLoader loader = new GraphLoader(reader, threads);
+        try {
+            GraphLoader.LoadBatch b;
+            do {
+                b = loader.next();
+                for (int i = 0; (i < b.cnt) && (i < b.epos); i++)
+                    recs.add(b.names[i] + " " + b.values[i]
+                             + " " + b.graphs[i]);
+                if (b.error != null) return b;
+            } while (!b.last);
+        } finally {
+            loader.shutdown();
+            reader.close();
+        }
+        return null;
+    }
+
+    @Test public void testOrder() throws IOException {
+        File file = writeLarge("large.smi", RECORDS, -1);
+        List<String> expected = new ArrayList<String>();
+        assertNull(readAll(file, expected));
+        assertEquals(RECORDS, expected.size());
+        for (int threads : new int[] { 1, 2, 4, 8 }) {
+            List<String> actual = new ArrayList<String>();
+            assertNull(loadAll(file, threads, actual));
+            assertEquals(expected, actual);
+        }
+    }
+
+    @Test public void testFullBatches() throws IOException {
+        File file = writeLarge("full.smi", 2 * GraphLoader.BATCHSIZE, -1);
+        List<String> expected = new ArrayList<String>();
+        assertNull(readAll(file, expected));
+        List<String> actual = new ArrayList<String>();
+        assertNull(loadAll(file, 4, actual));
+        assertEquals(expected, actual);
+    }
+
+    @Test public void testParseError() throws IOException {
+        int bad = 2 * GraphLoader.BATCHSIZE + 5;
+        File file = writeLarge("error.smi", RECORDS, bad);
+        List<String> expected = new ArrayList<String>();
+        IOException error = readAll(file, expected);
+        assertNotNull(error);
+        assertEquals(bad, expected.size());
+        List<String> actual = new ArrayList<String>();
+        GraphLoader.LoadBatch b = loadAll(file, 4, actual);
+        assertNotNull(b);
+        assertEquals(5, b.epos);
+        assertEquals(error.getMessage(), b.error.getMessage());
+        assertEquals(expected, actual);
+    }
+
+    @Test public void testMinerError() throws IOException {
+        File file = writeLarge("miner.smi", RECORDS, 300);
+        String[] msgs = new String[2];
+        for (int k = 0; k < 2; k++) {
+            Miner miner = new Miner();
+            miner.setLog(new PrintStream(new ByteArrayOutputStream()));
+            miner.init(new String[] { file.getPath(),
+                new File(dir, "err" + k + ".txt").getPath(),
+                (k == 0) ? "-w1" : "-w4", "-s50", "-T" });
+            miner.run();
+            assertNotNull(miner.getError());
+            msgs[k] = miner.getError().getMessage();
+        }
+        assertTrue(msgs[0], msgs[0].startsWith("301: "));
+        assertEquals(msgs[0], msgs[1]);
+    }
+
+    @Test public void testSameResult() throws IOException {
+        File file = writeLarge("mine.smi", RECORDS, -1);
+        String expected = mine(file, "seq.txt", "-s20 -S100", null);
+        assertFalse(expected.indexOf('\n') >= expected.length() - 1);
+        assertEquals(expected,
+                     mine(file, "par.txt", "-s20 -S100 -w4", null));
+    }
+
+}
@@ -0,0 +1,136 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Bioclipse Team and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contact: http://www.bioclipse.net/
+ ******************************************************************************/
+package moss;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.Test;
+
+/**
+ * Tests for reading and writing gzip compressed files (names ending
+ * in ".gz"). The decompressed contents and the search results must be
+ * the same as with plain files.
+ *
+ * @author The Bioclipse Team
+ */
+public class GzipTest extends AbstractMinerTest {
+
+    /**
+     * Writes the data set compressed with gzip.
+     *
+     * @param name the name of the file (ending in ".gz")
+     * @return     the compressed data set
+     */
+    private static File writeCompressed(String name) throws IOException {
+        File file = new File(dir, name);
+        writeDataSet(new GZIPOutputStream(new FileOutputStream(file)));
+        return file;
+    }
+
+    /**
+     * Reads all characters from a reader and closes it.
+     *
+     * @param reader the reader to read from
+     * @return       the characters read
+     */
+    private static String readAll(Reader reader) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        try {
+            char[] buf = new char[100];
+            for (int n; (n = reader.read(buf)) > 0; )
+                sb.append(buf, 0, n);
+        } finally {
+            reader.close();
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Reads and decompresses a gzip compressed file.
+     *
+     * @param file the file to read
+     * @return     the decompressed contents
+     */
+    private static String readCompressed(File file) throws IOException {
+        return readAll(new InputStreamReader(
+            new GZIPInputStream(new FileInputStream(file)), "US-ASCII"));
+    }
+
+    @Test public void testOpenFile() throws IOException {
+        File file = writeCompressed("open.smi.gz");
+        assertEquals(read(data), readAll(GraphReader.openFile(
+                                     file.getPath())));
+        assertEquals(read(data), readAll(GraphReader.openFile(
+                                     data.getPath())));
+    }
+
+    @Test public void testCreateReader() throws IOException {
+        File file = writeCompressed("reader.smi.gz");
+        GraphReader reader = GraphReader.createReader(file.getPath(),
+            GraphReader.GRAPHS, "smiles");
+        assertFalse(reader instanceof MappedTableReader);
+        try {
+            for (String mol : MOLECULES) {
+                assertTrue(reader.readGraph());
+                assertEquals(mol.split(",")[0], reader.getName());
+                assertEquals(mol.split(",")[2], reader.getDesc());
+            }
+            assertFalse(reader.readGraph());
+        } finally {
+            reader.close();
+        }
+        reader = GraphReader.createReader(data.getPath(),
+            GraphReader.GRAPHS, "smiles");
+        assertTrue(reader instanceof MappedTableReader);
+        reader.close();
+    }
+
+    @Test public void testWriteFile() throws IOException {
+        File file = new File(dir, "write.txt.gz");
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 20000; i++)
+            sb.append(MOLECULES[i % MOLECULES.length]).append('\n');
+        Writer writer = GraphWriter.openFile(file.getPath());
+        writer.write(sb.toString());
+        writer.close();
+        assertTrue(file.length() < sb.length() / 10);
+        assertEquals(sb.toString(), readCompressed(file));
+    }
+
+    @Test public void testMinerInput() throws IOException {
+        File file = writeCompressed("mine.smi.gz");
+        String expected = mine(data, "plain-in.txt", "-s10 -S100", null);
+        assertEquals(expected,
+                     mine(file, "gz-in.txt", "-s10 -S100", null));
+        assertEquals(expected,
+                     mine(file, "gz-in-w.txt", "-s10 -S100 -w4", null));
+    }
+
+    @Test public void testMinerOutput() throws IOException {
+        String expected = mine(data, "plain-out.txt", "-s10 -S100", null);
+        mine(data, "gz-out.txt.gz", "-s10 -S100", null);
+        assertEquals(expected,
+                     readCompressed(new File(dir, "gz-out.txt.gz")));
+    }
+
+}
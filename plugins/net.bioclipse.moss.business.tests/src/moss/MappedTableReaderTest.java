@@ -0,0 +1,167 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Bioclipse Team and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contact: http://www.bioclipse.net/
+ ******************************************************************************/
+package moss;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.StringReader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Tests for the memory-mapped table reader. It must deliver the same
+ * records as a table reader on the same file, also if the file is
+ * mapped in several small windows.
+ *
+ * @author The Bioclipse Team
+ */
+public class MappedTableReaderTest extends AbstractMinerTest {
+
+    /**
+     * Writes a file with the given contents.
+     *
+     * @param name     the name of the file
+     * @param contents the contents of the file
+     * @return         the file
+     */
+    private static File write(String name, String contents)
+        throws IOException {
+        File file = new File(dir, name);
+        Writer writer = new OutputStreamWriter(
+            new FileOutputStream(file), "US-ASCII");
+        try {
+            writer.write(contents);
+        } finally {
+            writer.close();
+        }
+        return file;
+    }
+
+    /**
+     * Reads all records of a file with a graph reader.
+     *
+     * @param reader the reader to read with (is closed)
+     * @return       the records (name, value, description, graph)
+     */
+    private static List<String> readAll(GraphReader reader)
+        throws IOException {
+        List<String> recs = new ArrayList<String>();
+        try {
+            while (reader.readGraph())
+                recs.add(reader.getName() + " " + reader.getValue() + " "
+                         + reader.getDesc() + " " + reader.getGraph());
+        } finally {
+            reader.close();
+        }
+        return recs;
+    }
+
+    /**
+     * Checks that the mapped reader delivers the same records as a
+     * table reader, with the default window and with small windows.
+     *
+     * @param file the file to read
+     */
+    private static void assertSameRecords(File file) throws IOException {
+        List<String> expected = readAll(new TableReader(
+            new FileReader(file), GraphReader.GRAPHS, new SMILES()));
+        assertEquals(expected, readAll(GraphReader.createReader(
+            file.getPath(), GraphReader.GRAPHS, "smiles")));
+        for (int wsize : new int[] { 64, 100, 1000 })
+            assertEquals("window " + wsize, expected,
+                         readAll(new MappedTableReader(file.getPath(),
+                             GraphReader.GRAPHS, new SMILES(), wsize)));
+    }
+
+    @Test public void testDataSet() throws IOException {
+        assertSameRecords(data);
+    }
+
+    @Test public void testCommentsAndBlanks() throws IOException {
+        File file = write("comments.smi",
+            "# comment\n"
+            + "  a , 1.5 ,CCO\n"
+            + "#\n"
+            + "b,2,c1ccccc1\n"
+            + "c  ,-1,C=O");
+        assertSameRecords(file);
+    }
+
+    @Test public void testManyWindows() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 500; i++) {
+            String[] f = MOLECULES[i % MOLECULES.length].split(",");
+            sb.append("g").append(i).append(",").append(i % 5)
+              .append(",").append(f[2]).append("\n");
+        }
+        assertSameRecords(write("many.smi", sb.toString()));
+    }
+
+    @Test public void testEmptyFile() throws IOException {
+        GraphReader reader = new MappedTableReader(
+            write("empty.smi", "").getPath(), GraphReader.GRAPHS,
+            new SMILES(), 16);
+        assertFalse(reader.readGraph());
+        reader.close();
+    }
+
+    @Test public void testRecordTooLong() throws IOException {
+        File file = write("long.smi",
+                          "a,0,CC\nlongname,0,CCCCCCCCCCCCCC\n");
+        GraphReader reader = new MappedTableReader(file.getPath(),
+            GraphReader.GRAPHS, new SMILES(), 16);
+        try {
+            assertTrue(reader.readGraph());
+            assertEquals("a", reader.getName());
+            reader.readGraph();
+            fail("record longer than the window not detected");
+        } catch (IOException e) {
+            assertTrue(e.getMessage(),
+                       e.getMessage().startsWith("record too long"));
+        } finally {
+            reader.close();
+        }
+    }
+
+    @Test public void testSplitMode() throws IOException {
+        GraphReader reader = new MappedTableReader(data.getPath(),
+            GraphReader.GRAPHS, new SMILES(), 100);
+        assertTrue(reader.setSplit(true));
+        Notation ntn = reader.createNotation();
+        try {
+            for (String mol : MOLECULES) {
+                assertTrue(reader.readGraph());
+                String[] f = mol.split(",");
+                assertEquals(f[0], reader.getName());
+                assertEquals(f[2], reader.getRecord());
+                assertEquals(new SMILES().parse(new StringReader(f[2]))
+                                 .toString(),
+                             reader.parse(reader.getRecord(), ntn)
+                                   .toString());
+            }
+            assertFalse(reader.readGraph());
+        } finally {
+            reader.close();
+        }
+    }
+
+}
@@ -0,0 +1,183 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Bioclipse Team and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contact: http://www.bioclipse.net/
+ ******************************************************************************/
+package moss;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for the thread-confined node and edge markers.
+ *
+ * @author The Bioclipse Team
+ */
+public class MarkersTest {
+
+    /** The markers of the test thread. */
+    private Markers mk;
+
+    @Before public void reset() {
+        mk = Markers.get();
+        mk.setExclusive(false);
+        mk.clear();
+    }
+
+    @After public void restore() {
+        Markers.get().setExclusive(false);
+    }
+
+    /**
+     * Creates a path graph with the given node types.
+     *
+     * @param types the node types
+     * @return      the graph
+     */
+    private static NamedGraph path(int... types) {
+        NamedGraph graph = new NamedGraph(null, types.length,
+                                          types.length - 1, "g", 0, 0);
+        for (int i = 0; i < types.length; i++) {
+            graph.addNode(types[i]);
+            if (i > 0) graph.addEdge(i - 1, i, 0);
+        }
+        return graph;
+    }
+
+    /**
+     * Creates a numbered list of two path graphs.
+     *
+     * @return the first graph of the list
+     */
+    private static NamedGraph database() {
+        NamedGraph g1 = path(0, 1, 2);
+        NamedGraph g2 = path(2, 0);
+        g1.succ = g2;
+        Markers.number(g1);
+        for (NamedGraph g = g1; g != null; g = g.succ) g.mark(-1);
+        return g1;
+    }
+
+    @Test public void testGetPerThread() throws InterruptedException {
+        final Markers[] other = new Markers[1];
+        Thread t = new Thread() {
+            @Override public void run() { other[0] = Markers.get(); }
+        };
+        t.start();
+        t.join();
+        assertSame(mk, Markers.get());
+        assertNotSame(mk, other[0]);
+    }
+
+    @Test public void testNumber() {
+        NamedGraph g1 = database();
+        assertEquals(0, g1.nodes[0].id);
+        assertEquals(2, g1.nodes[2].id);
+        assertEquals(3, g1.succ.nodes[0].id);
+        assertEquals(1, g1.edges[1].id);
+        assertEquals(2, g1.succ.edges[0].id);
+    }
+
+    @Test public void testUnnumbered() {
+        Graph graph = path(0, 1);
+        graph.mark(-1);
+        mk.set(graph.nodes[0], 5);
+        mk.set(graph.edges[0], 6);
+        assertEquals(5, graph.nodes[0].mark);
+        assertEquals(6, graph.edges[0].mark);
+        assertEquals(5, mk.get(graph.nodes[0]));
+        mk.clear();
+        assertEquals(5, mk.get(graph.nodes[0]));
+    }
+
+    @Test public void testNumbered() {
+        NamedGraph g1 = database();
+        Node node = g1.succ.nodes[1];
+        Edge edge = g1.edges[1];
+        assertEquals(-1, mk.get(node));
+        mk.set(node, 3);
+        mk.set(edge, 4);
+        assertEquals(3, mk.get(node));
+        assertEquals(4, mk.get(edge));
+        assertEquals(-1, node.mark);
+        assertEquals(-1, edge.mark);
+        assertEquals(-1, mk.get(g1.nodes[1]));
+        mk.clear();
+        assertEquals(-1, mk.get(node));
+        assertEquals(-1, mk.get(edge));
+    }
+
+    @Test public void testThreadConfinement() throws InterruptedException {
+        NamedGraph g1 = database();
+        final Node node = g1.nodes[2];
+        final int[] seen = new int[2];
+        mk.set(node, 7);
+        Thread t = new Thread() {
+            @Override public void run() {
+                Markers other = Markers.get();
+                seen[0] = other.get(node);
+                other.set(node, 8);
+                seen[1] = other.get(node);
+            }
+        };
+        t.start();
+        t.join();
+        assertEquals(-1, seen[0]);
+        assertEquals(8, seen[1]);
+        assertEquals(7, mk.get(node));
+    }
+
+    @Test public void testExclusive() {
+        NamedGraph g1 = database();
+        Node node = g1.nodes[0];
+        mk.set(node, 2);
+        mk.setExclusive(true);
+        assertEquals(-1, mk.get(node));
+        mk.set(node, 9);
+        assertEquals(9, node.mark);
+        assertEquals(9, mk.get(node));
+        node.mark = -1;
+        mk.setExclusive(false);
+        assertEquals(-1, mk.get(node));
+    }
+
+    @Test public void testTrim() {
+        Recoder coder = new Recoder();
+        for (int t = 0; t < 3; t++) coder.add(t);
+        for (boolean excl : new boolean[] { false, true }) {
+            mk.setExclusive(excl);
+            NamedGraph g1 = database();
+            mk.trim(g1, coder, 1);
+            assertEquals(-2, mk.get(g1.nodes[0]));
+            assertEquals(-2, mk.get(g1.edges[0]));
+            assertEquals(-1, mk.get(g1.nodes[1]));
+            assertEquals(-1, mk.get(g1.edges[1]));
+            assertEquals(-2, mk.get(g1.succ.nodes[1]));
+            assertEquals(-2, mk.get(g1.succ.edges[0]));
+            mk.set(g1.nodes[1], 0);
+            mk.trim(g1, coder, 1);
+            assertEquals(0, mk.get(g1.nodes[1]));
+            coder.maximize(0);
+            coder.exclude(2);
+            mk.trim(g1, coder, 2);
+            assertEquals(-1, mk.get(g1.nodes[0]));
+            assertEquals(-2, mk.get(g1.nodes[1]));
+            assertEquals(-2, mk.get(g1.nodes[2]));
+            assertEquals(-2, mk.get(g1.edges[0]));
+            assertEquals(-1, mk.get(g1.succ.nodes[1]));
+            coder = new Recoder();
+            for (int t = 0; t < 3; t++) coder.add(t);
+        }
+    }
+
+}
@@ -0,0 +1,107 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Bioclipse Team and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contact: http://www.bioclipse.net/
+ ******************************************************************************/
+package moss;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Tests for the memory guard and the adaptive packing of embeddings
+ * (option -A#).
+ *
+ * @author The Bioclipse Team
+ */
+public class MemGuardTest extends AbstractMinerTest {
+
+    /** Memory that is kept alive to raise the heap occupancy. */
+    private static byte[] ballast;
+
+    /**
+     * Raises the heap occupancy by allocating a large array and moves
+     * it to the pools holding long-lived objects.
+     */
+    private static void fillHeap() {
+        ballast = new byte[64 << 20];
+        System.gc();
+    }
+
+    @After public void release() {
+        ballast = null;
+        new MemGuard(1.0);
+    }
+
+    @Test public void testRelaxed() {
+        MemGuard guard = new MemGuard(1.0);
+        assertFalse(guard.isTight());
+        assertTrue(guard.isRelaxed());
+        guard = new MemGuard(2.0);
+        assertFalse(guard.isTight());
+    }
+
+    @Test public void testTight() {
+        fillHeap();
+        MemGuard guard = new MemGuard(0.01);
+        assertFalse(guard.isRelaxed());
+        assertTrue(guard.isTight());
+        assertFalse(guard.isTight());
+        System.gc();
+        assertTrue(guard.isTight());
+        assertEquals(64 << 20, ballast.length);
+    }
+
+    @Test public void testSameResult() throws IOException {
+        assertSameResult("-s10 -S100", "-A90");
+        assertSameResult("-s10 -S100 -Y -Z", "-A90");
+    }
+
+    @Test public void testAdaptivePacking() throws Exception {
+        String expected = mine("-s5 -S100 -P");
+        fillHeap();
+        Thread gc = new Thread() {
+            @Override public void run() {
+                while (!isInterrupted()) {
+                    System.gc();
+                    try {
+                        sleep(1);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+            }
+        };
+        File out = new File(dir, "adapt.txt");
+        Miner miner = new Miner();
+        miner.setLog(new PrintStream(new ByteArrayOutputStream()));
+        miner.init(new String[] { data.getPath(), out.getPath(),
+                                  "-s5", "-S100", "-P", "-A1", "-T" });
+        gc.start();
+        try {
+            miner.run();
+        } finally {
+            gc.interrupt();
+            gc.join();
+        }
+        assertNull(miner.getError());
+        assertEquals(expected, read(out));
+        assertTrue(miner.packs > 0);
+    }
+
+}
@@ -0,0 +1,117 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Bioclipse Team and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contact: http://www.bioclipse.net/
+ ******************************************************************************/
+package moss;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import org.junit.Test;
+
+/**
+ * Tests for the minimum image support (option -k3).
+ *
+ * @author The Bioclipse Team
+ */
+public class MinImageTest extends AbstractMinerTest {
+
+    /**
+     * Creates a fragment from the embeddings of a substructure into
+     * a list of graphs.
+     *
+     * @param sub     the substructure (SMILES)
+     * @param graphs  the graphs to embed into (SMILES)
+     * @param numbers whether to number the nodes of the graphs
+     * @return        the fragment
+     */
+    private static Fragment fragment(String sub, String[] graphs,
+                                     boolean numbers) throws IOException {
+        Notation smiles = new SMILES();
+        NamedGraph first = null, prev = null;
+        for (String desc : graphs) {
+            NamedGraph g = new NamedGraph(
+                smiles.parse(new StringReader(desc)), desc);
+            if (prev == null) first = g; else prev.succ = g;
+            prev = g;
+        }
+        if (numbers) Markers.number(first);
+        Graph s = smiles.parse(new StringReader(sub));
+        assertTrue(s.prepareEmbed());
+        Fragment frag = new Fragment();
+        for (NamedGraph g = first; g != null; g = g.succ) {
+            g.prepare();
+            g.mark(-1);
+            for (Embedding emb = g.embed(s); emb != null; ) {
+                Embedding next = emb.succ;
+                emb.succ = null;
+                if (frag.list == null) frag.list = emb;
+                else                   frag.tail.succ = emb;
+                frag.tail = emb;
+                frag.supp[2 + Fragment.FOCUS]++;
+                emb = next;
+            }
+        }
+        return frag;
+    }
+
+    /**
+     * Checks the minimum image support of a substructure.
+     *
+     * @param sub    the substructure (SMILES)
+     * @param graphs the graphs to embed into (SMILES)
+     * @param supp   the expected support
+     */
+    private static void assertSupport(String sub, String[] graphs,
+                                      int supp) throws IOException {
+        for (boolean numbers : new boolean[] { false, true }) {
+            Fragment frag = fragment(sub, graphs, numbers);
+            for (Embedding emb = frag.list; emb != null; emb = emb.succ)
+                for (Node node : emb.graph.nodes) node.mark = 5;
+            frag.computeSupport(Fragment.MIN_IMAGE);
+            assertEquals(sub + " " + numbers, supp,
+                         frag.getFocusSupport());
+            assertEquals(0, frag.getComplSupport());
+            for (Embedding emb = frag.list; emb != null; emb = emb.succ)
+                for (Node node : emb.graph.nodes)
+                    assertEquals(5, node.mark);
+        }
+    }
+
+    @Test public void testSingleGraph() throws IOException {
+        assertSupport("CCC", new String[] { "CCCCCC" }, 4);
+        assertSupport("CC", new String[] { "CCCCCC" }, 6);
+        assertSupport("CC(C)C", new String[] { "CC(C)C" }, 1);
+        assertSupport("cc", new String[] { "c1ccccc1" }, 6);
+        assertSupport("CCO", new String[] { "OCC(O)CO" }, 3);
+    }
+
+    @Test public void testSeveralGraphs() throws IOException {
+        assertSupport("CCC", new String[] { "CCCCCC", "CCCC" }, 6);
+        assertSupport("CCC", new String[] { "CCCC", "CCC", "CCCCC" }, 6);
+        String big = "C" + new String(new char[99]).replace('\0', 'C');
+        assertSupport("CCC", new String[] { big, "CCCC" }, 100);
+    }
+
+    @Test public void testSameResult() throws IOException {
+        assertEquals(975640104, mine("-s5 -S100 -k3").hashCode());
+        assertEquals(1956926193, mine("-s2 -S100 -k3").hashCode());
+        assertEquals(-215346646, mine("-s5 -S100 -k3 -r5:6 -R")
+                                 .hashCode());
+        assertSameResult("-s5 -S100 -k3", "-M1");
+        assertSameResult("-s5 -S100 -k3", "-M1 -w4");
+        assertSameResult("-s5 -S100 -k3", "-Y");
+        assertEquals(1645437198, mine("-s5 -S100 -k2 -r5:6 -R")
+                                 .hashCode());
+    }
+
+}
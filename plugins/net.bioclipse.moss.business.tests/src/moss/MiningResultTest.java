@@ -0,0 +1,104 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Bioclipse Team and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contact: http://www.bioclipse.net/
+ ******************************************************************************/
+package moss;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+
+import org.junit.Test;
+
+/**
+ * Tests that the search finds as many substructures as the original
+ * implementation of the miner did (without the optimizations of the
+ * search and the storage of the embeddings).
+ *
+ * @author The Bioclipse Team
+ */
+public class MiningResultTest extends AbstractMinerTest {
+
+    /**
+     * Checks the number of substructures found with the given options.
+     *
+     * @param options the search options
+     * @param count   the expected number of substructures
+     */
+    private static void assertCount(String options, int count)
+        throws IOException {
+        assertCount(options, count, mine(options));
+    }
+
+    /**
+     * Checks the number of substructures in a search result.
+     *
+     * @param options the search options
+     * @param count   the expected number of substructures
+     * @param result  the search result
+     */
+    private static void assertCount(String options, int count,
+                                    String result) {
+        int lines = 0;
+        for (int i = result.indexOf('\n'); i >= 0;
+             i = result.indexOf('\n', i + 1))
+            lines++;
+        assertEquals(options, count, lines - 1);
+    }
+
+    /**
+     * Checks the substructures found with the given options and the
+     * order in which they are reported (which is the order in which
+     * the search tree is traversed) by the hash code of the output
+     * of the original implementation.
+     *
+     * @param options the search options
+     * @param count   the expected number of substructures
+     * @param hash    the hash code of the expected output
+     */
+    private static void assertOrder(String options, int count, int hash)
+        throws IOException {
+        String result = mine(options);
+        assertCount(options, count, result);
+        assertEquals(options, hash, result.hashCode());
+    }
+
+    @Test public void testDefault() throws IOException {
+        assertCount("-s10 -S100", 80);
+    }
+
+    @Test public void testNotClosed() throws IOException {
+        assertCount("-s10 -S100 -C", 206);
+    }
+
+    @Test public void testRings() throws IOException {
+        assertCount("-s10 -S100 -r5:6 -R", 32);
+    }
+
+    @Test public void testPacked() throws IOException {
+        assertCount("-s5 -S100 -M1", 135);
+    }
+
+    @Test public void testSeed() throws IOException {
+        assertCount("-jc1ccccc1 -s5 -S100", 32);
+    }
+
+    @Test public void testOrder() throws IOException {
+        assertOrder("-s10 -S100", 80, -1413366305);
+        assertOrder("-s10 -S100 -g", 80, -915437355);
+        assertOrder("-s10 -S100 -H", 86, 1149542960);
+    }
+
+    @Test public void testRingOrder() throws IOException {
+        assertOrder("-s10 -S100 -r3:8 -R", 32, -256454276);
+        assertOrder("-s10 -S100 -r5:6 -R -g", 32, -228271681);
+        assertOrder("-s5 -S100 -r5:6 -R -E", 51, -1780622360);
+    }
+
+}
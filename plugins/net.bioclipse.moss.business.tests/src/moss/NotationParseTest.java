@@ -0,0 +1,152 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Bioclipse Team and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contact: http://www.bioclipse.net/
+ ******************************************************************************/
+package moss;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import org.junit.Test;
+
+/**
+ * Tests for parsing graph descriptions directly from character buffers
+ * (Notation.parse(char[],int,int) and Notation.parse(CharSequence)).
+ * The parsed graphs, the delimiter and the error messages must be the
+ * same as with parsing through a reader.
+ *
+ * @author The Bioclipse Team
+ */
+public class NotationParseTest {
+
+    /** Molecules in SMILES notation. */
+    private static final String[] SMILES = {
+        "CC(=O)Oc1ccccc1C(=O)O",
+        "CN1C=NC2=C1C(=O)N(C(=O)N2C)C",
+        "COc1ccc2[nH]cc(CCN(C)C)c2c1",
+        "Clc1ccc(cc1)C(c1ccccc1)N1CCN(CC1)CCOCC(=O)O",
+        "CC12CCC3C(CCC4=CC(=O)CCC34C)C1CCC2O",
+        "[NH4+].[O-]C(=O)C",
+        "C"
+    };
+
+    /**
+     * Parses a description with a reader.
+     *
+     * @param ntn  the notation to use
+     * @param desc the description
+     * @return     the parsed graph (as a string)
+     */
+    private static String parseReader(Notation ntn, String desc)
+        throws IOException {
+        return ntn.parse(new StringReader(desc)).toString();
+    }
+
+    /**
+     * Parses a description from a buffer with other characters
+     * before and after it.
+     *
+     * @param ntn  the notation to use
+     * @param desc the description
+     * @return     the parsed graph (as a string)
+     */
+    private static String parseChars(Notation ntn, String desc)
+        throws IOException {
+        char[] buf = ("#####" + desc + "#####").toCharArray();
+        return ntn.parse(buf, 5, desc.length()).toString();
+    }
+
+    /**
+     * Checks that all descriptions are parsed in the same way from a
+     * reader, from a character buffer and from a string builder.
+     *
+     * @param ntn   the notation to use
+     * @param descs the descriptions
+     */
+    private static void assertSameGraphs(Notation ntn, String[] descs)
+        throws IOException {
+        for (String desc : descs) {
+            String expected = parseReader(ntn, desc);
+            assertEquals(desc, expected, parseChars(ntn, desc));
+            assertEquals(-1, ntn.getDelim());
+            assertEquals(desc, expected,
+                         ntn.parse(new StringBuilder(desc)).toString());
+            assertEquals(desc, expected, ntn.parse(desc).toString());
+        }
+    }
+
+    /**
+     * Converts the SMILES descriptions into another notation.
+     *
+     * @param ntn the notation to convert to
+     * @return    the converted descriptions
+     */
+    private static String[] convert(Notation ntn) throws IOException {
+        String[] descs = new String[SMILES.length];
+        Notation smiles = new SMILES();
+        for (int i = 0; i < SMILES.length; i++)
+            descs[i] = ntn.describe(smiles.parse(SMILES[i]));
+        return descs;
+    }
+
+    @Test public void testSMILES() throws IOException {
+        assertSameGraphs(new SMILES(), SMILES);
+    }
+
+    @Test public void testSLN() throws IOException {
+        Notation ntn = new SLN();
+        assertSameGraphs(ntn, convert(ntn));
+    }
+
+    @Test public void testLiNoG() throws IOException {
+        assertSameGraphs(new LiNoG(), new String[] {
+            "A-B-C", "A-B(-C)-D", "N1-C-C-C=1", "Foo-Bar(-Baz)-Foo",
+            "A-B.C-D" });
+    }
+
+    @Test public void testCtab() throws IOException {
+        Notation ntn = new Ctab();
+        assertSameGraphs(ntn, convert(ntn));
+    }
+
+    @Test public void testReuse() throws IOException {
+        Notation ntn = new SMILES();
+        char[] buf = "CCOc1ccccc1".toCharArray();
+        String expected = parseReader(ntn, "CCO");
+        assertEquals(expected, ntn.parse(buf, 0, 3).toString());
+        assertEquals(parseReader(ntn, "c1ccccc1"),
+                     ntn.parse(buf, 3, 8).toString());
+        assertEquals(expected, ntn.parse(buf, 0, 3).toString());
+    }
+
+    @Test public void testErrors() throws IOException {
+        String[] bad = { "C(C", "C)", "C[Xx]", "C%", "CC O" };
+        Notation ntn = new SMILES();
+        for (String desc : bad) {
+            String expected = null;
+            try {
+                parseReader(ntn, desc);
+                fail(desc + " not rejected");
+            } catch (IOException e) {
+                expected = e.getMessage();
+            }
+            try {
+                parseChars(ntn, desc);
+                fail(desc + " not rejected");
+            } catch (IOException e) {
+                assertEquals(desc, expected, e.getMessage());
+            }
+            assertEquals(parseReader(ntn, "CCO"), parseChars(ntn, "CCO"));
+        }
+    }
+
+}
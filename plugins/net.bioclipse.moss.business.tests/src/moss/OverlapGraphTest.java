@@ -0,0 +1,204 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Bioclipse Team and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contact: http://www.bioclipse.net/
+ ******************************************************************************/
+package moss;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Tests for the maximum independent set computation of overlap graphs,
+ * which is used for the single graph support measures (option -k).
+ *
+ * @author The Bioclipse Team
+ */
+public class OverlapGraphTest extends AbstractMinerTest {
+
+    /**
+     * Creates a random graph in ASCII DIMACS format.
+     *
+     * @param n    the number of nodes
+     * @param p    the probability of an edge
+     * @param rand the random number generator
+     * @param adj  buffer for the adjacency matrix (bit masks)
+     * @return     the graph description
+     */
+    private static String random(int n, double p, Random rand, int[] adj) {
+        StringBuilder sb = new StringBuilder();
+        int m = 0;
+        for (int i = 0; i < n; i++) adj[i] = 0;
+        for (int i = 0; i < n; i++)
+            for (int k = i + 1; k < n; k++)
+                if (rand.nextDouble() < p) {
+                    sb.append("e ").append(i + 1).append(' ')
+                      .append(k + 1).append('\n');
+                    adj[i] |= 1 << k;
+                    adj[k] |= 1 << i;
+                    m++;
+                }
+        return "p edge " + n + " " + m + "\n" + sb;
+    }
+
+    /**
+     * Computes the size of a maximum independent set by enumerating
+     * all subsets of the nodes.
+     *
+     * @param n   the number of nodes
+     * @param adj the adjacency matrix (bit masks)
+     * @return    the size of a maximum independent set
+     */
+    private static int bruteForce(int n, int[] adj) {
+        int best = 0;
+        for (int set = 0; set < (1 << n); set++) {
+            int i;
+            for (i = 0; i < n; i++)
+                if (((set >> i) & 1) != 0 && (adj[i] & set) != 0)
+                    break;
+            if (i >= n) best = Math.max(best, Integer.bitCount(set));
+        }
+        return best;
+    }
+
+    /**
+     * Parses a graph in ASCII DIMACS format.
+     *
+     * @param desc the graph description
+     * @return     the overlap graph
+     */
+    private static OverlapGraph parse(String desc) throws IOException {
+        return OverlapGraph.parseGraph(new StringReader(desc));
+    }
+
+    @Test public void testRandom() throws IOException {
+        Random rand = new Random(7);
+        int[] adj = new int[16];
+        for (int t = 0; t < 300; t++) {
+            int n = 1 + rand.nextInt(16);
+            String desc = random(n, 0.05 + 0.8 * rand.nextDouble(),
+                                 rand, adj);
+            int mis = bruteForce(n, adj);
+            assertEquals(desc, mis, parse(desc).getMISExact());
+            assertEquals(desc, mis, parse(desc).getMISSize(false));
+            assertTrue(desc, parse(desc).getMISGreedy() <= mis);
+        }
+    }
+
+    @Test public void testSpecial() throws IOException {
+        assertEquals(1, parse("p edge 1 0\n").getMISExact());
+        assertEquals(5, parse("p edge 5 0\n").getMISExact());
+        StringBuilder sb = new StringBuilder("p edge 70 2415\n");
+        for (int i = 1; i <= 70; i++)
+            for (int k = i + 1; k <= 70; k++)
+                sb.append("e ").append(i).append(' ').append(k)
+                  .append('\n');
+        assertEquals(1, parse(sb.toString()).getMISExact());
+        sb = new StringBuilder("p edge 130 65\n");
+        for (int i = 1; i < 130; i += 2)
+            sb.append("e ").append(i).append(' ').append(i + 1)
+              .append('\n');
+        assertEquals(65, parse(sb.toString()).getMISExact());
+    }
+
+    @Test public void testLargeRandom() throws IOException {
+        Random rand = new Random(11);
+        StringBuilder sb = new StringBuilder();
+        int m = 0;
+        for (int i = 1; i <= 120; i++)
+            for (int k = i + 1; k <= 120; k++)
+                if (rand.nextDouble() < 0.5) {
+                    sb.append("e ").append(i).append(' ').append(k)
+                      .append('\n');
+                    m++;
+                }
+        String desc = "p edge 120 " + m + "\n" + sb;
+        int mis = parse(desc).getMISExact();
+        assertTrue(parse(desc).getMISGreedy() <= mis);
+        assertTrue(mis >= 5);
+    }
+
+    @Test public void testEmbeddings() throws IOException {
+        Notation smiles = new SMILES();
+        Graph graph = smiles.parse(new StringReader("CCCCCCCCCC"));
+        Graph sub = smiles.parse(new StringReader("CCC"));
+        graph.prepare();
+        assertTrue(sub.prepareEmbed());
+        OverlapGraph olap = new OverlapGraph(false);
+        for (Embedding emb = graph.embed(sub); emb != null;
+             emb = emb.succ)
+            olap.add(emb);
+        assertEquals(3, olap.getMISSize(false));
+    }
+
+    /**
+     * Builds the overlap graph of the embeddings of a substructure.
+     *
+     * @param olap    the overlap graph to fill
+     * @param graph   the graph to embed into
+     * @param sub     the substructure to embed
+     * @param numbers whether to number the nodes of the graph
+     * @return        the overlap graph
+     */
+    private static OverlapGraph build(OverlapGraph olap, String graph,
+                                      String sub, boolean numbers)
+        throws IOException {
+        Notation smiles = new SMILES();
+        NamedGraph g = new NamedGraph(
+            smiles.parse(new StringReader(graph)), "g");
+        if (numbers) Markers.number(g);
+        g.prepare();
+        g.mark(-1);
+        Graph s = smiles.parse(new StringReader(sub));
+        assertTrue(s.prepareEmbed());
+        olap.clear();
+        for (Embedding emb = g.embed(s); emb != null; emb = emb.succ)
+            olap.add(emb);
+        return olap;
+    }
+
+    @Test public void testNodeIndex() throws IOException {
+        String[][] cases = {
+            { "CCCCCCCCCC", "CCC" },
+            { "C" + new String(new char[99]).replace('\0', 'C'), "CC" },
+            { "c1ccc2ccccc2c1", "cc" },
+            { "c1ccc2cc3ccccc3cc2c1", "ccc" },
+            { "CC12CCC3C(CCC4=CC(=O)CCC34C)C1CCC2O", "CCC" },
+            { "OC1C(O)C(O)C(O)C(O)C1O", "CCO" }
+        };
+        for (boolean harmful : new boolean[] { false, true }) {
+            OverlapGraph a = new OverlapGraph(harmful);
+            OverlapGraph b = new OverlapGraph(harmful);
+            for (String[] c : cases) {
+                String msg = c[0] + " " + c[1] + " " + harmful;
+                build(a, c[0], c[1], true);
+                build(b, c[0], c[1], false);
+                assertEquals(msg, b.size(), a.size());
+                assertEquals(msg, b.getMISGreedy(),
+                             build(a, c[0], c[1], true).getMISGreedy());
+                build(b, c[0], c[1], false);
+                assertEquals(msg, b.getMISExact(),
+                             build(a, c[0], c[1], true).getMISExact());
+            }
+        }
+    }
+
+    @Test public void testSameResult() throws IOException {
+        assertSameResult("-s10 -S100 -k1", "-G");
+        assertEquals(-726982810, mine("-s5 -S100 -k1 -G").hashCode());
+        assertEquals(-1023768413, mine("-s5 -S100 -k2 -G").hashCode());
+        assertEquals(-2065677632, mine("-s10 -S100 -k2 -G").hashCode());
+    }
+
+}
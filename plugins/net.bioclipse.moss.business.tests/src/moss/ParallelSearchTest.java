@@ -0,0 +1,60 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Bioclipse Team and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contact: http://www.bioclipse.net/
+ ******************************************************************************/
+package moss;
+
+import java.io.IOException;
+
+import org.junit.Test;
+
+/**
+ * Tests for the parallel search with worker threads (option -w).
+ * The found substructures and their order must be the same as with a
+ * sequential search.
+ *
+ * @author The Bioclipse Team
+ */
+public class ParallelSearchTest extends AbstractMinerTest {
+
+    @Test public void testThreadCounts() throws IOException {
+        assertSameResult("-s20 -S100", "-w2");
+        assertSameResult("-s20 -S100", "-w4");
+        assertSameResult("-s20 -S100", "-w16");
+    }
+
+    @Test public void testStartTypes() throws IOException {
+        assertSameResult("-s5 -S100 -n6", "-w4");
+        assertSameResult("-s5 -S100 -n6 -yN", "-w4");
+        assertSameResult("-s5 -S100 -n6 -xS", "-w4");
+        assertSameResult("-s5 -S100 -n6 -xS -yO", "-w2");
+    }
+
+    @Test public void testRingExtensions() throws IOException {
+        assertSameResult("-s10 -S100 -r5:6 -R", "-w4");
+        assertSameResult("-s10 -S100 -r5:6 -R -E", "-w4");
+    }
+
+    @Test public void testGroups() throws IOException {
+        assertSameResult("-s10 -S100 -g", "-w4");
+    }
+
+    @Test public void testChains() throws IOException {
+        assertSameResult("-s10 -S100 -C -M2 -U", "-w4");
+    }
+
+    @Test public void testSeed() throws IOException {
+        assertSameResult("-jc1ccccc1 -s5 -S100", "-w4");
+    }
+
+    @Test public void testPackedEmbeddings() throws IOException {
+        assertSameResult("-s10 -S100 -M1", "-w4");
+    }
+
+}
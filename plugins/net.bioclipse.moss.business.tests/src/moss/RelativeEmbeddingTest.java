@@ -0,0 +1,150 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Bioclipse Team and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contact: http://www.bioclipse.net/
+ ******************************************************************************/
+package moss;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.io.IOException;
+
+import org.junit.Test;
+
+/**
+ * Tests for embeddings that are stored relative to their base
+ * embedding (option -Y).
+ *
+ * @author The Bioclipse Team
+ */
+public class RelativeEmbeddingTest extends AbstractMinerTest {
+
+    /** A path graph with five nodes and an edge that closes a ring. */
+    private final NamedGraph graph = graph();
+
+    /**
+     * Creates a path graph with five nodes and an additional edge
+     * between the first and the fourth node.
+     *
+     * @return the graph
+     */
+    private static NamedGraph graph() {
+        NamedGraph graph = new NamedGraph(null, 5, 5, "p", 0, 0);
+        for (int i = 0; i < 5; i++) graph.addNode(0);
+        for (int i = 1; i < 5; i++) graph.addEdge(i - 1, i, 0);
+        graph.addEdge(0, 3, 0);
+        return graph;
+    }
+
+    /**
+     * Creates an embedding of the path that starts at the first node.
+     *
+     * @param n    the number of nodes of the embedding
+     * @param e    the number of edges of the embedding
+     * @param base the base embedding
+     * @return     the embedding
+     */
+    private Embedding emb(int n, int e, Embedding base) {
+        Embedding emb = new Embedding();
+        emb.graph = graph;
+        emb.base  = base;
+        emb.nodes = new Node[n];
+        emb.edges = new Edge[e];
+        System.arraycopy(graph.nodes, 0, emb.nodes, 0, n);
+        System.arraycopy(graph.edges, 0, emb.edges, 0, e);
+        return emb;
+    }
+
+    @Test public void testCreateExpand() {
+        Embedding root = emb(2, 1, null);
+        EmbDelta d1 = EmbDelta.create(emb(3, 2, root));
+        assertSame(root, d1.base);
+        assertSame(graph.edges[1], d1.edge);
+        assertSame(graph.nodes[2], d1.node);
+        assertNull(d1.nodes);
+        d1.expand();
+        EmbDelta d2 = EmbDelta.create(emb(4, 3, d1));
+        assertSame(d1, d2.base);
+        d1.release();
+        assertNull(d1.nodes);
+        assertSame(d2, d2.expand());
+        assertArrayEquals(emb(4, 3, null).nodes, d2.nodes);
+        assertArrayEquals(emb(4, 3, null).edges, d2.edges);
+        assertNull(d1.nodes);
+        assertEquals(1, d2.count());
+        assertEquals(40 + Embedding.memory(4) + Embedding.memory(3),
+                     d2.memory());
+        d2.release();
+        assertEquals(40, d2.memory());
+    }
+
+    @Test public void testSharedNodes() {
+        Embedding base = emb(4, 3, null);
+        Embedding emb = emb(4, 4, base);
+        emb.nodes = base.nodes;
+        emb.edges[3] = graph.edges[4];
+        EmbDelta d = EmbDelta.create(emb);
+        assertNull(d.node);
+        assertArrayEquals(emb.edges, d.expand().edges);
+        assertArrayEquals(base.nodes, d.nodes);
+    }
+
+    @Test public void testNotRelative() {
+        Embedding base = emb(2, 1, null);
+        assertNull(EmbDelta.create(emb(2, 1, null)));
+        assertNull(EmbDelta.create(emb(4, 3, base)));
+        Embedding emb = emb(3, 2, base);
+        emb.edges[0] = graph.edges[3];
+        assertNull(EmbDelta.create(emb));
+        base.nodes = null;
+        assertNull(EmbDelta.create(emb(3, 2, base)));
+    }
+
+    @Test public void testMaterialize() {
+        Embedding root = emb(2, 1, null);
+        Embedding emb = EmbDelta.create(emb(3, 2, root)).materialize();
+        assertSame(root, emb.base);
+        assertArrayEquals(emb(3, 2, null).nodes, emb.nodes);
+        assertArrayEquals(emb(3, 2, null).edges, emb.edges);
+        Embedding base = emb(4, 3, null);
+        Embedding ring = emb(4, 4, base);
+        ring.nodes = base.nodes;
+        ring.edges[3] = graph.edges[4];
+        emb = EmbDelta.create(ring).materialize();
+        assertSame(base.nodes, emb.nodes);
+        assertArrayEquals(ring.edges, emb.edges);
+    }
+
+    @Test public void testMaterializeChain() {
+        Embedding root = emb(2, 1, null);
+        EmbDelta d1 = EmbDelta.create(emb(3, 2, root));
+        d1.expand();
+        EmbDelta d2 = EmbDelta.create(emb(4, 3, d1));
+        d1.release();
+        Embedding emb = d2.materialize();
+        assertArrayEquals(emb(4, 3, null).nodes, emb.nodes);
+        assertArrayEquals(emb(4, 3, null).edges, emb.edges);
+        assertNull(d2.nodes);
+        d2.expand();
+        Node[] nodes = d2.nodes;
+        assertSame(nodes, d2.materialize().nodes);
+        assertNull(d2.nodes);
+    }
+
+    @Test public void testSameResult() throws IOException {
+        assertSameResult("-s10 -S100", "-Y");
+        assertSameResult("-s10 -S100 -C", "-Y");
+        assertSameResult("-s10 -S100 -r5:6 -R", "-Y");
+        assertSameResult("-s10 -S100 -Z", "-Y");
+        assertSameResult("-s10 -S100 -Y", "-w4");
+    }
+
+}
@@ -0,0 +1,251 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Bioclipse Team and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contact: http://www.bioclipse.net/
+ ******************************************************************************/
+package moss;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for the repository of processed fragments, which is used
+ * instead of canonical form pruning (options -q, -Q, -F# and -X).
+ *
+ * @author The Bioclipse Team
+ */
+public class RepositoryTest extends AbstractMinerTest {
+
+    /** The number of edges of the stars. */
+    private static final int N = 300;
+
+    /** Two stars with numbered nodes and edges (leaves of different
+     *  types). */
+    private NamedGraph g1, g2;
+
+    /**
+     * Creates a star graph.
+     *
+     * @param n     the number of leaves
+     * @param typed whether the leaves have different types
+     * @return      the graph
+     */
+    private static NamedGraph star(int n, boolean typed) {
+        NamedGraph graph = new NamedGraph(null, n + 1, n, "s", 0, 0);
+        graph.addNode(0);
+        for (int i = 1; i <= n; i++) graph.addNode(typed ? i : 1);
+        for (int i = 1; i <= n; i++) graph.addEdge(0, i, 0);
+        return graph;
+    }
+
+    @Before public void setUp() {
+        Markers.get().clear();
+        g1 = star(N, true);
+        g2 = star(N, true);
+        g1.succ = g2;
+        Markers.number(g1);
+        g1.mark(-1);
+        g2.mark(-1);
+    }
+
+    /**
+     * Creates a fragment with a single embedding, which consists of
+     * two edges of a star and their incident nodes.
+     *
+     * @param graph the graph
+     * @param a     the index of the first edge
+     * @param b     the index of the second edge
+     * @return      the fragment
+     */
+    private static Fragment fragment(Graph graph, int a, int b) {
+        Embedding emb = new Embedding();
+        emb.graph = graph;
+        emb.edges = new Edge[] { graph.edges[a], graph.edges[b] };
+        emb.nodes = new Node[] { graph.nodes[0], graph.edges[a].dst,
+                                 graph.edges[b].dst };
+        Fragment frag = new Fragment();
+        frag.list = frag.tail = emb;
+        frag.supp[0] = frag.supp[2] = 1;
+        return frag;
+    }
+
+    @Test public void testAdd() throws IOException {
+        Repository repo = new Repository(0, 0);
+        assertTrue(repo.add(fragment(g1, 0, 1)));
+        assertFalse(repo.add(fragment(g1, 0, 1)));
+        assertFalse(repo.add(fragment(g1, 1, 0)));
+        assertTrue(repo.add(fragment(g1, 1, 2)));
+        assertTrue(repo.add(fragment(g2, 0, 1)));
+        assertEquals(3, repo.size());
+        repo.clear();
+        assertEquals(0, repo.size());
+        assertEquals(3, repo.getMaxSize());
+        assertTrue(repo.add(fragment(g1, 0, 1)));
+        repo.close();
+    }
+
+    /**
+     * Creates a fragment with two embeddings into the same graph.
+     *
+     * @param graph the graph
+     * @param a     the index of the first edge of the first embedding
+     * @param b     the index of the first edge of the second embedding
+     * @return      the fragment
+     */
+    private static Fragment fragment2(Graph graph, int a, int b) {
+        Fragment frag = fragment(graph, a, a + 1);
+        frag.list.succ = frag.tail = fragment(graph, b, b + 1).list;
+        frag.supp[2] = 2;
+        return frag;
+    }
+
+    @Test public void testOtherEmbedding() throws IOException {
+        NamedGraph graph = star(10, false);
+        Markers.number(graph);
+        graph.mark(-1);
+        Repository repo = new Repository(0, 0);
+        assertTrue(repo.add(fragment2(graph, 4, 0)));
+        assertTrue(repo.add(fragment2(graph, 2, 6)));
+        assertFalse(repo.add(fragment2(graph, 2, 4)));
+        assertFalse(repo.add(fragment2(graph, 6, 2)));
+        assertTrue(repo.add(fragment2(graph, 6, 0)));
+        assertFalse(repo.add(fragment2(graph, 8, 6)));
+        assertEquals(3, repo.size());
+        repo.close();
+    }
+
+    /**
+     * Fills a repository with more fragments than fit into one block
+     * and checks that all of them are found again.
+     *
+     * @param repo the repository to fill
+     */
+    private void fill(Repository repo) throws IOException {
+        int n = 0;
+        for (int a = 0; a < N; a++)
+            for (int b = a + 1; b < N; b++, n++)
+                assertTrue(repo.add(fragment(g1, a, b)));
+        assertEquals(n, repo.size());
+        assertTrue(repo.getMemory() > 4L * (1 << 18));
+        for (int a = 0; a < N; a++)
+            for (int b = a + 1; b < N; b++)
+                assertFalse(repo.add(fragment(g1, b, a)));
+        assertEquals(n, repo.size());
+    }
+
+    @Test public void testHeap() throws IOException {
+        Repository repo = new Repository(0, 0);
+        fill(repo);
+        assertEquals(0, repo.getSpilled());
+        repo.close();
+    }
+
+    @Test public void testDirect() throws IOException {
+        Repository repo = new Repository(0, Repository.DIRECT);
+        fill(repo);
+        assertEquals(0, repo.getSpilled());
+        repo.close();
+    }
+
+    @Test public void testSpill() throws IOException {
+        Repository repo = new Repository(1, 0);
+        fill(repo);
+        assertTrue(repo.getSpilled() >= 2L * 4 * (1 << 18));
+        repo.clear();
+        fill(repo);
+        repo.close();
+    }
+
+    @Test public void testCodeWords() throws IOException {
+        Repository repo = new Repository(0, Repository.WORDS);
+        assertTrue(repo.add(fragment(g1, 0, 1)));
+        assertFalse(repo.add(fragment(g1, 1, 0)));
+        assertFalse(repo.add(fragment(g2, 0, 1)));
+        assertTrue(repo.add(fragment(g1, 1, 2)));
+        Fragment frag = fragment(g1, 0, 2);
+        assertTrue(repo.add(frag));
+        frag = fragment(g1, 0, 2);
+        frag.supp[0] = 2;
+        assertTrue(repo.add(frag));
+        assertEquals(4, repo.size());
+        repo.close();
+    }
+
+    @Test public void testCodeWordSpill() throws IOException {
+        Repository repo = new Repository(1, Repository.WORDS);
+        int n = 0;
+        for (int a = 0; a < N; a++)
+            for (int b = a + 1; b < N; b++, n++)
+                assertTrue(repo.add(fragment(g1, a, b)));
+        for (int a = 0; a < N; a++)
+            for (int b = a + 1; b < N; b++)
+                assertFalse(repo.add(fragment(g2, b, a)));
+        assertEquals(n, repo.size());
+        assertTrue(repo.getSpilled() > 0);
+        repo.close();
+    }
+
+    @Test public void testFingerprint() {
+        long fp = fragment(g1, 0, 1).fingerprint();
+        assertEquals(fp, fragment(g1, 1, 0).fingerprint());
+        assertEquals(fp, fragment(g2, 0, 1).fingerprint());
+        assertTrue(fp != fragment(g1, 0, 2).fingerprint());
+        assertTrue(fp != fragment(g1, 1, 2).fingerprint());
+        assertEquals(-1, Markers.get().get(g1.nodes[0]));
+        assertEquals(-1, Markers.get().get(g1.nodes[1]));
+    }
+
+    @Test public void testFilter() throws IOException {
+        Repository repo = new Repository(0, Repository.FILTER);
+        fill(repo);
+        int n = repo.size();
+        assertEquals(2L * n, repo.fltneg + repo.fltpos);
+        assertTrue(repo.fltneg >= n - repo.fltfp);
+        assertTrue(repo.fltfp < n / 100);
+        assertEquals(0, repo.isocnt - n);
+        repo.clear();
+        assertTrue(repo.add(fragment(g1, 0, 1)));
+        assertFalse(repo.add(fragment(g1, 1, 0)));
+        repo.close();
+    }
+
+    @Test public void testFilterSpill() throws IOException {
+        Repository repo = new Repository(1, Repository.FILTER
+                                          | Repository.DIRECT);
+        fill(repo);
+        assertTrue(repo.getSpilled() > 0);
+        repo.close();
+        repo = new Repository(1, Repository.FILTER | Repository.WORDS);
+        assertTrue(repo.add(fragment(g1, 0, 1)));
+        assertFalse(repo.add(fragment(g2, 1, 0)));
+        assertTrue(repo.add(fragment(g1, 1, 2)));
+        assertEquals(2, repo.size());
+        repo.close();
+    }
+
+    @Test public void testSameResult() throws IOException {
+        assertSameResult("-s10 -S100 -q", "-F1 -X");
+        assertSameResult("-s10 -S100 -r5:6 -R -q", "-X");
+        assertSameResult("-s10 -S100 -q", "-w4");
+        assertSameResult("-s10 -S100 -q", "-Q");
+        assertSameResult("-s10 -S100 -q -g", "-Q");
+        assertSameResult("-s5 -S100 -q -E -r5:6", "-Q -F1 -X");
+        assertSameResult("-s5 -S100 -q -k2", "-Q");
+        assertSameResult("-s10 -S100 -q", "-I");
+        assertSameResult("-s10 -S100 -q", "-Q -I");
+        assertSameResult("-s10 -S100 -q", "-F1 -X -I");
+        assertSameResult("-s10 -S100 -r5:6 -R -q", "-I -w4");
+    }
+
+}
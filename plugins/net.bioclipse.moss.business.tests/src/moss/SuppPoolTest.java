@@ -0,0 +1,134 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Bioclipse Team and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contact: http://www.bioclipse.net/
+ ******************************************************************************/
+package moss;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Tests for the parallel support computation over graph runs, which
+ * is used with worker threads (option -w) for the support types based
+ * on maximum independent sets and minimum images (option -k).
+ *
+ * @author The Bioclipse Team
+ */
+public class SuppPoolTest extends AbstractMinerTest {
+
+    /** Graphs that contain the substructures (SMILES). */
+    private static final String[] GRAPHS = {
+        "CCCCCC", "CCC(C)CC", "C1CCCCC1", "CCCCCCCCCC", "CC(C)(C)CC",
+        "C1CCC2CCCCC2C1", "CCCC", "CCC", "CC1CCCC1C", "CCCCCCCC"
+    };
+
+    /** The thread pool of the tests. */
+    private static SuppPool pool;
+
+    @BeforeClass public static void createPool() {
+        pool = new SuppPool(3);
+    }
+
+    @AfterClass public static void shutdownPool() {
+        pool.shutdown();
+    }
+
+    /**
+     * Creates a fragment from the embeddings of a substructure into
+     * a list of numbered graphs, which alternate between the groups.
+     *
+     * @param sub the substructure (SMILES)
+     * @param cnt the number of graphs
+     * @return    the fragment
+     */
+    private static Fragment fragment(String sub, int cnt)
+        throws IOException {
+        Notation smiles = new SMILES();
+        NamedGraph first = null, prev = null;
+        for (int i = 0; i < cnt; i++) {
+            String desc = GRAPHS[(i * 7) % GRAPHS.length];
+            NamedGraph g = new NamedGraph(
+                smiles.parse(new StringReader(desc)), desc, 0,
+                ((i % 3) == 0) ? Fragment.COMPL : Fragment.FOCUS);
+            if (prev == null) first = g; else prev.succ = g;
+            prev = g;
+        }
+        Markers.number(first);
+        Graph s = smiles.parse(new StringReader(sub));
+        assertTrue(s.prepareEmbed());
+        Fragment frag = new Fragment();
+        for (NamedGraph g = first; g != null; g = g.succ) {
+            g.prepare();
+            g.mark(-1);
+            Embedding emb = g.embed(s);
+            if (emb == null) continue;
+            frag.supp[g.getGroup()]++;
+            while (emb != null) {
+                Embedding next = emb.succ;
+                emb.succ = null;
+                if (frag.list == null) frag.list = emb;
+                else                   frag.tail.succ = emb;
+                frag.tail = emb;
+                frag.supp[2 + g.getGroup()]++;
+                emb = next;
+            }
+        }
+        return frag;
+    }
+
+    /**
+     * Checks that the parallel support computation yields the same
+     * support values as the sequential one.
+     *
+     * @param sub  the substructure (SMILES)
+     * @param cnt  the number of graphs
+     * @param type the support type
+     */
+    private static void assertSameSupport(String sub, int cnt, int type)
+        throws IOException {
+        Fragment seq = fragment(sub, cnt);
+        Fragment par = fragment(sub, cnt);
+        Embedding tail = par.tail;
+        seq.computeSupport(type, null);
+        par.computeSupport(type, pool);
+        String msg = sub + " " + cnt + " " + type;
+        assertEquals(msg, seq.getFocusSupport(), par.getFocusSupport());
+        assertEquals(msg, seq.getComplSupport(), par.getComplSupport());
+        assertTrue(msg, seq.getComplSupport() > 0);
+        assertEquals(msg, tail, par.tail);
+    }
+
+    @Test public void testSameSupport() throws IOException {
+        int[] types = { Fragment.MIS_OLAP, Fragment.MIS_HARM,
+                        Fragment.MIS_OLAP | Fragment.GREEDY,
+                        Fragment.MIS_HARM | Fragment.GREEDY,
+                        Fragment.MIN_IMAGE };
+        for (int type : types)
+            for (String sub : new String[] { "CC", "CCC", "CC(C)C" })
+                for (int cnt : new int[] { 10, SuppPool.MINRUNS, 100 })
+                    assertSameSupport(sub, cnt, type);
+    }
+
+    @Test public void testSameResult() throws IOException {
+        assertSameResult("-s5 -S100 -k1", "-w4");
+        assertSameResult("-s5 -S100 -k2", "-w4");
+        assertSameResult("-s5 -S100 -k2 -G", "-w4");
+        assertSameResult("-s5 -S100 -k3", "-w4");
+        assertSameResult("-s5 -S100 -k3 -r5:6 -R", "-w4");
+        assertSameResult("-s5 -S100 -k3", "-w4 -Y");
+    }
+
+}
@@ -0,0 +1,172 @@
+/*******************************************************************************
+ *Copyright (c) 2008 The Bioclipse Team and others.
+ *All rights reserved. This program and the accompanying materials
+ *are made available under the terms of the Eclipse Public License v1.0
+ *which accompanies this distribution, and is available at
+ *http://www.eclipse.org/legal/epl-v10.html
+ *
+ *******************************************************************************/
+/*----------------------------------------------------------------------
+  File    : EmbBench.java
+  Contents: benchmark for the embedding of graphs
+  Author  : The Bioclipse Team
+  History : 2026.10.17 file created
+----------------------------------------------------------------------*/
+package moss;
+
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.StringReader;
+
+/*--------------------------------------------------------------------*/
+/** Class for a benchmark of the embedding of graphs.
+ *  <p>A set of substructures (given as SMILES strings) is embedded
+ *  into all molecules of a data set (in the same format as for the
+ *  class <code>Miner</code>), once with the recursive embedding and
+ *  once with the iterative embedding with candidate filtering (see
+ *  <code>Graph.setFastEmbed()</code>). For both the time needed and
+ *  the number of found embeddings and containing molecules are
+ *  reported, so that the results can be compared.</p>
+ *  <p>The benchmark is not part of the plugin. It is kept in a
+ *  separate source tree and has to be compiled together with the
+ *  sources of the package <code>moss</code>.</p>
+ *  @author The Bioclipse Team
+ *  @since  2026.10.17 */
+/*--------------------------------------------------------------------*/
+public class EmbBench {
+
+  /*------------------------------------------------------------------*/
+  /*  instance variables                                              */
+  /*------------------------------------------------------------------*/
+  /** the molecules into which to embed */
+  private Graph[] graphs;
+  /** the substructures to embed */
+  private Graph[] subs;
+  /** the number of found embeddings */
+  private long    embcnt;
+  /** the number of found containments */
+  private long    concnt;
+
+  /*------------------------------------------------------------------*/
+  /** Create an embedding benchmark.
+   *  @param  fname the name of the file with the molecules
+   *  @param  descs the descriptions of the substructures (SMILES)
+   *  @throws IOException if an i/o or a parse error occurs
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  public EmbBench (String fname, String[] descs) throws IOException
+  {                             /* --- create a benchmark */
+    int         i, n;           /* loop variable, number of graphs */
+    GraphReader reader;         /* reader for the molecules */
+    Notation    ntn;            /* notation for the substructures */
+    Graph       graph;          /* to traverse the graphs */
+    Graph[]     buf;            /* buffer for reallocation */
+    int[]       masks;          /* masks for node and edge types */
+
+    masks    = new int[4];      /* create node and edge masks */
+    masks[0] = masks[2] = Atoms.ELEMMASK;
+    masks[1] = masks[3] = Bonds.BONDMASK;
+    reader = GraphReader.createReader(new FileReader(fname),
+                                      GraphReader.GRAPHS, "smiles");
+    this.graphs = new Graph[1024];
+    for (n = 0; reader.readGraph(); n++) {
+      graph = reader.getGraph();/* read the next molecule */
+      graph.maskTypes(masks);   /* mask the node and edge types */
+      graph.prepare();          /* and prepare it for embedding */
+      if (n >= this.graphs.length) {
+        buf = new Graph[n +(n >> 1)];
+        System.arraycopy(this.graphs, 0, buf, 0, n);
+        this.graphs = buf;      /* enlarge the graph array */
+      }                         /* if necessary */
+      this.graphs[n] = graph;   /* store the molecule */
+    }
+    reader.close();             /* close the input file */
+    buf = new Graph[n];         /* shrink the graph array */
+    System.arraycopy(this.graphs, 0, buf, 0, n);
+    this.graphs = buf;
+    ntn = new SMILES();         /* create a SMILES notation */
+    this.subs = new Graph[descs.length];
+    for (i = 0; i < descs.length; i++) {
+      graph = ntn.parse(new StringReader(descs[i]));
+      graph.maskTypes(masks);   /* parse the substructures, */
+      if (!graph.prepareEmbed())/* mask their types and prepare */
+        throw new IOException("error: substructure "
+                             +descs[i] +" is not connected");
+      this.subs[i] = graph;     /* them for embedding */
+    }
+  }  /* EmbBench() */
+
+  /*------------------------------------------------------------------*/
+  /** Embed all substructures into all molecules.
+   *  @param  fast whether to use the iterative embedding
+   *  @param  reps the number of repetitions
+   *  @return the time needed (in milliseconds)
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  public long run (boolean fast, int reps)
+  {                             /* --- run the benchmark */
+    int       i, k, r;          /* loop variables */
+    long      t;                /* for time measurement */
+    Embedding emb;              /* to traverse the embeddings */
+
+    Graph.setFastEmbed(fast);   /* set the embedding method */
+    this.embcnt = this.concnt = 0;
+    t = System.currentTimeMillis();
+    for (r = reps; --r >= 0; ) {/* repeat the embeddings */
+      for (i = 0; i < this.subs.length; i++) {
+        for (k = 0; k < this.graphs.length; k++) {
+          for (emb = this.graphs[k].embed(this.subs[i]);
+               emb != null; emb = emb.succ)
+            this.embcnt++;      /* embed the substructures */
+          if (this.graphs[k].contains(this.subs[i]))
+            this.concnt++;      /* and check for containment */
+        }                       /* in all molecules */
+      }
+    }
+    Graph.setFastEmbed(true);   /* restore the default method */
+    return System.currentTimeMillis() -t;
+  }  /* run() */
+
+  /*------------------------------------------------------------------*/
+  /** Main function of the embedding benchmark.
+   *  @param  args the command line arguments
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  public static void main (String args[])
+  {                             /* --- main function for benchmark */
+    int      i, reps = 5;       /* loop variable, repetitions */
+    String[] descs;             /* descriptions of substructures */
+    EmbBench bench;             /* created benchmark */
+    long     t;                 /* time needed */
+
+    if (args.length < 2) {      /* if wrong number of arguments */
+      System.err.println("usage: java moss.EmbBench <in> <sub> ..."
+                        +" [-r#]");
+      return;                   /* print a usage message */
+    }                           /* and abort the program */
+    i = args.length;            /* check for a repetition count */
+    if (args[i-1].startsWith("-r")) {
+      reps = Integer.parseInt(args[--i].substring(2)); }
+    descs = new String[i-1];    /* collect the substructures */
+    System.arraycopy(args, 1, descs, 0, i-1);
+    try { bench = new EmbBench(args[0], descs); }
+    catch (IOException e) {     /* read molecules and substructures */
+      System.err.println(e.getMessage()); return; }
+    System.out.println(bench.graphs.length +" molecule(s), "
+                      +bench.subs.length +" substructure(s), "
+                      +reps +" repetition(s)");
+    bench.run(false, 1);        /* warm up the virtual machine */
+    bench.run(true,  1);        /* for both methods */
+    for (i = 0; i < 2; i++) {   /* run both methods */
+      t = bench.run(i > 0, reps);
+      System.out.println(((i > 0) ? "iterative: " : "recursive: ")
+                        +bench.embcnt +" embedding(s), "
+                        +bench.concnt +" containment(s), "
+                        +(t/1000.0) +"s");
+    }                           /* print the results */
+  }  /* main() */
+
+}  /* class EmbBench */
@@ -0,0 +1,154 @@
+/*******************************************************************************
+ *Copyright (c) 2008 The Bioclipse Team and others.
+ *All rights reserved. This program and the accompanying materials
+ *are made available under the terms of the Eclipse Public License v1.0
+ *which accompanies this distribution, and is available at
+ *http://www.eclipse.org/legal/epl-v10.html
+ *
+ *******************************************************************************/
+/*----------------------------------------------------------------------
+  File    : ParseBench.java
+  Contents: benchmark for the parsing of graph descriptions
+  Author  : The Bioclipse Team
+  History : 2026.10.17 file created
+----------------------------------------------------------------------*/
+package moss;
+
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.StringReader;
+
+/*--------------------------------------------------------------------*/
+/** Class for a benchmark of the parsing of graph descriptions.
+ *  <p>The graph descriptions of a data set (in the same format as for
+ *  the class <code>Miner</code>) are read as strings and then parsed
+ *  repeatedly, once through a <code>StringReader</code> (as it was
+ *  done before the notations could parse from character buffers) and
+ *  once directly from the strings (see
+ *  <code>Notation.parse(CharSequence)</code>). For both methods the
+ *  number of parsed graphs per second and the total number of nodes
+ *  and edges are reported, so that the results can be compared.</p>
+ *  <p>The benchmark is not part of the plugin. It is kept in a
+ *  separate source tree and has to be compiled together with the
+ *  sources of the package <code>moss</code>.</p>
+ *  @author The Bioclipse Team
+ *  @since  2026.10.17 */
+/*--------------------------------------------------------------------*/
+public class ParseBench {
+
+  /*------------------------------------------------------------------*/
+  /*  instance variables                                              */
+  /*------------------------------------------------------------------*/
+  /** the notation for parsing */
+  private Notation ntn;
+  /** the graph descriptions to parse */
+  private String[] descs;
+  /** the total number of nodes of the parsed graphs */
+  private long     nodecnt;
+  /** the total number of edges of the parsed graphs */
+  private long     edgecnt;
+
+  /*------------------------------------------------------------------*/
+  /** Create a parsing benchmark.
+   *  @param  fname  the name of the file with the graphs
+   *  @param  format the name of the notation of the graphs
+   *  @throws IOException if an i/o error occurs
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  public ParseBench (String fname, String format) throws IOException
+  {                             /* --- create a benchmark */
+    int         n;              /* number of graph descriptions */
+    GraphReader reader;         /* reader for the graph descriptions */
+    String[]    buf;            /* buffer for reallocation */
+
+    reader = GraphReader.createReader(new FileReader(fname),
+                                      GraphReader.GRAPHS, format);
+    this.ntn   = reader.getNotation();
+    this.descs = new String[1024];
+    for (n = 0; reader.readGraph(); n++) {
+      if (n >= this.descs.length) {
+        buf = new String[n +(n >> 1)];
+        System.arraycopy(this.descs, 0, buf, 0, n);
+        this.descs = buf;       /* enlarge the description array */
+      }                         /* if necessary */
+      this.descs[n] = reader.getDesc();
+    }                           /* store the graph description */
+    reader.close();             /* close the input file */
+    buf = new String[n];        /* shrink the description array */
+    System.arraycopy(this.descs, 0, buf, 0, n);
+    this.descs = buf;
+  }  /* ParseBench() */
+
+  /*------------------------------------------------------------------*/
+  /** Parse all graph descriptions.
+   *  @param  direct whether to parse directly from the strings
+   *  @param  reps   the number of repetitions
+   *  @return the time needed (in milliseconds)
+   *  @throws IOException if a parse error occurs
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  public long run (boolean direct, int reps) throws IOException
+  {                             /* --- run the benchmark */
+    int   i, r;                 /* loop variables */
+    long  t;                    /* for time measurement */
+    Graph graph;                /* parsed graph */
+
+    this.nodecnt = this.edgecnt = 0;
+    t = System.currentTimeMillis();
+    for (r = reps; --r >= 0; ) {/* repeat the parsing */
+      for (i = 0; i < this.descs.length; i++) {
+        graph = (direct) ? this.ntn.parse(this.descs[i])
+              : this.ntn.parse(new StringReader(this.descs[i]));
+        this.nodecnt += graph.getNodeCount();
+        this.edgecnt += graph.getEdgeCount();
+      }                         /* parse the graph descriptions */
+    }                           /* and sum the graph sizes */
+    return System.currentTimeMillis() -t;
+  }  /* run() */
+
+  /*------------------------------------------------------------------*/
+  /** Main function of the parsing benchmark.
+   *  @param  args the command line arguments
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  public static void main (String args[])
+  {                             /* --- main function for benchmark */
+    int        i, reps = 10;    /* loop variable, repetitions */
+    String     format;          /* name of the notation */
+    ParseBench bench;           /* created benchmark */
+    long       t;               /* time needed */
+    double     n;               /* number of parsed graphs */
+
+    if ((args.length < 1) || (args.length > 3)) {
+      System.err.println("usage: java moss.ParseBench <in>"
+                        +" [<format>] [-r#]");
+      return;                   /* print a usage message */
+    }                           /* and abort the program */
+    i = args.length;            /* check for a repetition count */
+    if (args[i-1].startsWith("-r")) {
+      reps = Integer.parseInt(args[--i].substring(2)); }
+    format = (i > 1) ? args[1] : "smiles";
+    try {                       /* read the graph descriptions */
+      bench = new ParseBench(args[0], format);
+      System.out.println(bench.descs.length +" graph(s), "
+                        +reps +" repetition(s)");
+      bench.run(false, reps);   /* warm up the virtual machine */
+      bench.run(true,  reps);   /* for both methods */
+      for (i = 0; i < 2; i++) { /* run both methods */
+        t = bench.run(i > 0, reps);
+        n = (double)bench.descs.length *reps;
+        System.out.println(((i > 0) ? "direct: " : "reader: ")
+                          +bench.nodecnt +" node(s), "
+                          +bench.edgecnt +" edge(s), "
+                          +(t/1000.0) +"s, "
+                          +Math.round(n *1000.0 /Math.max(t, 1))
+                          +" graphs/s");
+      } }                       /* print the results */
+    catch (IOException e) {     /* catch read and parse errors */
+      System.err.println(e.getMessage()); return; }
+  }  /* main() */
+
+}  /* class ParseBench */
@@ -10,6 +10,7 @@
   File    : Edge.java
   Contents: class for edges for attributed (labeled/typed) graphs
   Author  : Christian Borgelt
+            The Bioclipse Team (changes of 2026.10.17)
   History : 2002.03.11 file created (as Bond.java)
             2002.03.28 type, src, and dst changed to protected
             2003.08.03 final modifier removed from type field
@@ -22,6 +23,7 @@
             2006.10.31 renamed to Edge.java, bond-related stuff removed
             2007.03.24 TYPEMASK reduced to 30 bits (alternative RING)
             2007.06.14 function compareTo() added (node markers)
+            2026.10.17 identifier added (thread-confined markers)
 ----------------------------------------------------------------------*/
 package moss;
 
@@ -60,6 +62,9 @@ public class Edge implements Comparable {
   protected int  type;
   /** a marker for internal use (e.g. for a substructure) */
   protected int  mark;
+  /** the identifier of the edge in a graph database
+   *  (index of the thread-confined markers, -1 if none) */
+  protected int  id;
   /** the source node of the edge */
   protected Node src;
   /** the destination node of the edge */
@@ -83,6 +88,7 @@ public class Edge implements Comparable {
     this.dst   = dst;           /* and the destination node */
     this.type  = type;          /* set the edge type and */
     this.flags = 0;             /* clear ring and bridge flags */
+    this.id    = -1;            /* clear the edge identifier */
     src.addEdge(this);          /* store the new edge */
     dst.addEdge(this);          /* in the connected nodes */
   }  /* Edge() */
@@ -0,0 +1,275 @@
+/*******************************************************************************
+ *Copyright (c) 2008 The Bioclipse Team and others.
+ *All rights reserved. This program and the accompanying materials
+ *are made available under the terms of the Eclipse Public License v1.0
+ *which accompanies this distribution, and is available at
+ *http://www.eclipse.org/legal/epl-v10.html
+ *
+ *******************************************************************************/
+/*----------------------------------------------------------------------
+  File    : EmbCache.java
+  Contents: class for a cache of reembedded (packed) embeddings
+  Author  : The Bioclipse Team
+  History : 2026.10.17 file created
+----------------------------------------------------------------------*/
+package moss;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*--------------------------------------------------------------------*/
+/** Class for a key of the embedding cache.
+ *  <p>A key consists of the identifier of a fragment (which is
+ *  renewed whenever the order of the nodes and edges of the fragment
+ *  or its embeddings is changed or the list of embeddings is unpacked)
+ *  and the graph into which the fragment was reembedded.</p>
+ *  @author The Bioclipse Team
+ *  @since  2026.10.17 */
+/*--------------------------------------------------------------------*/
+class EmbKey {
+
+  /*------------------------------------------------------------------*/
+  /*  instance variables                                              */
+  /*------------------------------------------------------------------*/
+  /** the identifier of the fragment that was reembedded */
+  protected long  id;
+  /** the graph into which the fragment was reembedded */
+  protected Graph graph;
+  /** the hash code of the key */
+  protected int   hash;
+  /** the memory needed by the cached embeddings */
+  protected long  mem;
+
+  /*------------------------------------------------------------------*/
+  /** Set the components of the key.
+   *  @param  frag  the fragment that was reembedded
+   *  @param  graph the graph into which the fragment was reembedded
+   *  @return this key
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  protected EmbKey set (Fragment frag, Graph graph)
+  {                             /* --- set the key components */
+    if (frag.cid == 0)          /* get a fragment identifier */
+      frag.cid = EmbCache.id(); /* if necessary and note it */
+    this.id    = frag.cid;      /* and the graph, then compute */
+    this.graph = graph;         /* the hash code of the key */
+    this.hash  = (int)(this.id ^ (this.id >>> 32)) *31
+               + System.identityHashCode(graph);
+    return this;                /* return this key */
+  }  /* set() */
+
+  /*------------------------------------------------------------------*/
+  /** Get the hash code of the key.
+   *  @return the hash code of the key
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  @Override
+  public int hashCode ()
+  { return this.hash; }
+
+  /*------------------------------------------------------------------*/
+  /** Check whether this key is equal to another.
+   *  @param  obj the object to compare to
+   *  @return whether the keys refer to the same fragment and graph
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  @Override
+  public boolean equals (Object obj)
+  {                             /* --- compare two keys */
+    EmbKey key;                 /* key to compare to */
+
+    if (!(obj instanceof EmbKey)) return false;
+    key = (EmbKey)obj;          /* compare fragment and graph */
+    return (key.id == this.id) && (key.graph == this.graph);
+  }  /* equals() */
+
+}  /* class EmbKey */
+
+
+/*--------------------------------------------------------------------*/
+/** Class for a cache of reembedded (packed) embeddings.
+ *  <p>If the embeddings of a fragment into a graph are packed (see
+ *  <code>Fragment.pack()</code>), they are recreated by reembedding
+ *  the fragment into the graph whenever the list of embeddings is
+ *  traversed (see <code>Fragment.next()</code>). Since the list of
+ *  embeddings of a fragment is traversed several times (to create
+ *  the extensions, to check for closed and perfect extensions, and
+ *  to compute the support), recently recreated lists of embeddings
+ *  are kept in a cache, which is keyed with the fragment and the
+ *  graph, so that the (costly) subgraph isomorphism test need not be
+ *  repeated for each traversal.</p>
+ *  <p>The fragments are represented in the keys by identifiers that
+ *  are unique over all threads (see <code>EmbCache.id()</code>), so
+ *  that the cache does not keep fragments (and thus their lists of
+ *  embeddings) alive. If a fragment is modified in a way that makes
+ *  its cached embeddings invalid, its identifier is cleared, so that
+ *  it receives a new one on the next request.</p>
+ *  <p>The cache is bounded by a memory budget (estimated with the
+ *  function <code>Embedding.memory()</code>). If the budget is
+ *  exceeded, the least recently used entries are removed.
+ *  A budget of zero disables the cache.</p>
+ *  <p>Each thread has its own cache (see <code>EmbCache.get()</code>),
+ *  so that no synchronization is needed. Cached embeddings must not
+ *  be modified.</p>
+ *  @author The Bioclipse Team
+ *  @since  2026.10.17 */
+/*--------------------------------------------------------------------*/
+public class EmbCache {
+
+  /*------------------------------------------------------------------*/
+  /*  class variables                                                 */
+  /*------------------------------------------------------------------*/
+  /** the caches of the different threads */
+  private static final ThreadLocal<EmbCache> LOCAL =
+    new ThreadLocal<EmbCache>();
+  /** the counter for the identifiers of fragments */
+  private static final AtomicLong IDS = new AtomicLong();
+
+  /*------------------------------------------------------------------*/
+  /*  instance variables                                              */
+  /*------------------------------------------------------------------*/
+  /** the cached lists of embeddings (in the order of access) */
+  private LinkedHashMap<EmbKey,Embedding> map;
+  /** the key for look-ups (reused to avoid allocations) */
+  private EmbKey  probe;
+  /** the memory budget of the cache (in bytes) */
+  private long    budget;
+  /** the memory used by the cached embeddings (in bytes) */
+  private long    used;
+  /** the number of look-ups that were answered from the cache */
+  private long    hits;
+  /** the number of look-ups that required a reembedding */
+  private long    misses;
+
+  /*------------------------------------------------------------------*/
+  /** Create an (empty and disabled) embedding cache.
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  private EmbCache ()
+  {                             /* --- create an embedding cache */
+    this.map    = new LinkedHashMap<EmbKey,Embedding>(64, 0.75F, true);
+    this.probe  = new EmbKey(); /* create a map in access order */
+    this.budget = this.used = 0;/* and a key for look-ups */
+    this.hits   = this.misses = 0;
+  }  /* EmbCache() */
+
+  /*------------------------------------------------------------------*/
+  /** Get the embedding cache of the current thread.
+   *  @return the embedding cache of the current thread
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  public static EmbCache get ()
+  {                             /* --- get cache of current thread */
+    EmbCache ec = LOCAL.get();
+    if (ec == null) { ec = new EmbCache(); LOCAL.set(ec); }
+    return ec;                  /* create a cache if necessary */
+  }  /* get() */
+
+  /*------------------------------------------------------------------*/
+  /** Create a new fragment identifier.
+   *  @return a fragment identifier that is unique over all threads
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  protected static long id ()
+  { return IDS.incrementAndGet(); }
+
+  /*------------------------------------------------------------------*/
+  /** Start a new search with the cache.
+   *  <p>The cache is cleared, its counters are reset, and the memory
+   *  budget is set.</p>
+   *  @param  budget the memory budget of the cache (in bytes,
+   *                 zero or negative: no caching)
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  public void init (long budget)
+  {                             /* --- start a search with the cache */
+    this.clear();               /* clear the cache and */
+    this.budget = (budget > 0) ? budget : 0;  /* set the budget */
+    this.hits   = this.misses = 0;
+  }  /* init() */
+
+  /*------------------------------------------------------------------*/
+  /** Clear the cache (remove all lists of embeddings).
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  public void clear ()
+  {                             /* --- clear the cache */
+    this.map.clear();           /* remove all embedding lists */
+    this.used = 0;              /* and reset the used memory */
+    this.probe.graph = null;    /* clear the look-up key */
+  }  /* clear() */
+
+  /*------------------------------------------------------------------*/
+  /** Get the number of look-ups answered from the cache.
+   *  @return the number of cache hits
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  public long getHits ()
+  { return this.hits; }
+
+  /*------------------------------------------------------------------*/
+  /** Get the number of look-ups that required a reembedding.
+   *  @return the number of cache misses
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  public long getMisses ()
+  { return this.misses; }
+
+  /*------------------------------------------------------------------*/
+  /** Reembed a fragment into a graph.
+   *  <p>If the embeddings of the fragment into the graph are in the
+   *  cache, they are returned directly. Otherwise the fragment is
+   *  reembedded into the graph and the resulting embeddings are
+   *  added to the cache (if they fit into the memory budget), removing
+   *  the least recently used lists of embeddings if necessary.</p>
+   *  @param  frag  the fragment to reembed
+   *  @param  graph the graph into which to reembed the fragment
+   *  @return the list of embeddings of the fragment into the graph
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  public Embedding embed (Fragment frag, Graph graph)
+  {                             /* --- reembed a fragment */
+    Embedding        list, emb; /* created list of embeddings */
+    EmbKey           key;       /* key for the created embeddings */
+    long             mem;       /* memory needed by the embeddings */
+    Iterator<EmbKey> i;         /* to traverse the cached lists */
+
+    if (this.budget <= 0)       /* if caching is disabled, */
+      return graph.embed(frag.graph);     /* simply reembed */
+    list = this.map.get(this.probe.set(frag, graph));
+    if (list != null) { this.hits++; return list; }
+    this.misses++;              /* look up the embeddings */
+    list = graph.embed(frag.graph);
+    if (list == null) return null;  /* reembed the fragment */
+    for (mem = 0, emb = list; emb != null; emb = emb.succ)
+      mem += emb.memory();      /* compute the memory needed */
+    if (mem > this.budget)      /* if the embeddings do not fit */
+      return list;              /* into the cache, do not store them */
+    key = new EmbKey().set(frag, graph);
+    key.mem = mem;              /* create a key for the embeddings, */
+    this.map.put(key, list);    /* store the list of embeddings, */
+    this.used += mem;           /* and update the used memory */
+    i = this.map.keySet().iterator();
+    while ((this.used > this.budget) && i.hasNext()) {
+      this.used -= i.next().mem;
+      i.remove();               /* remove the least recently used */
+    }                           /* lists until the budget is met */
+    /* Note that the memory of a list is noted in its key, since the */
+    /* successor pointer of its last element may be changed later   */
+    /* (see Fragment.unpack()), after which the list is never used. */
+    return list;                /* return the list of embeddings */
+  }  /* embed() */
+
+}  /* class EmbCache */
@@ -10,6 +10,7 @@
   File    : Embedding.java
   Contents: Management of embeddings of graph fragments
   Author  : Christian Borgelt
+            The Bioclipse Team (changes of 2026.10.17)
   History : 2002.03.11 file created as file submol.java
             2003.08.04 embedding duplication function added (for debug)
             2003.08.07 file split, this part renamed to Embedding.java
@@ -29,6 +30,9 @@
             2007.08.10 function getGroup() added
             2007.08.16 check for identical images added to overlaps()
             2007.10.23 base reference removed, function common() added
+            2026.10.17 markers made thread-confined (class Markers)
+            2026.10.17 functions count() and memory() added
+            2026.10.17 base embedding reference reintroduced
 ----------------------------------------------------------------------*/
 package moss;
 
@@ -72,6 +76,9 @@ public class Embedding {
   protected Node[]    nodes;
   /** the array of edges (references to the underlying graph) */
   protected Edge[]    edges;
+  /** the embedding that was extended to obtain this embedding
+   *  (only until the embedding is stored in its fragment) */
+  protected Embedding base = null;
 
   /*------------------------------------------------------------------*/
   /** Dummy constructor.
@@ -137,6 +144,7 @@ public class Embedding {
     Edge edge;                  /* to traverse the edges */
 
     this.graph = ext.emb.graph; /* note the graph referred to */
+    this.base  = ext.emb;       /* and the extended embedding */
     n = ext.emb.nodes.length;   /* get the old number of nodes */
     if (ext.nodecnt <= 0)       /* if there are no new nodes */
       this.nodes = ext.emb.nodes;
@@ -158,9 +166,9 @@ public class Embedding {
     else {                      /* if ring extension */
       for (i = 0; i < ext.size; i++) {
         node = ext.nodes[i];    /* traverse the extension nodes */
-        if (node.mark < 0) this.nodes[n++] = node;
+        if (ext.marks.get(node) < 0) this.nodes[n++] = node;
         edge = ext.edges[i];    /* traverse the extension edges */
-        if (edge.mark < 0) this.edges[e++] = edge;
+        if (ext.marks.get(edge) < 0) this.edges[e++] = edge;
       }                         /* copy the new nodes and edges */
     }                           /* (skip old nodes and edges) */
   }  /* Embedding() */
@@ -172,25 +180,27 @@ public class Embedding {
    *  It is only needed for <code>Embedding.extend()</code>.</p>
    *  @param  emb  the embedding to extend
    *  @param  edge the edge by which to extend the embedding
+   *  @param  mk   the markers of the current thread
    *  @see    #extend(int,int,int,int)
    *  @since  2002.03.11 (Christian Borgelt) */
   /*------------------------------------------------------------------*/
 
-  protected Embedding (Embedding emb, Edge edge)
+  protected Embedding (Embedding emb, Edge edge, Markers mk)
   {                             /* --- create an extended embedding */
     this.graph = emb.graph;     /* note the graph referred to */
+    this.base  = emb;           /* and the extended embedding */
     int n = emb.edges.length;   /* get the (old) number of edges */
     this.edges = new Edge[n+1]; /* and create the edge array */
     System.arraycopy(emb.edges, 0, this.edges, 0, n);
     this.edges[n] = edge;       /* store the new edge */
-    if ((edge.src.mark >= 0)    /* if neither the source node */
-    &&  (edge.dst.mark >= 0))   /* nor the destination node are new, */
+    if ((mk.get(edge.src) >= 0) /* if neither the source node */
+    &&  (mk.get(edge.dst) >= 0))/* nor the destination node are new, */
       this.nodes = emb.nodes;   /* set the array of the base emb. */
     else {                      /* if a new node is to be added */
       n = emb.nodes.length;     /* get the (old) number of nodes */
       this.nodes = new Node[n+1];     /* create a new node array */
       System.arraycopy(emb.nodes, 0, this.nodes, 0, n);
-      this.nodes[n] = (edge.src.mark < 0) ? edge.src : edge.dst;
+      this.nodes[n] = (mk.get(edge.src) < 0) ? edge.src : edge.dst;
     }                           /* store the new node */
   }  /* Embedding() */
 
@@ -216,14 +226,16 @@ public boolean equals (Object emb)
   @Override
 public int hashCode ()
   {                             /* --- compute a hash code */
-    int  i, k, n, t;            /* loop variables, buffers */
-    int  h, s;                  /* the computed hash code */
-    Node src, dst;              /* to traverse the nodes */
-    Edge edge;                  /* to traverse the edges */
+    int     i, k, n, t;         /* loop variables, buffers */
+    int     h, s;               /* the computed hash code */
+    int     m;                  /* buffer for a node marker */
+    Node    src, dst;           /* to traverse the nodes */
+    Edge    edge;               /* to traverse the edges */
+    Markers mk = Markers.get(); /* markers of the current thread */
 
     for (i = this.graph.edgecnt; --i >= 0; ) {
       edge = this.graph.edges[i];
-      if (edge.mark >= 0) edge.mark = -1;
+      if (mk.get(edge) >= 0) mk.set(edge, -1);
     }                           /* unmark all allowed edges */
     /* It is not possible to simply unmark all edges (that is, mark */
     /* them with -1), because some of them may be marked with -2,   */
@@ -231,36 +243,37 @@ public int hashCode ()
     /* This marking has to be maintained for correct extensions.    */
     for (i = this.edges.length; --i >= 0; ) {
       edge = this.edges[i];     /* traverse the edges */
-      edge.mark = 0;            /* and mark them */
-      edge.src.mark = edge.src.deg;
-      edge.dst.mark = edge.dst.deg;
+      mk.set(edge, 0);          /* and mark them */
+      mk.set(edge.src, edge.src.deg);
+      mk.set(edge.dst, edge.dst.deg);
     }                           /* mark all incident nodes */
     /* The edge counters are copied into the node markers in order */
     /* to achieve a proper treatment of possibly existing chains.  */
     for (n = 0, i = this.nodes.length; --i >= 0; ) {
       src = this.nodes[i];      /* traverse the nodes */
-      for (src.mark = 0, k = src.deg; --k >= 0; )
-        if (src.edges[k].mark >= 0) src.mark++;
-      n += src.mark;            /* count the incident edges */
-    }                           /* and sum these numbers */
+      for (m = 0, k = src.deg; --k >= 0; )
+        if (mk.get(src.edges[k]) >= 0) m++;
+      mk.set(src, m);           /* count the incident edges */
+      n += m;                   /* and sum these numbers */
+    }
     n = this.nodes.length +(this.edges.length -(n >> 1));
     h = s = 0;                  /* initialize the hash values */
     for (i = this.nodes.length; --i >= 0; ) {
       src = this.nodes[i];      /* traverse the nodes */
-      t   = src.type + src.mark;
+      t   = src.type + mk.get(src);
       for (k = src.deg; --k >= 0; ) {
         edge = src.edges[k];    /* traverse the incident edges */
-        if (edge.mark != 0) continue;
+        if (mk.get(edge) != 0) continue;
         dst  = (edge.src != src) ? edge.src : edge.dst;
-        t   += ((dst.type ^ dst.mark) + edge.type) ^ src.type;
+        t   += ((dst.type ^ mk.get(dst)) + edge.type) ^ src.type;
       }                         /* combine node types and degrees */
       h ^= t ^ (t <<  9) ^ (t << 15);
       s += t;                   /* combine the computed values */
     }                           /* in two different ways */
     for (i = this.edges.length; --i >= 0; ) {
       edge = this.edges[i];     /* traverse the edges */
-      t = (edge.src.type ^ edge.src.mark)
-        + (edge.dst.type ^ edge.dst.mark);
+      t = (edge.src.type ^ mk.get(edge.src))
+        + (edge.dst.type ^ mk.get(edge.dst));
       h ^= t ^ (t << 11) ^ (t << 19);
       s += t += edge.type;      /* combine node types and degrees */
       h ^= t ^ (t <<  7) ^ (t << 17);
@@ -271,7 +284,7 @@ public int hashCode ()
     if (h < 0) h ^= -1;         /* ensure a positive hash value */
     for (i = this.edges.length; --i >= 0; ) {
       edge = this.edges[i];     /* traverse the edges */
-      edge.src.mark = edge.dst.mark = edge.mark = -1;
+      mk.set(edge.src, -1); mk.set(edge.dst, -1); mk.set(edge, -1);
     }                           /* unmark all incident nodes */
     return h;                   /* return the computed hash code */
   }  /* hashCode() */
@@ -293,11 +306,21 @@ public int hashCode ()
   /*------------------------------------------------------------------*/
 
   protected void mark (int mark)
+  { this.mark(Markers.get(), mark); }
+
+  /*------------------------------------------------------------------*/
+  /** Mark all nodes and edges with a given value.
+   *  @param  mk   the markers of the current thread
+   *  @param  mark the value with which to mark nodes and edges
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  protected void mark (Markers mk, int mark)
   {                             /* --- mark embedding in graph */
     for (int i = this.nodes.length; --i >= 0; )
-      this.nodes[i].mark = mark;/* mark the nodes of the embedding */
+      mk.set(this.nodes[i], mark);  /* mark the nodes of the emb. */
     for (int i = this.edges.length; --i >= 0; )
-      this.edges[i].mark = mark;/* mark the edges of the embedding */
+      mk.set(this.edges[i], mark);  /* mark the edges of the emb. */
   }  /* mark() */
 
   /*------------------------------------------------------------------*/
@@ -306,11 +329,20 @@ public int hashCode ()
   /*------------------------------------------------------------------*/
 
   protected void index ()
+  { this.index(Markers.get()); }
+
+  /*------------------------------------------------------------------*/
+  /** Mark all nodes and edges with their index.
+   *  @param  mk the markers of the current thread
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  protected void index (Markers mk)
   {                             /* --- index embedding in graph */
     for (int i = this.nodes.length; --i >= 0; )
-      this.nodes[i].mark = i;   /* number the nodes of the embedding */
+      mk.set(this.nodes[i], i); /* number the nodes of the embedding */
     for (int i = this.edges.length; --i >= 0; )
-      this.edges[i].mark = i;   /* number the edges of the embedding */
+      mk.set(this.edges[i], i); /* number the edges of the embedding */
   }  /* index() */
 
   /*------------------------------------------------------------------*/
@@ -353,22 +385,24 @@ public int hashCode ()
     Node      s, d;             /* to traverse the nodes */
     Edge      e;                /* to traverse the edges */
     Embedding emb, list = null; /* list of extended embeddings */
+    Markers   mk;               /* markers of the current thread */
 
-    this.index();               /* mark the base embedding */
+    mk = Markers.get();         /* get the markers and */
+    this.index(mk);             /* mark the base embedding */
     s = this.nodes[src];        /* get the source node of the ext. */
     for (i = s.deg; --i >= 0; ) {
       e = s.edges[i];           /* traverse the unmarked edges */
-      if (e.mark >= 0)   continue;
+      if (mk.get(e) >= 0) continue;
       if (e.type < edge) break;     /* compare the */
       if (e.type > edge) continue;  /* edge type */
       d = (e.src != s) ? e.src : e.dst;
       if (d.type < node) break;     /* compare destination */
       if (d.type > node) continue;  /* node type */
-      if (d.mark != dst) continue;  /* and index */
-      emb = new Embedding(this, e);
+      if (mk.get(d) != dst) continue;  /* and index */
+      emb = new Embedding(this, e, mk);
       emb.succ = list; list = emb;
     }                           /* add re-extension to the list */
-    this.mark(-1);              /* unmark the base embedding */
+    this.mark(mk, -1);          /* unmark the base embedding */
     return list;                /* return the list of embeddings */
   }  /* extend() */
 
@@ -393,20 +427,22 @@ public int hashCode ()
 
   protected boolean overlaps (Embedding emb)
   {                             /* --- check for overlap */
-    int i, k;                   /* loop variables */
+    int     i, k;               /* loop variables */
+    Markers mk;                 /* markers of the current thread */
 
     if (emb.graph != this.graph)
       return false;             /* check for the same graph */
     for (i = this.nodes.length; --i >= 0; )
       if (this.nodes[i] == emb.nodes[i])
         return true;            /* check for identical node images */
+    mk = Markers.get();         /* get the markers of the thread */
     for (i = this.nodes.length; --i >= 0; )
-      this.nodes[i].mark = 0;   /* mark nodes of this embedding */
+      mk.set(this.nodes[i], 0); /* mark nodes of this embedding */
     for (k =  emb.nodes.length; --k >= 0; )
-      if (emb.nodes[k].mark == 0)
+      if (mk.get(emb.nodes[k]) == 0)
         break;                  /* check for a marked node */
     for (i = this.nodes.length; --i >= 0; )
-      this.nodes[i].mark = -1;  /* unmark nodes of this embedding */
+      mk.set(this.nodes[i], -1);/* unmark nodes of this embedding */
     return (k >= 0);            /* return whether embeddings overlap */
   }  /* overlaps() */
 
@@ -421,31 +457,34 @@ public int hashCode ()
 
   protected boolean overlapsHarmfully (Embedding emb)
   {                             /* --- check for harmful overlap */
-    int  i, k;                  /* loop variables */
-    int  n, m;                  /* number of nodes and edges */
-    int  s, d;                  /* buffers for node markers */
-    Edge e;                     /* to traverse the edges */
+    int     i, k;               /* loop variables */
+    int     n, m;               /* number of nodes and edges */
+    int     s, d;               /* buffers for node markers */
+    Edge    e;                  /* to traverse the edges */
+    Markers mk;                 /* markers of the current thread */
 
     if (emb.graph != this.graph)
       return false;             /* check for the same graph */
     for (i = n = this.nodes.length; --i >= 0; )
       if (this.nodes[i] == emb.nodes[i])
         return true;            /* check for identical node images */
+    mk = Markers.get();         /* get the markers of the thread */
     for (i = m = this.edges.length; --i >= 0; )
-      this.edges[i].mark = 0;   /* mark the edges of this embedding */
+      mk.set(this.edges[i], 0); /* mark the edges of this embedding */
     k = 0;                      /* default: there is no overlap */
     for (i = m; --i >= 0; ) {   /* remark the edges in the overlap */
-      e = emb.edges[i]; if (e.mark == 0) e.mark = k = 1; }
+      e = emb.edges[i];
+      if (mk.get(e) == 0) { mk.set(e, 1); k = 1; } }
     for (i = m; --i >= 0; ) {   /* unmark the edges not in overlap */
       e = this.edges[i];        /* (keep markers only for overlap) */
-      if      (e.mark            == 0) e.mark = -1;
-      else if (emb.edges[i].mark >= 0) e.mark =  0;
+      if      (mk.get(e)            == 0) mk.set(e, -1);
+      else if (mk.get(emb.edges[i]) >= 0) mk.set(e,  0);
     }                           /* remark edges in bijective mapping */
     if (k == 0) return false;   /* if there is no overlap, abort */
     for (i = m; --i >= 0; ) {   /* unmark the edges that are not */
       e = this.edges[i];        /* in the constructed automorphism */
-      if      (e.mark >  0) e.mark = -1;
-      else if (e.mark == 0) e.src.mark = e.dst.mark = 0;
+      if      (mk.get(e) >  0) mk.set(e, -1);
+      else if (mk.get(e) == 0) { mk.set(e.src, 0); mk.set(e.dst, 0); }
     }                           /* mark nodes of edges with an image */
     /* After this loop all nodes and edges are marked that are part */
     /* of the subgraph for which the combination of one embedding   */
@@ -453,23 +492,23 @@ public int hashCode ()
     /* subgraph is the largest such subgraph, with the exception of */
     /* isolated nodes (since the construction is based on edges).   */
     for (i = n; --i >= 0; )     /* number the nodes of the subgraph */
-      if (this.nodes[i].mark >= 0) this.nodes[i].mark = i;
+      if (mk.get(this.nodes[i]) >= 0) mk.set(this.nodes[i], i);
     do {                        /* connected component marking loop */
       for (k = 0, i = m; --i >= 0; ) {
         e = this.edges[i];      /* traverse the marked edges */
-        if (e.mark != 0) continue;
-        s = e.src.mark;         /* set the markers of the */
-        d = e.dst.mark;         /* incident nodes to their minimum */
-        if      (s < d) { e.dst.mark = s; k++; }
-        else if (s > d) { e.src.mark = d; k++; }
+        if (mk.get(e) != 0) continue;
+        s = mk.get(e.src);      /* set the markers of the */
+        d = mk.get(e.dst);      /* incident nodes to their minimum */
+        if      (s < d) { mk.set(e.dst, s); k++; }
+        else if (s > d) { mk.set(e.src, d); k++; }
       }                         /* count the remarked nodes */
     } while (k > 0);            /* while a marker was changed */
     /* With the above loop the nodes are marked in such a way that */
     /* two nodes have the same marker if and only if they are in   */
     /* the same connected component of the constructed subgraph.   */
     for (i = n; --i >= 0; ) {   /* traverse the nodes that are */
-      k = emb.nodes[i].mark;    /* incident to edges in the subgraph */
-      if ((k >= 0) && (this.nodes[i].mark == k))
+      k = mk.get(emb.nodes[i]); /* incident to edges in the subgraph */
+      if ((k >= 0) && (mk.get(this.nodes[i]) == k))
         break;                  /* if nodes are in same component, */
     }                           /* there is an equivalent subgraph */
     /* Without the do-while loop, k = emb.nodes[i].mark would be the */
@@ -481,10 +520,48 @@ public int hashCode ()
     /* the node with the index i. Therefore k == this.nodes[i].mark  */
     /* means that the i-th node and its image under this^-1 and emb  */
     /* are in the same connected component, hence a harmful overlap. */
-    this.mark(-1);              /* unmark nodes and edges */
+    this.mark(mk, -1);          /* unmark nodes and edges */
     return (i >= 0);            /* return whether embeddings overlap */
   }  /* overlapsHarmfully() */
 
+  /*------------------------------------------------------------------*/
+  /** Get the number of stored embeddings represented by this object.
+   *  <p>A normal embedding represents only itself; a packed embedding
+   *  (which only refers to a graph) does not represent any stored
+   *  embedding, since its embeddings are recreated by reembedding.</p>
+   *  @return the number of stored embeddings
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  protected int count ()
+  { return (this.nodes != null) ? 1 : 0; }
+
+  /*------------------------------------------------------------------*/
+  /** Estimate the memory needed by the embedding.
+   *  <p>The estimate assumes a 64 bit virtual machine with compressed
+   *  object references, that is, an object header of 12 bytes (arrays:
+   *  16 bytes), 4 bytes per reference and alignment to 8 bytes.</p>
+   *  @return the estimated number of bytes needed by the embedding
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  protected long memory ()
+  {                             /* --- estimate memory usage */
+    if (this.nodes == null) return 32;
+    return 32 +Embedding.memory(this.nodes.length)
+              +Embedding.memory(this.edges.length);
+  }  /* memory() */             /* object and its two arrays */
+
+  /*------------------------------------------------------------------*/
+  /** Estimate the memory needed by an array with 4 byte elements.
+   *  @param  n the number of elements (references or integers)
+   *  @return the estimated number of bytes needed by the array
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  protected static long memory (int n)
+  { return ((16L +4L*n) +7) & ~7L; }
+
   /*------------------------------------------------------------------*/
   /** Main function for testing the overlap functions.
    *  @param  args the command line arguments
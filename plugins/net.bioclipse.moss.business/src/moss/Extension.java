@@ -10,6 +10,7 @@
   File    : Extension.java
   Contents: Graph fragment extension management
   Author  : Christian Borgelt
+            The Bioclipse Team (changes of 2026.10.17)
   History : 2002.03.11 file created as file submol.java
             2002.04.02 function compareTo added
             2003.02.19 extension by variable length chains added
@@ -41,6 +42,8 @@
             2007.03.24 functions prepare and removeRings added
             2007.03.26 flag sym added (indicating local ring symmetry)
             2007.06.21 adapted to new class TypeMgr
+            2026.10.17 markers made thread-confined (class Markers)
+            2026.10.17 functions hash and compare added (grouping)
 ----------------------------------------------------------------------*/
 package moss;
 
@@ -100,6 +103,9 @@ public abstract class Extension {
   protected Fragment  frag;
   /** the embedding that is extended */
   protected Embedding emb;
+  /** the node and edge markers of the thread that uses the extension
+   *  (an extension object must not be shared between threads) */
+  protected Markers   marks;
   /** (relevant) nodes of the extension */
   protected Node[]    nodes;
   /** (relevant) edges of the extension */
@@ -253,14 +259,14 @@ public abstract class Extension {
           if ((e != r) && ((e.flags & this.curr) != 0))
             break;              /* find the next edge */
         }                       /* of the ring to be added */
-        if ((i < 0) || (e.mark < -1))
+        if ((i < 0) || (this.marks.get(e) < -1))
           break;                /* if the ring is incomplete, abort */
         /* If r.mark < -1, the edge has been removed from the */
         /* graph by trimming and thus cannot be followed.  */
         this.nodes[this.size  ] = d;     /* collect the nodes */
-        if (d.mark < 0) this.nodecnt++;  /* and count new ones */
+        if (this.marks.get(d) < 0) this.nodecnt++;
         this.edges[this.size++] = e;     /* collect the edges */
-        if (e.mark < 0) this.edgecnt++;  /* and count new ones */
+        if (this.marks.get(e) < 0) this.edgecnt++;
         r = e;                  /* go to the next edge and node */
         d = (e.src != d) ? e.src : e.dst;
       } while (d != s);         /* while the ring is not closed */
@@ -528,7 +534,7 @@ public abstract class Extension {
     while ((node.deg  == 2)     /* and traverse the chain */
     &&     (node.type == this.cnode)) {
       edge = node.edges[(node.edges[0] != edge) ? 0 : 1];
-      if (edge.mark < -1) return false;
+      if (this.marks.get(edge) < -1) return false;
       if ((edge.type != this.cedge) || !edge.isBridge())
         break;                  /* edge must be single and a bridge */
       node = (node != edge.src) ? edge.src : edge.dst;
@@ -602,9 +608,11 @@ public abstract class Extension {
     /* simply because the differing part is already in the fragment. */
     for (i = k = 0; ++i < this.size; ) {
       x = this.edges[i];        /* traverse the remaining edges */
-      if (x.mark >= 0) continue;/* skip already contained edges */
+      if (this.marks.get(x) >= 0)
+        continue;               /* skip already contained edges */
       node = this.nodes[i];     /* get the source node */
-      t1 = (node.mark >= 0) ? node.mark : n++;
+      t1 = this.marks.get(node);
+      if (t1 < 0) t1 = n++;     /* get/compute source node index */
       t2 = frag.ris[k++];       /* get/compute source node indices */
       if (t1 < t2) return -1;   /* compare the indices */
       if (t1 > t2) return +1;   /* of the source nodes */
@@ -615,7 +623,8 @@ public abstract class Extension {
       if (edge.type > x.type) return -1;  /* compare the types */
       if (edge.type < x.type) return +1;  /* of the added edges */
       node = this.nodes[(i+1) % this.size];
-      t1 = (node.mark >= 0) ? node.mark : n;
+      t1 = this.marks.get(node);
+      if (t1 < 0) t1 = n;       /* get/compute dest. node index */
       t2 = frag.ris[k++];       /* get/compute dest. node indices */
       if (t1 < t2) return -1;   /* compare the indices */
       if (t1 > t2) return +1;   /* of the destination nodes */
@@ -632,6 +641,116 @@ public abstract class Extension {
     return 0;                   /* otherwise the fragments are equal */
   }  /* compareRing() */
 
+  /*------------------------------------------------------------------*/
+  /** Compute a hash code for the current extension.
+   *  <p>The hash code is computed from the same properties that are
+   *  compared by the function <code>compareTo()</code>, so that
+   *  extensions that are equal to the same fragment always have the
+   *  same hash code. As a consequence the ring size must not enter
+   *  the hash code (see <code>compareRing()</code>). This function
+   *  is used to group the created extensions with a hash table
+   *  (see <code>Miner.recurse()</code>).</p>
+   *  @return the hash code of the current extension
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  protected int hash ()
+  {                             /* --- compute hash code of extension */
+    int h;                      /* computed hash code */
+
+    h = this.src;               /* combine anchor and dest. nodes, */
+    h = h *31 +this.dst;        /* the type of the (first) added */
+    h = h *31 +this.edges[0].type;  /* edge, the type of the */
+    h = h *31 +this.nodes[1].type;  /* destination node, and */
+    h = h *31 +((this.size > 0) ? 1 : ((this.size < 0) ? 2 : 0));
+    if (this.size > 0) {        /* the extension type */
+      h = h *31 +this.edgecnt;  /* for ring extensions add */
+      h = h *31 +this.nodecnt;  /* the numbers of new edges/nodes */
+      h = h *31 +this.pos1;     /* and the insertion positions */
+      h = h *31 +this.pos2;     /* (but not the ring size) */
+    }
+    return h ^ (h >>> 16);      /* spread the higher bits */
+  }  /* hash() */
+
+  /*------------------------------------------------------------------*/
+  /** Compare two fragments created from extensions of this fragment.
+   *  <p>This function defines the same order of fragments as the
+   *  function <code>compareTo()</code>, but compares two already
+   *  created fragments (which must have been created as extensions
+   *  of the same fragment and not yet been modified). It is used
+   *  to sort the fragments after they have been grouped with a hash
+   *  table, so that they are processed in the same order as if they
+   *  had been kept in a sorted array from the start.</p>
+   *  @param  f1 the first  fragment to compare
+   *  @param  f2 the second fragment to compare
+   *  @return <code>-1</code>, <code>0</code>, or <code>+1</code>
+   *          as the first fragment is less than, equal to, or greater
+   *          than the second fragment
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  public abstract int compare (Fragment f1, Fragment f2);
+
+  /*------------------------------------------------------------------*/
+  /** Compare two fragments created from ring extensions.
+   *  <p>This is a sub-function of the function <code>compare</code>,
+   *  which corresponds to the function <code>compareRing</code> for
+   *  an extension and a fragment. The information about the added
+   *  ring is taken from the ring node index arrays of the fragments
+   *  (which are still present after the fragments were created).</p>
+   *  @param  f1 the first  fragment to compare
+   *  @param  f2 the second fragment to compare
+   *  @return <code>-1</code>, <code>0</code>, or <code>+1</code>
+   *          as the first fragment is less than, equal to, or greater
+   *          than the second fragment
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  protected int compareRing (Fragment f1, Fragment f2)
+  {                             /* --- compare two ring extensions */
+    int i, k, e, n;             /* loop variables, buffers */
+    int t1, t2;                 /* buffers for comparison */
+
+    e  = f1.base.list.edges.length;
+    t1 = f1.list.edges.length -e;
+    t2 = f2.list.edges.length -e;
+    if (t1 < t2) return -1;     /* compare the number */
+    if (t1 > t2) return +1;     /* of added edges */
+    n  = f1.base.list.nodes.length;
+    t1 = f1.list.nodes.length -n;
+    t2 = f2.list.nodes.length -n;
+    if (t1 < t2) return -1;     /* compare the number */
+    if (t1 > t2) return +1;     /* of added nodes */
+    n = f1.list.edges.length;   /* get the number of edges */
+    for (k = 0; ++e < n; ) {    /* traverse the remaining edges */
+      t1 = f1.ris[k];           /* get the source node indices */
+      t2 = f2.ris[k++];         /* of the added edge */
+      if (t1 < t2) return -1;   /* compare the indices */
+      if (t1 > t2) return +1;   /* of the source nodes */
+      t1 = f1.list.nodes[t1].type;
+      t2 = f2.list.nodes[t2].type;
+      if (t1 < t2) return -1;   /* and then their types */
+      if (t1 > t2) return +1;
+      t1 = f1.list.edges[e].type;
+      t2 = f2.list.edges[e].type;
+      if (t1 > t2) return -1;   /* compare the types */
+      if (t1 < t2) return +1;   /* of the added edges */
+      t1 = f1.ris[k];           /* get the dest. node indices */
+      t2 = f2.ris[k++];         /* of the added edge */
+      if (t1 < t2) return -1;   /* compare the indices */
+      if (t1 > t2) return +1;   /* of the destination nodes */
+      t1 = f1.list.nodes[t1].type;
+      t2 = f2.list.nodes[t2].type;
+      if (t1 < t2) return -1;   /* and then their types */
+      if (t1 > t2) return +1;
+    }                           /* (compare all added edges) */
+    for (i = k+2; k < i; k++) { /* compare the insertion positions */
+      if (f1.ris[k] < f2.ris[k]) return -1;
+      if (f1.ris[k] > f2.ris[k]) return +1;
+    }
+    return 0;                   /* otherwise the fragments are equal */
+  }  /* compareRing() */
+
   /*------------------------------------------------------------------*/
   /** Create a fragment from the current extension.
    *  <p>This function is called when the current extension is not
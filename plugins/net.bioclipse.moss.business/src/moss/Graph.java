@@ -10,6 +10,7 @@
   File    : Graph.java
   Contents: Attributed graph management for substructure mining
   Author  : Christian Borgelt
+            The Bioclipse Team (changes of 2026.10.17)
   History : 2002.03.11 file created (as Molecule.java)
             2002.03.13 output method added
             2002.03.14 memory optimization added
@@ -59,11 +60,400 @@
             2007.10.25 general line notation parsing added
             2007.11.07 indication of ring marking failure added
             2007.11.08 prepareEmbed(), embed() and maskTypes() improved
+            2026.10.17 cloning preserves the order of incident edges
+            2026.10.17 markers made thread-confined (class Markers)
+            2026.10.17 iterative embedding with candidate filtering
+            2026.10.17 functions mix() and fingerprint() added
+            2026.10.17 fingerprints computed with label refinement
+            2026.10.17 bug in function contains() fixed (no match)
 ----------------------------------------------------------------------*/
 package moss;
 
 import java.io.IOException;
 import java.io.StringReader;
+import java.util.Arrays;
+
+/*--------------------------------------------------------------------*/
+/** Class for the state of an (iterative) embedding of a graph.
+ *  <p>An object of this class holds a search plan for embedding a
+ *  graph (without chain nodes) and the stack of the backtracking
+ *  search, which is carried out with a loop instead of recursion.
+ *  The search plan contains for each edge of the graph to embed the
+ *  indices of its source and destination node in the embedding, the
+ *  types of the edge and the destination node, and (for new nodes)
+ *  a sorted signature of the neighborhood of the destination node,
+ *  that is, the types of its incident edges and adjacent nodes.</p>
+ *  <p>Compared to the recursive function <code>Graph.embed()</code>
+ *  the following additional tests restrict the search:
+ *  a graph is only searched if it contains, for each node type of the
+ *  graph to embed, at least as many nodes of this type, and a node
+ *  is only mapped to a node of the graph if the neighborhood of the
+ *  former is contained in the neighborhood of the latter (in addition
+ *  to having a sufficient degree). These tests only discard partial
+ *  embeddings that cannot be completed, so that the embeddings are
+ *  found in the same order as with the recursive function.</p>
+ *  <p>The search plan is kept as long as the same graph is embedded
+ *  (into different graphs), which is checked by comparing the edges
+ *  and the edge and node types with those that were noted when the
+ *  plan was created. The embedding state is confined to a thread
+ *  (see the function <code>MatchState.get()</code>).</p>
+ *  @author The Bioclipse Team
+ *  @since  2026.10.17 */
+/*--------------------------------------------------------------------*/
+class MatchState {
+
+  /*------------------------------------------------------------------*/
+  /*  class variables                                                 */
+  /*------------------------------------------------------------------*/
+  /** the embedding states of the different threads */
+  private static final ThreadLocal<MatchState> LOCAL =
+    new ThreadLocal<MatchState>();
+
+  /*------------------------------------------------------------------*/
+  /*  instance variables                                              */
+  /*------------------------------------------------------------------*/
+  /** the graph for which the search plan was created */
+  private Graph  sub   = null;
+  /** the root node of the graph to embed */
+  private Node   proot = null;
+  /** the edges of the graph to embed (to check the plan) */
+  private Edge[] pes   = new Edge[0];
+  /** the destination nodes of the edges (to check the plan) */
+  private Node[] pns   = new Node[0];
+  /** the root node type of the graph to embed */
+  private int    rtype;
+  /** the number of edges of the graph to embed */
+  private int    edgecnt;
+  /** the number of nodes of the graph to embed */
+  private int    nodecnt;
+  /** the embedding indices of the source nodes (per edge) */
+  private int[]  srcs  = new int[0];
+  /** the embedding indices of the destination nodes
+   *  (per edge, -1 if the destination node is new) */
+  private int[]  dsts  = new int[0];
+  /** the types of the edges */
+  private int[]  etps  = new int[0];
+  /** the types of the destination nodes */
+  private int[]  ntps  = new int[0];
+  /** the degrees of the new destination nodes (per edge) */
+  private int[]  degs  = new int[0];
+  /** the start indices of the neighborhood signatures of the new
+   *  destination nodes in <code>sigs</code> (per edge, -1: none) */
+  private int[]  offs  = new int[0];
+  /** the neighborhood signatures (sorted edge and node types) */
+  private long[] sigs  = new long[0];
+  /** the start index of the signature of the root node (-1: none) */
+  private int    root;
+  /** the distinct node types of the graph to embed (sorted) */
+  private int[]  types = new int[0];
+  /** the number of nodes per type in the graph to embed */
+  private int[]  cnts  = new int[0];
+  /** the number of nodes per type in the graph to embed into */
+  private int[]  found = new int[0];
+  /** the number of distinct node types */
+  private int    tcnt;
+  /** the edge cursors of the search (per edge) */
+  private int[]  pos   = new int[0];
+  /** the nodes of the current (partial) embedding */
+  private Node[] ens   = new Node[0];
+  /** the edges of the current (partial) embedding */
+  private Edge[] ees   = new Edge[0];
+
+  /*------------------------------------------------------------------*/
+  /** Get the embedding state of the current thread.
+   *  @return the embedding state of the current thread
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  protected static MatchState get ()
+  {                             /* --- get state of current thread */
+    MatchState ms = LOCAL.get();
+    if (ms == null) { ms = new MatchState(); LOCAL.set(ms); }
+    return ms;                  /* create a state if necessary */
+  }  /* get() */
+
+  /*------------------------------------------------------------------*/
+  /** Compute the signature key of an edge as seen from a node.
+   *  <p>The keys are ordered in the same way as the edges of a node
+   *  are sorted by the function <code>Node.sortEdges()</code>, that
+   *  is, by the edge type and then by the type of the other node.</p>
+   *  @param  edge the edge
+   *  @param  node the node from which the edge is seen
+   *  @return the signature key of the edge
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  private static long key (Edge edge, Node node)
+  {                             /* --- compute an edge key */
+    int t = (edge.src != node) ? edge.src.type : edge.dst.type;
+    return ((long)edge.type << 32) | ((t ^ Integer.MIN_VALUE) & 0xffffffffL);
+  }  /* key() */
+
+  /*------------------------------------------------------------------*/
+  /** Create a search plan for a graph to embed.
+   *  <p>The graph must not contain chain nodes and it must have
+   *  been prepared in the same way as for the recursive function
+   *  <code>Graph.embed()</code>.</p>
+   *  @param  graph the graph to embed
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  private void plan (Graph graph)
+  {                             /* --- create a search plan */
+    int  i, k, n, o;            /* loop variables, indices */
+    Edge re;                    /* to traverse the edges */
+    Node rd, src;               /* to traverse the nodes */
+
+    this.sub     = graph;       /* note the graph to embed */
+    this.proot   = graph.nodes[0];
+    this.rtype   = this.proot.type;
+    this.nodecnt = graph.nodecnt;
+    this.edgecnt = n = graph.edgecnt;
+    if (this.srcs.length < n) { /* if the arrays are too small */
+      this.srcs = new int[n];  this.dsts = new int[n];
+      this.etps = new int[n];  this.ntps = new int[n];
+      this.degs = new int[n];  this.offs = new int[n];
+      this.pos  = new int[n];  this.pes  = new Edge[n];
+      this.pns  = new Node[n];
+    }                           /* (re)allocate the arrays */
+    if (this.ees.length != n)   /* the embedding arrays must have */
+      this.ees = new Edge[n];   /* the exact sizes (they are copied) */
+    if (this.ens.length != graph.nodecnt)
+      this.ens = new Node[graph.nodecnt];
+    if (this.sigs.length < 2*n) this.sigs = new long[2*n];
+    graph.nodes[0].mark = 0;    /* mark the root node */
+    for (i = o = 0, n = 1; i < graph.edgecnt; i++) {
+      re = graph.edges[i];      /* traverse the edges */
+      rd = re.dst; src = re.src;/* and identify the source and */
+      if ((src.mark < 0) || ((rd.mark >= 0) && (src.mark > rd.mark))) {
+        rd = src; src = re.dst; }  /* the destination node */
+      this.srcs[i] = src.mark;  /* (as in the recursive function) */
+      this.pes [i] = re;        /* note the edge, its type, */
+      this.pns [i] = rd;        /* the destination node */
+      this.etps[i] = re.type;   /* and its type */
+      this.ntps[i] = rd.type;
+      this.offs[i] = -1;        /* default: no signature */
+      if (rd.mark >= 0) {       /* if the destination is known, */
+        this.dsts[i] = rd.mark; /* note its index in the embedding */
+        this.degs[i] = 0; continue; }
+      this.dsts[i] = -1;        /* mark the destination as new */
+      this.degs[i] = rd.deg;    /* and note its degree */
+      rd.mark = n++;            /* number the new node */
+      if (rd.deg < 2) continue; /* (single edge is checked anyway) */
+      this.offs[i] = o;         /* note the signature start */
+      o = this.sign(rd, o);     /* and collect the signature */
+    }
+    this.root = o;              /* collect the root signature */
+    if (this.sign(graph.nodes[0], o) < 0) this.root = -1;
+    for (i = graph.nodecnt; --i >= 0; )
+      graph.nodes[i].mark = -1; /* unmark the nodes again */
+    /* Since the sum of the node degrees is twice the number of   */
+    /* edges, the signature array is always large enough.         */
+
+    /* --- count the node types --- */
+    if (this.types.length < graph.nodecnt) {
+      this.types = new int[graph.nodecnt];
+      this.cnts  = new int[graph.nodecnt];
+      this.found = new int[graph.nodecnt];
+    }                           /* (re)allocate the arrays */
+    for (i = n = 0; i < graph.nodecnt; i++)
+      if (graph.nodes[i].type != Node.ANY)
+        this.types[n++] = graph.nodes[i].type;
+    Arrays.sort(this.types, 0, n); /* collect and sort the types */
+    for (i = k = 0; i < n; k++) {  /* of non-wildcard nodes */
+      this.types[k] = this.types[i]; this.cnts[k] = 0;
+      do { this.cnts[k]++; } while ((++i < n)
+                              &&   (this.types[i] == this.types[k]));
+    }                           /* count the nodes per type */
+    this.tcnt = k;              /* note the number of types */
+  }  /* plan() */
+
+  /*------------------------------------------------------------------*/
+  /** Check whether the search plan is valid for a graph to embed.
+   *  @param  graph the graph to embed
+   *  @return whether the search plan is valid for the graph
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  private boolean isValid (Graph graph)
+  {                             /* --- check the search plan */
+    Edge e;                     /* to traverse the edges */
+
+    if ((graph != this.sub)     /* check the graph, its size, */
+    ||  (graph.edgecnt  != this.edgecnt)
+    ||  (graph.nodecnt  != this.nodecnt)
+    ||  (graph.nodes[0] != this.proot)
+    ||  (this.proot.type != this.rtype))  /* and its root node */
+      return false;
+    for (int i = this.edgecnt; --i >= 0; ) {
+      e = graph.edges[i];       /* traverse the edges */
+      if ((e != this.pes[i]) || (e.type != this.etps[i])
+      ||  (this.pns[i].type != this.ntps[i]))
+        return false;           /* check the edges, their types */
+    }                           /* and the node types */
+    return true;                /* return 'plan is valid' */
+  }  /* isValid() */
+
+  /*------------------------------------------------------------------*/
+  /** Collect the neighborhood signature of a node of the graph to
+   *  embed.
+   *  @param  node the node for which to collect the signature
+   *  @param  off  the start index in the signature array
+   *  @return the index following the signature or -1 if the node
+   *          has wildcard neighbors (and thus no usable signature)
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  private int sign (Node node, int off)
+  {                             /* --- collect a node signature */
+    int  i;                     /* loop variable */
+    Edge e;                     /* to traverse the incident edges */
+
+    for (i = node.deg; --i >= 0; ) {
+      e = node.edges[i];        /* traverse the incident edges */
+      if (((e.src != node) ? e.src : e.dst).type == Node.ANY)
+        return -1;              /* a wildcard matches any type, */
+      this.sigs[off+i] = MatchState.key(e, node);
+    }                           /* so no signature is usable */
+    Arrays.sort(this.sigs, off, off +node.deg);
+    return off +node.deg;       /* sort the edge keys */
+  }  /* sign() */
+
+  /*------------------------------------------------------------------*/
+  /** Check whether a neighborhood signature is contained in the
+   *  neighborhood of a node.
+   *  @param  off  the start index of the signature
+   *  @param  n    the number of keys of the signature
+   *  @param  node the node of the graph to embed into
+   *  @return whether the signature is contained in the neighborhood
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  private boolean covers (int off, int n, Node node)
+  {                             /* --- check a node signature */
+    int  i, k;                  /* loop variables */
+    long s, t;                  /* signature keys */
+
+    n += off;                   /* traverse the signature keys */
+    for (i = off, k = 0; i < n; i++) {
+      s = this.sigs[i];         /* get the next signature key */
+      do {                      /* find it among the edges */
+        if (k >= node.deg) return false;
+        t = MatchState.key(node.edges[k++], node);
+        if (t > s) return false;/* (both the signature and the */
+      } while (t < s);          /* edges of the node are sorted, */
+    }                           /* so a simple merge suffices) */
+    return true;                /* return 'signature is contained' */
+  }  /* covers() */
+
+  /*------------------------------------------------------------------*/
+  /** Find the embeddings of a graph in another graph.
+   *  <p>The embeddings are found (and returned) in the same order as
+   *  with the recursive function <code>Graph.embed()</code>. The graph
+   *  to embed must not contain chain nodes and must have at least one
+   *  edge.</p>
+   *  @param  graph the graph into which to embed
+   *  @param  sub   the graph to embed
+   *  @param  list  the list of already found embeddings or the constant
+   *                <code>check</code> for a containment check
+   *  @param  check the constant that indicates a containment check
+   *                (and that is returned if an embedding is found)
+   *  @return the list of found embeddings (prepended to the given list)
+   *          or, for a containment check, the constant <code>check</code>
+   *          if the graph is contained and <code>null</code> otherwise
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  protected Embedding embed (Graph graph, Graph sub, Embedding list,
+                             Embedding check)
+  {                             /* --- embed a graph iteratively */
+    int       i, e, m, n, t;    /* loop variables, indices, buffers */
+    Node      src, dst;         /* to traverse the nodes */
+    Edge      edge;             /* to traverse the edges */
+    Node[]    ens;              /* nodes of the embedding */
+    Edge[]    ees;              /* edges of the embedding */
+    Embedding emb;              /* created embedding */
+    Markers   mk;               /* markers of the current thread */
+
+    if (!this.isValid(sub))     /* create a search plan */
+      this.plan(sub);           /* if necessary */
+    for (i = this.tcnt; --i >= 0; )
+      this.found[i] = 0;        /* count the nodes of the types */
+    for (i = graph.nodecnt; --i >= 0; ) {  /* of the graph to embed */
+      t = Arrays.binarySearch(this.types, 0, this.tcnt,
+                              graph.nodes[i].type);
+      if (t >= 0) this.found[t]++;
+    }                           /* check whether there are enough */
+    for (i = this.tcnt; --i >= 0; )   /* nodes of each type */
+      if (this.found[i] < this.cnts[i])
+        return (list == check) ? null : list;
+    ens = this.ens; ees = this.ees;   /* get the embedding arrays */
+    mk  = Markers.get();        /* and the markers of the thread */
+    src = sub.nodes[0];         /* get the root node of the graph */
+    t   = src.type;             /* to embed, its type and degree */
+    m   = src.deg;
+    for (i = graph.nodecnt; --i >= 0; ) {
+      dst = graph.nodes[i];     /* traverse the graph's nodes */
+      if (((t != Node.ANY) && (dst.type != t))
+      ||  (dst.deg < m)         /* check for the right type, */
+      ||  ((this.root >= 0)     /* a compatible degree, and */
+      &&   !this.covers(this.root, m, dst)))  /* neighborhood */
+        continue;
+      ens[0] = dst;             /* note the root node and */
+      mk.set(dst, 0);           /* mark it with its index */
+      n = 1;                    /* init. the node counter */
+      e = 0;                    /* and start with the first edge */
+      this.pos[0] = ens[this.srcs[0]].deg;
+      while (true) {            /* backtracking search loop */
+        if (--this.pos[e] < 0){ /* if all edges have been tried, */
+          if (--e < 0) break;   /* go back to the previous edge */
+          mk.set(ees[e], -1);   /* unmark the edge of the embedding */
+          if (this.dsts[e] < 0) mk.set(ens[--n], -1);
+          continue;             /* unmark a new node */
+        }                       /* and try the next edge */
+        src  = ens[this.srcs[e]];
+        edge = src.edges[this.pos[e]];
+        if (mk.get(edge) >= 0)          continue; /* compare */
+        if (edge.type > this.etps[e])   continue; /* edge type */
+        if (edge.type < this.etps[e]) { this.pos[e] = 0; continue; }
+        dst = (edge.src != src) ? edge.src : edge.dst;
+        if (this.ntps[e] != Node.ANY) { /* if not a wildcard type */
+          if (dst.type > this.ntps[e])  continue; /* compare the */
+          if (dst.type < this.ntps[e]){ this.pos[e] = 0; continue; }
+        }                       /* dest. node type */
+        if (mk.get(dst) != this.dsts[e]) continue;
+        if ((this.dsts[e] < 0)  /* if the destination node is new */
+        &&  ((dst.deg < this.degs[e])   /* check its degree */
+        ||   ((this.offs[e] >= 0)       /* and its neighborhood */
+        &&    !this.covers(this.offs[e], this.degs[e], dst))))
+          continue;
+        mk.set(edge, e); ees[e] = edge;  /* mark and store edge */
+        if (this.dsts[e] < 0) { mk.set(dst, n); ens[n++] = dst; }
+        if (++e < this.edgecnt) {  /* if not all edges are matched, */
+          this.pos[e] = ens[this.srcs[e]].deg;
+          continue;             /* init. the next edge cursor */
+        }                       /* and go to the next edge */
+        if (list == check) {    /* if only to check containment, */
+          while (--e >= 0) {    /* unmark the embedding */
+            mk.set(ees[e], -1); /* (edges and nodes) */
+            if (this.dsts[e] < 0) mk.set(ens[--n], -1);
+          }                     /* unmark also the root node */
+          mk.set(ens[0], -1);   /* and return that an embedding */
+          return check;         /* (a containment) was found */
+        }
+        emb = new Embedding(graph, ens, ees);
+        emb.succ = list;        /* create a new embedding */
+        list     = emb;         /* and add it at the head */
+        mk.set(ees[--e], -1);   /* of the embedding list */
+        if (this.dsts[e] < 0) mk.set(ens[--n], -1);
+      }                         /* unmark the last edge and node */
+      mk.set(ens[0], -1);       /* unmark the root node */
+    }
+    return (list == check) ? null : list;
+  }  /* embed() */              /* return the list of embeddings */
+
+}  /* class MatchState */
+
 
 /*--------------------------------------------------------------------*/
 /** Class to represent attributed graphs for substructure mining.
@@ -78,9 +468,21 @@ public class Graph implements Cloneable {
   /*------------------------------------------------------------------*/
   /*  constants                                                       */
   /*------------------------------------------------------------------*/
-  /** a dummy parameter/return value for the containment check
+  /** a dummy parameter for the containment check
    *  (saves a recursion parameter) */
+  private static final Embedding CHECK     = new Embedding();
+  /** a dummy return value for the containment check
+   *  (indicates that an embedding was found) */
   private static final Embedding CONTAINED = new Embedding();
+  /** the number of label refinement rounds for fingerprints */
+  private static final int       ROUNDS    = 3;
+
+  /*------------------------------------------------------------------*/
+  /*  class variables                                                 */
+  /*------------------------------------------------------------------*/
+  /** whether to use the iterative embedding with candidate filtering
+   *  (see class <code>MatchState</code>) */
+  private static volatile boolean fast = true;
 
   /*------------------------------------------------------------------*/
   /*  instance variables                                              */
@@ -156,6 +558,7 @@ public class Graph implements Cloneable {
     Embedding emb;              /* to access an embbeding */
     Edge      edge;             /* to traverse/access the edges */
     Node      src, dst, x;      /* to traverse/access the nodes */
+    Markers   mk;               /* markers of the current thread */
 
     emb          = frag.list;   /* copy the embedding information */
     this.ntn     = emb.graph.ntn;
@@ -164,41 +567,45 @@ public class Graph implements Cloneable {
     this.nodes   = new Node[this.nodecnt];
     this.edgecnt = emb.edges.length;
     this.edges   = new Edge[this.edgecnt];
+    mk = Markers.get();         /* get the markers of the thread */
     if (frag.chcnt == 0) {      /* if there are no chains */
       for (i = emb.nodes.length; --i >= 0; ) {
         src = emb.nodes[i];     /* traverse the embedding's nodes */
-        this.nodes[src.mark = i] = new Node(src.type);
+        mk.set(src, i); this.nodes[i] = new Node(src.type);
       } }                       /* mark and copy each node */
     else {                      /* if there are chains */
       for (i = emb.nodes.length; --i >= 0; )
-        emb.nodes[i].mark = -2; /* unmark all nodes of the embedding */
-      src = emb.nodes[0]; src.mark = 0;    /* mark and copy */
+        mk.set(emb.nodes[i],-2);/* unmark all nodes of the embedding */
+      src = emb.nodes[0]; mk.set(src, 0);  /* mark and copy */
       this.nodes[0] = new Node(src.type);  /* the root node */
       for (k = i = 0; i < emb.edges.length; i++) {
         edge = emb.edges[i];    /* traverse the embedding edges */
         src  = null;            /* and check for "unsaturated" ones */
-        if      (edge.src.mark < -1)
-          this.nodes[edge.src.mark = ++k] = new Node(edge.src.type);
-        else if (edge.src.mark <  0)
+        if      (mk.get(edge.src) < -1) {
+          mk.set(edge.src, ++k);
+          this.nodes[k] = new Node(edge.src.type); }
+        else if (mk.get(edge.src) <  0)
           src = edge.src;       /* note a possible chain node */
-        if      (edge.dst.mark < -1)
-          this.nodes[edge.dst.mark = ++k] = new Node(edge.dst.type);
-        else if (edge.dst.mark <  0)
+        if      (mk.get(edge.dst) < -1) {
+          mk.set(edge.dst, ++k);
+          this.nodes[k] = new Node(edge.dst.type); }
+        else if (mk.get(edge.dst) <  0)
           src = edge.dst;       /* note a possible chain node */
         if (src == null) continue;  /* skip "saturated" edges */
-        src.mark = ++k;         /* mark the node at the one end */
+        mk.set(src, ++k);       /* mark the node at the one end */
         edge = emb.edges[i+1];  /* get the other chain edge */
-        if      (edge.src.mark == -1) src = edge.src;
-        else if (edge.dst.mark == -1) src = edge.dst;
-        src.mark = k;           /* mark the node at the other end */
+        if      (mk.get(edge.src) == -1) src = edge.src;
+        else if (mk.get(edge.dst) == -1) src = edge.dst;
+        mk.set(src, k);         /* mark the node at the other end */
         this.nodes[k] = new Node(Node.CHAIN | src.type);
       }                         /* create a special pseudo-node */
     }                           /* that represents the chain */
     for (i = 0; i < this.edgecnt; i++) {
       edge = emb.edges[i];      /* traverse and copy the edges */
-      src  = this.nodes[edge.src.mark];
-      dst  = this.nodes[edge.dst.mark];
-      if (edge.dst.mark < edge.src.mark) {
+      k    = mk.get(edge.src);  /* get the indices */
+      src  = this.nodes[k];     /* of the incident nodes */
+      dst  = this.nodes[mk.get(edge.dst)];
+      if (mk.get(edge.dst) < k) {
         x = src; src = dst; dst = x; }
       this.edges[i] = new Edge(src, dst, edge.type);
       this.edges[i].flags = edge.flags;
@@ -206,7 +613,7 @@ public class Graph implements Cloneable {
     this.mark(-1);              /* unmark all nodes and edges */
     if (frag.chcnt == 0) {      /* if there are no chains */
       for (i = emb.nodes.length; --i >= 0; )
-        emb.nodes[i].mark = -1; }
+        mk.set(emb.nodes[i], -1); }
     else {                      /* if there are chains */
       /* Note that when there are chains it does not suffice to    */
       /* to unmark the nodes of the embedding, because there are   */
@@ -214,22 +621,26 @@ public class Graph implements Cloneable {
       /* Therefore in this case the node marks have to be removed  */
       /* by relying on the edges of the embedding.                 */
       for (i = emb.edges.length; --i >= 0; ) {
-        edge = emb.edges[i]; edge.src.mark = edge.dst.mark = -1; }
+        edge = emb.edges[i];    /* traverse the embedding edges */
+        mk.set(edge.src, -1); mk.set(edge.dst, -1); }
     }                           /* remove the embedding markers */
   }  /* Graph() */
 
   /*------------------------------------------------------------------*/
   /** Create a clone of a graph.
    *  <p>This function creates a clone without changing anything
-   *  in the original graph (not even the node markers, which are
-   *  only changed temporarily and restored on completion).</p>
+   *  in the original graph (not even the node and edge markers,
+   *  which are only changed temporarily and restored on completion).
+   *  The edges incident to a node are listed in the same order as in
+   *  the original graph, so that a clone of a prepared graph can be
+   *  processed in exactly the same way as the original.</p>
    *  @param  graph the graph to clone
    *  @since  2003.08.04 (Christian Borgelt) */
   /*------------------------------------------------------------------*/
 
   protected Graph (Graph graph)
   {                             /* --- clone a graph */
-    int  i;                     /* loop variable */
+    int  i, k;                  /* loop variables */
     Node ns, nd;                /* to traverse the nodes */
     Edge es, ed;                /* to traverse the edges */
 
@@ -248,11 +659,19 @@ public class Graph implements Cloneable {
       ed = new Edge(this.nodes[es.src.mark],
                     this.nodes[es.dst.mark], es.type);
       ed.mark = es.mark; ed.flags = es.flags;
-      this.edges[i] = ed;       /* create new edges of the same type */
-    }                           /* and copy marker and flags */
-    for (i = graph.nodecnt; --i >= 0; )
-      graph.nodes[i].mark = this.nodes[i].mark;
-  }  /* Graph() */              /* restore the node markers */
+      this.edges[i] = ed;       /* create new edges of the same type, */
+      es.mark = i;              /* copy marker and flags, and mark */
+    }                           /* the edges by their index */
+    for (i = graph.nodecnt; --i >= 0; ) {
+      ns = graph.nodes[i];      /* traverse the nodes of the graph */
+      nd = this.nodes[i];       /* and copy the order of the edges */
+      for (k = ns.deg; --k >= 0; )
+        nd.edges[k] = this.edges[ns.edges[k].mark];
+      ns.mark = nd.mark;        /* restore the node markers */
+    }
+    for (i = graph.edgecnt; --i >= 0; )
+      graph.edges[i].mark = this.edges[i].mark;
+  }  /* Graph() */              /* restore the edge markers */
 
   /*------------------------------------------------------------------*/
   /** Create a clone of the attributed graph.
@@ -341,6 +760,118 @@ public int hashCode ()
     return h;                   /* return the computed hash code */
   }  /* hashCode() */
 
+  /*------------------------------------------------------------------*/
+  /** Mix the bits of a 64 bit value.
+   *  <p>This is the finalization function of the SplitMix64 generator,
+   *  which is a bijection that lets each input bit affect each output
+   *  bit. It is used to compute 64 bit fingerprints of (sub)graphs
+   *  (see <code>fingerprint(Node[],int,Edge[],int)</code>).</p>
+   *  @param  x the value to mix
+   *  @return the mixed value
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  protected static long mix (long x)
+  {                             /* --- mix the bits of a value */
+    x = (x ^ (x >>> 30)) * 0xbf58476d1ce4e5b9L;
+    x = (x ^ (x >>> 27)) * 0x94d049bb133111ebL;
+    return x ^ (x >>> 31);      /* multiply and shift twice */
+  }  /* mix() */
+
+  /*------------------------------------------------------------------*/
+  /** Compute a 64 bit fingerprint of the graph.
+   *  <p>The fingerprint is an isomorphism invariant, that is, isomorphic
+   *  graphs always have the same fingerprint, while non-isomorphic
+   *  graphs have the same fingerprint only with a very small probability
+   *  (much smaller than for the hash code, see <code>hashCode()</code>).
+   *  It is computed with a few rounds of Weisfeiler-Lehman label
+   *  refinement (see <code>fingerprint(Node[],int,Edge[],int)</code>)
+   *  and agrees with the fingerprint of any fragment with this graph
+   *  (see <code>Fragment.fingerprint()</code>), provided the graph
+   *  does not contain chains.</p>
+   *  @return the fingerprint of the graph
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  public long fingerprint ()
+  { return Graph.fingerprint(this.nodes, this.nodecnt,
+                             this.edges, this.edgecnt); }
+
+  /*------------------------------------------------------------------*/
+  /** Compute a 64 bit fingerprint of a (sub)graph.
+   *  <p>Each node is labeled with its type and its degree w.r.t. the
+   *  given edges. In each refinement round the label of a node is
+   *  replaced by a mix of its old label and the (commutatively
+   *  combined) labels of its neighbors together with the types of the
+   *  connecting edges. Finally the node labels and edge values (which
+   *  are computed from the labels of the incident nodes and the edge
+   *  type) are combined, again with commutative operations, so that
+   *  the result does not depend on the order of the nodes and edges.
+   *  </p>
+   *  <p>The nodes are numbered with their markers, which must all be
+   *  cleared (-1) on entry and are cleared again on exit. Edges with
+   *  an incident node that is not in the given array are ignored.</p>
+   *  @param  nodes   the array of nodes
+   *  @param  nodecnt the number of nodes
+   *  @param  edges   the array of edges
+   *  @param  edgecnt the number of edges
+   *  @return the fingerprint of the (sub)graph
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  protected static long fingerprint (Node[] nodes, int nodecnt,
+                                     Edge[] edges, int edgecnt)
+  {                             /* --- compute a 64 bit fingerprint */
+    int     i, k, r;            /* loop variables */
+    int     s, d;               /* indices of source and destination */
+    long    t, a, b;            /* buffers, computed fingerprints */
+    long[]  lab, nbs;           /* node labels and neighbor sums */
+    Edge    edge;               /* to traverse the edges */
+    Markers mk = Markers.get(); /* markers of the current thread */
+
+    lab = new long[nodecnt];    /* create the label arrays */
+    nbs = new long[nodecnt];    /* and number the nodes */
+    for (i = nodecnt; --i >= 0; ) mk.set(nodes[i], i);
+    for (k = edgecnt; --k >= 0; ) {
+      edge = edges[k];          /* traverse the edges */
+      s = mk.get(edge.src); d = mk.get(edge.dst);
+      if ((s < 0) || (d < 0)) continue;
+      nbs[s]++; nbs[d]++;       /* count the incident edges */
+    }                           /* (determine the node degrees) */
+    for (i = nodecnt; --i >= 0; )
+      lab[i] = Graph.mix(((long)(nodes[i].type & ~Node.CHAIN) << 32)
+                         ^ nbs[i]);  /* initialize the node labels */
+    for (r = ROUNDS; --r >= 0; ) {   /* refine the node labels */
+      Arrays.fill(nbs, 0);      /* clear the neighbor sums */
+      for (k = edgecnt; --k >= 0; ) {
+        edge = edges[k];        /* traverse the edges */
+        s = mk.get(edge.src); d = mk.get(edge.dst);
+        if ((s < 0) || (d < 0)) continue;
+        t = (long)edge.type * 0x9e3779b97f4a7c15L;
+        nbs[s] += Graph.mix(lab[d] ^ t);
+        nbs[d] += Graph.mix(lab[s] ^ t);
+      }                         /* sum the neighbor labels */
+      for (i = nodecnt; --i >= 0; )
+        lab[i] = Graph.mix(lab[i] +Long.rotateLeft(nbs[i], 17));
+    }                           /* compute the new node labels */
+    a = b = 0;                  /* initialize the fingerprints */
+    for (i = nodecnt; --i >= 0; ) {
+      a += lab[i];              /* combine the node labels */
+      b ^= Graph.mix(lab[i] ^ 0x5555555555555555L);
+    }                           /* in two different ways */
+    for (k = edgecnt; --k >= 0; ) {
+      edge = edges[k];          /* traverse the edges */
+      s = mk.get(edge.src); d = mk.get(edge.dst);
+      if ((s < 0) || (d < 0)) continue;
+      t = Graph.mix((lab[s] +lab[d]) ^ edge.type);
+      a += t;                   /* combine the edge values */
+      b ^= Graph.mix(t ^ 0x3333333333333333L);
+    }                           /* in two different ways */
+    for (i = nodecnt; --i >= 0; ) mk.set(nodes[i], -1);
+    return Graph.mix(a ^ Long.rotateLeft(b, 29)  /* unmark the nodes */
+                       ^ (((long)nodecnt << 32) | edgecnt));
+  }  /* fingerprint() */        /* and return the fingerprint */
+
   /*------------------------------------------------------------------*/
   /** Get the notation of the graph.
    *  @return the notation of the graph
@@ -1068,16 +1599,18 @@ public int hashCode ()
    *  @param  nid   the index of the next free entry in the node array
    *  @param  ees   the array of edges of the embedding
    *  @param  eid   the current edge index in the graph
+   *  @param  mk    the markers of the current thread
    *  @param  list  the list of already found embeddings or the constant
-   *                <code>CONTAINED</code> for a containment check
+   *                <code>CHECK</code> for a containment check
    *  @return a list of found embeddings or the special constant
-   *          <code>CONTAINED</code> (if <code>list</code> was this
-   *          constant and the graph was found)
+   *          <code>CONTAINED</code> (if <code>list</code> was the
+   *          constant <code>CHECK</code> and the graph was found)
    *  @since  2005.08.16 (Christian Borgelt) */
   /*------------------------------------------------------------------*/
 
   private Embedding embed (Graph graph, Node[] ens, int nid,
-                           Edge[] ees, int eid, Embedding list)
+                           Edge[] ees, int eid, Markers mk,
+                           Embedding list)
   {                             /* --- embed a graph recursively */
     int       i, m, t;          /* loop variable, buffers */
     Edge      re, edge, x;      /* to access/traverse the edges */
@@ -1087,7 +1620,7 @@ public int hashCode ()
     Embedding emb;              /* created embedding */
 
     if (eid >= graph.edgecnt) { /* if all edges have been matched */
-      if (list == CONTAINED)    /* if only to check containment, */
+      if (list == CHECK)        /* if only to check containment, */
         return CONTAINED;       /* return a special dummy embedding */
       emb = new Embedding(this, ens, ees);
       emb.succ = list;          /* create a new embedding */
@@ -1103,7 +1636,7 @@ public int hashCode ()
     chain = rd.isChain();       /* and check for a chain node */
     for (i = src.deg; --i >= 0; ) {
       edge = src.edges[i];      /* traverse the unmarked edges */
-      if (edge.mark >= 0)      continue;    /* compare */
+      if (mk.get(edge) >= 0)   continue;    /* compare */
       if (edge.type > re.type) continue;    /* edge type */
       if (edge.type < re.type) return list; /* and flags */
       dst = (edge.src != src) ? edge.src : edge.dst;
@@ -1111,7 +1644,7 @@ public int hashCode ()
         if (dst.type > t) continue;         /* compare the */
         if (dst.type < t) return list;      /* dest. node type */
       }
-      if (dst.mark != rd.mark) continue;    /* compare dest. index */
+      if (mk.get(dst) != m)    continue;    /* compare dest. index */
       if      (!chain) {        /* if not to match/embed a chain */
         if (dst.deg < rd.deg)  continue;
         end = null; }           /* there is no end of chain node */
@@ -1121,7 +1654,7 @@ public int hashCode ()
         if (dst.deg != 2)      continue;
         x = (dst.edges[0] != edge) ? dst.edges[0] : dst.edges[1];
         if (x.type != re.type) continue;
-        ees[edge.mark = eid++] = edge;
+        mk.set(edge, eid); ees[eid++] = edge;
         do {                    /* loop to follow the chain */
           edge = x; dst = (x.src != dst) ? x.src : x.dst;
           if ((dst.type != t) || (dst.deg != 2)) break;
@@ -1131,12 +1664,12 @@ public int hashCode ()
         end = (x.src != rd) ? x.src : x.dst;
         end.mark = nid;         /* mark the node after the chain */
       }                         /* in the graph to embed */
-      ees[edge.mark = eid] = edge; /* mark and store edge (and node) */
-      if (m < 0) { ens[dst.mark = rd.mark = nid++] = dst; }
-      list = this.embed(graph, ens, nid, ees, eid+1, list);
-      if (m < 0) { dst.mark = rd.mark = -1; nid--; }
-      if (end != null) { ees[--eid].mark = end.mark = -1; }
-      edge.mark = -1;           /* find embeddings recursively */
+      mk.set(edge, eid); ees[eid] = edge;  /* mark and store edge */
+      if (m < 0) { mk.set(dst, rd.mark = nid); ens[nid++] = dst; }
+      list = this.embed(graph, ens, nid, ees, eid+1, mk, list);
+      if (m < 0) { mk.set(dst, rd.mark = -1); nid--; }
+      if (end != null) { mk.set(ees[--eid], end.mark = -1); }
+      mk.set(edge, -1);         /* find embeddings recursively */
       if (list == CONTAINED)    /* if only to check containment, */
         break;                  /* check the recursion result */
     }
@@ -1148,19 +1681,20 @@ public int hashCode ()
    *  @param  graph the graph to embed
    *  @param  list  the initial list of embeddings
    *                (either <code>null</code> or the constant
-   *                <code>CONTAINED</code> for a containment check)
-   *  @return a list of found embeddings or the special constant
-   *          <code>CONTAINED</code> (if <code>list</code> was this
-   *          constant and the graph was found)
+   *                <code>CHECK</code> for a containment check)
+   *  @return a list of found embeddings or, for a containment check,
+   *          a non-null value if the graph was found and
+   *          <code>null</code> otherwise
    *  @since  2005.08.16 (Christian Borgelt) */
   /*------------------------------------------------------------------*/
 
   private Embedding embed (Graph graph, Embedding list)
   {                             /* --- find embeddings of a graph */
-    int  i, n, t, d;            /* loop variables, buffers */
-    Node node;                  /* to traverse the nodes */
-    Node ens[];                 /* nodes of the embedding */
-    Edge ees[];                 /* edges of the embedding */
+    int     i, n, t, d;         /* loop variables, buffers */
+    Node    node;               /* to traverse the nodes */
+    Node    ens[];              /* nodes of the embedding */
+    Edge    ees[];              /* edges of the embedding */
+    Markers mk;                 /* markers of the current thread */
 
     node = graph.nodes[0];      /* get the first node of the graph */
     t    = node.type;           /* and note its type for comparisons */
@@ -1179,25 +1713,28 @@ public int hashCode ()
     for (n = 0, i = graph.nodecnt; --i >= 0; )
       if (graph.nodes[i].isChain())
         n++;                    /* count the chain nodes */
+    if ((n <= 0) && Graph.fast) /* if there are no chain nodes, */
+      return MatchState.get().embed(this, graph, list, CHECK);
     ens = new Node[graph.nodecnt -n];
     ees = new Edge[graph.edgecnt];
     node.mark = 0;              /* mark the first node */
-    d = node.deg;               /* and note its degree */
+    d  = node.deg;              /* and note its degree */
+    mk = Markers.get();         /* get the markers of the thread */
     for (i = this.nodecnt; --i >= 0; ) {
       node = this.nodes[i];     /* traverse the graph's nodes */
       if (((t != Node.ANY) && (node.type != t))
       ||  (node.deg < d))       /* check for the right type */
         continue;               /* and a compatible degree */
-      ens[0]    = node;         /* note the root node and */
-      node.mark =  0;           /* mark it with its index */
-      list      = this.embed(graph, ens, 1, ees, 0, list);
-      node.mark = -1;           /* match the edges recursively */
+      ens[0] = node;            /* note the root node and */
+      mk.set(node,  0);         /* mark it with its index */
+      list   = this.embed(graph, ens, 1, ees, 0, mk, list);
+      mk.set(node, -1);         /* match the edges recursively */
       if (list == CONTAINED)    /* if only to check containment, */
         break;                  /* check the recursion result */
     }
     graph.nodes[0].mark = -1;   /* unmark the first node */
-    return list;                /* return the recursion result */
-  }  /* embed() */
+    return (list == CHECK) ? null : list;
+  }  /* embed() */              /* return the recursion result */
 
   /*------------------------------------------------------------------*/
   /** Embed a graph structure (find all its embeddings).
@@ -1239,7 +1776,21 @@ public int hashCode ()
   /*------------------------------------------------------------------*/
 
   public boolean contains (Graph graph)
-  { return this.embed(graph, CONTAINED) != null; }
+  { return this.embed(graph, CHECK) != null; }
+
+  /*------------------------------------------------------------------*/
+  /** Set whether to use the iterative embedding.
+   *  <p>By default, graphs without chain nodes are embedded with an
+   *  iterative backtracking search that additionally checks the
+   *  node type frequencies and the neighborhoods of the nodes (see
+   *  class <code>MatchState</code>). The recursive embedding, which
+   *  lacks these checks, can be selected for comparisons.</p>
+   *  @param  fast whether to use the iterative embedding
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  public static void setFastEmbed (boolean fast)
+  { Graph.fast = fast; }
 
   /*------------------------------------------------------------------*/
   /** Check whether a graph is canonic w.r.t. a given canonical form.
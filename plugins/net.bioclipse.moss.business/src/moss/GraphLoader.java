@@ -0,0 +1,285 @@
+/*******************************************************************************
+ *Copyright (c) 2008 The Bioclipse Team and others.
+ *All rights reserved. This program and the accompanying materials
+ *are made available under the terms of the Eclipse Public License v1.0
+ *which accompanies this distribution, and is available at
+ *http://www.eclipse.org/legal/epl-v10.html
+ *
+ *******************************************************************************/
+/*----------------------------------------------------------------------
+  File    : GraphLoader.java
+  Contents: class for pipelined loading of graph data sets
+  Author  : The Bioclipse Team
+  History : 2026.10.17 file created
+----------------------------------------------------------------------*/
+package moss;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/*--------------------------------------------------------------------*/
+/** Class for pipelined loading of graph data sets.
+ *  <p>One thread reads the graph data set with a graph reader in
+ *  split mode, that is, it only splits off the graph names, values
+ *  and (unparsed) descriptions, and collects them in batches. These
+ *  batches are parsed by a pool of parser threads, each of which
+ *  uses its own notation (created by the graph reader). The batches
+ *  are returned by the function <code>next()</code> in input order,
+ *  so that the graphs can be added to the graph database in the same
+ *  order as with sequential loading.</p>
+ *  <p>The number of batches that are read, but not yet returned,
+ *  is limited, so that the reader thread cannot run arbitrarily far
+ *  ahead of the parser threads and the consumer.</p>
+ *  @author The Bioclipse Team
+ *  @since  2026.10.17 */
+/*--------------------------------------------------------------------*/
+public class GraphLoader implements Runnable {
+
+  /*--------------------------------------------------------------------*/
+  /** Class for a batch of graph records that are parsed together.
+   *  <p>A batch is filled by the thread that reads the graph data set
+   *  (which only splits off the graph descriptions) and then parsed by
+   *  one of the parser threads. The thread that consumes the batches
+   *  waits until the batch has been parsed.</p>
+   *  @author The Bioclipse Team
+   *  @since  2026.10.17 */
+  /*--------------------------------------------------------------------*/
+  protected static class LoadBatch implements Runnable {
+
+    /*------------------------------------------------------------------*/
+    /*  instance variables                                              */
+    /*------------------------------------------------------------------*/
+    /** the loader the batch belongs to */
+    private   GraphLoader loader;
+    /** the names of the graphs */
+    protected String[]    names;
+    /** the values associated with the graphs */
+    protected float[]     values;
+    /** the unparsed graph descriptions */
+    protected String[]    recs;
+    /** the parsed graphs */
+    protected Graph[]     graphs;
+    /** the number of graphs in the batch */
+    protected int         cnt;
+    /** whether this is the last batch */
+    protected boolean     last;
+    /** the error that occurred while reading or parsing (if any) */
+    protected IOException error;
+    /** the index of the graph at which the error occurred */
+    protected int         epos;
+    /** whether the batch has been parsed */
+    private   boolean     done;
+
+    /*------------------------------------------------------------------*/
+    /** Create a batch of graph records.
+     *  @param  loader the loader the batch belongs to
+     *  @param  size   the maximum number of graphs in the batch
+     *  @since  2026.10.17 (The Bioclipse Team) */
+    /*------------------------------------------------------------------*/
+
+    protected LoadBatch (GraphLoader loader, int size)
+    {                             /* --- create a batch */
+      this.loader = loader;       /* note the loader */
+      this.names  = new String[size];
+      this.values = new float [size];
+      this.recs   = new String[size];
+      this.graphs = new Graph [size];
+      this.cnt    = 0;            /* create the record arrays */
+      this.last   = this.done = false;
+      this.error  = null;         /* there is no error yet */
+      this.epos   = size;
+    }  /* LoadBatch() */
+
+    /*------------------------------------------------------------------*/
+    /** Parse the graph descriptions of the batch.
+     *  <p>Parsing stops at the first error, since all later graphs
+     *  are not needed anymore. The parsed graphs are given the
+     *  notation of the graph reader, because the notation of the
+     *  parser thread is used for the next batch concurrently.</p>
+     *  @since  2026.10.17 (The Bioclipse Team) */
+    /*------------------------------------------------------------------*/
+
+    public void run ()
+    {                             /* --- parse the graph descriptions */
+      int      i;                 /* loop variable */
+      Notation ntn;               /* notation of the current thread */
+
+      i = 0;                      /* init. the graph index */
+      try {                       /* get the notation of the thread */
+        ntn = this.loader.getNotation();
+        for ( ; (i < this.cnt) && (i < this.epos); i++) {
+          this.graphs[i] = this.loader.reader.parse(this.recs[i], ntn);
+          this.recs[i]   = null;  /* parse the graph description */
+          this.graphs[i].ntn = this.loader.reader.getNotation();
+        } }                       /* and set the reader's notation */
+      catch (IOException e) {     /* note the first parse error */
+        this.error = e; this.epos = i; }
+      catch (RuntimeException e) {
+        this.error = new IOException(e.toString()); this.epos = i; }
+      finally { this.finish(); }  /* mark the batch as parsed */
+    }  /* run() */
+
+    /*------------------------------------------------------------------*/
+    /** Mark the batch as parsed.
+     *  @since  2026.10.17 (The Bioclipse Team) */
+    /*------------------------------------------------------------------*/
+
+    protected synchronized void finish ()
+    { this.done = true; this.notifyAll(); }
+
+    /*------------------------------------------------------------------*/
+    /** Wait until the batch has been parsed.
+     *  @throws IOException if the waiting thread is interrupted
+     *  @since  2026.10.17 (The Bioclipse Team) */
+    /*------------------------------------------------------------------*/
+
+    protected synchronized void await () throws IOException
+    {                             /* --- wait for the parser thread */
+      while (!this.done) {        /* while the batch is not parsed */
+        try { this.wait(); }
+        catch (InterruptedException e) {
+          throw new IOException("interrupted while loading graphs"); }
+      }                           /* wait for a notification */
+    }  /* await() */
+
+  }  /* class LoadBatch */
+
+  /*------------------------------------------------------------------*/
+  /*  constants                                                       */
+  /*------------------------------------------------------------------*/
+  /** the number of graphs in a batch */
+  public static final int BATCHSIZE = 256;
+
+  /*------------------------------------------------------------------*/
+  /*  instance variables                                              */
+  /*------------------------------------------------------------------*/
+  /** the graph reader (in split mode) */
+  protected GraphReader                   reader;
+  /** the executor that manages the parser threads */
+  private   ExecutorService               exec;
+  /** the batches in input order */
+  private   ArrayBlockingQueue<LoadBatch> queue;
+  /** the notations of the parser threads */
+  private   ThreadLocal<Notation>         ntns;
+  /** the thread that reads the graph data set */
+  private   Thread                        thread;
+  /** whether the loader has been shut down */
+  private   volatile boolean              closed;
+
+  /*------------------------------------------------------------------*/
+  /** Create a pipelined loader for a graph data set.
+   *  <p>The graph reader must have been switched to split mode
+   *  (see <code>GraphReader.setSplit()</code>) and any header must
+   *  already have been read.</p>
+   *  @param  reader  the graph reader to read from (in split mode)
+   *  @param  threads the number of parser threads
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  public GraphLoader (GraphReader reader, int threads)
+  {                             /* --- create a graph loader */
+    if (threads < 1) threads = 1;
+    this.reader = reader;       /* note the graph reader */
+    this.queue  = new ArrayBlockingQueue<LoadBatch>(4*threads);
+    this.ntns   = new ThreadLocal<Notation>();
+    this.closed = false;        /* create the batch queue */
+    this.exec   = Executors.newFixedThreadPool(threads,
+      new ThreadFactory() {     /* create daemon threads */
+        public Thread newThread (Runnable r) {
+          Thread t = new Thread(r, "moss-parser");
+          t.setDaemon(true); return t; } });
+    this.thread = new Thread(this, "moss-reader");
+    this.thread.setDaemon(true);/* create the reader thread */
+    this.thread.start();        /* and start reading */
+  }  /* GraphLoader() */
+
+  /*------------------------------------------------------------------*/
+  /** Get the notation of the current (parser) thread.
+   *  @return the notation of the current thread
+   *  @throws IOException if no notation can be created
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  protected Notation getNotation () throws IOException
+  {                             /* --- get notation of current thread */
+    Notation ntn = this.ntns.get();
+    if (ntn == null) {          /* if there is no notation yet */
+      ntn = this.reader.createNotation();
+      if (ntn == null) throw new IOException("no notation for parsing");
+      this.ntns.set(ntn);       /* create a notation */
+    }                           /* for the current thread */
+    return ntn;                 /* return the notation */
+  }  /* getNotation() */
+
+  /*------------------------------------------------------------------*/
+  /** Read the graph data set (function of the reader thread).
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  public void run ()
+  {                             /* --- read the graph data set */
+    LoadBatch b;                /* current batch */
+
+    do {                        /* batch read loop */
+      b = new LoadBatch(this, BATCHSIZE);
+      try {                     /* split off graph descriptions */
+        while ((b.cnt < BATCHSIZE) && this.reader.readGraph()) {
+          b.names [b.cnt] = this.reader.getName();
+          b.values[b.cnt] = this.reader.getValue();
+          b.recs  [b.cnt] = this.reader.getRecord();
+          b.cnt++;              /* store the graph record */
+        } }                     /* in the current batch */
+      catch (IOException e) {   /* note a read error */
+        b.error = e; b.epos = b.cnt; }
+      catch (RuntimeException e) {
+        b.error = new IOException(e.toString()); b.epos = b.cnt; }
+      b.last = (b.cnt < BATCHSIZE) || (b.error != null);
+      try {                     /* queue the batch in input order */
+        while (!this.queue.offer(b, 100, TimeUnit.MILLISECONDS))
+          if (this.closed) return; }
+      catch (InterruptedException e) { return; }
+      try { this.exec.execute(b); }  /* hand the batch */
+      catch (RejectedExecutionException e) { return; }
+    } while (!b.last);          /* while not at the end of the input */
+  }  /* run() */
+
+  /*------------------------------------------------------------------*/
+  /** Get the next batch of parsed graphs.
+   *  <p>The batches are returned in input order. The last batch has
+   *  the flag <code>last</code> set. A read or parse error is noted
+   *  in the batch together with the index of the erroneous graph,
+   *  so that all graphs preceding it can still be processed.</p>
+   *  @return the next batch of parsed graphs
+   *  @throws IOException if the current thread is interrupted
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  public LoadBatch next () throws IOException
+  {                             /* --- get the next batch */
+    LoadBatch b;                /* next batch in input order */
+
+    try { b = this.queue.take(); }
+    catch (InterruptedException e) {
+      throw new IOException("interrupted while loading graphs"); }
+    b.await();                  /* wait until the batch is parsed */
+    return b;                   /* and return it */
+  }  /* next() */
+
+  /*------------------------------------------------------------------*/
+  /** Shut down the reader thread and the parser threads.
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  public void shutdown ()
+  {                             /* --- shut down the loader */
+    this.closed = true;         /* set the shutdown flag */
+    this.queue.clear();         /* and discard pending batches */
+    this.exec.shutdownNow();    /* stop the parser threads */
+  }  /* shutdown() */
+
+}  /* class GraphLoader */
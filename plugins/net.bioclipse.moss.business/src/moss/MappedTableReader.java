@@ -0,0 +1,454 @@
+/*******************************************************************************
+ *Copyright (c) 2008 The Bioclipse Team and others.
+ *All rights reserved. This program and the accompanying materials
+ *are made available under the terms of the Eclipse Public License v1.0
+ *which accompanies this distribution, and is available at
+ *http://www.eclipse.org/legal/epl-v10.html
+ *
+ *******************************************************************************/
+/*----------------------------------------------------------------------
+  File    : MappedTableReader.java
+  Contents: class for memory-mapped readers for table formats
+  Author  : The Bioclipse Team
+  History : 2026.10.17 file created
+            2026.10.17 descriptions parsed directly from char. buffer
+----------------------------------------------------------------------*/
+package moss;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+
+/*--------------------------------------------------------------------*/
+/** Class for memory-mapped readers for simple table formats.
+ *  <p>The input file is mapped into memory with NIO and the records
+ *  and fields are found directly in the mapped bytes, using the same
+ *  character classes (and the same rules for comments, blanks and
+ *  empty fields) as a <code>TableReader</code>. Only the graph name
+ *  (and the numbers) are turned into strings; a graph description is
+ *  copied into a reusable character buffer, from which it is parsed,
+ *  and a string is created only if the description is requested with
+ *  <code>getDesc()</code>.</p>
+ *  <p>Each byte is treated as one character. The graph names are
+ *  decoded with the default character set, so that multi-byte
+ *  encodings like UTF-8 work as long as all separator, blank and
+ *  comment characters are ASCII characters. Files that are larger
+ *  than the maximum size of a mapped buffer are mapped in windows,
+ *  which are moved forward at record boundaries.</p>
+ *  @author The Bioclipse Team
+ *  @since  2026.10.17 */
+/*--------------------------------------------------------------------*/
+public class MappedTableReader extends TableReader {
+
+  /*------------------------------------------------------------------*/
+  /*  constants                                                       */
+  /*------------------------------------------------------------------*/
+  /** the default maximum size of a mapped window */
+  public static final int WINDOW = 1 << 30;
+
+  /*------------------------------------------------------------------*/
+  /*  instance variables                                              */
+  /*------------------------------------------------------------------*/
+  /** the file to read from */
+  private RandomAccessFile file;
+  /** the channel of the file */
+  private FileChannel      chan;
+  /** the size of the file */
+  private long             size;
+  /** the maximum size of a mapped window */
+  private int              wsize;
+  /** the file position of the mapped window */
+  private long             base;
+  /** the mapped window of the file */
+  private MappedByteBuffer map;
+  /** the current read position (in the window) */
+  private int              pos;
+  /** the end of the mapped window */
+  private int              lim;
+  /** the start of the current record (in the window) */
+  private int              rec;
+  /** the start of the current field (in the window) */
+  private int              beg;
+  /** the start positions of the fields of a record (-1: none) */
+  private int[]            fbeg;
+  /** the end positions of the fields of a record */
+  private int[]            fend;
+  /** the buffer for decoding strings */
+  private byte[]           bytes;
+  /** the buffer for graph descriptions */
+  private char[]           chars;
+  /** the character set for decoding names and numbers */
+  private Charset          cset;
+  /** the start of the description of the current graph */
+  private int              dbeg;
+  /** the end   of the description of the current graph */
+  private int              dend;
+
+  /*------------------------------------------------------------------*/
+  /** Create a memory-mapped table reader with default character flags.
+   *  @param  fname the name of the file to read
+   *  @param  mode  the read mode
+   *  @param  ntn   the notation of the graphs
+   *  @throws IOException if the file cannot be opened or mapped
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  public MappedTableReader (String fname, int mode, Notation ntn)
+    throws IOException
+  { this(fname, mode, ntn, WINDOW); }
+
+  /*------------------------------------------------------------------*/
+  /** Create a memory-mapped table reader with a given window size.
+   *  @param  fname the name of the file to read
+   *  @param  mode  the read mode
+   *  @param  ntn   the notation of the graphs
+   *  @param  wsize the maximum size of a mapped window
+   *                (must exceed the size of the longest record)
+   *  @throws IOException if the file cannot be opened or mapped
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  public MappedTableReader (String fname, int mode, Notation ntn,
+                            int wsize) throws IOException
+  {                             /* --- create a mapped table reader */
+    super(new StringReader(""), mode, ntn);
+    int n = TableWriter.HEADER[this.mode].length;
+    this.fbeg  = new int[n];    /* create the field position arrays */
+    this.fend  = new int[n];    /* and the conversion buffers */
+    this.bytes = new byte[64];
+    this.chars = new char[256];
+    this.cset  = Charset.defaultCharset();
+    this.dbeg  = this.dend = -1;
+    this.file  = new RandomAccessFile(fname, "r");
+    this.chan  = this.file.getChannel();
+    this.size  = this.chan.size();
+    this.wsize = (wsize > 0) ? wsize : WINDOW;
+    this.base  = 0;             /* open the file and */
+    this.pos   = this.lim = 0;  /* map the first window */
+    this.rec   = this.beg = 0;
+    this.map(0);
+  }  /* MappedTableReader() */
+
+  /*------------------------------------------------------------------*/
+  /** Map the window of the file that starts at a given position.
+   *  @param  off the offset of the new window w.r.t. the current one
+   *  @throws IOException if the file cannot be mapped
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  private void map (int off) throws IOException
+  {                             /* --- map a window of the file */
+    long n;                     /* size of the new window */
+
+    this.base += off;           /* compute the new window */
+    n = Math.min(this.size -this.base, this.wsize);
+    this.map = this.chan.map(FileChannel.MapMode.READ_ONLY,
+                             this.base, n);
+    this.lim = (int)n;          /* map the window and */
+    this.pos -= off;            /* adapt all positions */
+  }  /* map() */
+
+  /*------------------------------------------------------------------*/
+  /** Read the next byte.
+   *  <p>If the end of the mapped window is reached, but not the end
+   *  of the file, the window is moved to the start of the current
+   *  record, so that all fields of the record stay in the window.</p>
+   *  @return the next byte (as an unsigned value) or -1 at the end
+   *          of the file
+   *  @throws IOException if the file cannot be mapped
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  private int next () throws IOException
+  {                             /* --- read the next byte */
+    int i, k;                   /* loop variable, offset */
+
+    if (this.pos >= this.lim) { /* if at the end of the window */
+      if (this.base +this.lim >= this.size)
+        return -1;              /* check for the end of the file */
+      if ((k = this.rec) <= 0)  /* check for an overlong record */
+        throw new IOException("record too long" +this.rno());
+      this.map(k);              /* move the window to the record */
+      this.rec  = 0;            /* and adapt all stored positions */
+      this.beg -= k;
+      for (i = this.fbeg.length; --i >= 0; ) {
+        if (this.fbeg[i] < 0) continue;
+        this.fbeg[i] -= k; this.fend[i] -= k; }
+    }
+    return this.map.get(this.pos++) & 0xff;
+  }  /* next() */
+
+  /*------------------------------------------------------------------*/
+  /** Read the next field.
+   *  <p>This function follows <code>TableReader.readField()</code>,
+   *  but only notes the start and end position of the field (in the
+   *  arrays <code>fbeg</code> and <code>fend</code>).</p>
+   *  @param  i the index of the field in the record
+   *  @return the delimiter type (-1: end of input, 0: field separator,
+   *          1: record separator)
+   *  @throws IOException if an i/o error occurs
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  private int readField (int i) throws IOException
+  {                             /* --- read the next field */
+    int    c, f, e;             /* character, flags, end of field */
+    char[] cf = this.cflags;    /* the character flags */
+
+    this.fbeg[i] = -1;          /* initialize the field */
+    c = this.next();            /* get and check the next character */
+    if (c < 0) return this.delim = -1;
+
+    /* --- skip comment records --- */
+    if (this.delim != 0) {      /* if at the start of a record */
+      while ((cf[c] & COMMENT) != 0) {
+        this.recno++;           /* count the record to be read */
+        while ((cf[c] & RECSEP) == 0) {
+          c = this.next();      /* get and check the next character */
+          if (c < 0) return this.delim = -1;
+        }                       /* read up to a record separator */
+        c = this.next();        /* get the next character */
+        if (c < 0) return this.delim = -1;
+      }                         /* check for end of file/input */
+    }                           /* (comment records are skipped) */
+
+    /* --- skip leading blanks --- */
+    while ((cf[c] & BLANK) != 0) {
+      c = this.next();          /* get and check the next character */
+      if (c < 0) return this.delim = 1;
+    }                           /* (end of input is a record sep.) */
+
+    /* --- read the field --- */
+    f = cf[c];                  /* get the character class and */
+    if ((f & RECSEP) != 0) {    /* check for record separator */
+      this.recno++; return this.delim = 1; }
+    if ((f & FLDSEP) != 0) {    /* check for field separator */
+                    return this.delim = 0; }
+    this.beg = this.pos -1;     /* note the start of the field */
+    while (true) {              /* read the field value */
+      c = this.next();          /* get the next character */
+      if (c < 0) { e = this.pos; this.delim = 1;               break; }
+      f = cf[c];                /* check for record/field separator */
+      if ((f & RECSEP) != 0) {
+        e = this.pos-1; this.delim = 1; this.recno++;          break; }
+      if ((f & FLDSEP) != 0) {
+        e = this.pos-1; this.delim = 0;                        break; }
+    }                           /* read up to a separator */
+
+    /* --- remove trailing blanks --- */
+    while ((cf[this.map.get(e-1) & 0xff] & BLANK) != 0) e--;
+    this.fbeg[i] = this.beg;    /* (the first character is no blank) */
+    this.fend[i] = e;           /* note the field position */
+
+    /* --- skip trailing blanks --- */
+    if (this.delim != 0)        /* if not at a field separator, */
+      return this.delim;        /* abort the function directly */
+    while ((cf[c] & BLANK) != 0) {
+      c = this.next();          /* get the next character */
+      if (c < 0) return this.delim = 1;
+    }                           /* skip trailing blanks */
+    f = cf[c];                  /* check for a record separator */
+    if ((f & RECSEP) != 0) {
+      this.recno++; return this.delim = 1; }
+    if ((f & FLDSEP) == 0) this.pos--;
+    return this.delim = 0;      /* set and return the delimiter type */
+  }  /* readField() */
+
+  /*------------------------------------------------------------------*/
+  /** Read the next record.
+   *  @return whether a record could be read
+   *          (otherwise the end of the input has been reached)
+   *  @throws IOException if an i/o error occurs
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  private boolean readRecord () throws IOException
+  {                             /* --- read a record */
+    int i, n;                   /* loop variable, number of fields */
+
+    this.rec = this.pos;        /* note the start of the record */
+    for (i = this.fbeg.length; --i >= 0; )
+      this.fbeg[i] = -1;        /* clear the field positions */
+    if (this.readField(0) < 0)  /* read the first field and */
+      return false;             /* check for end of input */
+    n = this.fbeg.length;       /* get the number of fields */
+    for (i = 1; i < n; i++) {   /* read the fields of the record */
+      if (this.delim != 0)      /* check for a field separator */
+        throw new IOException("too few fields" +this.rno());
+      this.readField(i);        /* read the next field */
+    }
+    if (this.delim != 1)        /* check for a record separator */
+      throw new IOException("too many fields" +this.rno());
+    return true;                /* return 'record successfully read' */
+  }  /* readRecord() */
+
+  /*------------------------------------------------------------------*/
+  /** Decode a section of the mapped window into a string.
+   *  @param  b the start of the section
+   *  @param  e the end   of the section
+   *  @return the decoded section (<code>null</code> if b &lt; 0)
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  private String string (int b, int e)
+  {                             /* --- decode a section as a string */
+    int n = e -b;               /* get the length of the section */
+
+    if (b < 0) return null;     /* check for an empty section */
+    if (n > this.bytes.length) this.bytes = new byte[n +(n >> 1)];
+    this.map.position(b);       /* copy the bytes of the section */
+    this.map.get(this.bytes, 0, n);
+    return new String(this.bytes, 0, n, this.cset);
+  }  /* string() */             /* decode the copied bytes */
+
+  /*------------------------------------------------------------------*/
+  /** Get a field of the current record as a string.
+   *  @param  i the index of the field
+   *  @return the field as a string (<code>null</code> if empty)
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  private String field (int i)
+  { return this.string(this.fbeg[i], this.fend[i]); }
+
+  /*------------------------------------------------------------------*/
+  /** Read an (optional) header.
+   *  @return whether a header was present
+   *          (otherwise the end of the input has been reached)
+   *  @throws IOException if an i/o error occurs
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  @Override
+public boolean readHeader () throws IOException
+  {                             /* --- read an (optional) header */
+    int      i;                 /* loop variable */
+    String   s;                 /* buffer for a field */
+    String[] hdr;               /* buffer for the header fields */
+
+    if (!this.readRecord())     /* try to read a record and */
+      return false;             /* check for end of input */
+    hdr = TableWriter.HEADER[this.mode];
+    for (i = hdr.length; --i >= 0; ) {
+      s = this.field(i);        /* compare the fields */
+      if (!hdr[i].equals(s)) break;
+    }                           /* with the field names */
+    this.pbrec = (i >= 0);      /* check the field names */
+    return i < 0;               /* return whether a header was found */
+  }  /* readHeader() */
+
+  /*------------------------------------------------------------------*/
+  /** Read a graph.
+   *  @return whether another graph description could be read
+   *          (otherwise the end of the input has been reached)
+   *  @throws IOException if an i/o error or a parse error occurs
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  @Override
+public boolean readGraph () throws IOException
+  {                             /* --- get the next graph description */
+    String s = null;            /* buffer for a field */
+
+    if (!this.pbrec             /* if there is no pushed back record */
+    &&  !this.readRecord())     /* and no new record can be read, */
+      return false;             /* the end of the input is reached */
+    this.pbrec = false;         /* buffered record is now processed */
+    this.graph = null;          /* clear the graph */
+    this.desc  = null;          /* and its description */
+    try {                       /* try to get/parse the fields */
+      this.name = this.field(0);/* get the graph identifier */
+      if (this.mode != SUBS) {  /* if graphs */
+        this.value = Float.parseFloat(s = this.field(1));
+        this.dbeg  = this.fbeg[2]; this.dend = this.fend[2];
+        this.nodes = this.edges = -1;
+        this.srel  = this.crel  = 0.0F;
+        this.sabs  = this.cabs  = 0; }
+      else {                    /* if substructures */
+        this.dbeg  = this.fbeg[1]; this.dend = this.fend[1];
+        this.nodes = Integer.parseInt(s = this.field(2));
+        this.edges = Integer.parseInt(s = this.field(3));
+        this.sabs  = Integer.parseInt(s = this.field(4));
+        this.srel  = Float.parseFloat(s = this.field(5));
+        this.cabs  = Integer.parseInt(s = this.field(6));
+        this.crel  = Float.parseFloat(s = this.field(7));
+      } }                       /* get description and values */
+    catch (NumberFormatException e) {
+      throw new IOException("malformed number '"+s+"'"+this.rno(-1)); }
+    return true;                /* return that a graph was read */
+  }  /* readGraph() */
+
+  /*------------------------------------------------------------------*/
+  /** Get a line description of the current graph.
+   *  <p>The description is turned into a string only when this
+   *  function is called.</p>
+   *  @return a line description of the current graph
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  @Override
+public String getDesc ()
+  {                             /* --- get a (line) description */
+    if (this.desc == null)      /* decode the stored description */
+      this.desc = this.string(this.dbeg, this.dend);
+    return super.getDesc();     /* return the description */
+  }  /* getDesc() */
+
+  /*------------------------------------------------------------------*/
+  /** Get the unparsed description of the current graph.
+   *  @return the unparsed description of the current graph
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  @Override
+public String getRecord ()
+  { return this.getDesc(); }
+
+  /*------------------------------------------------------------------*/
+  /** Get the current graph or substructure.
+   *  <p>The graph description is copied from the mapped file into a
+   *  reusable character buffer and parsed from there.</p>
+   *  @return the current graph
+   *  @throws IOException if a parse error occurs
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  @Override
+public Graph getGraph () throws IOException
+  {                             /* --- get the current graph */
+    int i, n;                   /* loop variable, length */
+
+    if (this.graph != null)     /* if there is a graph, */
+      return this.graph;        /* simply return it */
+    if (this.dbeg < 0)          /* if there is no description, */
+      return null;              /* there is no graph to be had */
+    n = this.dend -this.dbeg;   /* get the length of the description */
+    if (n > this.chars.length) this.chars = new char[n +(n >> 1)];
+    for (i = 0; i < n; i++)     /* copy the description */
+      this.chars[i] = (char)(this.map.get(this.dbeg +i) & 0xff);
+    this.graph = this.ntn.parse(this.chars, 0, n);
+    if (this.ntn.getDelim() >= 0)
+      throw new IOException("garbage at end of graph description"
+                            +this.rno(-1));
+    return this.graph;          /* parse the graph description */
+  }  /* getGraph() */           /* and return the parsed graph */
+
+  /*------------------------------------------------------------------*/
+  /** Close the reader and release the mapped file.
+   *  @throws IOException if an i/o error occurs
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  @Override
+public void close () throws IOException
+  {                             /* --- close the reader */
+    this.map = null;            /* release the mapped window */
+    this.chan.close();          /* and close the file */
+    this.file.close();
+    super.close();
+  }  /* close() */
+
+}  /* class MappedTableReader */
@@ -11,6 +11,7 @@
   Contents: Graph fragment extension management
             (breadth first search/maximum edge source extension)
   Author  : Christian Borgelt
+            The Bioclipse Team (changes of 2026.10.17)
   History : 2002.03.11 file created as file submol.java
             2002.04.02 function compareTo added
             2003.08.07 complete rewrite of extension functions
@@ -40,6 +41,8 @@
             2007.03.24 adapted to new functions of super-class
             2007.06.21 adapted to new class TypeMgr
             2007.10.19 bug in ring extension handling fixed
+            2026.10.17 markers made thread-confined (class Markers)
+            2026.10.17 function compare added (extension grouping)
 ----------------------------------------------------------------------*/
 package moss;
 
@@ -108,7 +111,9 @@ public void init (Fragment frag, Embedding emb)
     Node s, d, y;               /* to traverse the nodes */
     Edge e, x;                  /* to traverse the edges */
 
-    emb.index();                /* mark the embedding in the graph */
+    if (this.marks == null)     /* get the markers of the thread */
+      this.marks = Markers.get(); /* (on the first use) */
+    emb.index(this.marks);      /* mark the embedding in the graph */
     this.frag = frag;           /* note the (possibly new) fragment*/
     this.emb  = emb;            /* and the embedding to extend */
     this.src  = frag.src;       /* start with the first edge */
@@ -146,6 +151,7 @@ public void init (Fragment frag, Embedding emb)
   @Override
 public boolean next ()
   {                             /* --- create the next extension */
+    int  m;                     /* marker of the destination node */
     Node s, d, p[];             /* to traverse/access the nodes */
     Edge e;                     /* to traverse/access the edges */
     
@@ -169,20 +175,21 @@ public boolean next ()
     while (true) {              /* find the next unprocessed edge */
       while (++this.idx >= s.deg) {
         if (++this.src >= p.length) {
-          this.emb.mark(-1);    /* if node's last edge is processed, */
-          return false;         /* go to the next extendable node */
-        }                       /* and if there is none, abort */
+          this.emb.mark(this.marks, -1);  /* if node's last edge */
+          return false;         /* is processed, go to the next */
+        }                       /* node and if there is none, abort */
         s = p[this.src];        /* get the new anchor node and */
         this.idx = -1;          /* start with the first edge */
       }
       e = s.edges[this.idx];    /* get the next edge of this node */
-      if (e.mark != -1)         /* if the edge is in the embedding */
+      if (this.marks.get(e) != -1)  /* if the edge is in the emb. */
         continue;               /* or excluded, it cannot be added */
       d = (s != e.src) ? e.src : e.dst;
-      if ((d.mark < 0)          /* if node is not in the embedding */
+      m = this.marks.get(d);    /* get the destination node marker */
+      if ((m < 0)               /* if node is not in the embedding */
       &&  (p.length +this.frag.chcnt >= this.max))
         continue;               /* check whether a new node is ok */
-      this.dst = (d.mark < 0) ? p.length : d.mark;
+      this.dst = (m < 0) ? p.length : m;
       if (this.dst <= this.src) /* skip edges closing a ring that */
         continue;               /* lead "backward" in the fragment */
       this.nodes[0] = s;        /* note the anchor node and the */
@@ -197,7 +204,7 @@ public boolean next ()
       }                         /* return "extension successful" */
       if ((this.mode & EDGE) == 0)
         continue;               /* check for edge extensions */
-      this.nodecnt = (d.mark < 0) ? 1 : 0;
+      this.nodecnt = (m < 0) ? 1 : 0;
       this.edgecnt = 1;         /* zero/one new node, one new edge */
       this.size    = 0;         /* clear the extension size */
       this.chcnt   = this.frag.chcnt;
@@ -222,32 +229,35 @@ public boolean next ()
   @Override
 protected boolean validRing ()
   {                             /* --- check a ring extension */
-    int  i;                     /* loop variable */
+    int  i, m, a;               /* loop variable, node markers */
     Node s, d;                  /* to traverse the ring nodes */
     Edge frst, last;            /* to access first and last edge */
 
     s = this.nodes[0];          /* get the anchor node (source) */
+    a = this.marks.get(s);      /* and its marker */
     for (i = this.size; --i > 0; ) {
       d = this.nodes[i];        /* traverse the ring nodes and */
-      if ( (d.mark >= 0)        /* check whether the ring is */
-      &&   (d.mark <  s.mark)   /* admissible for this anchor */
-      &&  ((this.edges[i  ].mark < 0)
-      ||   (this.edges[i-1].mark < 0)))
+      m = this.marks.get(d);    /* check whether the ring is */
+      if ( (m >= 0) && (m < a)  /* admissible for this anchor */
+      &&  ((this.marks.get(this.edges[i  ]) < 0)
+      ||   (this.marks.get(this.edges[i-1]) < 0)))
         break;                  /* (no ring node that is incident to */
     }                           /* a new edge (mark < 0) must have */
     if (i > 0) return false;    /* a smaller index than the anchor) */
     this.sym = false;           /* default: locally asymmetric */
     frst = this.edges[0];       /* check first and last ring edge */
     last = this.edges[this.size-1];  /* if only the first is new, */
-    if (last.mark >= 0) return true; /* the ring direction is ok */
+    if (this.marks.get(last) >= 0)   /* the ring direction is ok */
+      return true;              /* (compare the last ring edge) */
     if (last.type > frst.type) return true;   /* compare the */
     if (last.type < frst.type) return false;  /* edge types */
     d = (last.src != s) ? last.src : last.dst;
     s = this.nodes[1];          /* get the destination nodes */
     if (d.type    > s.type)    return true;   /* compare the */
     if (d.type    < s.type)    return false;  /* destination types */
-    if ((d.mark >= 0) && (d.mark < this.dst))
-      return false;             /* compare the destination indices */
+    m = this.marks.get(d);      /* compare the destination indices */
+    if ((m >= 0) && (m < this.dst))
+      return false;             /* (smaller index is invalid) */
     return this.sym = true;     /* note the local symmetry */
   }  /* validRing() */
 
@@ -268,7 +278,7 @@ protected boolean validRing ()
   @Override
 protected void initVars ()
   {                             /* --- init. ring extension variants */
-    int  i;                     /* loop variable */
+    int  i, m, a;               /* loop variable, markers */
     Edge e, r;                  /* to access/traverse the edges */
     Node s, d, x;               /* to access/traverse the nodes */
 
@@ -277,15 +287,17 @@ protected void initVars ()
     r = this.edges[0];          /* get the first edge of the ring */
     s = this.nodes[0];          /* and its source and */
     d = this.nodes[1];          /* destination node */
+    a = this.marks.get(s);      /* get the source node marker */
     for (i = s.deg; --i >= 0; ) {
       e = s.edges[i];           /* traverse the edges of the source */
-      if (e.mark <= this.frag.idx) continue;
+      m = this.marks.get(e);    /* and get their markers */
+      if (m <= this.frag.idx) continue;
       if (e.type != r.type) continue;   /* skip uneligible edges */
       x = (e.src != s) ? e.src : e.dst; /* (fixed or wrong type) */
-      if (x.mark <  s.mark) continue;   /* skip backward edges */
+      if (this.marks.get(x) < a) continue;  /* skip backward edges */
       if (x.type != d.type) continue;   /* (to preceding node) */
-      if (e.mark < this.pmin) this.pmin = e.mark;
-      if (e.mark > this.pmax) this.pmax = e.mark;
+      if (m < this.pmin) this.pmin = m;
+      if (m > this.pmax) this.pmax = m;
     }                           /* find range of equivalent edges */
     if (this.pmax < 0) {        /* if there are no equivalent edges, */
       this.pos1 = -1; return; } /* abort with unknown positions */
@@ -513,6 +525,44 @@ public int compareTo (Fragment frag)
          ? 0 : this.compareRing(frag);
   }  /* compareTo() */
 
+  /*------------------------------------------------------------------*/
+  /** Compare two fragments created from extensions of a fragment.
+   *  <p>This function defines the same order as the function
+   *  <code>compareTo()</code> (see <code>Extension.compare()</code>).
+   *  </p>
+   *  @param  f1 the first  fragment to compare
+   *  @param  f2 the second fragment to compare
+   *  @return <code>-1</code>, <code>0</code>, or <code>+1</code>
+   *          as the first fragment is less than, equal to, or greater
+   *          than the second fragment
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  @Override
+  public int compare (Fragment f1, Fragment f2)
+  {                             /* --- compare two fragments */
+    int t1, t2;                 /* buffers for comparison */
+
+    if (f1.src < f2.src) return -1;  /* compare the indices */
+    if (f1.src > f2.src) return +1;  /* of the anchor nodes */
+    t1 = f1.list.edges[f1.idx].type;
+    t2 = f2.list.edges[f2.idx].type;
+    if (t1 < t2) return -1;     /* compare the types */
+    if (t1 > t2) return +1;     /* of the (first) added edge */
+    t1 = f1.list.nodes[f1.dst].type;
+    t2 = f2.list.nodes[f2.dst].type;
+    if (t1 < t2) return -1;     /* compare the types */
+    if (t1 > t2) return +1;     /* of the destination nodes */
+    if (f1.dst < f2.dst) return -1;  /* compare the indices */
+    if (f1.dst > f2.dst) return +1;  /* of the destination nodes */
+    t1 = (f1.size > 0) ? 1 : ((f1.size < 0) ? -1 : 0);
+    t2 = (f2.size > 0) ? 1 : ((f2.size < 0) ? -1 : 0);
+    if (t1 > t2) return -1;     /* get the extension types */
+    if (t1 < t2) return +1;     /* from the sizes and compare them */
+    return (f1.size <= 0)       /* compare ring ext. if necessary */
+         ? 0 : this.compareRing(f1, f2);
+  }  /* compare() */
+
   /*------------------------------------------------------------------*/
   /** Create the (prefix of a) code word for a given edge array.
    *  @param  edges the array of edges for which to create the code word
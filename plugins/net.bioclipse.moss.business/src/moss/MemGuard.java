@@ -0,0 +1,174 @@
+/*******************************************************************************
+ *Copyright (c) 2008 The Bioclipse Team and others.
+ *All rights reserved. This program and the accompanying materials
+ *are made available under the terms of the Eclipse Public License v1.0
+ *which accompanies this distribution, and is available at
+ *http://www.eclipse.org/legal/epl-v10.html
+ *
+ *******************************************************************************/
+/*----------------------------------------------------------------------
+  File    : MemGuard.java
+  Contents: class for observing the heap occupancy (memory pressure)
+  Author  : The Bioclipse Team
+  History : 2026.10.17 file created
+----------------------------------------------------------------------*/
+package moss;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.lang.management.ManagementFactory;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+
+/*--------------------------------------------------------------------*/
+/** Class for observing the heap occupancy (memory pressure).
+ *  <p>The memory is considered to be tight if the occupancy of the
+ *  heap memory pools that hold long-lived objects (usually the tenured
+ *  generation) exceeds a given fraction of their maximum size, either
+ *  after the most recent garbage collection of the pool or currently
+ *  (since a pool may be collected only rarely). This is determined
+ *  with the usage thresholds of the pools. If no such pool exists,
+ *  the current heap usage is used instead.</p>
+ *  <p>Since the heap occupancy after a garbage collection can only
+ *  change with the next garbage collection, tight memory is reported
+ *  at most once per garbage collection (function <code>isTight()</code>),
+ *  so that a caller can release memory step by step and observe the
+ *  effect of each step.</p>
+ *  <p>The memory is considered to be relaxed if it is not tight and
+ *  the current heap usage is below three quarters of the threshold.
+ *  </p>
+ *  <p>An instance of this class may be shared by several threads.</p>
+ *  @author The Bioclipse Team
+ *  @since  2026.10.17 */
+/*--------------------------------------------------------------------*/
+public class MemGuard {
+
+  /*------------------------------------------------------------------*/
+  /*  instance variables                                              */
+  /*------------------------------------------------------------------*/
+  /** the fraction of the maximum heap size that is considered tight */
+  private double                   frac;
+  /** the bean for the heap memory */
+  private MemoryMXBean             heap;
+  /** the memory pools with collection usage thresholds */
+  private MemoryPoolMXBean[]       pools;
+  /** the garbage collectors */
+  private GarbageCollectorMXBean[] gcs;
+  /** the number of garbage collections at the last report */
+  private long                     gccnt;
+
+  /*------------------------------------------------------------------*/
+  /** Create a memory guard.
+   *  <p>The usage and collection usage thresholds of the heap memory
+   *  pools are set to the given fraction of their maximum sizes.</p>
+   *  @param  frac the fraction of the maximum heap size (heap occupancy)
+   *               above which the memory is considered to be tight
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  public MemGuard (double frac)
+  {                             /* --- create a memory guard */
+    List<MemoryPoolMXBean>       list;  /* list of pools to observe */
+    List<GarbageCollectorMXBean> gcs;   /* list of garbage collectors */
+    long                         max;   /* maximum size of a pool */
+
+    this.frac = (frac < 0) ? 0 : (frac > 1) ? 1 : frac;
+    this.heap = ManagementFactory.getMemoryMXBean();
+    list = new ArrayList<MemoryPoolMXBean>();
+    for (MemoryPoolMXBean pool                /* traverse the pools */
+       : ManagementFactory.getMemoryPoolMXBeans()) {
+      if ((pool.getType() != MemoryType.HEAP) /* collect the heap pools */
+      ||  !pool.isUsageThresholdSupported()
+      ||  !pool.isCollectionUsageThresholdSupported())
+        continue;               /* that hold old objects (young */
+      max = pool.getUsage().getMax();  /* generation pools do not */
+      if (max <= 0) continue;   /* skip pools without a maximum */
+      pool.setUsageThreshold((long)(this.frac *max));
+      pool.setCollectionUsageThreshold((long)(this.frac *max));
+      list.add(pool);           /* support usage thresholds), */
+    }                           /* set the thresholds and note pool */
+    this.pools = list.toArray(new MemoryPoolMXBean[list.size()]);
+    gcs        = ManagementFactory.getGarbageCollectorMXBeans();
+    this.gcs   = gcs.toArray(new GarbageCollectorMXBean[gcs.size()]);
+    this.gccnt = -1;            /* get the garbage collectors */
+  }  /* MemGuard() */
+
+  /*------------------------------------------------------------------*/
+  /** Get the total number of garbage collections.
+   *  @return the total number of garbage collections so far
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  private long collections ()
+  {                             /* --- get number of collections */
+    long n = 0;                 /* number of garbage collections */
+    for (int i = this.gcs.length; --i >= 0; )
+      n += Math.max(this.gcs[i].getCollectionCount(), 0);
+    return n;                   /* sum the collection counts */
+  }  /* collections() */
+
+  /*------------------------------------------------------------------*/
+  /** Check whether the heap occupancy exceeds the threshold.
+   *  @return whether the heap occupancy exceeds the threshold
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  private boolean exceeded ()
+  {                             /* --- check the heap occupancy */
+    MemoryUsage mu;             /* current usage of the heap */
+    long        max;            /* maximum size of the heap */
+
+    if (this.pools.length > 0) {/* if there are observed pools */
+      for (int i = this.pools.length; --i >= 0; )
+        if (this.pools[i].isCollectionUsageThresholdExceeded()
+        ||  this.pools[i].isUsageThresholdExceeded())
+          return true;          /* check the occupancy after */
+      return false;             /* the last collection and now */
+    }
+    mu  = this.heap.getHeapMemoryUsage();
+    max = (mu.getMax() > 0) ? mu.getMax() : mu.getCommitted();
+    return mu.getUsed() > this.frac *max;
+  }  /* exceeded() */           /* check the current usage */
+
+  /*------------------------------------------------------------------*/
+  /** Check whether the memory is tight.
+   *  <p>Tight memory is reported at most once per garbage collection,
+   *  so that memory that is released by a caller in reaction to a
+   *  report is freed before the next report.</p>
+   *  @return whether the memory is tight
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  public synchronized boolean isTight ()
+  {                             /* --- check for tight memory */
+    long n;                     /* number of garbage collections */
+
+    if (!this.exceeded()) return false;
+    n = this.collections();     /* check the heap occupancy */
+    if (n == this.gccnt) return false;
+    this.gccnt = n;             /* report tight memory only */
+    return true;                /* once per garbage collection */
+  }  /* isTight() */
+
+  /*------------------------------------------------------------------*/
+  /** Check whether the memory is relaxed.
+   *  @return whether the memory is relaxed, that is, the heap usage
+   *          is well below the threshold for tight memory
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  public boolean isRelaxed ()
+  {                             /* --- check for relaxed memory */
+    MemoryUsage mu;             /* current usage of the heap */
+    long        max;            /* maximum size of the heap */
+
+    if (this.exceeded()) return false;
+    mu  = this.heap.getHeapMemoryUsage();
+    max = (mu.getMax() > 0) ? mu.getMax() : mu.getCommitted();
+    return mu.getUsed() < 0.75 *this.frac *max;
+  }  /* isRelaxed() */          /* check the current usage */
+
+}  /* class MemGuard */
@@ -11,6 +11,7 @@
   File    : Miner.java
   Contents: Find common substructures of graphs
   Author  : Christian Borgelt
+            The Bioclipse Team (changes of 2026.10.17)
   History : 2002.03.11 file created
             2002.03.15 main function added
             2002.03.18 search improved, output to files added
@@ -94,68 +95,276 @@
             2007.06.29 adapted to GraphReader and GraphWriter classes
             2007.07.06 command line argument evaluation modified
             2007.11.07 warning about failed ring marking added
+            2026.10.17 parallel search with worker threads added (-w)
+            2026.10.17 parallel processing of the start node types
+            2026.10.17 workers share the graph database (class Markers)
+            2026.10.17 compact embedding storage added (option -Z)
+            2026.10.17 relative embedding storage added (option -Y)
+            2026.10.17 adaptive packing of embeddings added (option -A)
+            2026.10.17 cache for reembedded embeddings added (option -J)
+            2026.10.17 embedding arrays created only for kept fragments
+            2026.10.17 extensions grouped with a hash table in recurse
+            2026.10.17 memory-bounded repository (class Repository)
+            2026.10.17 repository with canonical code words (option -Q)
+            2026.10.17 Bloom filter pre-screen for repository (option -I)
+            2026.10.17 parallel support computation (class SuppPool)
+            2026.10.17 pipelined graph loading (class GraphLoader)
+            2026.10.17 memory-mapped input of tables (MappedTableReader)
+            2026.10.17 file for prepared graph databases added (-u)
+            2026.10.17 gzip compressed input and output files (.gz)
 ----------------------------------------------------------------------*/
 package moss;
 
+import java.io.File;
 import java.io.IOException;
-import java.io.FileReader;
 import java.io.StringReader;
 import java.io.Writer;
-import java.io.FileWriter;
 import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.LinkedBlockingQueue;
 
 /*--------------------------------------------------------------------*/
-/** Class for managing repository elements.
- *  <p>A repository element is a hash bin list element that records
- *  (an embedding of) a substructure.</p>
- *  @author Christian Borgelt
- *  @since  2006.11.10 */
+/** Class for managing output elements.
+ *  <p>An output element records a substructure that has been found
+ *  in a parallel search, but that cannot be written yet, because
+ *  substructures found in other branches of the search tree have to
+ *  be written first (in order to obtain the same output as with a
+ *  sequential search).</p>
+ *  @author The Bioclipse Team
+ *  @since  2026.10.17 */
 /*--------------------------------------------------------------------*/
-class RepElem {
+class OutElem {
 
   /*------------------------------------------------------------------*/
   /*  instance variables                                              */
   /*------------------------------------------------------------------*/
-  /** the graph referred to */
+  /** the substructure as a graph */
   protected Graph   graph;
-  /** the size of the substructure (number of nodes) */
-  protected int     size;
-  /** the edges of (one embedding of) the substructure */
-  protected Edge[]  edges;
   /** the support of the substructure (in the focus) */
   protected int     supp0;
   /** the support of the substructure (in the complement) */
   protected int     supp1;
-  /** the number of embeddings (in the focus) */
-  protected int     embs0;
-  /** the number of embeddings (in the complement) */
-  protected int     embs1;
-  /** the hash code of the substructure */
-  protected int     hash;
-  /** the next element in the hash bin list */
-  protected RepElem succ;
-
-  /*------------------------------------------------------------------*/
-  /** Create an element of a substructure repository.
-   *  @param  frag the fragment to store
-   *  @param  hash the hash code of the substructure
-   *  @since  2006.11.10 (Christian Borgelt) */
-  /*------------------------------------------------------------------*/
-
-  protected RepElem (Fragment frag, int hash)
-  {                             /* --- create a repository element */
-    Embedding emb = frag.list;
-    this.graph = emb.graph;
-    this.size  = emb.nodes.length;
-    this.edges = emb.edges;
-    this.supp0 = frag.supp[0];
-    this.supp1 = frag.supp[1];
-    this.embs0 = frag.supp[2];
-    this.embs1 = frag.supp[3];
-    this.hash  = hash;
-  }  /* RepElem() */
-
-}  /* class RepElem */
+  /** the list of identifiers of the graphs containing it */
+  protected String  ids;
+  /** the next element in the output list */
+  protected OutElem succ;
+
+  /*------------------------------------------------------------------*/
+  /** Create an output element.
+   *  @param  frag the fragment to record
+   *  @param  ids  whether to record the graph identifiers
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  protected OutElem (Fragment frag, boolean ids)
+  {                             /* --- create an output element */
+    Graph        g;             /* to traverse the graphs */
+    StringBuffer s;             /* buffer for the identifiers */
+
+    this.graph = frag.getAsGraph();
+    this.supp0 = frag.supp[0];  /* note the fragment as a graph */
+    this.supp1 = frag.supp[1];  /* and its support values */
+    if (!ids) return;           /* check whether identifiers needed */
+    s = new StringBuffer();     /* list the graph identifiers */
+    for (g = frag.firstGraph(); g != null; g = frag.nextGraph()) {
+      if (s.length() > 0) s.append(',');
+      s.append(((NamedGraph)g).name);
+    }                           /* (comma separated list) */
+    this.ids = s.toString();    /* note the list of identifiers */
+  }  /* OutElem() */
+
+}  /* class OutElem */
+
+
+/*--------------------------------------------------------------------*/
+/** Class for search tasks of a parallel search.
+ *  <p>A search task describes a branch of the search tree (that is,
+ *  a fragment together with its embeddings) that may be processed
+ *  by another thread than the one that created it. All threads work
+ *  on the same graph database, because the node and edge markers are
+ *  thread-confined (see class <code>Markers</code>), so that the
+ *  embeddings can be used directly by the processing thread.</p>
+ *  <p>The substructures that are found in the branch are collected
+ *  in a list of output elements, which is written (or passed on to
+ *  the task of the parent branch) when the task is joined.</p>
+ *  @author The Bioclipse Team
+ *  @since  2026.10.17 */
+/*--------------------------------------------------------------------*/
+class Task {
+
+  /*------------------------------------------------------------------*/
+  /*  constants                                                       */
+  /*------------------------------------------------------------------*/
+  /** task state: created, but not yet started */
+  private static final int NEW     = 0;
+  /** task state: claimed by a thread and running */
+  private static final int RUNNING = 1;
+  /** task state: completed (successfully or not) */
+  private static final int DONE    = 2;
+
+  /*------------------------------------------------------------------*/
+  /*  instance variables                                              */
+  /*------------------------------------------------------------------*/
+  /** the miner that created the task */
+  protected Miner     src;
+  /** the fragment to process */
+  protected Fragment  frag;
+  /** the recursion depth of the fragment */
+  protected int       depth;
+  /** the node type the search started from (database view) */
+  protected int       level;
+  /** the first element of the list of found substructures */
+  protected OutElem   head;
+  /** the last  element of the list of found substructures */
+  protected OutElem   tail;
+  /** whether the search was completed (not aborted) */
+  protected boolean   ok;
+  /** the exception that occurred while processing the task */
+  protected Throwable error;
+  /** the processing state of the task */
+  private   int       state;
+
+  /*------------------------------------------------------------------*/
+  /** Create a search task.
+   *  @param  src   the miner that created the fragment
+   *  @param  frag  the fragment to process
+   *  @param  depth the recursion depth of the fragment
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  protected Task (Miner src, Fragment frag, int depth)
+  {                             /* --- create a search task */
+    this.src   = src;           /* note the creating miner, */
+    this.frag  = frag;          /* the fragment to process, */
+    this.depth = depth;         /* the recursion depth, */
+    this.level = src.level;     /* and the start node type */
+    this.state = NEW;           /* the task has not been started */
+  }  /* Task() */
+
+  /*------------------------------------------------------------------*/
+  /** Create a search task for a start node type.
+   *  <p>The task consists in searching all substructures that contain
+   *  a node of the given type, but no node of a type with a smaller
+   *  code (unless that type is marked as maximal). The single node
+   *  fragment is created by the thread that processes the task.</p>
+   *  @param  type the code of the start node type
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  protected Task (int type)
+  {                             /* --- create a start type task */
+    this.level = type;          /* note the start node type */
+    this.state = NEW;           /* the task has not been started */
+  }  /* Task() */
+
+  /*------------------------------------------------------------------*/
+  /** Add a found substructure to the output list.
+   *  @param  sub the substructure to add
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  protected void add (OutElem sub)
+  {                             /* --- add a substructure */
+    if (this.tail == null) this.head = sub;
+    else                   this.tail.succ = sub;
+    this.tail = sub;            /* append the substructure */
+  }  /* add() */                /* at the end of the list */
+
+  /*------------------------------------------------------------------*/
+  /** Append the output list of another task to the output list.
+   *  @param  task the task the output list of which to append
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  protected void add (Task task)
+  {                             /* --- append an output list */
+    if (task.head == null) return;
+    if (this.tail == null) this.head = task.head;
+    else                   this.tail.succ = task.head;
+    this.tail = task.tail;      /* append the list of the task */
+  }  /* add() */                /* at the end of the list */
+
+  /*------------------------------------------------------------------*/
+  /** Claim the task for processing.
+   *  @return whether the task was claimed (that is, whether it has
+   *          not been claimed before by some other thread)
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  protected synchronized boolean claim ()
+  {                             /* --- claim the task */
+    if (this.state != NEW) return false;
+    this.state = RUNNING;       /* check and set the state */
+    return true;                /* return 'task claimed' */
+  }  /* claim() */
+
+  /*------------------------------------------------------------------*/
+  /** Mark the task as completed.
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  protected synchronized void finish ()
+  {                             /* --- mark the task as done */
+    this.frag  = null;          /* "delete" the fragment */
+    this.state = DONE;          /* set the new state and wake up */
+    this.notifyAll();           /* the thread waiting for the task */
+  }  /* finish() */
+
+  /*------------------------------------------------------------------*/
+  /** Wait for the task to be completed.
+   *  @throws InterruptedException if the waiting thread is interrupted
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  protected synchronized void await () throws InterruptedException
+  { while (this.state != DONE) this.wait(); }
+
+  /*------------------------------------------------------------------*/
+  /** Check whether the task has been completed.
+   *  @return whether the task has been completed
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  protected synchronized boolean isDone ()
+  { return this.state == DONE; }
+
+}  /* class Task */
+
+
+/*--------------------------------------------------------------------*/
+/** Class for the worker threads of a parallel search.
+ *  @author The Bioclipse Team
+ *  @since  2026.10.17 */
+/*--------------------------------------------------------------------*/
+class Worker extends Thread {
+
+  /*------------------------------------------------------------------*/
+  /*  instance variables                                              */
+  /*------------------------------------------------------------------*/
+  /** the miner that processes the tasks */
+  protected Miner miner;
+
+  /*------------------------------------------------------------------*/
+  /** Create a worker thread.
+   *  @param  miner the miner with which to process the tasks
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  protected Worker (Miner miner)
+  { this.miner = miner; this.setDaemon(true); }
+
+  /*------------------------------------------------------------------*/
+  /** Process search tasks until the thread is interrupted.
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  @Override
+  public void run ()
+  { this.miner.serve(); }
+
+}  /* class Worker */
 
 
 /*--------------------------------------------------------------------*/
@@ -229,6 +438,14 @@ public class Miner implements Runnable {
   public  static final int LOGIC      = 0x080000;
   /** flag for no search statistics output */
   public  static final int NOSTATS    = 0x100000;
+  /** flag for storing embeddings compactly (node and edge indices) */
+  public  static final int COMPACT    = 0x200000;
+  /** flag for storing embeddings relative to their base embeddings */
+  public  static final int DELTA      = 0x400000;
+  /** flag for a repository with canonical code words as keys */
+  public  static final int CODEWORD   = 0x800000;
+  /** flag for pre-screening repository look-ups with a Bloom filter */
+  public  static final int BLOOM      = 0x1000000;
   /** default search mode flags: edge extensions,
    *  canonical form and full perfect extension pruning */
   public  static final int DEFAULT    = EDGEEXT    | CLOSED
@@ -279,20 +496,32 @@ public class Miner implements Runnable {
   protected Fragment    frag   = null;
   /** the maximum number of embeddings per graph */
   protected int         mepm   = 0;
-  /** the repository of processed substructures (hash table) */
-  protected RepElem[]   bins   = null;
-  /** the size of the repository (number of substructures) */
-  protected int         rsize  = 0;
-  /** the substructure limit at which to rehash the repository */
-  protected int         limit  = 0;
+  /** the repository of processed substructures */
+  protected Repository  repo   = null;
+  /** the memory budget of the repository (in bytes, 0: no limit) */
+  protected long        rmem   = 0;
+  /** whether to keep the repository outside of the heap */
+  protected boolean     rdirect = false;
   /** the extension structure */
   protected Extension   ext    = null;
   /** the extension structure for normalizing the output */
   protected Extension   norm   = null;
+  /** the hash table for grouping the extensions of a fragment */
+  protected Fragment[]  xtab   = null;
+  /** the hash codes of the fragments in the hash table */
+  protected int[]       xhash  = null;
+  /** the hash table slots of the created fragments */
+  protected int[]       xslot  = null;
+  /** the comparator for sorting the fragments of the extensions */
+  protected Comparator<Fragment> xcmp = null;
   /** the number of reported substructures */
   protected int         subcnt = -1;
   /** the graph data set file reader */
   protected GraphReader reader = null;
+  /** the name of the graph data set file (if known) */
+  protected String      datfn  = null;
+  /** the name of the file for the prepared graph database */
+  protected String      dbfn   = null;
   /** the threshold for the split into focus and complement */
   protected double      thresh = 0.5;
   /** the group for graphs with a value below the threshold */
@@ -308,6 +537,37 @@ public class Miner implements Runnable {
   /** whether to abort the search thread */
   private volatile boolean stop = false;
 
+  /* --- parallel search --- */
+  /** the number of threads to use for the search */
+  protected int          threads = 1;
+  /** the miner that controls the (parallel) search */
+  protected Miner        main    = this;
+  /** the worker threads of a parallel search */
+  protected Worker[]     workers = null;
+  /** the queue of search tasks that wait for a worker thread */
+  protected LinkedBlockingQueue<Task> queue = null;
+  /** the thread pool for parallel support computations */
+  protected SuppPool     spool   = null;
+  /** the search task that collects found substructures
+   *  (if <code>null</code>, substructures are written directly) */
+  protected Task         sink    = null;
+  /** the start node type for which the database is trimmed */
+  protected int          level   = 0;
+
+  /* --- adaptive packing --- */
+  /** the heap occupancy (as a fraction of the maximum heap size)
+   *  above which embeddings are packed (0: no adaptive packing) */
+  protected double       mlim    = 0;
+  /** the guard that observes the heap occupancy */
+  protected MemGuard     guard   = null;
+  /** the fragments on the current search path that wait to be
+   *  processed (candidates for adaptive packing) */
+  protected Fragment[]   waits   = null;
+  /** the number of entries of the array of waiting fragments */
+  protected int          wcnt    = 0;
+  /** the memory budget for cached reembeddings (in bytes) */
+  protected long         cmem    = 0;
+
   /* --- benchmark variables --- */
   /** for benchmarking: the maximum depth of the search tree */
   protected int  maxdep;
@@ -345,6 +605,32 @@ public class Miner implements Runnable {
   protected long isocnt;
   /** for benchmarking: the number of comparisons with embeddings */
   protected long embcmps;
+  /** for benchmarking: the maximum size of the repository */
+  protected long repsize;
+  /** for benchmarking: the maximum memory used by the repository */
+  protected long repmem;
+  /** for benchmarking: the memory spilled from the repository */
+  protected long repspill;
+  /** for benchmarking: the look-ups rejected by the Bloom filter */
+  protected long fltneg;
+  /** for benchmarking: the look-ups passed by the Bloom filter */
+  protected long fltpos;
+  /** for benchmarking: the false positives of the Bloom filter */
+  protected long fltfp;
+  /** for benchmarking: the number of stored embeddings
+   *  (only counted with memory saving options) */
+  protected long embsto;
+  /** for benchmarking: the memory needed by the stored embeddings
+   *  (only counted with memory saving options) */
+  protected long embmem;
+  /** for benchmarking: the number of adaptively packed fragments */
+  protected long packs;
+  /** for benchmarking: the number of adaptively unpacked fragments */
+  protected long unpacks;
+  /** for benchmarking: the number of reembeddings taken from cache */
+  protected long chits;
+  /** for benchmarking: the number of reembeddings not in the cache */
+  protected long cmiss;
 
   /*------------------------------------------------------------------*/
   /** Create an empty miner with default parameter settings.
@@ -359,6 +645,42 @@ public class Miner implements Runnable {
     this.cnts     = new int[2]; /* create the support counters */
   }  /* Miner() */
 
+  /*------------------------------------------------------------------*/
+  /** Create a worker miner for a parallel search.
+   *  <p>The worker miner shares the search parameters and the graph
+   *  database with the given (main) miner. (The node and edge markers
+   *  that are used in the search are thread-confined, see the class
+   *  <code>Markers</code>.) It has its own extension object and its
+   *  own benchmark counters, which are summed after the search.</p>
+   *  @param  main the miner that controls the search
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  private Miner (Miner main)
+  {                             /* --- create a worker miner */
+    this.main    = main;        /* note the controlling miner */
+    this.mode    = main.mode;   /* and copy the search parameters */
+    this.type    = main.type;
+    this.supp    = main.supp;
+    this.comp    = main.comp;
+    this.min     = main.min;
+    this.max     = main.max;
+    this.rgmin   = main.rgmin;
+    this.rgmax   = main.rgmax;
+    this.coder   = main.coder;
+    this.cnts    = main.cnts;
+    this.mepm    = main.mepm;
+    this.mlim    = main.mlim;
+    this.guard   = main.guard;  /* share the memory guard */
+    this.cmem    = main.cmem;
+    this.threads = main.threads;
+    this.queue   = main.queue;
+    this.spool   = main.spool;  /* share the support thread pool */
+    this.log     = main.log;
+    this.graphs  = main.graphs; /* share the graph database */
+    this.ext = this.createExt();/* create an extension object */
+  }  /* Miner() */
+
   /*------------------------------------------------------------------*/
   /** Set the search mode.
    *  <p>The search mode is a combination of the search mode flags,
@@ -444,6 +766,87 @@ public class Miner implements Runnable {
   public void setMaxEmbs (int mepm)
   { this.mepm = mepm; }
 
+  /*------------------------------------------------------------------*/
+  /** Set the memory budget for cached reembeddings.
+   *  <p>If embeddings are packed (see <code>setMaxEmbs()</code> and
+   *  <code>setMemLimit()</code>), they are recreated by reembedding
+   *  whenever the list of embeddings of a fragment is traversed.
+   *  Recently recreated embeddings are kept in a cache (one per
+   *  thread, see class <code>EmbCache</code>), which is bounded by
+   *  the given memory budget, so that repeated traversals of the
+   *  same fragment need not reembed it again.</p>
+   *  @param  size the memory budget for cached reembeddings per
+   *               thread (in bytes, 0: no caching)
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  public void setCacheSize (long size)
+  { this.cmem = (size > 0) ? size : 0; }
+
+  /*------------------------------------------------------------------*/
+  /** Set the memory parameters of the repository.
+   *  <p>If no canonical form pruning is used, processed fragments are
+   *  kept in a repository (see class <code>Repository</code>). If the
+   *  repository exceeds the given memory budget, further parts of it
+   *  are spilled to a temporary file (which is mapped into memory).
+   *  </p>
+   *  @param  size   the memory budget of the repository
+   *                 (in bytes, 0: no limit)
+   *  @param  direct whether to keep the repository outside the heap
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  public void setRepository (long size, boolean direct)
+  { this.rmem = (size > 0) ? size : 0; this.rdirect = direct; }
+
+  /*------------------------------------------------------------------*/
+  /** Set the heap occupancy limit for adaptive packing.
+   *  <p>If the heap occupancy after a garbage collection exceeds the
+   *  given fraction of the maximum heap size, the embeddings of the
+   *  fragment with the largest list of embeddings among the fragments
+   *  on the current search path that wait to be processed are packed
+   *  (see <code>Fragment.packAll()</code>). This is repeated, at most
+   *  once per garbage collection, as long as the memory is tight.
+   *  A packed fragment is unpacked again when it is processed and the
+   *  heap occupancy is well below the limit. In contrast to a fixed
+   *  maximum number of embeddings per graph (see
+   *  <code>setMaxEmbs()</code>) this slows down the search only if
+   *  memory is actually short.</p>
+   *  @param  frac the heap occupancy limit (as a fraction of the
+   *               maximum heap size, 0: no adaptive packing)
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  public void setMemLimit (double frac)
+  { this.mlim = (frac > 0) ? frac : 0; }
+
+  /*------------------------------------------------------------------*/
+  /** Set the number of threads to use for the search.
+   *  <p>With more than one thread, branches of the search tree are
+   *  processed in parallel. All threads work on the same graph
+   *  database (see class <code>Markers</code>). The substructures are
+   *  written in the same order and with the same identifiers as in
+   *  a sequential search.</p>
+   *  <p>In addition, for support types other than the number of
+   *  graphs, the support of fragments that occur in many graphs is
+   *  computed in parallel (see class <code>SuppPool</code>), also if
+   *  the search itself cannot be carried out in parallel.</p>
+   *  <p>The graph data set is also loaded with a pipeline of a reader
+   *  thread and parser threads (see class <code>GraphLoader</code>),
+   *  provided the input reader supports split mode (molecules given
+   *  as SMILES, SLN, or SDfile).</p>
+   *  <p>A parallel search is possible only with canonical form
+   *  pruning (with a repository of processed substructures the
+   *  result would depend on the processing order) and it is not
+   *  carried out if siblings of search tree nodes are unembedded
+   *  or verbose output is requested.</p>
+   *  @param  threads the number of threads to use
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  public void setThreads (int threads)
+  { this.threads = (threads > 1) ? threads : 1; }
+
   /*------------------------------------------------------------------*/
   /** Set the excluded nodes and excluded seeds.
    *  <p>Excluded nodes are completely removed from the search, that is,
@@ -572,18 +975,44 @@ public class Miner implements Runnable {
   /*------------------------------------------------------------------*/
 
   public void setInput (GraphReader reader)
-  { this.reader = reader; }
+  { this.reader = reader; this.datfn = null; }
 
   /*------------------------------------------------------------------*/
   /** Set the input reader.
+   *  <p>If the name of the file ends in "<code>.gz</code>", the file
+   *  is decompressed while it is read.</p>
    *  @param  fname  the name of the input data file
    *  @param  format the format of the input data
    *  @since  2007.03.05 (Christian Borgelt) */
   /*------------------------------------------------------------------*/
 
   public void setInput (String fname, String format) throws IOException
-  { this.reader = GraphReader.createReader(new FileReader(fname),
-                    GraphReader.GRAPHS, format); }
+  { this.reader = GraphReader.createReader(fname,
+                    GraphReader.GRAPHS, format);
+    this.datfn  = fname; }
+
+  /*------------------------------------------------------------------*/
+  /** Set the file for the prepared graph database.
+   *  <p>If such a file is set, the graphs are stored in this file
+   *  after they have been read and preprocessed (conversion of
+   *  Kekul&eacute; representations, marking of bridges and rings,
+   *  masking of the node and edge types). A later search with the
+   *  same preprocessing parameters (type masks, ring sizes etc.),
+   *  the same split into focus and complement and an unchanged graph
+   *  data set file loads the prepared graphs from this file instead
+   *  of reading and preprocessing them again. If the parameters
+   *  differ, the file is rewritten (see class
+   *  <code>GraphFile</code>).</p>
+   *  <p>The recoding of the node types is not stored, because it
+   *  depends on the minimum support, the seed and the excluded node
+   *  types.</p>
+   *  @param  fname the name of the file for the prepared graphs
+   *                (<code>null</code>: do not use such a file)
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  public void setGraphFile (String fname)
+  { this.dbfn = fname; }
 
   /*------------------------------------------------------------------*/
   /** Set the output writer.
@@ -606,6 +1035,8 @@ public class Miner implements Runnable {
 
   /*------------------------------------------------------------------*/
   /** Set the output writer.
+   *  <p>If the name of the file ends in "<code>.gz</code>", the file
+   *  is compressed while it is written.</p>
    *  @param  fname the name of the file for the found substructures
    *  @param  format the format for the output
    *  @since  2007.07.01 (Christian Borgelt) */
@@ -614,13 +1045,15 @@ public class Miner implements Runnable {
   public void setOutput (String fname, String format)
     throws IOException
   {                             /* --- set the output */
-    this.writer = GraphWriter.createWriter(new FileWriter(fname),
+    this.writer = GraphWriter.createWriter(fname,
                     GraphWriter.SUBS, format);
     this.wrids  = null;
   }  /* setOutput() */
 
   /*------------------------------------------------------------------*/
   /** Set the output writers.
+   *  <p>Files with names ending in "<code>.gz</code>" are compressed
+   *  while they are written.</p>
    *  @param  fn_sub the name of the file for the found fragments
    *  @param  fn_ids the name of the file for the graph identifiers
    *  @param  format the format for the output
@@ -630,10 +1063,10 @@ public class Miner implements Runnable {
   public void setOutput (String fn_sub, String format, String fn_ids)
     throws IOException
   {                             /* --- set the output */
-    this.writer = GraphWriter.createWriter(new FileWriter(fn_sub),
+    this.writer = GraphWriter.createWriter(fn_sub,
                     GraphWriter.SUBS, format);
     this.wrids  = ((fn_ids != null) && !fn_ids.equals(""))
-                ? new FileWriter(fn_ids) : null;
+                ? GraphWriter.openFile(fn_ids) : null;
   }  /* setOutput() */
 
   /*------------------------------------------------------------------*/
@@ -825,6 +1258,82 @@ public class Miner implements Runnable {
     return n;                   /* return the number of components */
   }  /* split() */
 
+  /*------------------------------------------------------------------*/
+  /** Get the key describing the preprocessing of the graphs.
+   *  <p>The key comprises the graph notation, the preprocessing steps
+   *  that are executed (conversion of Kekul&eacute; representations,
+   *  marking of bridges, rings and pseudo-rings), the type masks, the
+   *  ring sizes, the parameters of the split into focus and complement
+   *  and the size and modification time of the graph data set file
+   *  (if it is known). It is used to check whether a file with the
+   *  prepared graphs can be reused.</p>
+   *  @param  ntn the notation of the graphs
+   *  @return the key describing the preprocessing
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  private int[] getKey (Notation ntn)
+  {                             /* --- get the preprocessing key */
+    int[]   key = new int[17];  /* preprocessing key */
+    boolean mol;                /* whether graphs are molecules */
+    File    file;               /* graph data set file */
+    long    x;                  /* buffer for long values */
+
+    mol    = (ntn instanceof MoleculeNtn);
+    key[0] = ntn.getClass().getName().hashCode();
+    key[1] = (mol && ((this.mode & AROMATIZE) != 0)) ? 1 : 0;
+    key[2] = ((this.mode & (PR_PERFECT|PR_PARTIAL|CHAINEXT)) != 0)
+           ? 1 : 0;             /* note the preprocessing steps */
+    key[3] = ((this.rgmin > 1)  /* (aromatization, bridges, */
+           && ((this.mode & FULLRINGS)  != 0)   /* pseudo-rings) */
+           && ((this.mode & PR_CANONIC) != 0)) ? 1 : 0;
+    key[4] = this.rgmin;        /* note the ring sizes */
+    key[5] = this.rgmax;        /* and the type masks */
+    if (mol) System.arraycopy(this.masks, 0, key, 6, 4);
+    x = Double.doubleToLongBits(this.thresh);
+    key[10] = (int)(x >>> 32);  /* note the split parameters */
+    key[11] = (int)x;           /* (threshold and group) */
+    key[12] = this.group;
+    if (this.datfn != null) {   /* if the data set file is known */
+      file    = new File(this.datfn);
+      x       = file.length();  /* note the file size */
+      key[13] = (int)(x >>> 32); key[14] = (int)x;
+      x       = file.lastModified();  /* and modification time */
+      key[15] = (int)(x >>> 32); key[16] = (int)x;
+    }
+    return key;                 /* return the preprocessing key */
+  }  /* getKey() */
+
+  /*------------------------------------------------------------------*/
+  /** Preprocess the seed structure.
+   *  <p>This function is called instead of the preprocessing functions
+   *  for all graphs (<code>aromatize()</code>, <code>markBridges()</code>,
+   *  <code>markRings()</code>, <code>maskTypes()</code>) if prepared
+   *  graphs have been loaded from a file.</p>
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  private void prepSeed ()
+  {                             /* --- preprocess the seed */
+    int min, max;               /* ring size range */
+    boolean mol;                /* whether graphs are molecules */
+
+    if (this.seed == null) return;
+    mol = (this.graphs.getNotation() instanceof MoleculeNtn);
+    if (mol && ((this.mode & AROMATIZE) != 0))
+      Bonds.aromatize(this.seed);
+    if ((this.mode & (PR_PERFECT|PR_PARTIAL|CHAINEXT)) != 0)
+      this.seed.markBridges();  /* mark bridges in the seed */
+    if (this.rgmax > 1) {       /* if to mark the edges of rings */
+      max = Math.min(this.rgmax, 256);
+      min = Math.min(this.rgmin, max);
+      if (this.seed.markRings(min, max) < 0)
+        this.log.println(RING_WARN +"seed");
+    }                           /* mark rings in the seed */
+    if (mol)                    /* mask the types of the seed */
+      this.seed.maskTypes(this.masks);
+  }  /* prepSeed() */
+
   /*------------------------------------------------------------------*/
   /** Print a counter.
    *  @param  n the counter to print
@@ -907,6 +1416,8 @@ public class Miner implements Runnable {
       graph.prepare();          /* (re)prepare the graph, */
       graph.mark(-1);           /* and clear all markers */
     }
+    Markers.number(this.graphs);/* number the nodes and edges */
+    Markers.get().setExclusive(this.threads <= 1);
     if (this.seed != null)      /* if there is a seed structure, */
       this.seed.encode(this.coder);   /* encode the seed's nodes */
   }  /* setup() */
@@ -937,34 +1448,6 @@ public class Miner implements Runnable {
     return n;                   /* return the number of graphs */
   }  /* embed() */
 
-  /*------------------------------------------------------------------*/
-  /** Reorganize the substructure repository.
-   *  <p>The hash table of the substructure repository is enlarged
-   *  and the substructures are rehashed to achieve faster access.</p>
-   *  @since  2006.11.03 (Christian Borgelt) */
-  /*------------------------------------------------------------------*/
-
-  private void rehash ()
-  {                             /* --- reorganize the repository */
-    int     i, k;               /* loop variable, hash bin index */
-    int     n;                  /* new number of hash bins */
-    RepElem buf[];              /* buffer for reallocation */
-    RepElem e, t;               /* to traverse the hash bin lists */
-
-    n   = (this.bins.length << 1) +1;
-    buf = new RepElem[n];       /* allocate a new hash bin array */
-    for (i = this.bins.length; --i >= 0; ) {
-      e = this.bins[i];         /* traverse the nonempty bins */
-      while (e != null) {       /* of the old bin array */
-        t = e; e = e.succ;      /* get the next hash bin element */
-        t.succ = buf[k = t.hash % n];
-        buf[k] = t;             /* add the element at the head */
-      }                         /* of the approriate hash bin list */
-    }                           /* in the new hash bin array */
-    this.bins  = buf;           /* set the new hash bin array */
-    this.limit = (int)(n*0.75); /* and the new rehashing threshold */
-  }  /* rehash() */
-
   /*------------------------------------------------------------------*/
   /** Check for whether a given fragment has already been processed.
    *  <p>If no canonical form pruning is used, a repository of already
@@ -972,55 +1455,22 @@ public class Miner implements Runnable {
    *  search. Every new fragment is checked against this repository
    *  and is discarded if it is found, because then it has already
    *  been processed. If the given fragment could not be found in the
-   *  repository, it is added to the repository.</p>
+   *  repository, it is added to the repository (see the class
+   *  <code>Repository</code>). The repository is keyed with the 64 bit
+   *  fingerprint of the fragment (see <code>Graph.fingerprint()</code>),
+   *  so that an isomorphism test is needed (almost) only if the
+   *  fragment is actually a duplicate.</p>
    *  @param  frag the fragment to check against the repository
    *  @return whether the fragment is contained in the repository
+   *  @throws IOException if the repository cannot spill memory
    *  @since  2006.06.22 (Christian Borgelt) */
   /*------------------------------------------------------------------*/
 
-  private boolean duplicate (Fragment frag)
+  private boolean duplicate (Fragment frag) throws IOException
   {                             /* --- check for a duplicate fragment */
-    int       k;                /* loop variable */
-    int       hash, i;          /* hash code and hash bin index */
-    RepElem   re;               /* to traverse the bin list */
-    Embedding emb;              /* to traverse the embeddings */
-    boolean   found = false;    /* whether the fragment was found */
-
     this.repcnt++;              /* count the repository access */
-    hash = frag.hashCode();     /* compute the hash code and */
-    i = hash % this.bins.length;/* from it the hash bin index */
-    for (re = this.bins[i]; re != null; re = re.succ) {
-      this.cmpcnt++;            /* traverse the hash bin list */
-      emb = frag.list;          /* get the list of embeddings */
-      if ((re.hash         != hash)
-      ||  (re.graph        != emb.graph)
-      ||  (re.supp0        != frag.supp[0])
-      ||  (re.supp1        != frag.supp[1])
-      ||  (re.embs0        != frag.supp[2])
-      ||  (re.embs1        != frag.supp[3])
-      ||  (re.size         != emb.nodes.length)
-      ||  (re.edges.length != emb.edges.length))
-        continue;               /* do simple comparisons first */
-      this.isocnt++;            /* count the isomorphism test */
-      for (k = re.edges.length;  --k >= 0; )
-        re.edges[k].mark = 0;   /* mark the substructure */
-      while ((emb != null) && (emb.graph == re.graph)) {
-        this.embcmps++;         /* count the embedding */
-        for (k = emb.edges.length; --k >= 0; )
-          if (emb.edges[k].mark != 0) break;
-        if (k < 0) { found = true; break; }
-        emb = emb.succ;         /* if any embedding is fully marked, */
-      }                         /* the fragment is a duplicate */
-      for (k = re.edges.length;  --k >= 0; )
-        re.edges[k].mark = -1;  /* unmark the substructure */
-      if (found) return true;   /* in the underlying graph */
-    }                           /* and evaluate the test result */
-    re = new RepElem(frag, hash);
-    re.succ = this.bins[i];     /* add the new substructure */
-    this.bins[i] = re;          /* at the head of the hash bin list */
-    if (++this.rsize > this.limit)
-      this.rehash();            /* reorganize hash table if necessary */
-    return false;               /* return 'no duplicate' */
+    frag.materialize();         /* create normal embeddings */
+    return !this.repo.add(frag);/* try to add the fragment */
   }  /* duplicate() */
 
   /*------------------------------------------------------------------*/
@@ -1038,10 +1488,7 @@ public class Miner implements Runnable {
 
   protected boolean output (Fragment frag) throws IOException
   {                             /* --- output a substructure */
-    int    id;                  /* substructure identifier */
-    Graph  sub;                 /* fragment as a graph */
-    Graph  g;                   /* to traverse the graphs */
-    double s;                   /* support of a substructure */
+    OutElem sub;                /* the substructure to report */
 
     /* --- check the fragment --- */
     if (!frag.isValid()) {            /* skip invalid fragments */
@@ -1058,11 +1505,31 @@ public class Miner implements Runnable {
     if (((this.mode & CHAINEXT) != 0)
     && !frag.chainsValid()) {   /* skip fragments with invalid chains */
       this.chains++; return false; }  /* (one length or minimum != 1) */
+    sub = new OutElem(frag, this.main.wrids != null);
+    if (this.sink != null)      /* if in a task of a parallel search, */
+      this.sink.add(sub);       /* only collect the substructure */
+    else                        /* otherwise write the substructure */
+      this.write(sub);          /* (and its graph identifiers) */
+    return true;                /* return 'fragment was reported' */
+  }  /* output() */
+
+  /*------------------------------------------------------------------*/
+  /** Write a substructure (and the identifiers of its graphs).
+   *  @param  elem the substructure to write
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  private void write (OutElem elem) throws IOException
+  {                             /* --- write a substructure */
+    int    id;                  /* substructure identifier */
+    Graph  sub;                 /* fragment as a graph */
+    double s;                   /* support of a substructure */
+
     id = ++this.subcnt;         /* count the new substructure and */
     this.print(this.subcnt);    /* print the number of substructures */
 
     /* --- write substructure file --- */
-    sub = frag.getAsGraph();    /* get fragment as a graph */
+    sub = elem.graph;           /* get fragment as a graph */
     if ((this.mode & NORMFORM) != 0) {
       sub = new Graph(sub);     /* if to normalize the output, */
       sub.decode();             /* decode a copy of the fragment */
@@ -1072,28 +1539,156 @@ public class Miner implements Runnable {
     this.writer.setName("" +id);/* set the substructure identifier */
     this.writer.setGraph(sub);  /* and the description of the graph */
     s = this.cnts[0];           /* set support in the focus */
-    s = (s != 0) ? frag.supp[0] /s : 1.0;
-    this.writer.setAbsSupp(frag.supp[0]);
+    s = (s != 0) ? elem.supp0 /s : 1.0;
+    this.writer.setAbsSupp(elem.supp0);
     this.writer.setRelSupp((float)(s *100.0));
     s = this.cnts[1];           /* set support in the complement */
-    s = (s != 0) ? frag.supp[1] /s : 0.0;
-    this.writer.setAbsCompl(frag.supp[1]);
+    s = (s != 0) ? elem.supp1 /s : 0.0;
+    this.writer.setAbsCompl(elem.supp1);
     this.writer.setRelCompl((float)(s *100.0));
     this.writer.writeGraph();   /* write the substructure and */
     this.writer.flush();        /* flush the substructure writer */
 
     /* --- write graph identifier file --- */
     if (this.wrids == null)     /* if there is no identifier file, */
-      return true;              /* return 'fragment was reported' */
+      return;                   /* abort the function */
     this.wrids.write(id +":");  /* write the substructure identifier */
-    for (g = frag.firstGraph(); g != null; g = frag.nextGraph()) {
-      if (id < 0) this.wrids.write(','); id = -1;
-      this.wrids.write(((NamedGraph)g).name);
-    }                           /* list the graph identifiers */
+    this.wrids.write(elem.ids); /* and list the graph identifiers */
     this.wrids.write('\n');     /* terminate the output line */
     this.wrids.flush();         /* flush the identifier writer */
-    return true;                /* return 'fragment was reported' */
-  }  /* output() */
+  }  /* write() */
+
+  /*------------------------------------------------------------------*/
+  /** Store the embeddings of a fragment that is to be processed.
+   *  <p>If requested, the embeddings are stored relative to their base
+   *  embeddings (see <code>Fragment.reduce()</code>) and/or compactly
+   *  (see <code>Fragment.compact()</code>). In addition the number of
+   *  stored embeddings and the memory needed by them are recorded.</p>
+   *  <p>Without memory saving options (no unembedding, no relative or
+   *  compact storage, no maximum number of embeddings per graph and no
+   *  adaptive packing) nothing else is done: the base embeddings are
+   *  kept by the ancestor fragments anyway, so clearing the references
+   *  to them would not free any memory, and the passes over the
+   *  embedding lists would only cost time.</p>
+   *  @param  frag the fragment the embeddings of which to store
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  private void store (Fragment frag)
+  {                             /* --- store embeddings of a fragment */
+    frag.materialize();         /* create normal embeddings */
+    if (((this.mode & (UNEMBED|COMPACT|DELTA)) == 0)
+    &&  (this.mepm <= 0) && (this.guard == null))
+      return;                   /* without memory saving options */
+                                /* the passes would only cost time */
+    frag.reduce((this.mode & DELTA) != 0);
+    if ((this.mode & COMPACT) != 0)
+      frag.compact();           /* store the embeddings compactly */
+    this.embsto += frag.stored();
+    this.embmem += frag.memory();
+  }  /* store() */              /* count stored embeddings and memory */
+
+  /*------------------------------------------------------------------*/
+  /** Note fragments as waiting to be processed.
+   *  <p>The fragments are noted only if adaptive packing is used,
+   *  because they are needed only as candidates for packing.</p>
+   *  @param  xfs the fragments to note
+   *  @param  cnt the number of fragments
+   *  @return the number of waiting fragments before the call
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  private int push (Fragment[] xfs, int cnt)
+  {                             /* --- note waiting fragments */
+    int        n = this.wcnt;   /* number of waiting fragments */
+    Fragment[] v;               /* buffer for reallocation */
+
+    if (this.guard == null)     /* if no adaptive packing, */
+      return n;                 /* there is nothing to do */
+    if ((this.waits == null) || (n +cnt > this.waits.length)) {
+      v = new Fragment[(n +cnt) << 1];
+      if (this.waits != null)   /* enlarge the fragment array */
+        System.arraycopy(this.waits, 0, v, 0, n);
+      this.waits = v;           /* copy the waiting fragments */
+    }                           /* and set the new array */
+    System.arraycopy(xfs, 0, this.waits, n, cnt);
+    this.wcnt = n +cnt;         /* add the new fragments */
+    return n;                   /* return the old number */
+  }  /* push() */
+
+  /*------------------------------------------------------------------*/
+  /** Adapt the packing of embeddings to the memory pressure.
+   *  <p>The given fragment, which is about to be processed, is
+   *  unpacked if it is packed and the memory is relaxed, because
+   *  reembedding is expensive. If the memory is tight, the fragment
+   *  with the largest list of embeddings among the fragments that
+   *  wait to be processed is packed.</p>
+   *  @param  frag the fragment that is about to be processed
+   *  @param  k    the index of the fragment in the waiting fragments
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  private void adapt (Fragment frag, int k)
+  {                             /* --- adapt embedding packing */
+    int      i;                 /* loop variable */
+    long     m, max;            /* memory for embeddings, maximum */
+    Fragment f, big;            /* to traverse the fragments */
+
+    this.waits[k] = null;       /* fragment is no longer waiting */
+    if (frag.isPacked() && this.guard.isRelaxed()) {
+      frag.unpack();            /* if the fragment is packed */
+      frag.pack();              /* and the memory is relaxed, */
+      if ((this.mode & COMPACT) != 0)   /* unpack the embeddings */
+        frag.compact();         /* (keep a fixed maximum number */
+      this.unpacks++;           /* of embeddings per graph) */
+    }
+    if (!this.guard.isTight())  /* if the memory is not tight, */
+      return;                   /* there is nothing to do */
+    big = null; max = 0;        /* find the largest embedding list */
+    for (i = 0; i < this.wcnt; i++) {
+      f = this.waits[i];        /* traverse the waiting fragments */
+      if ((f == null) || f.isPacked()) continue;
+      m = f.memory();           /* estimate the embedding memory */
+      if (m > max) { max = m; big = f; }
+    }                           /* find the largest fragment */
+    if (big == null) return;    /* pack the embeddings of */
+    big.packAll();              /* the largest fragment */
+    this.packs++;               /* and count the packing */
+  }  /* adapt() */
+
+  /*------------------------------------------------------------------*/
+  /** Enlarge the hash table for grouping the extensions of a fragment.
+   *  <p>The size of the hash table is doubled and the already created
+   *  fragments are reinserted (see <code>recurse()</code>).</p>
+   *  @param  cnt the number of fragments in the hash table
+   *  @return the new hash mask
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  private int regroup (int cnt)
+  {                             /* --- enlarge grouping hash table */
+    int        i, k, h, mask;   /* loop variables, hash code/mask */
+    Fragment[] tab;             /* new hash table */
+    int[]      hash, slot;      /* new hash codes and slots */
+
+    k    = this.xtab.length << 1;  /* double the table size */
+    tab  = new Fragment[k];     /* and create new arrays */
+    hash = new int[k];          /* for the hash table */
+    slot = new int[k];
+    mask = k-1;                 /* get the new hash mask */
+    for (i = 0; i < cnt; i++) { /* traverse the fragments */
+      h = this.xhash[this.xslot[i]];
+      for (k = h & mask; tab[k] != null; k = (k+1) & mask)
+        ;                       /* find a free slot */
+      tab[k]  = this.xtab[this.xslot[i]];
+      hash[k] = h;              /* store the fragment */
+      slot[i] = k;              /* and its hash code and */
+    }                           /* note the hash table slot */
+    this.xtab  = tab;           /* replace the old hash table */
+    this.xhash = hash;
+    this.xslot = slot;
+    return mask;                /* return the new hash mask */
+  }  /* regroup() */
 
   /*------------------------------------------------------------------*/
   /** Main recursive function of the mining process.
@@ -1112,7 +1707,9 @@ public class Miner implements Runnable {
     int        i, k, n, r;      /* loop variables, buffers */
     Embedding  emb;             /* to traverse the embeddings */
     Fragment[] xfs, vec;        /* sorted list of created fragments */
+    Fragment   f;               /* fragment to insert (sorting) */
     int        size, cnt;       /* array size and number of lists */
+    int        h, mask;         /* hash code and hash mask */
     boolean    chain;           /* flag for a chain extension */
     boolean    revert;          /* whether to revert extension info. */
     boolean    adapt;           /* whether to adapt code words */
@@ -1120,8 +1717,8 @@ public class Miner implements Runnable {
 
     if (Thread.currentThread().isInterrupted())
       this.stop = true;         /* check for thread interruption */
-    if (this.stop)              /* check for an external abort */
-      return false;             /* (if running as a separate thread) */
+    if (this.stop || this.main.stop)
+      return false;             /* check for an external abort */
     this.nodecnt++;             /* count the search tree node */
     if (depth > this.maxdep)    /* update the maximal depth */
       this.maxdep = depth;      /* of the recursion/search tree */
@@ -1149,34 +1746,55 @@ public class Miner implements Runnable {
     }                           /* print the support of the fragment */
 
     /* --- create extensions --- */
-    xfs = new Fragment[size = 16];
-    cnt = 0;                    /* initialize the fragment array */
+    if (this.xtab == null) {    /* create a hash table for grouping */
+      this.xtab  = new Fragment[64];   /* (open addressing with */
+      this.xhash = new int[64]; /* linear probing, the size of */
+      this.xslot = new int[64]; /* the table is a power of 2) */
+      this.xcmp  = new Comparator<Fragment> () {
+        public int compare (Fragment f1, Fragment f2) {
+          return Miner.this.ext.compare(f1, f2); } };
+    }                           /* and a comparator for fragments */
+    mask = this.xtab.length -1; /* get the hash mask */
+    xfs  = new Fragment[size = 16];
+    cnt  = 0;                   /* initialize the fragment array */
     for (emb = frag.first(); emb != null; emb = frag.next()) {
       this.ext.init(frag, emb); /* traverse the embeddings */
       while (this.ext.next()) { /* while there is another extension */
-        i = n = 0; k = cnt;     /* do a binary search in fragments */
-        while (i < k) {         /* if the range is not empty */
-          n = (i +k) >> 1;      /* get index of middle element */
-          r = this.ext.compareTo(xfs[n]);
-          if      (r < 0) k = n;
-          else if (r > 0) i = n+1;
-          else break;           /* adapt the range boundaries */
-        }                       /* or terminate the search */
-        if (i < k) {            /* if the fragment was found, */
-          if (xfs[n].add(ext))  /* add the embedding to it and */
-            this.embcnt++; }    /* count it (for benchmarking) */
+        h = this.ext.hash();    /* compute the hash code */
+        for (i = h & mask; this.xtab[i] != null; i = (i+1) & mask)
+          if ((this.xhash[i] == h)   /* search the hash table */
+          &&  (this.ext.compareTo(this.xtab[i]) == 0))
+            break;              /* for an equal fragment */
+        if (this.xtab[i] != null) {   /* if the fragment was found, */
+          if (this.xtab[i].add(ext))  /* add the embedding to it */
+            this.embcnt++; }    /* and count it (for benchmarking) */
         else if (emb.getGroup() == NamedGraph.FOCUS) {
-          vec = xfs;            /* if the fragment was not found */
           if (cnt >= size) {    /* if the fragment array is full */
-            xfs = new Fragment[size += size >> 1];
-            System.arraycopy(vec, 0, xfs, 0, i);
-          }                     /* enlarge the fragment array */
-          System.arraycopy(vec, i, xfs, i+1, cnt-i);
-          xfs[i] = ext.makeFragment();
-          cnt++; this.embcnt++; /* create and store a new fragment */
-        }                       /* and count it (for benchmark) */
+            vec = new Fragment[size += size >> 1];
+            System.arraycopy(xfs, 0, vec, 0, cnt);
+            xfs = vec;          /* enlarge the fragment array */
+          }
+          this.xtab[i]  = xfs[cnt] = ext.makeFragment();
+          this.xhash[i] = h;    /* create and store a new fragment */
+          this.xslot[cnt++] = i;/* and note its hash table slot */
+          this.embcnt++;        /* count the embedding (benchmark) */
+          if (cnt +cnt > mask)  /* if the hash table is half full, */
+            mask = this.regroup(cnt);    /* enlarge the table */
+        }
       }                         /* (after this loop cnt is the */
     }                           /* number of created fragments) */
+    for (i = 0; i < cnt; i++)   /* clear the used slots */
+      this.xtab[this.xslot[i]] = null;  /* of the hash table */
+    if (cnt > 12)               /* if not very few fragments, */
+      Arrays.sort(xfs, 0, cnt, this.xcmp);  /* sort them */
+    else {                      /* if only few fragments */
+      for (i = 1; i < cnt; i++) {  /* do a simple insertion sort */
+        f = xfs[i];             /* get the fragment to insert */
+        for (k = i; (--k >= 0) && (this.ext.compare(f, xfs[k]) < 0); )
+          xfs[k+1] = xfs[k];    /* shift greater fragments right */
+        xfs[k+1] = f;           /* and store the fragment */
+      }                         /* (the fragments are processed in */
+    }                           /* the order of the old sorted array) */
     this.fragcnt += cnt;        /* count all fragments (benchmark) */
 
     /* --- support-based pruning --- */
@@ -1184,7 +1802,7 @@ public class Miner implements Runnable {
     /* be computed efficiently. Otherwise it could be done after */
     /* canonical form or repository pruning. */
     for (i = n = 0; i < cnt; i++) { /* traverse the fragments */
-      xfs[i].computeSupport(this.type);
+      xfs[i].computeSupport(this.type, this.spool);
       if (xfs[i].supp[0] < this.supp) {
         this.lowsupp++; continue; }
       xfs[n++] = xfs[i];        /* collect the frequent fragments */
@@ -1344,6 +1962,14 @@ public class Miner implements Runnable {
     /* because otherwise fragments are lost from the search tree    */
     /* branches to the left of the perfect extension branch.        */
 
+    /* --- store embeddings --- */
+    for (i = 0; i < cnt; i++)   /* store the embeddings of */
+      this.store(xfs[i]);       /* the remaining fragments */
+    frag.release();             /* release arrays of relative embs. */
+    /* The node and edge arrays of relative embeddings are recreated */
+    /* when they are needed and thus need not be kept after all      */
+    /* extensions of the current fragment have been created.         */
+
     /* --- unembed sibling nodes --- */
     if ((this.mode & UNEMBED) != 0) {
       for (i = cnt; --i > 0; )  /* unembed all fragments except */
@@ -1352,18 +1978,306 @@ public class Miner implements Runnable {
 
     /* --- recursively process branches --- */
     depth++;                    /* increment the recursion depth */
+    if ((this.queue != null)    /* if parallel search and there are */
+    &&  (cnt > 1)               /* too few tasks for the workers, */
+    &&  (this.queue.size() < this.threads))
+      return this.fork(frag, xfs, cnt, depth);
+    k = this.push(xfs, cnt);    /* note the waiting fragments */
     for (i = 0; i < cnt; i++) { /* search fragments recursively */
       xfs[i].reembed();         /* reembed the fragment */
-      if (!this.recurse(xfs[i], depth))
-        return false;           /* after return from recursion */
+      if (this.guard != null)   /* adapt the embedding packing */
+        this.adapt(xfs[i], k+i);/* to the memory pressure */
+      if (!this.recurse(xfs[i], depth)) {
+        this.wcnt = k; return false; }
       xfs[i] = null;            /* "delete" the processed fragment */
     }                           /* (allow for garbage collection) */
-    this.output(frag);          /* output the current fragment */
+    this.wcnt = k;              /* remove the fragments from the */
+    this.output(frag);          /* waiting ones and output the */
     if (Thread.currentThread().isInterrupted())
       this.stop = true;         /* check for thread interruption */
     return !this.stop;          /* return whether search was stopped */
   }  /* recurse() */
 
+  /*------------------------------------------------------------------*/
+  /** Process the branches of a search tree node in parallel.
+   *  <p>All extended fragments except the first are turned into search
+   *  tasks, which are placed into the task queue, from which they may
+   *  be taken by idle worker threads. The first fragment is processed
+   *  directly. Afterwards the tasks are joined in the order of the
+   *  fragments, so that the found substructures are reported in the
+   *  same order as in a sequential search. Tasks that have not been
+   *  taken by a worker thread are processed by the joining thread.
+   *  </p>
+   *  @param  frag  the current fragment (that was extended)
+   *  @param  xfs   the extended fragments to process
+   *  @param  cnt   the number of extended fragments
+   *  @param  depth the recursion depth of the extended fragments
+   *  @return whether to continue the search (search not aborted)
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  private boolean fork (Fragment frag, Fragment[] xfs, int cnt,
+                        int depth) throws IOException
+  {                             /* --- process branches in parallel */
+    int     i;                  /* loop variable */
+    Task[]  tasks;              /* search tasks for the branches */
+    boolean ok;                 /* whether the search was completed */
+
+    tasks = new Task[cnt];      /* create search tasks for */
+    for (i = 1; i < cnt; i++) { /* all but the first fragment */
+      tasks[i] = new Task(this, xfs[i], depth);
+      xfs[i]   = null;          /* (the task is responsible */
+    }                           /* for the fragment now) */
+    for (i = 1; i < cnt; i++)   /* offer the tasks */
+      this.queue.add(tasks[i]); /* to the worker threads */
+    ok = this.recurse(xfs[0], depth);
+    xfs[0] = null;              /* process the first fragment */
+    for (i = 1; i < cnt; i++) { /* traverse the search tasks */
+      if (!this.join(tasks[i])) ok = false;
+      else if (ok) this.report(tasks[i]);
+      tasks[i] = null;          /* join the tasks and report */
+    }                           /* the substructures found by them */
+    if (!ok) return false;      /* check for an aborted search */
+    this.output(frag);          /* output the current fragment */
+    if (Thread.currentThread().isInterrupted())
+      this.stop = true;         /* check for thread interruption */
+    return !this.stop;          /* return whether search was stopped */
+  }  /* fork() */
+
+  /*------------------------------------------------------------------*/
+  /** Process a search task with this miner.
+   *  @param  task the search task to process
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  private void exec (Task task)
+  {                             /* --- process a search task */
+    Task sink = this.sink;      /* note the current substructure sink */
+
+    this.sink = task;           /* collect substructures in the task */
+    try {                       /* process the fragment */
+      this.view(task.level);    /* trim the database for the task */
+      if (task.frag == null)    /* if a start node type task */
+           task.ok = this.grow(task.level);
+      else task.ok = this.recurse(task.frag, task.depth);
+    }                           /* if a search tree branch */
+    catch (Throwable e) { task.error = e; task.ok = false; }
+    this.sink = sink;           /* restore the substructure sink */
+    task.finish();              /* mark the task as completed */
+  }  /* exec() */
+
+  /*------------------------------------------------------------------*/
+  /** Join a search task (wait for its completion).
+   *  <p>If the task has not yet been taken by a worker thread,
+   *  it is processed by the calling thread.</p>
+   *  @param  task the search task to join
+   *  @return whether the search was completed (not aborted)
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  private boolean join (Task task) throws IOException
+  {                             /* --- join a search task */
+    if (task.claim())           /* if the task is not yet processed, */
+      this.exec(task);          /* process it in this thread */
+    else {                      /* if it is processed by a worker, */
+      while (true) {            /* wait for its completion */
+        try { task.await(); break; }
+        catch (InterruptedException e) { this.stop = true; }
+      }                         /* (an interruption aborts the search, */
+    }                           /* but the task must still be joined) */
+    if (task.error instanceof IOException)
+      throw (IOException)task.error;
+    if (task.error instanceof RuntimeException)
+      throw (RuntimeException)task.error;
+    if (task.error instanceof Error)
+      throw (Error)task.error;  /* rethrow an exception of the task */
+    return task.ok;             /* return whether search was stopped */
+  }  /* join() */
+
+  /*------------------------------------------------------------------*/
+  /** Report the substructures found by a search task.
+   *  @param  task the (joined) search task
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  private void report (Task task) throws IOException
+  {                             /* --- report found substructures */
+    OutElem sub;                /* to traverse the substructures */
+
+    if (this.sink != null) {    /* if in a task of a parallel search, */
+      this.sink.add(task); return; }     /* pass the list upwards */
+    for (sub = task.head; sub != null; sub = sub.succ)
+      this.write(sub);          /* otherwise write the substructures */
+  }  /* report() */
+
+  /*------------------------------------------------------------------*/
+  /** Process search tasks from the task queue.
+   *  <p>This function is executed by the worker threads of a parallel
+   *  search. It returns when the worker thread is interrupted.</p>
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  protected void serve ()
+  {                             /* --- process search tasks */
+    Task     task;              /* the next task to process */
+    EmbCache ec;                /* cache for reembedded embeddings */
+
+    ec = EmbCache.get();        /* get the embedding cache */
+    ec.init(this.cmem);         /* of the worker thread */
+    try {                       /* take tasks from the queue */
+      while (true) {            /* and process them */
+        task = this.queue.take();
+        if (task.claim()) this.exec(task);
+      } }                       /* (tasks may have been joined) */
+    catch (InterruptedException e) { }
+    this.chits = ec.getHits();  /* note the cache counters */
+    this.cmiss = ec.getMisses();/* and clear the cache */
+    ec.clear();                 /* terminate on interruption */
+  }  /* serve() */
+
+  /*------------------------------------------------------------------*/
+  /** Trim the graph database for a start node type.
+   *  <p>The graph database is trimmed (with the thread-confined node
+   *  and edge markers of the current thread) for the start node type
+   *  of the task to process, instead of excluding the processed node
+   *  types in the (shared) type recoder. Hence the threads of a
+   *  parallel search can work on different start node types.</p>
+   *  @param  type the code of the start node type
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  private void view (int type)
+  {                             /* --- trim graphs for a start type */
+    Markers.get().trim(this.graphs, this.coder, type);
+    this.level = type;          /* trim the graphs for the type */
+  }  /* view() */               /* and note the new start type */
+
+  /*------------------------------------------------------------------*/
+  /** Search for substructures starting from a single node.
+   *  @param  type the code of the start node type
+   *  @return whether to continue the search (search not aborted)
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  private boolean grow (int type) throws IOException
+  {                             /* --- search from a single node */
+    NamedGraph graph;           /* to traverse the graphs */
+    Embedding  emb;             /* created list of embeddings */
+
+    this.frag = new Fragment(this.mepm);
+    for (graph = this.graphs; graph != null; graph = graph.succ) {
+      emb = graph.embed(type);  /* try to embed the node */
+      if (emb != null) this.frag.add(emb);
+    }                           /* collect embeddings in fragment */
+    this.fragcnt++;             /* count the created embedding */
+    this.frag.computeSupport(this.type, this.spool);
+    this.embcnt += this.frag.supp[2] +this.frag.supp[3];
+    if (this.frag.supp[0] < this.supp)
+      return true;              /* check the support of the node */
+    this.store(this.frag);      /* store the embeddings */
+    return this.recurse(this.frag, 0);
+  }  /* grow() */               /* search recursively */
+
+  /*------------------------------------------------------------------*/
+  /** Process search tasks until a given task has been completed.
+   *  <p>This function is used by the controlling miner of a parallel
+   *  search while it waits for a start node type task, so that it
+   *  does not stay idle. It must not be called from within a search,
+   *  because processing a task may change the trimming of the graph
+   *  database for the current thread.</p>
+   *  @param  task the search task to join
+   *  @return whether the search was completed (not aborted)
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  private boolean help (Task task) throws IOException
+  {                             /* --- help until a task is done */
+    Task t;                     /* a task to process */
+
+    while (!task.isDone() && !this.stop) {
+      try { t = this.queue.poll(1, TimeUnit.MILLISECONDS); }
+      catch (InterruptedException e) { this.stop = true; break; }
+      if ((t != null) && t.claim()) this.exec(t);
+    }                           /* process tasks from the queue */
+    return this.join(task);     /* join the given task */
+  }  /* help() */
+
+  /*------------------------------------------------------------------*/
+  /** Create an extension object for the search.
+   *  @return an extension object for the search mode
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  private Extension createExt ()
+  {                             /* --- create an extension object */
+    Extension ext;              /* created extension object */
+
+    if ((this.mode & RIGHTEXT) != 0)   /* create an extension object */
+         ext = new RgtPathExt(this.mode, this.max);
+    else ext = new MaxSrcExt (this.mode, this.max);
+    if ((this.mode & RINGEXT)  != 0)   /* set the ring sizes */
+      ext.setRingSizes(this.rgmin, this.rgmax);
+    if ((this.mode & CHAINEXT) != 0)   /* set the chain types */
+      ext.setChainTypes(this.coder.encode(Atoms.CARBON),
+                        Bonds.SINGLE);
+    return ext;                 /* return the extension object */
+  }  /* createExt() */
+
+  /*------------------------------------------------------------------*/
+  /** Start the worker threads of a parallel search.
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  private void startWorkers ()
+  {                             /* --- start the worker threads */
+    int i;                      /* loop variable */
+
+    this.queue   = new LinkedBlockingQueue<Task>();
+    this.workers = new Worker[this.threads-1];
+    for (i = 0; i < this.workers.length; i++)
+      this.workers[i] = new Worker(new Miner(this));
+    for (i = 0; i < this.workers.length; i++)
+      this.workers[i].start();  /* create and start the workers */
+  }  /* startWorkers() */
+
+  /*------------------------------------------------------------------*/
+  /** Stop the worker threads of a parallel search.
+   *  <p>The benchmark counters of the worker miners are added to
+   *  the counters of this miner.</p>
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  private void stopWorkers ()
+  {                             /* --- stop the worker threads */
+    int   i;                    /* loop variable */
+    Miner w;                    /* to traverse the worker miners */
+
+    for (i = 0; i < this.workers.length; i++)
+      this.workers[i].interrupt();
+    for (i = 0; i < this.workers.length; i++) {
+      while (this.workers[i].isAlive()) {
+        try { this.workers[i].join(); }
+        catch (InterruptedException e) { this.stop = true; }
+      }                         /* wait for the worker to terminate */
+      w = this.workers[i].miner;/* get the worker's miner */
+      if (w.maxdep > this.maxdep) this.maxdep = w.maxdep;
+      this.nodecnt += w.nodecnt; this.fragcnt += w.fragcnt;
+      this.embcnt  += w.embcnt;  this.lowsupp += w.lowsupp;
+      this.perfect += w.perfect; this.equiv   += w.equiv;
+      this.ringord += w.ringord; this.canonic += w.canonic;
+      this.duplic  += w.duplic;  this.nonclsd += w.nonclsd;
+      this.openrgs += w.openrgs; this.chains  += w.chains;
+      this.invalid += w.invalid; this.repcnt  += w.repcnt;
+      this.cmpcnt  += w.cmpcnt;  this.isocnt  += w.isocnt;
+      this.embcmps += w.embcmps; this.embsto  += w.embsto;
+      this.embmem  += w.embmem;  this.packs   += w.packs;
+      this.unpacks += w.unpacks; this.chits   += w.chits;
+      this.cmiss   += w.cmiss;   /* sum the benchmark counters */
+    }
+    this.workers = null;        /* "delete" the workers */
+    this.queue   = null;        /* and the task queue */
+  }  /* stopWorkers() */
+
   /*------------------------------------------------------------------*/
   /** Main function for the mining process.
    *  <p>The seed is embedded into all graphs to create the initial
@@ -1376,44 +2290,63 @@ public class Miner implements Runnable {
   private int search () throws IOException
   {                             /* --- search for substructures */
     int        i, k;            /* loop variables */
-    NamedGraph graph;           /* to traverse the graphs */
-    Embedding  emb;             /* created list of embeddings */
     TypeMgr    ndmgr;           /* manager for node types and names */
+    Task[]     tasks;           /* search tasks for the node types */
     String     s;               /* buffer for output formatting */
 
-    if ((this.mode & RIGHTEXT) != 0)   /* create an extension object */
-         this.ext = new RgtPathExt(this.mode, this.max);
-    else this.ext = new MaxSrcExt (this.mode, this.max);
-    if ((this.mode & RINGEXT)  != 0)   /* set the ring sizes */
-      this.ext.setRingSizes(this.rgmin, this.rgmax);
-    if ((this.mode & CHAINEXT) != 0)   /* set the chain types */
-      this.ext.setChainTypes(this.coder.encode(Atoms.CARBON),
-                             Bonds.SINGLE);
-    if ((this.mode & PR_CANONIC) == 0) {
-      this.bins  = new RepElem[1023];
-      this.rsize = 0;           /* if no canonical form pruning, */
-      this.limit = 768;         /* create a repository of already */
-    }                           /* processed substructures */
+    this.ext = this.createExt();/* create an extension object */
+    if ((this.mode & PR_CANONIC) == 0)
+      this.repo = new Repository(this.rmem,
+        ((this.rdirect)              ? Repository.DIRECT : 0)
+      | (((this.mode & CODEWORD) != 0) ? Repository.WORDS  : 0)
+      | (((this.mode & BLOOM)    != 0) ? Repository.FILTER : 0));
+    /* If no canonical form pruning is used, create a repository */
+    /* of already processed substructures, which are identified  */
+    /* either by an embedding or by their canonical code word.   */
     this.subcnt  = 0;           /* init. the substructure counter */
     this.nodecnt = 0;           /* and the benchmark variables */
     this.lowsupp = this.perfect = this.equiv   = this.ringord = 0;
     this.canonic = this.duplic  = this.nonclsd = this.openrgs = 0;
     this.chains  = this.invalid = this.repcnt  = this.cmpcnt  = 0;
-    this.isocnt  = this.embcmps = 0;
+    this.isocnt  = this.embcmps = this.repsize = 0;
+    this.repmem  = this.repspill = 0;
+    this.fltneg  = this.fltpos  = this.fltfp   = 0;
+    this.view(0);               /* clear all markers (no trimming) */
     this.writer.writeHeader();  /* print header for substructures */
     if (this.wrids != null)     /* and graph identifier lists */
       this.wrids.write("id:list\n");
     if ((this.mode & VERBOSE) != 0)
       System.out.println();     /* if verbose output, start new line */
     if (this.seed != null) {    /* if there is a seed structure */
-      this.frag.computeSupport(this.type);
+      this.frag.computeSupport(this.type, this.spool);
       this.embcnt  = this.frag.supp[2] +this.frag.supp[3];
       this.fragcnt = 1;         /* search recursively from the seed */
-      if (this.frag.supp[0] >= this.supp)
-        this.recurse(this.frag, 0); }
+      this.embsto  = this.embmem = 0;
+      this.packs   = this.unpacks = 0;
+      if (this.frag.supp[0] >= this.supp) {
+        this.store(this.frag); this.recurse(this.frag, 0); } }
+    else if (this.workers != null) {   /* if to search in parallel */
+      ndmgr = this.graphs.getNotation().getNodeMgr();
+      this.fragcnt = this.embcnt = this.embsto = this.embmem = 0;
+      this.packs   = this.unpacks = 0;
+      tasks = new Task[this.coder.size()];
+      for (i = 0; i < tasks.length; i++) {
+        if (!this.coder.isExcluded(i) && !this.coder.isMaximal(i))
+          this.queue.add(tasks[i] = new Task(i));
+      }                         /* create tasks for the node types */
+      for (i = 0; i < tasks.length; i++) {
+        if (tasks[i] == null) continue;
+        s = ndmgr.getName(this.coder.decode(i)) +"         ";
+        this.log.print("\nprocessing "+s.substring(0, 8));
+        if (!this.help(tasks[i])) break;
+        this.report(tasks[i]);  /* join the tasks in the order */
+        tasks[i] = null;        /* of the node types and report */
+      }                         /* the substructures found by them */
+      this.log.println(); }
     else {                      /* if there are no initial embeddings */
       ndmgr = this.graphs.getNotation().getNodeMgr();
-      this.fragcnt = this.embcnt = 0;
+      this.fragcnt = this.embcnt = this.embsto = this.embmem = 0;
+      this.packs   = this.unpacks = 0;
       for (i = 0; i < this.coder.size(); i++) {
         if ( this.coder.isExcluded(i)|| this.coder.isMaximal(i))
           continue;             /* traverse the different nodes*/
@@ -1421,30 +2354,40 @@ public class Miner implements Runnable {
         this.log.print("\nprocessing "+s.substring(0, 8));
         if ((this.mode & VERBOSE) != 0)
           System.out.println(); /* if verbose output, start new line */
-        if (this.bins != null)  /* clear the repository */
-          for (k = this.bins.length; --k >= 0; )
-            this.bins[k] = null;
-        this.frag = new Fragment(this.mepm);
-        for (graph = this.graphs; graph != null; graph = graph.succ) {
-          emb = graph.embed(i); /* try to embed the node */
-          if (emb != null) this.frag.add(emb);
-        }                       /* collect embeddings in fragment */
-        this.fragcnt++;         /* count the created embedding */
-        this.frag.computeSupport(this.type);
-        this.embcnt += this.frag.supp[2] +this.frag.supp[3];
-        if ((this.frag.supp[0] >= this.supp)
-         && !this.recurse(this.frag, 0))
-          return this.subcnt;   /* search recursively */
-        this.coder.exclude(i);  /* exclude the processed node */
-        for (graph = this.graphs; graph != null; graph = graph.succ)
-          graph.trim(false);    /* trim the excluded node type */
-      }                         /* from the graphs of the database */
-      this.log.println();       /* (fragments with this node type */
-    }                           /*  need not be considered again) */
-    this.bins = null;           /* "delete" the repository */
+        if (this.repo != null)  /* clear the repository */
+          this.repo.clear();
+        this.view(i);           /* trim the processed node types */
+        if (!this.grow(i))      /* search recursively */
+          return this.subcnt;   /* from the current node type */
+      }                         /* (fragments with these node types */
+      this.log.println();       /*  need not be considered again) */
+    }
     return this.subcnt;         /* return number of substructures */
   }  /* search() */
 
+  /*------------------------------------------------------------------*/
+  /** Close the repository of processed substructures.
+   *  <p>The statistics of the repository are collected, its memory is
+   *  released, and its spill file (if any) is deleted.</p>
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  private void closeRepo ()
+  {                             /* --- close the repository */
+    if (this.repo == null) return;
+    this.cmpcnt   = this.repo.cmpcnt;  /* get the statistics */
+    this.isocnt   = this.repo.isocnt;  /* of the repository */
+    this.embcmps  = this.repo.embcmps;
+    this.repsize  = this.repo.getMaxSize();
+    this.repmem   = this.repo.getMaxMemory();
+    this.repspill = this.repo.getSpilled();
+    this.fltneg   = this.repo.fltneg;
+    this.fltpos   = this.repo.fltpos;
+    this.fltfp    = this.repo.fltfp;
+    this.repo.close();          /* close and "delete" */
+    this.repo = null;           /* the repository */
+  }  /* closeRepo() */
+
   /*------------------------------------------------------------------*/
   /** Write all graphs of the database.
    *  @since  2002.03.11 (Christian Borgelt) */
@@ -1510,6 +2453,7 @@ public class Miner implements Runnable {
     String  datfn  = null;      /* name of graph input file */
     String  subfn  = "moss.sub";/* name of substructure file */
     String  idsfn  = null;      /* name of identifier file */
+    String  dbfn   = null;      /* name of prepared graph file */
     double  split  =  0.5;      /* threshold for split */
     boolean invert = false;     /* whether to invert the split */
     double  psupp  = 10.0;      /* minimum support of embedding */
@@ -1520,6 +2464,11 @@ public class Miner implements Runnable {
     int     smax   = Integer.MAX_VALUE;
     int[]   sizes  = null;      /* minimum and maximum size of rings */
     int     maxepm = 0;         /* max. number of embeddings per mol. */
+    int     thcnt  = 1;         /* number of threads for the search */
+    int     mlim   = 0;         /* heap occupancy limit in percent */
+    int     cache  = 0;         /* memory for reembedding cache (MB) */
+    int     rmem   = 0;         /* memory for repository (MB) */
+    boolean direct = false;     /* whether to keep repository off-heap */
     String  format = "smiles";  /* format for seed description */
     String  input  = "smiles";  /* input  format for graphs */
     String  output = "smiles";  /* output format for substructures */
@@ -1617,6 +2566,26 @@ public class Miner implements Runnable {
       System.out.println(" per graph       (to save memory)");
       System.out.print  ("-U      unembed siblings of current");
       System.out.println(" search tree node (to save memory)");
+      System.out.print  ("-Z      store embeddings as node/edge");
+      System.out.println(" index arrays   (to save memory)");
+      System.out.print  ("-Y      store embeddings relative to base");
+      System.out.println(" embeddings (to save memory)");
+      System.out.print  ("-A#     pack embeddings adaptively at");
+      System.out.println(" #% heap use    (to save memory)");
+      System.out.print  ("-J#     memory for reembedding cache (MB)");
+      System.out.println(" (default: 0)");
+      System.out.print  ("-F#     memory budget of repository (MB) ");
+      System.out.println(" (default: 0 = no limit)");
+      System.out.print  ("-X      keep repository outside the heap");
+      System.out.println("  (default: on the heap)");
+      System.out.print  ("-Q      identify fragments in repository");
+      System.out.println(" by canonical code words");
+      System.out.print  ("-I      pre-screen repository look-ups");
+      System.out.println(" with a Bloom filter");
+      System.out.print  ("-w#     number of threads for the search ");
+      System.out.println(" (default: " +thcnt +")");
+      System.out.print  ("-u#     file for the prepared graph");
+      System.out.println(" database (binary, reused if valid)");
       System.out.print  ("-N      normalize substructure output form");
       System.out.println(" (for result comparisons)");
       System.out.print  ("-v      verbose output during search");
@@ -1630,7 +2599,7 @@ public class Miner implements Runnable {
       throw new IOException("no arguments given");
     }                           /* print a usage message */
 
-    /* remaining option characters: h u w A F I J Q V W X Y Z */
+    /* remaining option characters: h V W */
 
     /* --- evaluate arguments --- */
     matom = mrgat = Atoms.ELEMMASK;  /* set default masks */
@@ -1682,6 +2651,16 @@ public class Miner implements Runnable {
           case 'q': smode &= ~PR_CANONIC;                        break;
           case 'M': maxepm = Integer.parseInt(s.substring(2));   break;
           case 'U': smode |= UNEMBED;                            break;
+          case 'Z': smode |= COMPACT;                            break;
+          case 'Y': smode |= DELTA;                              break;
+          case 'w': thcnt  = Integer.parseInt(s.substring(2));   break;
+          case 'u': dbfn   = s.substring(2);                     break;
+          case 'A': mlim   = Integer.parseInt(s.substring(2));   break;
+          case 'J': cache  = Integer.parseInt(s.substring(2));   break;
+          case 'F': rmem   = Integer.parseInt(s.substring(2));   break;
+          case 'X': direct = true;                               break;
+          case 'Q': smode |= CODEWORD;                           break;
+          case 'I': smode |= BLOOM;                              break;
           case 'N': smode |= NORMFORM;                           break;
           case 'v': smode |= VERBOSE;                            break;
           case 'T': smode |= NOSTATS;                            break;
@@ -1752,10 +2731,11 @@ public class Miner implements Runnable {
     /* --- initialize input/output --- */
     this.setGrouping(split, invert);
     this.setInput   (datfn, input);
+    this.setGraphFile(dbfn);    /* set the prepared graph file */
     if ((smode & (TRANSFORM|LOGIC)) == 0)
       this.setOutput(subfn, output, idsfn);
     else
-      this.setOutput(GraphWriter.createWriter(new FileWriter(subfn),
+      this.setOutput(GraphWriter.createWriter(subfn,
                        GraphWriter.GRAPHS, output));
     /* Opening the output file can throw an IO exception. Hence it */
     /* should be done before the time-consuming tasks of embedding */
@@ -1773,10 +2753,87 @@ public class Miner implements Runnable {
     this.setRingSizes(sizes[0], sizes[1]);
     this.setMasks(matom, mbond, mrgat, mrgbd);
     this.setMaxEmbs(maxepm);    /* set maximum number of embeddings */
+    this.setThreads(thcnt);     /* set the number of threads */
+    this.setMemLimit(mlim/100.0);  /* and the heap occupancy limit */
+    this.setCacheSize(cache *1048576L);  /* set the cache budget */
+    this.setRepository(rmem *1048576L, direct);
     this.setSeed(desc, format); /* set seed and excluded types */
     this.setExcluded(excl, exsd, format);
   }  /* init() */
 
+  /*------------------------------------------------------------------*/
+  /** Read the graphs from the input reader and add them.
+   *  @return the number of graphs read
+   *  @throws IOException if an i/o error or a parse error occurs
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  private int readGraphs () throws IOException
+  {                             /* --- read graphs sequentially */
+    int        n = 0;           /* number of graphs */
+    float      value;           /* value associated with the graph */
+    int        grp;             /* group of the graph */
+    NamedGraph graph;           /* created graph */
+
+    try {                       /* read the graph descriptions */
+      while (this.reader.readGraph()) {
+        value = this.reader.getValue();
+        grp   = (value > this.thresh) ? 1-this.group : this.group;
+        graph = new NamedGraph(this.reader.getGraph(),
+                               this.reader.getName(), value, grp);
+        this.addGraph(graph);   /* parse the next graph and add it */
+        if ((++n & 0xff) == 0) this.print(n);
+      } }                       /* print the number of graphs */
+    catch (IOException e) {     /* report graph number with error */
+      throw new IOException((n+1) +": " +e.getMessage()); }
+    return n;                   /* return the number of graphs */
+  }  /* readGraphs() */
+
+  /*------------------------------------------------------------------*/
+  /** Load the graphs with a pipeline of reader and parser threads.
+   *  <p>One thread splits off the graph descriptions from the input
+   *  reader (which must be in split mode), the graph descriptions are
+   *  parsed by a pool of threads (as many as there are worker threads
+   *  for the search), and the parsed graphs are added in input order
+   *  by the current thread, so that the graph database is the same as
+   *  with sequential reading.</p>
+   *  @return the number of graphs read
+   *  @throws IOException if an i/o error or a parse error occurs
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  private int loadGraphs () throws IOException
+  {                             /* --- load graphs in parallel */
+    int         i, n = 0;       /* loop variable, number of graphs */
+    float       value;          /* value associated with the graph */
+    int         grp;            /* group of the graph */
+    NamedGraph  graph;          /* created graph */
+    GraphLoader ldr;            /* pipelined graph loader */
+    GraphLoader.LoadBatch b;    /* to traverse the batches */
+
+    ldr = new GraphLoader(this.reader, this.threads);
+    try {                       /* create a graph loader */
+      do {                      /* traverse the batches */
+        b = ldr.next();         /* get the next parsed batch */
+        for (i = 0; i < b.cnt; i++) {
+          if (i >= b.epos)      /* report graph number with error */
+            throw new IOException((n+1) +": " +b.error.getMessage());
+          value = b.values[i];  /* get the associated value */
+          grp   = (value > this.thresh) ? 1-this.group : this.group;
+          graph = new NamedGraph(b.graphs[i], b.names[i], value, grp);
+          this.addGraph(graph); /* create a named graph and add it */
+          if ((++n & 0xff) == 0) this.print(n);
+        }                       /* print the number of graphs */
+        if (b.error != null)    /* report a read error */
+          throw new IOException((n+1) +": " +b.error.getMessage());
+      } while (!b.last); }      /* while not at the end of the input */
+    finally {                   /* stop the reader and parser threads */
+      ldr.shutdown();           /* and switch off split mode */
+      this.reader.setSplit(false);
+    }
+    return n;                   /* return the number of graphs */
+  }  /* loadGraphs() */
+
   /*------------------------------------------------------------------*/
   /** Preprocess the graphs, embed the seed, and start the search.
    *  @since  2006.03.01 (Christian Borgelt) */
@@ -1785,64 +2842,17 @@ public class Miner implements Runnable {
   protected void mine () throws IOException
   {                             /* --- run substructure search */
     int        k, n = 0;        /* number of graphs/substructures */
-    float      value;           /* value associated with the graph */
-    int        grp;             /* group of the graph */
-    NamedGraph graph;           /* created graph */
+    int        f = 0;           /* flags for the prepared graphs */
     String     m = "graph";     /* buffers for log messages */
     long       t;               /* for time measurements */
+    Notation   ntn;             /* notation of the graphs */
+    GraphFile  gf = null;       /* file with prepared graphs */
+    NamedGraph list, g;         /* list of prepared graphs */
+    boolean    prep = false;    /* whether graphs are prepared */
+    EmbCache   ec;              /* cache for reembedded embeddings */
     
-    /* --- load graph data set --- */
-    this.configNtns();          /* configure the graph notations */
-    if (this.reader != null) {  /* if to read a graph data set */
-      t = System.currentTimeMillis();
-      if (this.reader.getNotation() instanceof MoleculeNtn)
-        m = "molecule";         /* get the graph type name */
-      this.log.print("reading " +m +"s ... ");
-      this.cnts[0] = this.cnts[1] = 0;
-      try {                     /* read the graph descriptions */
-        while (this.reader.readGraph()) {
-          value = this.reader.getValue();
-          grp   = (value > this.thresh) ? 1-this.group : this.group;
-          graph = new NamedGraph(this.reader.getGraph(),
-                                 this.reader.getName(), value, grp);
-          this.addGraph(graph); /* parse the next graph and add it */
-          if ((++n & 0xff) == 0) this.print(n);
-        } }                     /* print the number of graphs */
-      catch (IOException e) {   /* report graph number with error */
-        throw new IOException((n+1) +": " +e.getMessage()); }
-      t = System.currentTimeMillis() -t;
-      this.log.println("[" +n +" (" +this.cnts[0] +"+" +this.cnts[1]
-                     +") " +m +"(s)] done [" +(t/1000.0) +"s].");
-    }                           /* report the number of graphs read */
-    if ((this.graphs != null)   /* get the graph type name */
-    &&  (this.graphs.getNotation() instanceof MoleculeNtn))
-      m = "molecule";           /* (graph or molecule) */
-    if (this.cnts[0] <= 0)      /* check for graphs in focus */
-      throw new IOException("error: no " +m +" in the focus");
-
-    /* --- convert Kekule representations --- */
-    if ((this.graphs != null)   /* if the graphs are molecules */
-    &&  (this.graphs.getNotation() instanceof MoleculeNtn)
-    &&  ((this.mode & AROMATIZE) != 0)) {
-      this.log.print("converting Kekule representations ... ");
-      t = System.currentTimeMillis();
-      k = this.aromatize();     /* turn into true aromatic rings */
-      t = System.currentTimeMillis() -t;
-      this.log.println("[" +k +" " +m+"(s)] done [" +(t/1000.0) +"s].");
-    }                           /* report the number of mod. graphs */
-
-    /* --- convert to another description language --- */
-    if ((this.mode & (TRANSFORM|LOGIC)) != 0) {
-      this.log.print("writing " +m +"s ... ");
-      t = System.currentTimeMillis();
-      this.writeGraphs();       /* write the graph list */
-      t = System.currentTimeMillis() -t;
-      this.log.println("[" +(this.cnts[0] +this.cnts[1])
-                      +" " +m +"(s)] done [" +(t/1000.0) +"s].");
-      return;                   /* print a log message */
-    }                           /* and abort the program */
-
     /* --- make search mode consistent --- */
+    ntn = this.configNtns();    /* configure the graph notations */
     if ((this.seed != null)     /* if the seed contains several nodes */
     &&  (this.seed.nodecnt > 1))
       this.mode &= ~(PR_CANONIC|RIGHTEXT);
@@ -1854,9 +2864,8 @@ public class Miner implements Runnable {
     /* is to search for the fragment "N-C-C-O" with the seed "C-C".   */
     /* Note that the problem doesn't involve the canonical form test, */
     /* but only the restricted extensions that are derived from it.   */
-    if ((this.graphs == null)   /* get the graph type name */
-    || !(this.graphs.getNotation().getNodeMgr() instanceof Atoms)
-    || !(this.graphs.getNotation().getEdgeMgr() instanceof Bonds))
+    if (!(ntn.getNodeMgr() instanceof Atoms)
+    ||  !(ntn.getEdgeMgr() instanceof Bonds))
       this.mode &= ~CHAINEXT;   /* chain exts. only for molecules */
     k = this.type & Fragment.SUPPMASK;
     if (k != Fragment.GRAPHS)   /* if support is not number of graphs */
@@ -1876,7 +2885,8 @@ public class Miner implements Runnable {
     else if ((this.mode & MERGERINGS) == 0)
       this.mode |= FULLRINGS;   /* set full ring extension flag */
     if ((this.mode & MERGERINGS) != 0) {
-      this.mode &= ~UNEMBED; this.mepm = 0; }
+      this.mode &= ~(UNEMBED|COMPACT|DELTA);
+      this.mepm  = 0; this.mlim = 0; }
     /* Merging ring extensions cannot be combined with any memory    */
     /* saving option, due to ordering problems when reembedding.     */
     /* However, the fact that the set of embeddings is reduced would */
@@ -1893,8 +2903,78 @@ public class Miner implements Runnable {
     /* Unclosable ring pruning does no harm, but is useless, since */
     /* with full ring extensions all rings are always closed.      */
 
+    /* --- load prepared graph data set --- */
+    if ((this.dbfn   != null)   /* if to use a prepared graph file */
+    &&  (this.reader != null)
+    &&  ((this.mode & (TRANSFORM|LOGIC)) == 0)) {
+      if (ntn instanceof MoleculeNtn)
+        m = "molecule";         /* get the graph type name */
+      this.log.print("loading prepared " +m +"s ... ");
+      t = System.currentTimeMillis();
+      gf   = new GraphFile(this.dbfn, this.getKey(ntn));
+      list = gf.read(ntn);      /* read the prepared graphs */
+      if (list == null)         /* if there is no valid file */
+        this.log.println("[missing or outdated].");
+      else {                    /* if the prepared graphs were read */
+        this.cnts[0] = this.cnts[1] = 0;
+        for ( ; list != null; list = g) {
+          g = list.succ; this.addGraph(list); n++; }
+        if ((gf.getFlags() & 1) != 0)  /* if pseudo-rings were marked, */
+          this.mode |= CLOSERINGS;     /* set the ring filter flag */
+        prep = true;            /* note that graphs are prepared */
+        t = System.currentTimeMillis() -t;
+        this.log.println("[" +n +" (" +this.cnts[0] +"+" +this.cnts[1]
+                       +") " +m +"(s)] done [" +(t/1000.0) +"s].");
+      }                         /* add the graphs to the database */
+    }                           /* and report the number of graphs */
+
+    /* --- load graph data set --- */
+    if ((this.reader != null)   /* if to read a graph data set */
+    &&  !prep) {
+      t = System.currentTimeMillis();
+      if (this.reader.getNotation() instanceof MoleculeNtn)
+        m = "molecule";         /* get the graph type name */
+      this.log.print("reading " +m +"s ... ");
+      this.cnts[0] = this.cnts[1] = 0;
+      n = ((this.threads > 1) && this.reader.setSplit(true))
+        ? this.loadGraphs() : this.readGraphs();
+      t = System.currentTimeMillis() -t;
+      this.log.println("[" +n +" (" +this.cnts[0] +"+" +this.cnts[1]
+                     +") " +m +"(s)] done [" +(t/1000.0) +"s, "
+                     +((n *1000L) /((t > 0) ? t : 1)) +" records/s].");
+    }                           /* report the number of graphs read */
+    if ((this.graphs != null)   /* get the graph type name */
+    &&  (this.graphs.getNotation() instanceof MoleculeNtn))
+      m = "molecule";           /* (graph or molecule) */
+    if (this.cnts[0] <= 0)      /* check for graphs in focus */
+      throw new IOException("error: no " +m +" in the focus");
+
+    /* --- convert Kekule representations --- */
+    if (!prep                   /* if the graphs are not prepared */
+    &&  (this.graphs != null)   /* and the graphs are molecules */
+    &&  (this.graphs.getNotation() instanceof MoleculeNtn)
+    &&  ((this.mode & AROMATIZE) != 0)) {
+      this.log.print("converting Kekule representations ... ");
+      t = System.currentTimeMillis();
+      k = this.aromatize();     /* turn into true aromatic rings */
+      t = System.currentTimeMillis() -t;
+      this.log.println("[" +k +" " +m+"(s)] done [" +(t/1000.0) +"s].");
+    }                           /* report the number of mod. graphs */
+
+    /* --- convert to another description language --- */
+    if ((this.mode & (TRANSFORM|LOGIC)) != 0) {
+      this.log.print("writing " +m +"s ... ");
+      t = System.currentTimeMillis();
+      this.writeGraphs();       /* write the graph list */
+      t = System.currentTimeMillis() -t;
+      this.log.println("[" +(this.cnts[0] +this.cnts[1])
+                      +" " +m +"(s)] done [" +(t/1000.0) +"s].");
+      return;                   /* print a log message */
+    }                           /* and abort the program */
+
     /* --- mark bridges --- */
-    if ((this.mode & (PR_PERFECT|PR_PARTIAL|CHAINEXT)) != 0) {
+    if (!prep                   /* if the graphs are not prepared */
+    &&  ((this.mode & (PR_PERFECT|PR_PARTIAL|CHAINEXT)) != 0)) {
       this.log.print("marking bridges ... ");
       t = System.currentTimeMillis();
       k = this.markBridges();
@@ -1903,7 +2983,8 @@ public class Miner implements Runnable {
     }                           /* mark bridges in all graphs */
 
     /* --- mark rings --- */
-    if (this.rgmax > 1) {       /* if to mark the edges of rings */
+    if (!prep                   /* if the graphs are not prepared */
+    &&  (this.rgmax > 1)) {     /* and to mark the edges of rings */
       this.log.print("marking rings (sizes " +this.rgmin
                     +" to " +this.rgmax +") ... ");
       t = System.currentTimeMillis();
@@ -1913,7 +2994,8 @@ public class Miner implements Runnable {
     }                           /* mark rings in all graphs */
 
     /* --- mark pseudo-rings --- */
-    if ((this.rgmin > 1)        /* if to mark the edges of rings */
+    if (!prep                   /* if the graphs are not prepared */
+    &&  (this.rgmin > 1)        /* and to mark the edges of rings */
     &&  ((this.mode & FULLRINGS)  != 0)
     &&  ((this.mode & PR_CANONIC) != 0)) {
       this.log.print("marking pseudo-rings (sizes up to "
@@ -1922,11 +3004,12 @@ public class Miner implements Runnable {
       k = this.markPseudo(this.rgmin-1);
       t = System.currentTimeMillis() -t;
       this.log.println("[" +k +" " +m+"(s)] done [" +(t/1000.0) +"s].");
-      if (k > 0) this.mode |= CLOSERINGS;
+      if (k > 0) { this.mode |= CLOSERINGS; f |= 1; }
     }                           /* set ring filter flag if necessary */
 
     /* --- mask node and edge types --- */
-    if ((this.graphs != null)   /* if the graphs are molecules */
+    if (!prep                   /* if the graphs are not prepared */
+    &&  (this.graphs != null)   /* and the graphs are molecules */
     &&  (this.graphs.getNotation() instanceof MoleculeNtn)) {
       this.log.print("masking atom and bond types ... ");
       t = System.currentTimeMillis();
@@ -1935,6 +3018,18 @@ public class Miner implements Runnable {
       this.log.println("[" +k +" " +m+"(s)] done [" +(t/1000.0) +"s].");
     }                           /* (do this only for molecules) */
 
+    /* --- store the prepared graphs --- */
+    if (prep)                   /* if the graphs were loaded prepared, */
+      this.prepSeed();          /* only prepare the seed structure */
+    else if (gf != null) {      /* if to store the prepared graphs */
+      this.log.print("writing prepared " +m +"s ... ");
+      k = this.cnts[0] +this.cnts[1];
+      t = System.currentTimeMillis();
+      gf.write(this.graphs, f); /* write the prepared graphs */
+      t = System.currentTimeMillis() -t;
+      this.log.println("[" +k +" " +m+"(s)] done [" +(t/1000.0) +"s].");
+    }                           /* report the number of graphs */
+
     /* --- prepare the graphs --- */
     this.log.print("preparing/recoding " +m +"s ... ");
     k = this.cnts[0] +this.cnts[1];
@@ -1958,7 +3053,23 @@ public class Miner implements Runnable {
     /* --- search for substructures --- */
     this.log.print("searching for substructures ... ");
     t = System.currentTimeMillis();
-    k = this.search();          /* search for substructures */
+    this.guard = (this.mlim > 0) ? new MemGuard(this.mlim) : null;
+    ec = EmbCache.get();        /* create a memory guard and */
+    ec.init(this.cmem);         /* init. the embedding cache */
+    this.chits = this.cmiss = 0;
+    if ((this.threads > 1)      /* if to compute support in parallel */
+    &&  ((this.type & Fragment.SUPPMASK) != Fragment.GRAPHS))
+      this.spool = new SuppPool(this.threads-1);
+    if ((this.threads > 1)      /* if to search in parallel */
+    &&  ((this.mode & (PR_CANONIC|UNEMBED|VERBOSE)) == PR_CANONIC))
+      this.startWorkers();      /* start the worker threads */
+    try     { k = this.search(); }  /* search for substructures */
+    finally { if (this.workers != null) this.stopWorkers();
+              if (this.spool   != null) {
+                this.spool.shutdown(); this.spool = null; }
+              this.closeRepo(); /* close the repository */
+              this.chits += ec.getHits();
+              this.cmiss += ec.getMisses(); ec.clear(); }
     t = System.currentTimeMillis() -t;
     this.log.println("[" +k +" substructure(s)] done ["
                     +(t/1000.0) +"s].");
@@ -2059,6 +3170,26 @@ public class Miner implements Runnable {
     this.log.println("comparisons with fragments   : " +this.cmpcnt);
     this.log.println("actual isomorphism tests     : " +this.isocnt);
     this.log.println("comparisons with embeddings  : " +this.embcmps);
+    this.log.println("maximum size of repository   : " +this.repsize);
+    this.log.println("memory for repository        : " +this.repmem);
+    this.log.println("spilled repository memory    : " +this.repspill);
+    this.log.println("look-ups rejected by filter  : " +this.fltneg);
+    this.log.println("look-ups passed by filter    : " +this.fltpos);
+    this.log.print  ("false positives of filter    : " +this.fltfp);
+    if (this.fltneg +this.fltfp > 0)
+      this.log.print(" (" +(float)(100.0 *this.fltfp
+                                  /(this.fltneg +this.fltfp)) +"%)");
+    this.log.println();
+    this.log.println("number of stored embeddings  : " +this.embsto);
+    this.log.println("memory for stored embeddings : " +this.embmem);
+    this.log.println("bytes per stored embedding   : "
+                    +((this.embsto > 0)
+                     ? Math.round(10.0 *this.embmem /this.embsto) /10.0
+                     : 0.0));
+    this.log.println("adaptively packed fragments  : " +this.packs);
+    this.log.println("adaptively unpacked fragments: " +this.unpacks);
+    this.log.println("reembeddings taken from cache: " +this.chits);
+    this.log.println("reembeddings not in cache    : " +this.cmiss);
   }  /* stats() */
 
   /*------------------------------------------------------------------*/
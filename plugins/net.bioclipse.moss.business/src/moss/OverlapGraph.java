@@ -10,11 +10,14 @@
   File    : OverlapGraph.java
   Contents: class for an overlap graph for embeddings
   Author  : Christian Borgelt
+            The Bioclipse Team (changes of 2026.10.17)
   History : 2007.06.14 file created
             2007.06.15 greedy maximum independent set computation added
             2007.06.18 exact  maximum independent set computation added
             2007.06.19 both algorithms debugged and optimized
             2007.06.21 function clear() added
+            2026.10.17 exact algorithm replaced by bit set clique search
+            2026.10.17 node index (bit sets) added to function add()
 ----------------------------------------------------------------------*/
 package moss;
 
@@ -134,10 +137,28 @@ public class OverlapGraph {
   private int      best;
   /** the buffer for the nodes (for reordering) */
   private OGNode[] buf;
-  /** the stack of fixed nodes (selected or excluded) */
-  private OGNode[] stack;
-  /** the next position on the stack */
-  private int      pos;
+  /** the graph for which the node index is built
+   *  (<code>null</code> if the node index is not used) */
+  private Graph    graph;
+  /** the node index (for each node of the graph the set of overlap
+   *  graph nodes, as a bit set over their indices, that represent
+   *  embeddings containing the node) */
+  private long[][] index;
+  /** the buffer for the union of rows of the node index */
+  private long[]   union;
+  /** the number of words per row of the adjacency matrix */
+  private int      words;
+  /** the adjacency matrix of the complement of a component
+   *  (one row of bits per node, set bits: non-overlapping nodes) */
+  private long[]   cmpl;
+  /** the candidate node sets (one per recursion level) */
+  private long[][] cands;
+  /** the node orders of the colorings (one per recursion level) */
+  private int[][]  order;
+  /** the colors of the nodes (one array per recursion level) */
+  private int[][]  colors;
+  /** the buffers for the coloring of a candidate set */
+  private long[]   uncol, avail;
 
   /*------------------------------------------------------------------*/
   /** Create a (empty) overlap graph with a default size.
@@ -168,7 +189,10 @@ public class OverlapGraph {
     this.harmful = harmful;     /* note the graph type */
     this.nodes   = new OGNode[size];
     this.cnt     = 0;           /* create a node array */
-    this.stack   = this.buf = null;
+    this.buf     = null;        /* clear the buffers */
+    this.graph   = null;        /* and the node index */
+    this.index   = null;
+    this.union   = null;
   }  /* OverlapGraph() */
 
   /*------------------------------------------------------------------*/
@@ -201,19 +225,62 @@ public class OverlapGraph {
     this.cnt = 0;               /* reinit. the node counter */
   }  /* clear() */
 
+  /*------------------------------------------------------------------*/
+  /** Initialize the node index for a graph.
+   *  <p>The node index can only be used if the nodes of the graph are
+   *  numbered consecutively (see <code>Markers.number()</code>),
+   *  because its rows are indexed with the node identifiers relative
+   *  to the identifier of the first node of the graph.</p>
+   *  @param  graph the graph into which the embeddings refer
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  private void reindex (Graph graph)
+  {                             /* --- initialize the node index */
+    int    i, w;                /* loop variable, words per row */
+    long[] row;                 /* to traverse the rows */
+
+    this.graph = ((graph.nodecnt > 0) && (graph.nodes[0].id >= 0))
+               ? graph : null;  /* check for numbered nodes */
+    if (this.graph == null) return;
+    w = (this.nodes.length +63) >>> 6;
+    if ((this.index == null) || (this.index.length < graph.nodecnt))
+      this.index = new long[graph.nodecnt][];
+    else {                      /* if the old index can be reused */
+      for (i = this.index.length; --i >= 0; ) {
+        row = this.index[i];    /* traverse the rows of the index */
+        if (row == null) continue;
+        if (row.length < w) this.index[i] = null;
+        else Arrays.fill(row, 0);
+      }                         /* clear or delete the rows */
+    }
+    if ((this.union == null) || (this.union.length < w))
+      this.union = new long[w]; /* create a buffer for unions */
+  }  /* reindex() */
+
   /*------------------------------------------------------------------*/
   /** Add an embedding to the overlap graph.
    *  <p>The embedding is compared to all previously added embeddings
    *  and it is checked whether there is a (harmful) overlap with them.
    *  If there is an overlap, the nodes representing the embeddings are
    *  connected with an edge.</p>
+   *  <p>If the nodes of the underlying graph are numbered (see
+   *  <code>Markers.number()</code>) and all embeddings refer to the
+   *  same graph, a node index is maintained, which records for each
+   *  node of the graph the embeddings that contain it (as a bit set).
+   *  The union of the rows of the nodes of the new embedding is then
+   *  exactly the set of overlapping embeddings, so that only harmful
+   *  overlaps have to be checked for individual pairs.</p>
    *  @param  emb the embedding to add
    *  @since  2007.06.14 (Christian Borgelt) */
   /*------------------------------------------------------------------*/
 
   public void add (Embedding emb)
   {                             /* --- add an embedding */
-    int      i, n;              /* loop variable */
+    int      i, k, n, w;        /* loop variables, number of words */
+    int      base;              /* identifier of first graph node */
+    long     b, m;              /* to traverse the bit sets */
+    long[]   row;               /* to traverse the index rows */
     OGNode[] tmp = this.nodes;  /* buffer for the old node array */
     int      max = tmp.length;  /* (new) array size */
     OGNode   s, d;              /* buffers for nodes to connect */
@@ -221,20 +288,77 @@ public class OverlapGraph {
     if (this.cnt >= max) {      /* if the node array is full */
       this.nodes = new OGNode[max += max >> 1];
       System.arraycopy(tmp, 0, this.nodes, 0, this.cnt);
-    }                           /* enlarge the array and copy nodes */
-    for (n = 0, i = this.cnt; --i >= 0; ) {
-      d = this.nodes[i];        /* traverse the existing nodes */
-      n += d.mark = (emb.overlaps(d.emb, this.harmful)) ? 1 : 0;
-    }                           /* count overlaps and mark embeddings */
+      if (this.graph != null) { /* enlarge the array and copy nodes */
+        w = (max +63) >>> 6;    /* get the new number of words */
+        for (i = this.index.length; --i >= 0; ) {
+          row = this.index[i];  /* traverse the rows of the index */
+          if ((row != null) && (row.length < w))
+            this.index[i] = Arrays.copyOf(row, w);
+        }                       /* enlarge the rows of the index */
+        if (this.union.length < w) this.union = new long[w];
+      }                         /* enlarge the union buffer */
+    }
+    if      (this.cnt <= 0)     /* if this is the first embedding, */
+      this.reindex(emb.graph);  /* initialize the node index */
+    else if (emb.graph != this.graph)
+      this.graph = null;        /* disable index for other graphs */
+
+    if (this.graph == null) {   /* if not to use the node index */
+      for (n = 0, i = this.cnt; --i >= 0; ) {
+        d = this.nodes[i];      /* traverse the existing nodes */
+        n += d.mark = (emb.overlaps(d.emb, this.harmful)) ? 1 : 0;
+      }                         /* count overlaps and mark embeddings */
+      this.nodes[this.cnt] =    /* create a new node and */
+      s = new OGNode(emb, n);   /* add it to the node array */
+      for (--max, i = this.cnt++; --i >= 0; ) {
+        d = this.nodes[i];      /* traverse the existing embeddings, */
+        if (d.mark <= 0) continue; /* but skip non-overlapping ones */
+        if (d.deg  >= d.adjs.length) d.enlarge(max);
+        d.adjs[d.deg++] = s;    /* add the nodes to each other's */
+        s.adjs[s.deg++] = d;    /* adjacent node arrays */
+      }                         /* (add an edge between the nodes) */
+      return;                   /* abort the function */
+    }
+
+    base = this.graph.nodes[0].id;
+    w    = (this.cnt +63) >>> 6;/* get the first node identifier */
+    Arrays.fill(this.union, 0, w, 0);
+    for (i = emb.nodes.length; --i >= 0; ) {
+      row = this.index[emb.nodes[i].id -base];
+      if (row == null) continue;/* traverse the nodes and */
+      for (k = w; --k >= 0; )   /* collect the embeddings */
+        this.union[k] |= row[k];/* that contain the same nodes */
+    }                           /* (the overlapping embeddings) */
+    for (n = 0, k = w; --k >= 0; ) {
+      for (b = this.union[k]; b != 0; b &= ~m) {
+        m = Long.highestOneBit(b);
+        if (!this.harmful       /* traverse the overlapping emb. */
+        ||  emb.overlapsHarmfully(this.nodes[(k << 6)
+                                 +Long.numberOfTrailingZeros(m)].emb))
+          n++;                  /* count (harmful) overlaps */
+        else                    /* and remove embeddings that */
+          this.union[k] &= ~m;  /* do not overlap harmfully */
+      }
+    }
     this.nodes[this.cnt] =      /* create a new node and */
     s = new OGNode(emb, n);     /* add it to the node array */
-    for (--max, i = this.cnt++; --i >= 0; ) {
-      d = this.nodes[i];        /* traverse the existing embeddings, */
-      if (d.mark <= 0) continue;/* but skip non-overlapping ones */
-      if (d.deg  >= d.adjs.length) d.enlarge(max);
-      d.adjs[d.deg++] = s;      /* add the nodes to each other's */
-      s.adjs[s.deg++] = d;      /* adjacent node arrays */
-    }                           /* (add an edge between the nodes) */
+    for (--max, k = w; --k >= 0; ) {
+      for (b = this.union[k]; b != 0; b &= ~m) {
+        m = Long.highestOneBit(b);
+        d = this.nodes[(k << 6) +Long.numberOfTrailingZeros(m)];
+        if (d.deg >= d.adjs.length) d.enlarge(max);
+        d.adjs[d.deg++] = s;    /* add the nodes to each other's */
+        s.adjs[s.deg++] = d;    /* adjacent node arrays */
+      }                         /* (traverse the overlapping */
+    }                           /* embeddings in descending order) */
+    w = (this.nodes.length +63) >>> 6;
+    k = this.cnt++;             /* get the index of the new node */
+    for (i = emb.nodes.length; --i >= 0; ) {
+      row = this.index[emb.nodes[i].id -base];
+      if (row == null)          /* traverse the nodes and */
+        row = this.index[emb.nodes[i].id -base] = new long[w];
+      row[k >>> 6] |= 1L << k;  /* add the new embedding */
+    }                           /* to the rows of its nodes */
   }  /* add() */
 
   /*------------------------------------------------------------------*/
@@ -255,7 +379,6 @@ public class OverlapGraph {
    *  in the reduced overlap graph) are selected (by calling this
    *  function recursively).</p>
    *  @param  node the node to select
-   *  @see    #selectSafeRev(OGNode)
    *  @since  2007.06.15 (Christian Borgelt) */
   /*------------------------------------------------------------------*/
 
@@ -330,188 +453,154 @@ public class OverlapGraph {
   }  /* greedy() */
 
   /*------------------------------------------------------------------*/
-  /** Select a safe node for an independent node set.
-   *  <p>Version for reversible selection, exact algorithm.</p>
-   *  @param  node the leaf node to select
-   *  @see    #selectSafe(OGNode)
-   *  @since  2007.06.18 (Christian Borgelt) */
-  /*------------------------------------------------------------------*/
-
-  private void selectSafeRev (OGNode node)
-  {                             /* --- select a safe node */
-    int    i, n;                /* loop variables */
-    OGNode s, d;                /* to traverse the nodes */
-
-    this.stack[this.pos++] = node;  /* mark the node as selected */
-    node.mark = this.pos +this.pos;
-    this.sel++; this.rem--;     /* update the node counters */
-    if (node.red <= 0) return;  /* if the node is isolated, abort */
-    for (i = node.deg; node.adjs[--i].mark >= 0; );
-    s = node.adjs[i];           /* find the unprocessed neighbor */
-    s.mark = node.mark +1;      /* and exclude this neighbor */
-    this.rem--; n = 0;          /* update the rem. node counter */
-    for (i = s.deg; --i >= 0; ) {
-      d = s.adjs[i];            /* reduce degrees of the neighbors */
-      if ((d.mark < 0) && (--d.red <= 1)) n++;
-    }                           /* count isolated nodes and leaves */
-    if (n <= 0) return;         /* if no recursion needed, abort */
-    for (i = s.deg; --i >= 0; ) {
-      d = s.adjs[i];            /* traverse the neighbor's neighbors */
-      if ((d.mark < 0) && (d.red <= 1)) this.selectSafeRev(d);
-    }                           /* select safe nodes recursively */
-  }  /* selectSafeRev() */
-
-  /*------------------------------------------------------------------*/
-  /** Select a node for an independent node set.
-   *  <p>The given node is selected and its neighbors are excluded.
-   *  In addition, all neighbors of these excluded neighbors that
-   *  become safe to select due to the exclusion (that is, which are
-   *  either isolated nodes or leaves in the reduced overlap graph)
-   *  are selected (by calling this function recursively).</p>
-   *  <p>The selection can be undone by calling the function
-   *  {@link #restore(OGNode)} with the same node.</p>
-   *  @param  node the node to select
-   *  @see    #restore(OGNode)
-   *  @since  2007.06.17 (Christian Borgelt) */
-  /*------------------------------------------------------------------*/
-
-  private void select (OGNode node)
-  {                             /* --- select a node */
-    int    i, k, m, n = 0;      /* loop variables, buffers */
-    OGNode s, d;                /* to traverse the nodes */
-
-    this.stack[this.pos++] = node;
-    node.mark = this.pos << 1;  /* mark the node as selected */
-    this.sel++; this.rem--;     /* update the node counters */
-    m = node.mark +1;           /* get the exclusion marker */
-    for (i = node.deg; --i >= 0; ) {
-      s = node.adjs[i]; if (s.mark < 0) s.mark = m; }
-    this.rem -= node.red;       /* mark the neighbors as excluded */
-    for (i = node.deg; --i >= 0; ) {
-      s = node.adjs[i];         /* traverse the excluded neighbors */
-      if (s.mark != m) continue;
-      for (k = s.deg; --k >= 0; ) {
-        d = s.adjs[k];          /* traverse each neighbor's neighbors */
-        if ((d.mark < 0) && (--d.red <= 1)) n++;
-      }                         /* reduce degrees of the neighbors, */
-    }                           /* count isolated nodes and leaves */
-    if (n <= 0) return;         /* if no recursion needed, abort */
-    for (i = node.deg; --i >= 0; ) {
-      s = node.adjs[i];         /* traverse the excluded neighbors */
-      if (s.mark != m) continue;
-      for (k = s.deg; --k >= 0; ) {
-        d = s.adjs[k];          /* traverse each neighbor's neighbors */
-        if ((d.mark < 0) && (d.red <= 1)) this.selectSafeRev(d);
-      }                         /* select safe nodes recursively */
-    }                           /* (but in a restorable way) */
-  }  /* select() */
-
-  /*------------------------------------------------------------------*/
-  /** Exclude a node from an independent set.
-   *  <p>The node is excluded from an independent set and the node
-   *  degrees of its neighbors are reduced. If this creates isolated
-   *  nodes or leaves in the reduced overlap graph, these nodes are
-   *  selected recursively (by calling the function
-   *  {@link #selectSafeRev(OGNode)}).</p>
-   *  <p>The exclusion can be undone by calling the function
-   *  {@link #restore(OGNode)} with the same node.</p>
-   *  @param  node the node to exclude
-   *  @see    #restore(OGNode)
-   *  @since  2007.06.17 (Christian Borgelt) */
-  /*------------------------------------------------------------------*/
-
-  private void exclude (OGNode node)
-  {                             /* --- exclude a node */
-    int    i, n = 0;            /* loop variable */
-    OGNode d;                   /* to traverse the adjacent nodes */
-
-    this.stack[this.pos++] = node;
-    node.mark = 2 *this.pos +1; /* mark the node as excluded */
-    this.rem--;                 /* update the rem. node counter */
-    for (i = node.deg; --i >= 0; ) {
-      d = node.adjs[i];         /* reduce degrees of neighbors */
-      if ((d.mark < 0) && (--d.red <= 1)) n++;
-    }                           /* count isolated nodes and leaves */
-    if (n <= 0) return;         /* if no recursion needed, abort */
-    for (i = node.deg; --i >= 0; ) {
-      d = node.adjs[i];         /* traverse the neighbors again */
-      if ((d.mark < 0) && (d.red <= 1)) this.selectSafeRev(d);
-    }                           /* select safe nodes recursively */
-  }  /* exclude() */
-
-  /*------------------------------------------------------------------*/
-  /** Restore the state of the overlap graph.
-   *  <p>The node and all nodes, which were selected as a consequence
-   *  of it being selected or excluded, are marked as unprocessed.
-   *  Their reduced node degrees are reset to the state before the
-   *  selection or exclusion.</p>
-   *  @param  node the node to deselect
-   *  @see    #select(OGNode)
-   *  @see    #exclude(OGNode)
-   *  @since  2007.06.17 (Christian Borgelt) */
-  /*------------------------------------------------------------------*/
-
-  private void restore (OGNode node)
-  {                             /* --- restore the state of the graph */
-    int    i, k;                /* loop variables */
-    OGNode r, s, d;             /* to traverse the nodes */
-
-    do {                        /* traverse the node stack */
-      r = this.stack[--this.pos];
-      if ((r.mark & 1) == 0) {  /* if the node was selected */
-        for (i = r.deg; --i >= 0; ) {
-          s = r.adjs[i];        /* traverse the node's neighbors */
-          if (s.mark <= r.mark) continue;
-          for (k = s.deg; --k >= 0; ) {
-            d = s.adjs[k]; if (d.mark < 0) d.red++; }
-    }                       /* increase degree of their neighbors */
-        for (i = r.deg; --i >= 0; ) {
-          s = r.adjs[i]; if (s.mark > r.mark) s.mark = -1; }
-        this.rem += r.red;      /* unexclude the node's neighbors */
-        this.sel--; }           /* the node is no longer selected */
-      else {                    /* if the node was excluded */
-        for (i = r.deg; --i >= 0; ) {
-          s = r.adjs[i]; if (s.mark < 0) s.red++; }
-      }                         /* increase node degrees of neighbors */
-      this.rem++;               /* add the node to the rem. nodes */
-      r.mark = -1;              /* mark the node as unprocessed */
-    } while (r != node);        /* while not back at reference node */
-  }  /* restore() */
-
-  /*------------------------------------------------------------------*/
-  /** Find a maximum independent set recursively (branch and bound).
+  /** Find a maximum clique recursively (branch and bound).
+   *  <p>The candidate nodes (that is, the nodes that are adjacent to
+   *  all nodes of the current clique in the complement graph) are
+   *  colored greedily, so that no two nodes with the same color are
+   *  adjacent. Since a clique cannot contain two nodes with the same
+   *  color, the number of colors used for the nodes up to a given one
+   *  is an upper bound for the number of nodes by which the clique
+   *  can be extended with these nodes. Hence the nodes are processed
+   *  in the reverse order of their colors, and the recursion is
+   *  stopped as soon as this bound shows that no clique larger than
+   *  the best one found yet can be reached.</p>
+   *  @param  depth the recursion depth (index of the candidate set)
+   *  @param  size  the size of the current clique
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  private void expand (int depth, int size)
+  {                             /* --- find a maximum clique */
+    int      i, j, k, n, c;     /* loop variables, counters */
+    int      v, r;              /* node index, row offset */
+    int      w = this.words;    /* number of words per row */
+    long     b;                 /* buffer for a word of a bit set */
+    long[]   cand, next;        /* current and next candidate set */
+    int[]    ord, col;          /* node order and node colors */
+    long[][] t;                 /* buffer for reallocation */
+
+    cand = this.cands[depth];   /* get the candidate set */
+    for (n = i = 0; i < w; i++) /* and count the candidates */
+      n += Long.bitCount(cand[i]);
+    if (depth+1 >= this.cands.length) {
+      k = this.cands.length << 1;    /* if the buffers are full, */
+      t = new long[k][];        /* enlarge the buffer arrays */
+      System.arraycopy(this.cands,  0, t, 0, depth+1);
+      this.cands = t;
+      this.order  = Arrays.copyOf(this.order,  k);
+      this.colors = Arrays.copyOf(this.colors, k);
+    }                           /* (one entry per recursion level) */
+    next = this.cands[depth+1]; /* get the next candidate set */
+    if (next == null) next = this.cands[depth+1] = new long[w];
+    ord  = this.order [depth];  /* get the buffers for the coloring */
+    col  = this.colors[depth];
+    if ((ord == null) || (ord.length < n)) {
+      ord = this.order [depth] = new int[n];
+      col = this.colors[depth] = new int[n];
+    }                           /* (re)allocate if necessary */
+
+    /* --- color the candidates greedily --- */
+    System.arraycopy(cand, 0, this.uncol, 0, w);
+    for (k = c = 0; k < n; ) {  /* while there are uncolored nodes */
+      System.arraycopy(this.uncol, 0, this.avail, 0, w);
+      c++;                      /* start a new color class */
+      for (i = 0; i < w; ) {    /* traverse the available nodes */
+        b = this.avail[i];      /* get the next word of the set */
+        if (b == 0) { i++; continue; }
+        v = Long.numberOfTrailingZeros(b);
+        this.avail[i]  = b & (b-1);   /* remove the lowest node */
+        this.uncol[i] &= ~(1L << v);  /* from the available and */
+        v += i << 6;            /* the uncolored nodes and note it */
+        ord[k] = v; col[k++] = c;
+        for (j = i, r = v*w +i; j < w; j++)
+          this.avail[j] &= ~this.cmpl[r++];
+      }                         /* remove the node's neighbors */
+    }                           /* from the available nodes */
+
+    /* --- branch on the candidates --- */
+    for (k = n; --k >= 0; ) {   /* traverse the nodes backwards */
+      if (size +col[k] <= this.best)
+        return;                 /* check if a larger clique is possible */
+      v = ord[k]; r = v*w;      /* get the next node to add */
+      for (b = i = 0; i < w; i++)
+        b |= next[i] = cand[i] & this.cmpl[r+i];
+      if      (b != 0)          /* if there are candidates left, */
+        this.expand(depth+1, size+1);     /* extend recursively, */
+      else if (size+1 > this.best)  /* otherwise update the best */
+        this.best = size+1;         /* clique size found yet */
+      cand[v >>> 6] &= ~(1L << v);
+    }                           /* remove the processed node */
+  }  /* expand() */
+
+  /*------------------------------------------------------------------*/
+  /** Process a connected component with an exact algorithm.
+   *  <p>A maximum independent set of the component is a maximum
+   *  clique of its complement graph. Hence the adjacency matrix of
+   *  the complement graph is built as an array of bit sets (one row
+   *  per node) and a maximum clique is searched with a branch and
+   *  bound scheme that uses greedy colorings for the bounds
+   *  (see {@link #expand(int,int)}).</p>
+   *  <p>The nodes are numbered in the order of increasing reduced
+   *  node degree, so that nodes with few overlaps, which are most
+   *  likely part of a maximum independent set, are colored first
+   *  and thus receive the smallest colors.</p>
    *  @param  beg the start of the node range (included)
    *  @param  end the end   of the node range (excluded)
-   *  @since  2007.06.17 (Christian Borgelt) */
+   *  @return the size of a maximum independent set of the component
+   *  @since  2026.10.17 (The Bioclipse Team) */
   /*------------------------------------------------------------------*/
 
-  private void recurse (int beg, int end)
-  {                             /* --- find an MIS recursively */
-    int    i, k;                /* loop variables */
+  private int clique (int beg, int end)
+  {                             /* --- process a component exactly */
+    int    i, k, j, n, w, r;    /* loop variables, sizes, row offset */
+    long[] cmpl;                /* adjacency matrix of complement */
     OGNode s, d;                /* to traverse the nodes */
 
-    if (this.rem <= 3) {        /* if there at most three nodes left */
-      k = this.sel +(this.rem & 1);
-      if (k > this.best) this.best = k;
-      return;                   /* solve the rest graph directly */
-    }                           /* and update the best solution */
-    if (this.sel +this.rem <= this.best)
-      return;                   /* check if a larger IS is possible */
-    while (this.buf[--end].mark >= 0)
-      ;                         /* find the next unprocessed node */
-    for (s = this.buf[i = k = end]; --i >= beg; ) {
-      d = this.buf[i];          /* traverse the remaining nodes */
-      if ((d.mark < 0) && (d.red > s.red)) { s = d; k = i; }
-    }                           /* find a node with maximum degree */
-    this.buf[k]   = this.buf[end];
-    this.buf[end] = s;          /* swap the found node to the end */
-    this.select (s);            /* select the node, */
-    this.recurse(beg, end);     /* find MIS for rest recursively, */
-    this.restore(s);            /* and restore the previous state */
-    this.exclude(s);            /* exclude the node, */
-    this.recurse(beg, end);     /* find MIS for rest recursively, */
-    this.restore(s);            /* and restore the previous state */
-  }  /* recurse() */
+    for (i = beg; i < end; i++) {
+      s = this.buf[i]; s.mark = s.red; }
+    Arrays.sort(this.buf, beg, end);  /* sort nodes by their degrees */
+    for (i = beg; i < end; i++) /* number the nodes of the component */
+      this.buf[i].mark = -2 -(i -beg);
+    /* Nodes outside the component that are adjacent to nodes of the */
+    /* component have been selected or excluded and thus have non-  */
+    /* negative markers, so that they are easily recognized.        */
+
+    /* --- build the adjacency matrix --- */
+    n = end -beg;               /* get the number of nodes and */
+    this.words = w = (n +63) >>> 6;     /* the words per row */
+    cmpl = this.cmpl;           /* get the adjacency matrix */
+    if ((cmpl == null) || (cmpl.length < n*w))
+      this.cmpl = cmpl = new long[n*w];
+    for (i = 0; i < n; i++) {   /* traverse the rows of the matrix */
+      r = i*w;                  /* get the offset of the row */
+      for (k = 0; k < w-1; k++) cmpl[r+k] = -1L;
+      cmpl[r+w-1] = -1L >>> (-n & 63);  /* set the bits of all nodes */
+      cmpl[r +(i >>> 6)] &= ~(1L << i);  /* except the node itself */
+      s = this.buf[beg+i];      /* traverse the adjacent nodes */
+      for (k = s.deg; --k >= 0; ) {
+        d = s.adjs[k];          /* skip nodes outside the component */
+        if (d.mark > -2) continue;
+        j = -2 -d.mark;         /* clear the bits of overlapping */
+        cmpl[r +(j >>> 6)] &= ~(1L << j);
+      }                         /* embeddings (adjacent nodes) */
+    }
+
+    /* --- find a maximum clique --- */
+    this.cands  = new long[16][];
+    this.order  = new int [16][];
+    this.colors = new int [16][];
+    this.uncol  = new long[w];  /* create the search buffers */
+    this.avail  = new long[w];
+    this.cands[0] = cmpl = new long[w];
+    for (k = 0; k < w-1; k++) cmpl[k] = -1L;
+    cmpl[w-1] = -1L >>> (-n & 63);  /* all nodes are candidates */
+    this.best = 0;              /* init. the best clique size */
+    this.expand(0, 0);          /* find a maximum clique */
+    this.cands = null;          /* "delete" the search buffers */
+    this.order = this.colors = null;
+    this.uncol = this.avail  = null;
+    return this.best;           /* return the size of the clique */
+  }  /* clique() */
 
   /*------------------------------------------------------------------*/
   /** Find the size of a maximum independent node set (MIS).
@@ -531,11 +620,10 @@ public class OverlapGraph {
 
   /*------------------------------------------------------------------*/
   /** Find the size of a maximum independent node set (MIS).
-   *  <p>This function uses an exact algorithm based on a recursive
-   *  node selection/exclusion scheme. It guarantees the optimal
-   *  solution, but has exponential time complexity. In addition,
-   *  it does not exploit all possible tricks, but is rather a fairly
-   *  straightforward implementation of the basic search scheme.</p>
+   *  <p>This function uses an exact algorithm, which searches for
+   *  a maximum clique in the complement of each connected component
+   *  (see {@link #clique(int,int)}). It guarantees the optimal
+   *  solution, but has exponential time complexity.</p>
    *  @return the size of a maximum independent node set
    *  @see    #getMISSize(boolean)
    *  @since  2007.06.14 (Christian Borgelt) */
@@ -610,8 +698,7 @@ public class OverlapGraph {
     Arrays.sort(this.buf);      /* sort nodes according to markers */
 
     /* --- process the connected components --- */
-    i = this.rem;               /* create a stack for exact algorithm */
-    if (!greedy) this.stack = new OGNode[i];
+    i = this.rem;               /* start at the end of the buffer */
     while (--c >= 0) {          /* traverse the connected components */
       for (k = i; --i >= 0; )   /* find the start of the component */
         if (this.buf[i].mark != c) break;                
@@ -627,14 +714,11 @@ public class OverlapGraph {
         this.buf[n].mark = -1;  /* and clear the node markers */
       if (greedy) { this.greedy(i, k); continue; }
       /* If not to use the exact algorithm, use the greedy variant. */
-      this.pos  = 0;            /* init. the node stack position */
-      this.best = this.sel;     /* and the node selection counter */
-      this.recurse(i, k);       /* find an MIS for the component */
-      this.sel  = this.best;    /* and store the best size found */
-    }                           /* (this.sel has been reset) */
-
-    this.stack = null;          /* "delete" the node stack */
-    this.buf   = null;          /* and the node buffer */
+      this.sel += this.clique(i, k);
+    }                           /* find an MIS for the component */
+
+    this.buf   = null;          /* "delete" the node buffer */
+    this.cmpl  = null;          /* and the adjacency matrix */
     return this.sel;            /* return the size of an MIS */
   }  /* getMISSize() */
 
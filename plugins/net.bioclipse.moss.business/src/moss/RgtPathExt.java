@@ -11,6 +11,7 @@
   Contents: Molecular fragment extension management
             (depth first search/rightmost path extension)
   Author  : Christian Borgelt
+            The Bioclipse Team (changes of 2026.10.17)
   History : 2002.03.11 file created as file submol.java
             2005.08.11 class Extension made abstract, second strategy
             2005.08.13 precomputation of rightmost path added
@@ -30,6 +31,8 @@
             2007.03.24 adapted to new functions of super-class
             2007.06.21 adapted to new class TypeMgr
             2007.10.19 bug in ring extension handling fixed
+            2026.10.17 markers made thread-confined (class Markers)
+            2026.10.17 function compare added (extension grouping)
 ----------------------------------------------------------------------*/
 package moss;
 
@@ -108,12 +111,14 @@ public class RgtPathExt extends Extension {
   @Override
 public void init (Fragment frag, Embedding emb)
   {                             /* --- init. a rightmost extension */
-    int  i, k, n;               /* loop variables, edge counter */
+    int  i, k, n, m, a;         /* loop variables, edge counter */
     Node s, d;                  /* to traverse/access the nodes */
     Edge e, x;                  /* to traverse/access the edges */
     int  v[];                   /* buffer for reallocation */
 
-    emb.index();                /* mark the embedding in the graph */
+    if (this.marks == null)     /* get the markers of the thread */
+      this.marks = Markers.get(); /* (on the first use) */
+    emb.index(this.marks);      /* mark the embedding in the graph */
     this.emb  = emb;            /* note the embedding to extend */
     this.src  = emb.nodes.length -1;
     this.pbi  =  0;             /* start with the first edge of */
@@ -125,20 +130,21 @@ public void init (Fragment frag, Embedding emb)
     this.frag = frag;           /* otherwise note the new fragment */
     n = 0; e = null;            /* init. the number of edges and */
     s = emb.nodes[frag.dst];    /* get rightmost leaf (end of path) */
-    while (s.mark > 0) {        /* construct rightmost path upwards */
-      for (k = -1, i = s.deg; --i >= 0; ) {
+    while ((a = this.marks.get(s)) > 0) { /* construct rightmost */
+      for (k = -1, i = s.deg; --i >= 0; ) {   /* path upwards */
         x = s.edges[i];         /* traverse the marked edges */
-        if (x.mark < 0) continue;
+        if (this.marks.get(x) < 0) continue;
         d = (x.src != s) ? x.src : x.dst;
-        if ((d.mark > k) && (d.mark < s.mark)) {
-          k = d.mark; e = x; }  /* find the adjacent node with the */
+        m = this.marks.get(d);  /* get the adjacent node's marker */
+        if ((m > k) && (m < a)) {
+          k = m; e = x; }       /* find the adjacent node with the */
       }                         /* largest index smaller than own */
       if (n >= this.path.length) {
         v = new int[n +(n >> 1)];
         System.arraycopy(this.path, 0, v, 0, n);
         this.path = v;          /* if the edge index array */
       }                         /* is too small, enlarge it */
-      this.path[n++] = e.mark;  /* note the index of the next edge */
+      this.path[n++] = this.marks.get(e);  /* note the edge index */
       s = emb.nodes[k];         /* on the rightmost path and */
     }                           /* get the next path node */
   }  /* init() */
@@ -160,6 +166,7 @@ public void init (Fragment frag, Embedding emb)
   @Override
 public boolean next ()
   {                             /* --- create the next extension */
+    int  m;                     /* marker of the destination node */
     Node s, d, y, p[];          /* to traverse/access the nodes */
     Edge e, x;                  /* to traverse/access the edges */
 
@@ -184,10 +191,10 @@ public boolean next ()
         continue;               /* (may be add. node or end of path) */
       }                         /* and start with its first edge */
       e = s.edges[this.idx];    /* get the next edge of this node */
-      if (e.mark != -1)         /* if the edge is in the embedding */
+      if (this.marks.get(e) != -1)  /* if the edge is in the emb. */
         continue;               /* or excluded, it cannot be added */
       d = (s != e.src) ? e.src : e.dst;
-      if ((d.mark < 0)          /* if node is not in the embedding */
+      if ((this.marks.get(d) < 0)   /* if node is not in the emb. */
       &&  (p.length +this.frag.chcnt >= this.max))
         continue;               /* check whether a new node is ok */
       if (this.store(s, e, d)) return true;
@@ -197,13 +204,14 @@ public boolean next ()
     while (true) {              /* find the next unprocessed edge */
       while (++this.idx >= s.deg) {
         if (this.src <= 0) {    /* if node's last edge is processed, */
-          this.emb.mark(-1);    /* check for another path edge and */
-          return false;         /* if there is none (at the root), */
-        }                       /* unmark the embedding and abort */
+          this.emb.mark(this.marks, -1);  /* check for another */
+          return false;         /* path edge and if there is none */
+        }                       /* (at the root), unmark and abort */
         e = this.emb.edges[this.path[this.pbi++]];
         s = e.src; d = e.dst;   /* get next path edge and its nodes */
-        if (d.mark < s.mark) { s = d; d = e.src; }
-        this.src = s.mark;      /* note next node on rightmost path */
+        if (this.marks.get(d) < this.marks.get(s)) {
+          s = d; d = e.src; }   /* orient the path edge downwards */
+        this.src = this.marks.get(s);  /* note next node on path */
         this.idx = -1;          /* find the downward edge from it */
         while (s.edges[++this.idx] != e);
         while (--this.idx >= 0){/* check for equivalent edges */
@@ -214,18 +222,19 @@ public boolean next ()
         }                       /* (equivalent processed edges */
       }                         /*  must be considered again) */
       e = s.edges[this.idx];    /* get the next edge of this node */
-      if (e.mark != -1)         /* if the edge is in the embedding */
+      if (this.marks.get(e) != -1)  /* if the edge is in the emb. */
         continue;               /* or excluded, it cannot be added */
       d = (s != e.src) ? e.src : e.dst;
-      if ((d.mark >= 0)         /* skip edges closing a ring that */
-      &&  (d.mark <  this.frag.dst)   /* do not lead to the leaf */
-      &&  (s.mark >= this.frag.src))  /* or start below the source */
+      m = this.marks.get(d);    /* get the destination node marker */
+      if ((m >= 0)              /* skip edges closing a ring that */
+      &&  (m <  this.frag.dst)  /* do not lead to the leaf */
+      &&  (this.src >= this.frag.src)) /* or start below the source */
         continue;                     /* of the preceding edge */
       /* Note that the above check allows edges closing a ring that */
       /* lead from any node to an additional node (that is, a node  */
       /* having an index greater than that of the rightmost leaf).  */
       /* It only rejects certain edges between nodes on the path.   */
-      if ((d.mark < 0)          /* if node is not in the embedding */
+      if ((m < 0)               /* if node is not in the embedding */
       &&  (p.length +this.frag.chcnt >= this.max))
         continue;               /* check whether a new node is ok */
       if (this.store(s, e, d)) return true;
@@ -250,7 +259,8 @@ public boolean next ()
     this.nodes[0] = src;        /* note the anchor node and the */
     this.edges[0] = edge;       /* (first) edge of the extension */
     this.nodes[1] = dst;        /* note the destination node */
-    this.dst = (dst.mark >= 0) ? dst.mark : this.emb.nodes.length;
+    this.dst = this.marks.get(dst);   /* get the dest. node index */
+    if (this.dst < 0) this.dst = this.emb.nodes.length;
     if (edge.isInRing()         /* if a ring extension is possible */
     && ((this.mode & RING) != 0)) {
       this.all  = edge.getRings();  /* note the ring flags and */
@@ -259,7 +269,7 @@ public boolean next ()
     }                           /* with this edge is admissible */
     if ((this.mode & EDGE) == 0)/* if single edge extension, */
       return false;             /* check for an edge extensions */
-    this.nodecnt = (dst.mark < 0) ? 1 : 0;
+    this.nodecnt = (this.dst >= this.emb.nodes.length) ? 1 : 0;
     this.edgecnt = 1;           /* zero/one new node, one new edge */
     this.size    = 0;           /* clear the extension size */
     this.chcnt   = this.frag.chcnt;
@@ -291,23 +301,26 @@ protected boolean validRing ()
     s = this.nodes[0];          /* get the anchor node (source), */
     e = this.edges[0];          /* the first ring edge, */
     d = this.nodes[1];          /* and its destination node */
-    if ((d.mark >= 0) && (d.mark < s.mark))
+    sm = this.marks.get(s);     /* get the anchor node index */
+    dm = this.marks.get(d);     /* and the destination index */
+    if ((dm >= 0) && (dm < sm))
       return false;             /* check for a forward first edge */
     n = this.emb.nodes.length;  /* get default destination index */
     for (i = this.size; --i > 0; ) {
       ring = this.edges[i];     /* traverse the other ring edges */
-      if (ring.mark >= 0) continue;  /* that are not in the base */
-      sm = (ring.src.mark >= 0) ? ring.src.mark : n;
-      dm = (ring.dst.mark >= 0) ? ring.dst.mark : n;
+      if (this.marks.get(ring) >= 0)
+        continue;               /* that are not in the base */
+      sm = this.marks.get(ring.src); if (sm < 0) sm = n;
+      dm = this.marks.get(ring.dst); if (dm < 0) dm = n;
       if (dm < sm) dm = sm;     /* get index of destination node */
       if (dm < this.dst) break; /* check for a better first edge */
     }                           /* (with smaller dest. node index) */
     if (i > 0) return false;    /* if a better way found, skip ring */
     this.sym = false;           /* default: locally asymmetric */
     ring = this.edges[this.size-1];
-    if (ring.mark >= 0)       return true;
+    if (this.marks.get(ring) >= 0) return true;
     node = (ring.src  != s) ? ring.src  : ring.dst;
-    dm   = (node.mark >= 0) ? node.mark : n;
+    dm   = this.marks.get(node); if (dm < 0) dm = n;
     if (dm        > this.dst) return true;
     if (dm        < this.dst) return false;
     if (ring.type > e.type)   return true;
@@ -334,7 +347,7 @@ protected boolean validRing ()
   @Override
 protected void initVars ()
   {                             /* --- init. ring extension variants */
-    int   i;                    /* loop variable */
+    int   i, m, a;              /* loop variable, markers */
     Edge  e, r;                 /* to access/traverse the edges */
     Node  s, d, x;              /* to access/traverse the nodes */
     int[] p;                    /* buffer for reallocation */
@@ -344,19 +357,21 @@ protected void initVars ()
     r = this.edges[0];          /* get the first edge of the ring */
     s = this.nodes[0];          /* and its source and */
     d = this.nodes[1];          /* destination node */
+    a = this.marks.get(s);      /* get the source node marker */
     for (i = s.deg; --i >= 0; ) {
       e = s.edges[i];           /* traverse the edges of the source */
-      if (e.mark <= this.frag.idx) continue;
+      m = this.marks.get(e);    /* and get their markers */
+      if (m <= this.frag.idx) continue;
       if (e.type != r.type) continue;   /* skip uneligible edges */
       x = (e.src != s) ? e.src : e.dst; /* (fixed or wrong type) */
-      if (x.mark <  s.mark) continue;   /* skip backward edges */
+      if (this.marks.get(x) < a) continue;  /* skip backward edges */
       if (x.type != d.type) continue;   /* (to preceding node) */
       if (this.pmax >= this.eqpos.length) {
         p = new int[this.pmax +(this.pmax >> 1)];
         System.arraycopy(this.eqpos, 0, p, 0, this.pmax);
         this.eqpos = p;         /* enlarge the position array */
       }                         /* and copy existing elements */
-      this.eqpos[this.pmax++] = e.mark;
+      this.eqpos[this.pmax++] = m;
     }                           /* collect equivalent positions */
     this.pmin = this.pmax;      /* get the first equivalent position */
     this.pos1 = (--this.pmin < 0) ? -1 : this.eqpos[this.pmin];
@@ -569,6 +584,44 @@ public int compareTo (Fragment frag)
          ? 0 : this.compareRing(frag);
   }  /* compareTo() */
 
+  /*------------------------------------------------------------------*/
+  /** Compare two fragments created from extensions of a fragment.
+   *  <p>This function defines the same order as the function
+   *  <code>compareTo()</code> (see <code>Extension.compare()</code>).
+   *  </p>
+   *  @param  f1 the first  fragment to compare
+   *  @param  f2 the second fragment to compare
+   *  @return <code>-1</code>, <code>0</code>, or <code>+1</code>
+   *          as the first fragment is less than, equal to, or greater
+   *          than the second fragment
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  @Override
+  public int compare (Fragment f1, Fragment f2)
+  {                             /* --- compare two fragments */
+    int t1, t2;                 /* buffers for comparison */
+
+    if (f1.dst < f2.dst) return -1;  /* compare the indices */
+    if (f1.dst > f2.dst) return +1;  /* of the dest.  nodes */
+    if (f1.src > f2.src) return -1;  /* compare the indices */
+    if (f1.src < f2.src) return +1;  /* of the source nodes */
+    t1 = f1.list.edges[f1.idx].type;
+    t2 = f2.list.edges[f2.idx].type;
+    if (t1 < t2) return -1;     /* compare the types */
+    if (t1 > t2) return +1;     /* of the (first) added edge */
+    t1 = f1.list.nodes[f1.dst].type;
+    t2 = f2.list.nodes[f2.dst].type;
+    if (t1 < t2) return -1;     /* compare the types */
+    if (t1 > t2) return +1;     /* of the destination nodes */
+    t1 = (f1.size < 0) ? 1 : ((f1.size > 0) ? -1 : 0);
+    t2 = (f2.size < 0) ? 1 : ((f2.size > 0) ? -1 : 0);
+    if (t1 < t2) return -1;     /* get the extension types */
+    if (t1 > t2) return +1;     /* from the sizes and compare them */
+    return (f1.size <= 0)       /* compare ring ext. if necessary */
+         ? 0 : this.compareRing(f1, f2);
+  }  /* compare() */
+
   /*------------------------------------------------------------------*/
   /** Create the (prefix of a) code word for a given edge array.
    *  @param  edges the array of edges for which to create the code word
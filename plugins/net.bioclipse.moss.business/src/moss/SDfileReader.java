@@ -10,13 +10,16 @@
   File    : SDfileReader.java
   Contents: class for readers for SDfiles (Structure-Data files)
   Author  : Christian Borgelt
+            The Bioclipse Team (changes of 2026.10.17)
   History : 2007.02.24 file created as SDfileFmt.java
             2007.06.26 split into reader and writer
+            2026.10.17 split mode added (parsing in other threads)
 ----------------------------------------------------------------------*/
 package moss;
 
 import java.io.IOException;
 import java.io.Reader;
+import java.io.StringReader;
 import java.io.FileReader;
 import java.io.FileWriter;
 
@@ -34,6 +37,10 @@ public class SDfileReader extends GraphReader {
   private Notation     smiles;
   /** the buffer for an input line */
   private StringBuffer buf;
+  /** the buffer for a connection table (split mode) */
+  private StringBuffer tab;
+  /** the unparsed connection table of the current graph */
+  private String       rec;
 
   /*------------------------------------------------------------------*/
   /** Create a reader for SDfiles.
@@ -47,6 +54,8 @@ public class SDfileReader extends GraphReader {
     super(reader, mode);        /* store the arguments */
     this.ntn    = new Ctab();   /* create notation and read buffer */
     this.buf    = new StringBuffer();
+    this.tab    = null;         /* there is no connection table */
+    this.rec    = null;         /* buffer yet (split mode only) */
     this.smiles = null;         /* clear the line notation */
   }  /* SDfileReader() */
 
@@ -70,6 +79,27 @@ public class SDfileReader extends GraphReader {
     return this.buf.toString(); /* return the input line read */
   }  /* readLine() */
 
+  /*------------------------------------------------------------------*/
+  /** Read a connection table up to the end of the property block.
+   *  @return the lines of the connection table
+   *  @throws IOException if an i/o error occurs
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  private String readCtab () throws IOException
+  {                             /* --- read a connection table */
+    String line;                /* buffer for an input line */
+
+    if (this.tab == null) this.tab = new StringBuffer();
+    this.tab.setLength(0);      /* create/clear the table buffer */
+    do {                        /* read up to the line 'M  END' */
+      line = this.readLine();   /* read the next line */
+      if (line == null) throw new IOException("missing property block");
+      this.tab.append(line); this.tab.append('\n');
+    } while (!line.regionMatches(true, 0, "M  END", 0, 6));
+    return this.tab.toString(); /* return the collected lines */
+  }  /* readCtab() */
+
   /*------------------------------------------------------------------*/
   /** Read an (optional) header.
    *  <p>This function always returns <code>false</code> and reads
@@ -103,15 +133,22 @@ public boolean readGraph () throws IOException
     String line, s = null;      /* buffer for an input line/a field */
 
     this.desc  = null;          /* clear the line description */
+    this.graph = null;          /* and the current graph */
+    this.rec   = null;
     this.name  = this.readLine();
     if (this.name == null) return false;
     if (this.readLine() == null)
       throw new IOException("missing information line");
     if (this.readLine() == null)
       throw new IOException("missing comments line");
-    this.graph = this.ntn.parse(this);
-    this.nodes = this.graph.getNodeCount();
-    this.edges = this.graph.getEdgeCount();
+    if (this.split) {           /* if only to split off the graph */
+      this.rec   = this.readCtab();
+      this.nodes = this.edges = -1; }
+    else {                      /* if to parse the graph directly */
+      this.graph = this.ntn.parse(this);
+      this.nodes = this.graph.getNodeCount();
+      this.edges = this.graph.getEdgeCount();
+    }                           /* get the graph size */
     this.srel  = this.crel = this.value = 0.0F;
     this.sabs  = this.cabs = 0; /* clear the additional information */
     try {                       /* read to the data items and */
@@ -163,6 +200,72 @@ public boolean readGraph () throws IOException
     return true;                /* return that a graph was read */
   }  /* readGraph() */
 
+  /*------------------------------------------------------------------*/
+  /** Get the current graph or substructure.
+   *  <p>In split mode the connection table is parsed only when this
+   *  function is called.</p>
+   *  @return the current graph
+   *  @throws IOException if a parse error occurs
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  @Override
+public Graph getGraph () throws IOException
+  {                             /* --- get the current graph */
+    if ((this.graph == null) && (this.rec != null))
+      this.graph = this.parse(this.rec, this.ntn);
+    return this.graph;          /* parse the graph if necessary */
+  }  /* getGraph() */
+
+  /*------------------------------------------------------------------*/
+  /** Set whether graph descriptions are only split off.
+   *  <p>In split mode only the lines of the connection table are
+   *  collected, so that the number of nodes and edges of the graph
+   *  are not known and a line description can be obtained only after
+   *  the graph has been retrieved with <code>getGraph()</code>.</p>
+   *  @param  split whether to only split off graph descriptions
+   *  @return <code>true</code>, since split mode is supported
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  @Override
+public boolean setSplit (boolean split)
+  { this.split = split; return true; }
+
+  /*------------------------------------------------------------------*/
+  /** Get the unparsed connection table of the current graph.
+   *  @return the unparsed connection table of the current graph
+   *          (only available in split mode)
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  @Override
+public String getRecord ()
+  { return this.rec; }
+
+  /*------------------------------------------------------------------*/
+  /** Create a notation for parsing connection tables.
+   *  @return a new connection table notation
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  @Override
+public Notation createNotation ()
+  { return new Ctab(); }
+
+  /*------------------------------------------------------------------*/
+  /** Parse an unparsed connection table.
+   *  @param  rec the connection table to parse
+   *  @param  ntn the notation to use for parsing
+   *  @return the parsed graph
+   *  @throws IOException if a parse error occurs
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  @Override
+public Graph parse (String rec, Notation ntn) throws IOException
+  { return ntn.parse(new StringReader(rec)); }
+
   /*------------------------------------------------------------------*/
   /** Get a (line) description of the current graph.
    *  <p>Since a connection table is not a line description,
@@ -10,14 +10,17 @@
   File    : TableReader.java
   Contents: class for readers for table formats for graph data sets
   Author  : Christian Borgelt
+            The Bioclipse Team (changes of 2026.10.17)
   History : 2007.03.04 file created as TableFmt.java
             2007.06.26 split into reader and writer
+            2026.10.17 split mode added (parsing in other threads)
+            2026.10.17 state fields made protected (MappedTableReader)
+            2026.10.17 descriptions parsed directly from strings
 ----------------------------------------------------------------------*/
 package moss;
 
 import java.io.IOException;
 import java.io.Reader;
-import java.io.StringReader;
 import java.io.FileReader;
 import java.io.FileWriter;
 
@@ -45,20 +48,20 @@ public class TableReader extends GraphReader {
   /*  instance variables                                              */
   /*------------------------------------------------------------------*/
   /** the character flags */
-  private char[]       cflags;
+  protected char[]     cflags;
   /** the buffer for the next table field */
   private StringBuffer buf;
   /** the next table field */
   private String       field;
   /** the last delimiter read: -1 if end of file/input,
    *  0 if field separator, 1 if record separator */
-  private int          delim;
+  protected int        delim;
   /** the current record number */
-  private int          recno;
+  protected int        recno;
   /** the fields of a record */
   private String[]     record;
   /** whether there is a pushed back record */
-  private boolean      pbrec;
+  protected boolean    pbrec;
 
   /*------------------------------------------------------------------*/
   /** Create a table reader with default character flags.
@@ -367,6 +370,77 @@ public boolean readGraph () throws IOException
     return true;                /* return that a graph was read */
   }  /* readGraph() */
 
+  /*------------------------------------------------------------------*/
+  /** Set whether graph descriptions are only split off.
+   *  <p>Since a table reader never parses graph descriptions in the
+   *  function <code>readGraph()</code>, only the notation decides
+   *  whether split mode is supported: graph descriptions can be
+   *  parsed in other threads only if the notation has fixed types,
+   *  because otherwise parsing extends the shared type managers,
+   *  and if a notation of the same class can be created for each
+   *  parser thread (see <code>createNotation()</code>).</p>
+   *  @param  split whether to only split off graph descriptions
+   *  @return whether split mode is supported by the reader
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  @Override
+public boolean setSplit (boolean split)
+  {                             /* --- set split mode */
+    this.split = split && this.ntn.hasFixedTypes()
+                       && (this.createNotation() != null);
+    return this.split;          /* split only if a notation */
+  }  /* setSplit() */           /* can be created for each thread */
+
+  /*------------------------------------------------------------------*/
+  /** Get the unparsed description of the current graph.
+   *  @return the unparsed description of the current graph
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  @Override
+public String getRecord ()
+  { return this.desc; }
+
+  /*------------------------------------------------------------------*/
+  /** Create a notation for parsing graph descriptions.
+   *  <p>Only the line notations with fixed types (SMILES and SLN)
+   *  and connection tables can be created for parsing. For any other
+   *  notation split mode is refused by <code>setSplit()</code>.</p>
+   *  @return a new notation of the same class as the notation of the
+   *          reader or <code>null</code> if no such notation can be
+   *          created
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  @Override
+public Notation createNotation ()
+  {                             /* --- create a notation */
+    Class<?> c = this.ntn.getClass();
+    if (c == SMILES.class) return new SMILES();
+    if (c == SLN.class)    return new SLN();
+    if (c == Ctab.class)   return new Ctab();
+    return null;                /* create a notation of same class */
+  }  /* createNotation() */     /* (if this is possible) */
+
+  /*------------------------------------------------------------------*/
+  /** Parse an unparsed graph description.
+   *  @param  rec the graph description to parse
+   *  @param  ntn the notation to use for parsing
+   *  @return the parsed graph
+   *  @throws IOException if a parse error occurs
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  @Override
+public Graph parse (String rec, Notation ntn) throws IOException
+  {                             /* --- parse a graph description */
+    Graph graph = ntn.parse(rec);  /* parse the graph description */
+    if (ntn.getDelim() >= 0)    /* check for unparsed characters */
+      throw new IOException("garbage at end of graph description");
+    return graph;               /* return the parsed graph */
+  }  /* parse() */
+
   /*------------------------------------------------------------------*/
   /** Get the current graph or substructure.
    *  @return the current graph
@@ -381,14 +455,12 @@ public Graph getGraph () throws IOException
       return this.graph;        /* simply return it */
     if (this.desc == null)      /* if there is no description, */
       return null;              /* there is no graph to be had */
-    StringReader srdr = new StringReader(this.desc);
-    this.graph = this.ntn.parse(srdr);
-    if ((ntn.getDelim() >= 0) || (srdr.read() >= 0))
+    this.graph = this.ntn.parse(this.desc);
+    if (this.ntn.getDelim() >= 0)
       throw new IOException("garbage at end of graph description"
                             +this.rno(-1));
-    srdr.close();               /* parse the graph description */
-    return this.graph;          /* and return the parsed graph */
-  }  /* getGraph() */
+    return this.graph;          /* parse the graph description */
+  }  /* getGraph() */           /* and return the parsed graph */
 
   /*------------------------------------------------------------------*/
   /** Main function for testing basic functionality.
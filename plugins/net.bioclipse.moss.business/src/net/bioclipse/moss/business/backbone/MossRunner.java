@@ -50,6 +50,7 @@ public class MossRunner {
 		IPath path = filename.getLocation();
 		// Read file line by line as. Typical line: a,0,CCCO
 		String line;
+		Notation ntn = new SMILES();
 		try {
 			BufferedReader bufferedReader = new BufferedReader(
 					new FileReader(path.toOSString()));
@@ -62,8 +63,7 @@ public class MossRunner {
 				float value = Float.parseFloat(parts[1]);
 				String description = parts[2];
 				// Checks the molecules if they are correctly written in SMILES.
-				Notation ntn = new SMILES();
-				ntn.parse(new StringReader(description));
+				ntn.parse(description);
 				// Adds molecules to mossmodel.
 				imol = new InputMolecule(id, value,
 						description);
@@ -132,18 +132,18 @@ public class MossRunner {
         
         
 
+        // One notation parses all molecules (directly from the strings)
+        SMILES smiles = new SMILES();
+
         // Loop over all inputMolecules in mossModel
 //        for (int i = 0; i < mossModel.getInputMolecules().size(); i++) {
             for(InputMolecule mol : mossModel.getInputMolecules()){
 //            InputMolecule mol = mossModel.getInputMolecules().get(i);
 //            if (mol.isChecked()) {
 
-                SMILES smiles = new SMILES();
-                StringReader reader = new StringReader(mol.getDescription());
-
                 Graph graph = null;
                 try {
-                    graph = smiles.parse(reader);
+                    graph = smiles.parse(mol.getDescription());
                 } catch (IOException e) {
                     LogUtils.debugTrace(logger, e);
                     System.exit(1);
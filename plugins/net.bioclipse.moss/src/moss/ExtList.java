@@ -10,14 +10,16 @@
   File    : ExtList.java
   Contents: Management of extension lists and their elements
   Author  : Christian Borgelt
+            The Bioclipse Team (changes of 2026.10.17)
   History : 2005.07.23 file created as part of file Fragment.java
             2005.08.11 function merge modified
             2006.06.19 adapted to ring extensions
+            2026.10.17 linked list replaced by a sorted table of ints
 ----------------------------------------------------------------------*/
 package moss;
 
 /*--------------------------------------------------------------------*/
-/** Class for managing extension lists and their elements.
+/** Class for managing extension lists.
  *  <p>Extension lists are used to determine whether a fragment is
  *  closed, that is, whether no superstructure has the same support.
  *  The basic idea is to try to find an extension that is possible in
@@ -26,29 +28,77 @@ package moss;
  *  extensions that are impossible in the next graph are removed
  *  from the list. A fragment is closed if the list gets empty before
  *  all graphs have been processed, otherwise it is not closed.</p>
+ *  <p>The extensions are stored as records in a single integer array
+ *  (no objects per extension). A record consists of the index of the
+ *  source node, the index of the destination node, the type of the
+ *  (first) extension edge, the type of the destination node, the
+ *  length of the ring information (0 for a single edge extension)
+ *  and the ring information (edge type, node type and node index
+ *  for each further edge of a ring). The list itself is an array of
+ *  record offsets, which is sorted to remove duplicates and which is
+ *  reordered (but not copied) when extensions are removed.</p>
  *  @author Christian Borgelt
  *  @since  2005.07.23 */
 /*--------------------------------------------------------------------*/
 public class ExtList {
 
+  /*------------------------------------------------------------------*/
+  /*  constants                                                       */
+  /*------------------------------------------------------------------*/
+  /** the offset of the index of the source      node */
+  protected static final int SRC  = 0;
+  /** the offset of the index of the destination node */
+  protected static final int DST  = 1;
+  /** the offset of the type  of the extension   edge */
+  protected static final int EDGE = 2;
+  /** the offset of the type  of the destination node */
+  protected static final int NODE = 3;
+  /** the offset of the length of the ring information */
+  protected static final int LEN  = 4;
+  /** the offset of the ring information */
+  protected static final int RING = 5;
+
   /*------------------------------------------------------------------*/
   /*  instance variables                                              */
   /*------------------------------------------------------------------*/
-  /** the index of the source      node */
-  protected int     src;
-  /** the index of the destination node */
-  protected int     dst;
-  /** the type  of the extension   edge */
-  protected int     edge;
-  /** the type  of the destination node */
-  protected int     node;
-  /** the ring information (if needed) */
-  protected int[]   ring;
-  /** the successor in a list */
-  protected ExtList succ;
-
-  /*------------------------------------------------------------------*/
-  /** Create an extension list element for a single edge extension.
+  /** the extension records */
+  protected int[] data;
+  /** the number of used fields in <code>data</code> */
+  protected int   end;
+  /** the offsets of the extension records in <code>data</code> */
+  protected int[] offs;
+  /** the current number of extensions */
+  protected int   cnt;
+  /** the number of sorted extensions (at the front of the list) */
+  private   int   srt;
+  /** a buffer for sorting the record offsets */
+  private   int[] buf;
+
+  /*------------------------------------------------------------------*/
+  /** Create an empty extension list.
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  protected ExtList ()
+  {                             /* --- create an extension list */
+    this.data = new int[256];   /* create the record array */
+    this.offs = new int[32];    /* and the offset array */
+    this.end  = this.cnt = 0;   /* (both are enlarged on demand) */
+    this.srt  = 0;              /* there are no sorted extensions */
+    this.buf  = null;           /* and no sorting buffer yet */
+  }  /* ExtList() */
+
+  /*------------------------------------------------------------------*/
+  /** Get the current number of extensions.
+   *  @return the current number of extensions
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  protected int size ()
+  { return this.cnt; }
+
+  /*------------------------------------------------------------------*/
+  /** Add a single edge extension.
    *  @param  src  the index of the source node
    *  @param  dst  the index of the destination node (or -1)
    *  @param  edge the type of the extension edge
@@ -56,19 +106,15 @@ public class ExtList {
    *  @since  2005.07.23 (Christian Borgelt) */
   /*------------------------------------------------------------------*/
 
-  protected ExtList (int src, int dst, int edge, int node)
-  {                             /* --- create extension list element */
-    this.src  = src;  this.dst  = dst;
-    this.edge = edge; this.node = node;
-    this.ring = null;           /* store extension information */
-  }  /* ExtList() */    
+  protected void add (int src, int dst, int edge, int node)
+  { this.add(src, dst, edge, node, null, 0); }
 
   /*------------------------------------------------------------------*/
-  /** Create an extension list element for a ring extension.
+  /** Add a ring extension.
    *  <p>The information about the ring edges, contained in the array
-   *  <code>ring</code>, is copied before it is stored in the extension
-   *  list element. Hence the array passed as an argument may be reused
-   *  for collecting information about another ring.</p>
+   *  <code>ring</code>, is copied into the extension list. Hence the
+   *  array passed as an argument may be reused for collecting
+   *  information about another ring.</p>
    *  @param  src  the index of the source node
    *  @param  dst  the index of the destination node (or -1)
    *  @param  edge the type of the (first) extension edge
@@ -78,109 +124,92 @@ public class ExtList {
    *  @since  2005.07.23 (Christian Borgelt) */
   /*------------------------------------------------------------------*/
 
-  protected ExtList (int src, int dst, int edge, int node,
-                     int[] ring, int n)
-  {                             /* --- create extension list element */
-    this.src  = src;  this.dst  = dst;
-    this.edge = edge; this.node = node;
-    System.arraycopy(ring, 0, this.ring = new int[n], 0, n);
-  }  /* ExtList() */            /* store extension information */
+  protected void add (int src, int dst, int edge, int node,
+                      int[] ring, int n)
+  {                             /* --- add an extension */
+    int   k;                    /* new array size */
+    int[] p;                    /* new record or offset array */
+
+    if (this.end +RING +n > this.data.length) {
+      k = Math.max(this.data.length << 1, this.end +RING +n);
+      System.arraycopy(this.data, 0, p = new int[k], 0, this.end);
+      this.data = p;            /* enlarge the record array */
+    }                           /* and copy the existing records */
+    if (this.cnt >= this.offs.length) {
+      k = this.offs.length << 1;/* if the offset array is full */
+      System.arraycopy(this.offs, 0, p = new int[k], 0, this.cnt);
+      this.offs = p;            /* enlarge the offset array */
+    }                           /* and copy the existing offsets */
+    this.offs[this.cnt++] = k = this.end;
+    p = this.data;              /* note the offset of the new record */
+    p[k+SRC]  = src;  p[k+DST]  = dst;
+    p[k+EDGE] = edge; p[k+NODE] = node;
+    p[k+LEN]  = n;              /* store the extension information */
+    if (n > 0) System.arraycopy(ring, 0, p, k+RING, n);
+    this.end += RING +n;        /* advance the end of the records */
+  }  /* add() */
 
   /*------------------------------------------------------------------*/
-  /** Compare to another extension list element.
-   *  <p>This function is needed for merging two extension lists.</p>
-   *  @param  e the extension list element to compare to
+  /** Compare two extension records.
+   *  @param  a the offset of the first  record
+   *  @param  b the offset of the second record
    *  @return <code>-1</code>, <code>0</code>, or <code>+1</code>
-   *          as this list element is less than, equal to, or greater
-   *          than the given list element
+   *          as the first record is less than, equal to, or greater
+   *          than the second record
    *  @since  2005.07.23 (Christian Borgelt) */
   /*------------------------------------------------------------------*/
 
-  protected int compareTo (ExtList e)
-  {                             /* --- compare extension list elements*/
-    int i, k;                   /* loop variable, buffer */
-
-    if (this.src  < e.src)  return -1;  /* compare the properties */
-    if (this.src  > e.src)  return +1;  /* of the first/only edge */
-    if (this.dst  < e.dst)  return -1;
-    if (this.dst  > e.dst)  return +1;
-    if (this.edge < e.edge) return -1;
-    if (this.edge > e.edge) return +1;
-    if (this.node < e.node) return -1;
-    if (this.node > e.node) return +1;
-    i = (this.ring == null) ? 0 : this.ring.length;
-    k = (   e.ring == null) ? 0 :    e.ring.length;
-    if (i < k) return -1;       /* compare the extension type */
-    if (i > k) return +1;       /* (edge or ring) and the ring size */
-    for (i = 0; i < k; i++) {   /* traverse the ring edges */
-      if (this.ring[i] < e.ring[i]) return -1;
-      if (this.ring[i] > e.ring[i]) return +1;
-    }                           /* compare the ring edge properties */
-    return 0;                   /* if no diff. found, exts. are equal */
-  }  /* compareTo() */
-
-  /*------------------------------------------------------------------*/
-  /** Merge two sorted extension lists (and remove duplicates).
-   *  <p>This function is used to implement a simple merge sort
-   *  for extension lists. In addition, all elements that occur in
-   *  both extension lists are joined by transferring only one of two
-   *  equal elements to the output list, thus removing duplicates.</p>
-   *  @param  l1 the first  extension list to merge
-   *  @param  l2 the second extension list to merge
-   *  @return the merged extension lists
-   *  @since  2005.07.23 (Christian Borgelt) */
-  /*------------------------------------------------------------------*/
+  private int compare (int a, int b)
+  {                             /* --- compare extension records */
+    int   i, n;                 /* loop variable, number of fields */
+    int[] p = this.data;        /* the extension records */
 
-  protected static ExtList merge (ExtList l1, ExtList l2)
-  {                             /* --- merge two extension lists */
-    int     r;                  /* result of comparison */
-    ExtList out, tail, e;       /* output list, list element */
-
-    if (l1 == null) return l2;  /* if one of the lists is empty, */
-    if (l2 == null) return l1;  /* return the other */
-    tail = null;                /* init. the tail of the output list */
-    r = l1.compareTo(l2);       /* compare the first list elements */
-    if (r == 0) { l2 = l2.succ; }
-    if (r <= 0) { out = tail = l1; l1 = out.succ; }
-    else        { out = tail = l2; l2 = out.succ; }
-    while ((l1 != null) && (l2 != null)) {
-      r = l1.compareTo(l2);     /* compare the first list elements */
-      if (r == 0) { l2 = l2.succ; }
-      if (r <= 0) { e = l1; l1 = e.succ; }
-      else        { e = l2; l2 = e.succ; }
-      tail.succ = e; tail = e;  /* move smaller element */
-    }                           /* to the output list */
-    if      (l1 != null) tail.succ = l1;
-    else if (l2 != null) tail.succ = l2;
-    else                 tail.succ = null;
-    return out;                 /* append remaining elements */
-  }  /* merge() */              /* and return the merged list */
-
-  /*------------------------------------------------------------------*/
-  /** Sort an extension list (and remove duplicates).
-   *  <p>The algorithm is a simple merge sort. The input list is split
-   *  into two lists of roughly equal size by traversing it and storing
-   *  its elements alternatingly into two output lists. These two lists
-   *  are sorted recursively and then merged.</p>
-   *  @param  list the extension list to sort
-   *  @return the sorted extension list
+    n = RING +Math.min(p[a+LEN], p[b+LEN]);
+    for (i = 0; i < n; i++) {   /* traverse the common fields */
+      if (p[a+i] < p[b+i]) return -1;
+      if (p[a+i] > p[b+i]) return +1;
+    }                           /* (the ring length is compared */
+    return 0;                   /* before the ring information) */
+  }  /* compare() */
+
+  /*------------------------------------------------------------------*/
+  /** Sort the extension list and remove duplicates.
+   *  <p>Only the extensions that were added since the last call are
+   *  sorted (with a simple insertion sort, as there are usually only
+   *  few of them) and then merged into the already sorted part of the
+   *  list. In this merge all extensions that are equal to an already
+   *  transferred extension are removed, so that the list contains no
+   *  duplicates afterwards.</p>
    *  @since  2005.07.23 (Christian Borgelt) */
   /*------------------------------------------------------------------*/
 
-  protected static ExtList sort (ExtList list)
+  protected void sort ()
   {                             /* --- sort an extension list */
-    ExtList l1, l2, e;          /* sublists for mergesort */
-
-    if ((list == null) || (list.succ == null))
-      return list;              /* abort for zero and one element */
-    l1 = l2 = null;             /* initialize the two output lists */
-    while (true) {              /* traverse the input list */
-      e = list; list = list.succ; e.succ = l1; l1 = e;
-      if (list == null) break;  /* transfer element to first list */
-      e = list; list = list.succ; e.succ = l2; l2 = e;
-      if (list == null) break;  /* transfer element to second list */
-    }                           /* (split into two equal lists) */
-    return merge(sort(l1), sort(l2));
-  }  /* sort() */               /* sort and then merge the two lists */
+    int   i, k, n, x;           /* loop variables, buffer */
+    int   a, b;                 /* indices for merging */
+    int[] src, dst;             /* source and destination offsets */
+
+    n = this.cnt; src = this.offs;
+    for (i = this.srt+1; i < n; i++) {
+      x = src[i];               /* traverse the new extensions */
+      for (k = i; (--k >= this.srt) && (this.compare(src[k], x) > 0); )
+        src[k+1] = src[k];      /* shift greater extensions right */
+      src[k+1] = x;             /* and store the extension */
+    }                           /* (insertion sort) */
+    if ((this.buf == null) || (this.buf.length < src.length))
+      this.buf = new int[src.length];
+    dst = this.buf; k = 0;      /* get the destination buffer */
+    a = 0; b = this.srt;        /* merge the old and new extensions */
+    while ((a < this.srt) || (b < n)) {
+      x = ((b >= n) || ((a < this.srt)
+                    &&  (this.compare(src[a], src[b]) <= 0)))
+        ? src[a++] : src[b++];  /* get the next smallest extension */
+      if ((k <= 0) || (this.compare(dst[k-1], x) != 0))
+        dst[k++] = x;           /* transfer the extension */
+    }                           /* if it is not a duplicate */
+    this.buf  = src;            /* exchange the offset arrays */
+    this.offs = dst;            /* and note the number of */
+    this.cnt  = this.srt = k;   /* (sorted) extensions */
+  }  /* sort() */
 
 }  /* class ExtList */
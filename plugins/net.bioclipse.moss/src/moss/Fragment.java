@@ -10,6 +10,7 @@
   File    : Fragment.java
   Contents: Management of graph fragments
   Author  : Christian Borgelt
+            The Bioclipse Team (changes of 2026.10.17)
   History : 2002.03.11 file created as file submol.java
             2002.03.14 output method added (toString, for debugging)
             2002.07.15 function isEquivTo() added (later rewritten)
@@ -66,11 +67,370 @@
             2007.10.24 adapted to removed base embedding reference
             2007.10.25 main function added for testing purposes
             2007.11.08 bug in function mergeExts() fixed
+            2026.10.17 markers made thread-confined (class Markers)
+            2026.10.17 compact embedding blocks added (class EmbBlock)
+            2026.10.17 relative embeddings added (class EmbDelta)
+            2026.10.17 function pack() extended, packAll() added
+            2026.10.17 reembedded embeddings cached (class EmbCache)
+            2026.10.17 lazy embeddings of extensions (materialize())
+            2026.10.17 function fingerprint() added (64 bit hash code)
+            2026.10.17 getMinImage() based on bit sets (no markers)
+            2026.10.17 bug in getMISSize() fixed (ring extensions)
+            2026.10.17 parallel support computation added (SuppPool)
+            2026.10.17 isClosed() based on a sorted extension table
 ----------------------------------------------------------------------*/
 package moss;
 
 import java.io.IOException;
 import java.io.StringReader;
+import java.util.Arrays;
+
+/*--------------------------------------------------------------------*/
+/** Class for compact blocks of embeddings into the same graph.
+ *  <p>A block stores the embeddings of a fragment into one graph as
+ *  rows of an integer array, each of which lists the indices of the
+ *  nodes and then the indices of the edges of an embedding in the
+ *  underlying graph. In a list of embeddings a block takes the place
+ *  of the embedding objects it represents. Like a packed embedding
+ *  it has no node and edge arrays; the embedding objects are
+ *  recreated from the rows with the function <code>expand()</code>.
+ *  </p>
+ *  @author The Bioclipse Team
+ *  @since  2026.10.17 */
+/*--------------------------------------------------------------------*/
+class EmbBlock extends Embedding {
+
+  /*------------------------------------------------------------------*/
+  /*  instance variables                                              */
+  /*------------------------------------------------------------------*/
+  /** the number of nodes per embedding */
+  protected int   nodecnt;
+  /** the number of edges per embedding */
+  protected int   edgecnt;
+  /** the node and edge indices of the embeddings (row-wise) */
+  protected int[] rows;
+
+  /*------------------------------------------------------------------*/
+  /** Create a block of embeddings.
+   *  @param  graph the graph referred to
+   *  @param  n     the number of nodes per embedding
+   *  @param  e     the number of edges per embedding
+   *  @param  rows  the node and edge indices of the embeddings
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  private EmbBlock (Graph graph, int n, int e, int[] rows)
+  {                             /* --- create a block of embeddings */
+    this.graph   = graph;       /* note the graph referred to, */
+    this.nodecnt = n;           /* the size of the embeddings, */
+    this.edgecnt = e;           /* and the node and edge indices */
+    this.rows    = rows;
+  }  /* EmbBlock() */
+
+  /*------------------------------------------------------------------*/
+  /** Create a block from a list of embeddings into the same graph.
+   *  <p>The indices of the nodes and edges in the underlying graph are
+   *  derived from their identifiers (see <code>Markers.number()</code>),
+   *  which are consecutive in each graph. If the nodes and edges are
+   *  not numbered in this way, no block can be created.</p>
+   *  @param  list the list of embeddings (all into the same graph)
+   *  @param  cnt  the number of embeddings in the list
+   *  @return the created block or <code>null</code> if the embeddings
+   *          cannot be represented by a block
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  protected static EmbBlock create (Embedding list, int cnt)
+  {                             /* --- create a block of embeddings */
+    int   i, k, r;              /* loop variables, row index */
+    int   n, e;                 /* number of nodes and edges */
+    int   fn, fe;               /* identifiers of first node/edge */
+    int[] rows;                 /* node and edge indices */
+    Graph g = list.graph;       /* the graph referred to */
+
+    fn = g.nodes[0].id;         /* get identifiers of the first */
+    fe = (g.edgecnt > 0) ? g.edges[0].id : 0;   /* node and edge */
+    if ((fn < 0) || (fe < 0)) return null;
+    n    = list.nodes.length;   /* get the size of the embeddings */
+    e    = list.edges.length;   /* and create the index array */
+    rows = new int[(n+e) *cnt];
+    for (r = 0; --cnt >= 0; list = list.succ) {
+      if ((list.nodes == null) || (list instanceof EmbDelta))
+        return null;            /* check for normal embeddings */
+      for (i = 0; i < n; i++) { /* traverse the nodes */
+        k = list.nodes[i].id -fn;
+        if (g.nodes[k] != list.nodes[i]) return null;
+        rows[r++] = k;          /* store the node indices */
+      }                         /* (if they are consecutive) */
+      for (i = 0; i < e; i++) { /* traverse the edges */
+        k = list.edges[i].id -fe;
+        if (g.edges[k] != list.edges[i]) return null;
+        rows[r++] = k;          /* store the edge indices */
+      }                         /* (if they are consecutive) */
+    }
+    return new EmbBlock(g, n, e, rows);
+  }  /* create() */             /* create a block of embeddings */
+
+  /*------------------------------------------------------------------*/
+  /** Recreate the list of embeddings represented by the block.
+   *  @return the list of embeddings represented by the block
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  protected Embedding expand ()
+  {                             /* --- recreate the embeddings */
+    int       i, r;             /* loop variable, row index */
+    Embedding emb, list = null; /* created list of embeddings */
+
+    for (r = this.rows.length; r > 0; ) {
+      emb = new Embedding();    /* traverse the rows backwards */
+      emb.graph = this.graph;   /* and create an embedding */
+      emb.edges = new Edge[this.edgecnt];
+      for (i = this.edgecnt; --i >= 0; )
+        emb.edges[i] = this.graph.edges[this.rows[--r]];
+      emb.nodes = new Node[this.nodecnt];
+      for (i = this.nodecnt; --i >= 0; )
+        emb.nodes[i] = this.graph.nodes[this.rows[--r]];
+      emb.succ = list;          /* collect the node and edge refs. */
+      list     = emb;           /* and add the embedding */
+    }                           /* at the head of the list */
+    return list;                /* return the list of embeddings */
+  }  /* expand() */
+
+  /*------------------------------------------------------------------*/
+  /** Get the number of embeddings represented by the block.
+   *  @return the number of embeddings represented by the block
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  @Override
+  protected int count ()
+  { return this.rows.length /(this.nodecnt +this.edgecnt); }
+
+  /*------------------------------------------------------------------*/
+  /** Estimate the memory needed by the block.
+   *  @return the estimated number of bytes needed by the block
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  @Override
+  protected long memory ()
+  { return 48 +Embedding.memory(this.rows.length); }
+
+}  /* class EmbBlock */
+
+
+/*--------------------------------------------------------------------*/
+/** Class for embeddings that are stored relative to their base.
+ *  <p>An embedding that was created by extending a base embedding with
+ *  a single edge (and maybe a single node) is represented by only a
+ *  reference to the base embedding (as it is stored in the base
+ *  fragment) and the added edge and node. The node and edge arrays
+ *  are created on demand (function <code>expand()</code>) by following
+ *  the chain of base embeddings to an embedding that is stored with
+ *  its arrays; they can be released again (function
+ *  <code>release()</code>).</p>
+ *  <p>The chain is always followed to the first embedding that is not
+ *  stored relative to its base, even if an embedding on the chain has
+ *  currently created arrays. Hence the arrays of an embedding are only
+ *  accessed by the thread that processes its fragment.</p>
+ *  @author The Bioclipse Team
+ *  @since  2026.10.17 */
+/*--------------------------------------------------------------------*/
+class EmbDelta extends Embedding {
+
+  /*------------------------------------------------------------------*/
+  /*  instance variables                                              */
+  /*------------------------------------------------------------------*/
+  /** the edge that was added to the base embedding */
+  protected Edge edge;
+  /** the node that was added to the base embedding (may be null) */
+  protected Node node;
+
+  /*------------------------------------------------------------------*/
+  /** Create an embedding relative to its base embedding.
+   *  @param  graph the graph referred to
+   *  @param  base  the base embedding
+   *  @param  edge  the edge that was added to the base embedding
+   *  @param  node  the node that was added to the base embedding
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  private EmbDelta (Graph graph, Embedding base, Edge edge, Node node)
+  {                             /* --- create a relative embedding */
+    this.graph = graph;         /* note the graph referred to, */
+    this.base  = base;          /* the base embedding, */
+    this.edge  = edge;          /* and the added edge and node */
+    this.node  = node;          /* (the arrays are created */
+    this.nodes = null;          /* only on demand) */
+    this.edges = null;
+  }  /* EmbDelta() */
+
+  /*------------------------------------------------------------------*/
+  /** Create an embedding relative to its base embedding.
+   *  <p>This is possible only if the embedding differs from its base
+   *  embedding by exactly one edge and at most one node, which must
+   *  be the last elements of the node and edge arrays.</p>
+   *  @param  emb the embedding to represent
+   *  @return the created embedding or <code>null</code> if the given
+   *          embedding cannot be represented relative to its base
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  protected static EmbDelta create (Embedding emb)
+  {                             /* --- create a relative embedding */
+    int       i, n, e;          /* loop variable, array sizes */
+    Embedding b = emb.base;     /* the base embedding */
+
+    if ((b == null) || (b.nodes == null) || (emb.nodes == null))
+      return null;              /* check for a base with arrays */
+    n = b.nodes.length;         /* check the numbers */
+    e = b.edges.length;         /* of nodes and edges */
+    if ((emb.edges.length != e+1)
+    ||  (emb.nodes.length <  n)
+    ||  (emb.nodes.length >  n+1))
+      return null;              /* (one edge, at most one node added) */
+    for (i = e; --i >= 0; )     /* check the edges of the base */
+      if (emb.edges[i] != b.edges[i]) return null;
+    if (emb.nodes != b.nodes) { /* if the node array is not shared, */
+      for (i = n; --i >= 0; )   /* check the nodes of the base */
+        if (emb.nodes[i] != b.nodes[i]) return null;
+    }                           /* (embedding may have been adapted) */
+    return new EmbDelta(emb.graph, b, emb.edges[e],
+                        (emb.nodes.length > n) ? emb.nodes[n] : null);
+  }  /* create() */
+
+  /*------------------------------------------------------------------*/
+  /** Create an embedding from a single edge extension.
+   *  <p>Only a reference to the extended embedding and the added edge
+   *  and node are stored, so that no node and edge arrays have to be
+   *  allocated for embeddings of fragments that are pruned right after
+   *  they have been created (see <code>Fragment.add(Extension)</code>).
+   *  Embeddings of fragments that are kept are turned into normal
+   *  embeddings with <code>materialize()</code>.</p>
+   *  @param  ext the (single edge) extension to turn into an embedding
+   *  @return the created relative embedding
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  protected static EmbDelta create (Extension ext)
+  {                             /* --- create a relative embedding */
+    return new EmbDelta(ext.emb.graph, ext.emb, ext.edges[0],
+                        (ext.nodecnt > 0) ? ext.nodes[1] : null);
+  }  /* create() */
+
+  /*------------------------------------------------------------------*/
+  /** Turn the relative embedding into a normal embedding.
+   *  <p>This function is meant for relative embeddings that have been
+   *  created from an extension (see <code>create(Extension)</code>)
+   *  and must be called by the thread that created the extension
+   *  while the extended embedding still has its node and edge arrays.
+   *  As with the embeddings that are created directly from extensions
+   *  (see <code>Embedding(Extension)</code>), the node array is shared
+   *  with the base embedding if no node was added.</p>
+   *  @return a normal embedding with the same nodes and edges
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  protected Embedding materialize ()
+  {                             /* --- create a normal embedding */
+    int       n, e;             /* numbers of nodes and edges */
+    Embedding b   = this.base;  /* the base embedding */
+    Embedding emb = new Embedding();
+
+    emb.graph = this.graph;     /* note the graph referred to */
+    emb.base  = b;              /* and the extended embedding */
+    if ((this.nodes == null) && (b.nodes == null))
+      this.expand();            /* create arrays if necessary */
+    if (this.nodes != null) {   /* if the arrays have been created, */
+      emb.nodes = this.nodes;   /* simply take them over */
+      emb.edges = this.edges;
+      this.nodes = null; this.edges = null;
+      return emb;               /* release the arrays and */
+    }                           /* return the created embedding */
+    n = b.nodes.length;         /* get the old number of nodes */
+    if (this.node == null)      /* if no node was added, */
+      emb.nodes = b.nodes;      /* share the node array of the base */
+    else {                      /* if a node was added */
+      emb.nodes = new Node[n+1];
+      System.arraycopy(b.nodes, 0, emb.nodes, 0, n);
+      emb.nodes[n] = this.node; /* copy the nodes of the base */
+    }                           /* and add the new node */
+    e = b.edges.length;         /* get the old number of edges */
+    emb.edges = new Edge[e+1];  /* copy the edges of the base */
+    System.arraycopy(b.edges, 0, emb.edges, 0, e);
+    emb.edges[e] = this.edge;   /* and add the new edge */
+    return emb;                 /* return the created embedding */
+  }  /* materialize() */
+
+  /*------------------------------------------------------------------*/
+  /** Create the node and edge arrays of the embedding.
+   *  @return the embedding itself (with node and edge arrays)
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  protected Embedding expand ()
+  {                             /* --- create node and edge arrays */
+    int       n, e;             /* numbers of added nodes and edges */
+    Embedding r;                /* to traverse the base embeddings */
+    EmbDelta  d;                /* to traverse the relative embs. */
+    Node[]    nodes;            /* created array of nodes */
+    Edge[]    edges;            /* created array of edges */
+
+    if (this.nodes != null)     /* if the arrays exist, */
+      return this;              /* there is nothing to do */
+    for (n = e = 0, r = this; r instanceof EmbDelta; r = r.base) {
+      e++; if (((EmbDelta)r).node != null) n++; }
+    n += r.nodes.length;        /* count the added nodes and edges */
+    e += r.edges.length;        /* and compute the array sizes */
+    nodes = new Node[n];        /* create the node and edge arrays */
+    edges = new Edge[e];        /* and copy the arrays of the first */
+    System.arraycopy(r.nodes, 0, nodes, 0, r.nodes.length);
+    System.arraycopy(r.edges, 0, edges, 0, r.edges.length);
+    for (r = this; r instanceof EmbDelta; r = r.base) {
+      d = (EmbDelta)r;          /* traverse the relative embeddings */
+      edges[--e] = d.edge;      /* and collect the added edges */
+      if (d.node != null) nodes[--n] = d.node;
+    }                           /* and nodes from the end */
+    this.edges = edges;         /* store the created arrays */
+    this.nodes = nodes;
+    return this;                /* return the embedding itself */
+  }  /* expand() */
+
+  /*------------------------------------------------------------------*/
+  /** Release the node and edge arrays of the embedding.
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  protected void release ()
+  { this.nodes = null; this.edges = null; }
+
+  /*------------------------------------------------------------------*/
+  /** Get the number of embeddings represented by this object.
+   *  @return always 1 (an embedding represents itself)
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  @Override
+  protected int count ()
+  { return 1; }
+
+  /*------------------------------------------------------------------*/
+  /** Estimate the memory needed by the embedding.
+   *  @return the estimated number of bytes needed by the embedding
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  @Override
+  protected long memory ()
+  {                             /* --- estimate memory usage */
+    if (this.nodes == null) return 40;
+    return 40 +Embedding.memory(this.nodes.length)
+              +Embedding.memory(this.edges.length);
+  }  /* memory() */             /* object and created arrays */
+
+}  /* class EmbDelta */
+
 
 /*--------------------------------------------------------------------*/
 /** Class for graph fragments (subgraphs and their embeddings).
@@ -119,6 +479,13 @@ public class Fragment {
   protected static final int ADAPTED   = 0x10;
   /** flag for a packed list of embeddings */
   protected static final int PACKED    = 0x20;
+  /** flag for a list of embeddings with compact blocks */
+  protected static final int COMPACT   = 0x40;
+  /** flag for a list of embeddings with relative embeddings */
+  protected static final int DELTA     = 0x80;
+  /** flag for a list of embeddings with relative embeddings that
+   *  were created from extensions (see <code>materialize()</code>) */
+  protected static final int LAZY      = 0x100;
   /** default flags that are set when a fragment is created */
   protected static final int DEFAULT   = VALID | CLOSED;
 
@@ -156,6 +523,9 @@ public class Fragment {
   protected int[]     supp;
   /** the indices of the nodes of new ring edges */
   protected int[]     ris;
+  /** the identifier for cached reembeddings (see class
+   *  <code>EmbCache</code>, 0: no identifier assigned yet) */
+  protected long      cid;
 
   /*------------------------------------------------------------------*/
   /** Create an empty fragment.
@@ -271,7 +641,7 @@ public class Fragment {
 
   protected Fragment (Extension ext)
   {                             /* --- create an extended fragment */
-    int  i, k, n;               /* loop variable, counters, buffer */
+    int  i, k, n, m;            /* loop variable, counters, buffers */
     Node node;                  /* to traverse the nodes */
 
     this.graph = null;          /* not yet available as a graph */
@@ -294,11 +664,11 @@ public class Fragment {
     this.ris = new int[((ext.edgecnt -1) << 1) +3];
     n = ext.emb.nodes.length;   /* get the next node index */
     for (k = 0, i = 1; i < ext.size; i++) {
-      if (ext.edges[i].mark >= 0) continue;
+      if (ext.marks.get(ext.edges[i]) >= 0) continue;
       node = ext.nodes[i];      /* note node indices of new edges */
-      this.ris[k++] = (node.mark >= 0) ? node.mark : n++;
+      m = ext.marks.get(node); this.ris[k++] = (m >= 0) ? m : n++;
       node = ext.nodes[(i+1) % this.size];
-      this.ris[k++] = (node.mark >= 0) ? node.mark : n;
+      m = ext.marks.get(node); this.ris[k++] = (m >= 0) ? m : n;
     }                           /* (needed for Extension.compareRing) */
     this.ris[k++] = ext.pos1;   /* note the insertion positions */
     this.ris[k++] = ext.pos2;   /* (distinguish equivalent rings) */
@@ -331,6 +701,19 @@ public int hashCode ()
     /* computation is faster for it than for an embedding.    */
   }  /* hashCode() */
 
+  /*------------------------------------------------------------------*/
+  /** Compute a 64 bit fingerprint of the fragment.
+   *  <p>The fingerprint is computed from the nodes and edges of the
+   *  first embedding, which must be a normal (materialized) embedding
+   *  (see <code>Graph.fingerprint(Node[],int,Edge[],int)</code>).</p>
+   *  @return the fingerprint of the fragment
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  protected long fingerprint ()
+  { return Graph.fingerprint(this.list.nodes, this.list.nodes.length,
+                             this.list.edges, this.list.edges.length); }
+
   /*------------------------------------------------------------------*/
   /** Get the size of the fragment.
    *  <p>The size of the fragment is the number of nodes in an output
@@ -454,7 +837,7 @@ public int hashCode ()
         k = emb.edges.length;   /* the new edges are at the end */
         for (i = ext.size; --i >= 0; ) {
           edge = ext.edges[i];  /* traverse the added edges */
-          if (edge.mark >= 0) continue;
+          if (ext.marks.get(edge) >= 0) continue;
           if (edge != emb.edges[--k]) break;
     }                       /* if an edge differs, abort the loop */
         if (i < 0) return false;/* if all edges are identical, */
@@ -472,12 +855,20 @@ public int hashCode ()
     }
     if ((this.cnt <= this.max)  /* check conditions for normal append */
     ||  (ext.emb.graph == this.list.graph)) {
-      emb = ext.makeEmbedding();/* create a new embedding */
-      if (emb.graph != this.tail.graph)
-        this.curr = emb;        /* note embedding as the first */
+      if (ext.emb.graph != this.tail.graph)
+        this.curr = emb = ext.makeEmbedding();
+      else if ((ext.size != 0) || (ext.edgecnt != 1))
+        emb = ext.makeEmbedding();
+      else {                    /* if single edge ext. in same graph, */
+        emb = EmbDelta.create(ext);     /* create a relative emb. */
+        this.flags |= LAZY;     /* (arrays are created only if the */
+      }                         /* fragment is kept, see materialize) */
       this.tail = this.tail.succ = emb;
       return true;              /* append new embedding to the list */
     }                           /* and abort the function */
+    /* Note that the first embedding into each graph is always created */
+    /* with node and edge arrays, since it is needed to compare the    */
+    /* fragment to extensions and becomes the packed embedding below.  */
     if (this.curr.nodes == null)
       return true;              /* check for already packed embedding */
     this.flags |= PACKED;       /* set flag for packed embeddings */
@@ -514,7 +905,8 @@ public int hashCode ()
 
   public void pack (int max)
   {                             /* --- pack the list of embeddings */
-    Embedding emb;              /* to traverse the embeddings */
+    int       n;                /* number of embeddings into a graph */
+    Embedding emb, nxt;         /* to traverse the embeddings */
     Graph     g;                /* graph underlying current embedding */
     int       old = this.max;   /* old maximal number of embeddings */
 
@@ -524,26 +916,57 @@ public int hashCode ()
     ||  (((this.flags & PACKED) == 0) && (max >= Integer.MAX_VALUE))
     ||  (this.list == null))    /* check whether packing is necessary */
       return;                   /* and abort if it is not */
-    this.tail = this.curr = this.list;
-    g = this.list.graph;        /* always keep first embedding */
-    for (emb = this.list.succ; emb != null; emb = emb.succ) {
-      if (emb.graph != g) {     /* traverse the embeddings */
-        if ((g != this.list.graph)  /* if at a new graph */
-        &&  (this.cnt > this.max)) {
-          this.tail = this.curr;    /* if too many embeddings */
-          this.curr.nodes = null;   /* into the previous graph, */
-          this.curr.edges = null;   /* delete them and only keep */
-          this.flags |= PACKED;     /* a reference to the graph */
-        }                           /* set flag for packed embeddings */
-        g = emb.graph;          /* note the new underlying graph */
-        this.curr = emb;        /* and the first embedding into it */
-        this.cnt = 0;           /* reinit. the embedding counter */
+    if (this.graph == null)     /* create graph if necessary */
+      this.graph = new Graph(this);   /* (needed for reembedding) */
+    this.tail = this.list;      /* always keep the embeddings */
+    g = this.list.graph;        /* into the first graph */
+    while ((this.tail.succ != null) && (this.tail.succ.graph == g))
+      this.tail = this.tail.succ;
+    while (this.tail.succ != null) {
+      emb = this.tail.succ;     /* traverse the other graphs */
+      g   = emb.graph;          /* and count the embeddings */
+      n = 0; nxt = emb;         /* (packed embeddings count 0, */
+      while ((nxt != null) && (nxt.graph == g)) {   /* blocks > 1) */
+        n += nxt.count(); nxt = nxt.succ; }
+      if (n <= max) {           /* if the number is small enough, */
+        while (this.tail.succ != nxt)     /* keep the embeddings */
+          this.tail = this.tail.succ;
+        continue;               /* and go to the next graph */
       }
+      emb = new Embedding();    /* create a packed embedding, */
+      emb.graph = g;            /* which only refers to the graph, */
+      emb.succ  = nxt;          /* and replace the embeddings */
       this.tail = this.tail.succ = emb;
-      this.cnt++;               /* append the embedding to the list */
-    }                           /* and count it for the current graph */
+      this.flags |= PACKED;     /* set flag for packed embeddings */
+    }
+    this.curr = this.list;      /* reset the embedding cursor */
   }  /* pack() */
 
+  /*------------------------------------------------------------------*/
+  /** Pack all embeddings except those into the first graph.
+   *  <p>In contrast to <code>pack(int)</code> this function does not
+   *  change the maximum number of embeddings per graph, so that the
+   *  list of embeddings can be restored with <code>unpack()</code>.
+   *  It is meant to release memory temporarily.</p>
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  public void packAll ()
+  {                             /* --- pack all embeddings */
+    int max = this.max;         /* note the maximal number */
+    this.pack(0);               /* of embeddings per graph, */
+    this.max = max;             /* pack all embeddings, and */
+  }  /* packAll() */            /* restore the maximal number */
+
+  /*------------------------------------------------------------------*/
+  /** Check whether the list of embeddings is packed.
+   *  @return whether the list of embeddings is packed
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  public boolean isPacked ()
+  { return (this.flags & PACKED) != 0; }
+
   /*------------------------------------------------------------------*/
   /** Unpack the list of embeddings.
    *  @since  2007.08.14 (Christian Borgelt) */
@@ -551,13 +974,212 @@ public int hashCode ()
 
   public void unpack ()
   {                             /* --- unpack the list of embeddings */
-    if ((this.flags & PACKED) == 0)
-      return;                   /* check for packed embeddings */
+    if (((this.flags & (PACKED|COMPACT)) == 0)
+    ||  (this.list == null))    /* check for packed embeddings */
+      return;                   /* (and for existing embeddings) */
     Embedding t = this.first(); /* get the first embedding */
     for (Embedding emb = this.next(); emb != null; emb = this.next())
       t = t.succ = emb;         /* always append the next embedding */
-    this.flags &= ~PACKED;      /* clear flag for packed embeddings */
-  }  /* unpack() */
+    this.flags &= ~(PACKED|COMPACT);  /* clear flags for packed */
+    this.cid = 0;               /* and compact embeddings and */
+  }  /* unpack() */             /* invalidate cached reembeddings */
+
+  /*------------------------------------------------------------------*/
+  /** Store the embeddings compactly.
+   *  <p>The embeddings into each graph (except the first) are replaced
+   *  by a block, in which the embeddings are represented by rows of
+   *  node and edge indices (see class <code>EmbBlock</code>). Such a
+   *  block needs considerably less memory than the embedding objects.
+   *  The functions <code>first()</code> and <code>next()</code>
+   *  recreate the embedding objects when they are traversed.</p>
+   *  <p>The embeddings into the first graph are kept, because several
+   *  functions access the first embedding directly. Embeddings that
+   *  have been packed are also kept, since they are not stored.
+   *  Embeddings cannot be added to the fragment afterwards.</p>
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  protected void compact ()
+  {                             /* --- store the embeddings compactly */
+    int       n;                /* number of embeddings into a graph */
+    Embedding emb, prv, nxt;    /* to traverse the embeddings */
+    EmbBlock  blk;              /* created block of embeddings */
+    Graph     g;                /* graph underlying current embedding */
+
+    if ((this.list == null) || ((this.flags & COMPACT) != 0))
+      return;                   /* check for embeddings to compact */
+    prv = this.list;            /* skip the first graph's embeddings */
+    while ((prv.succ != null) && (prv.succ.graph == prv.graph))
+      prv = prv.succ;           /* (they are kept as objects) */
+    while (prv.succ != null) {  /* traverse the other graphs */
+      emb = prv.succ;           /* get the first embedding */
+      g   = emb.graph;          /* into the next graph */
+      for (n = 1, nxt = emb.succ; (nxt != null) && (nxt.graph == g); n++)
+        nxt = nxt.succ;         /* count the embeddings into it */
+      blk = (emb.nodes != null) ? EmbBlock.create(emb, n) : null;
+      if (blk == null) {        /* if no block can be created, */
+        while (prv.succ != nxt) /* keep the embedding objects */
+          prv = prv.succ;       /* (e.g. for a packed embedding) */
+        continue;               /* and go to the next graph */
+      }
+      blk.succ = nxt;           /* replace the embeddings */
+      prv = prv.succ = blk;     /* by the created block */
+      this.flags |= COMPACT;    /* set flag for compact embeddings */
+    }
+    this.tail = prv;            /* note the new tail of the list */
+    this.curr = this.list;      /* and reset the embedding cursor */
+  }  /* compact() */
+
+  /*------------------------------------------------------------------*/
+  /** Store the embeddings relative to their base embeddings.
+   *  <p>Each embedding (except those into the first graph) that
+   *  differs from its base embedding only by an added edge and maybe
+   *  an added node is replaced by a relative embedding (see class
+   *  <code>EmbDelta</code>), which only refers to the base embedding.
+   *  The node and edge arrays are recreated by <code>next()</code>
+   *  and can be released again with <code>release()</code>.
+   *  The references of all other embeddings to their base embeddings
+   *  are cleared, so that the base embeddings can be collected.</p>
+   *  <p>This function must be called only after any adaptation of the
+   *  fragment and while the base fragment still has its embeddings.
+   *  Embeddings cannot be added to the fragment afterwards.</p>
+   *  @param  delta whether to create relative embeddings
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  protected void reduce (boolean delta)
+  {                             /* --- store embeddings relatively */
+    Embedding emb, prv;         /* to traverse the embeddings */
+    EmbDelta  d;                /* created relative embedding */
+    Graph     g;                /* the first graph */
+
+    if (this.list == null) return;  /* check for embeddings */
+    g = this.list.graph;        /* get the first graph */
+    for (prv = null, emb = this.list; emb != null; emb = emb.succ) {
+      if (!delta || (emb.graph == g)
+      ||  ((d = EmbDelta.create(emb)) == null)) {
+        emb.base = null;        /* if no relative embedding, */
+        prv = emb; continue;    /* clear the base reference */
+      }                         /* and keep the embedding */
+      d.succ   = emb.succ;      /* replace the embedding */
+      prv.succ = prv = d;       /* by the relative embedding */
+      this.flags |= DELTA;      /* set flag for relative embeddings */
+    }
+    this.tail = prv;            /* note the new tail of the list */
+    this.curr = this.list;      /* and reset the embedding cursor */
+  }  /* reduce() */
+
+  /*------------------------------------------------------------------*/
+  /** Turn the embeddings that were created lazily into normal ones.
+   *  <p>Single edge extensions into a graph, for which the fragment
+   *  already has an embedding, are stored as relative embeddings
+   *  (see <code>add(Extension)</code>), so that node and edge arrays
+   *  are allocated only for fragments that are actually kept. This
+   *  function must be called for these fragments before they are
+   *  stored, while the embeddings of the base fragment still have
+   *  their node and edge arrays. It is also called by all functions
+   *  that access the list of embeddings directly (rather than with
+   *  <code>first()</code> and <code>next()</code>).</p>
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  protected void materialize ()
+  {                             /* --- create normal embeddings */
+    Embedding emb, prv;         /* to traverse the embeddings */
+
+    if ((this.flags & LAZY) == 0)
+      return;                   /* check for lazy embeddings */
+    for (prv = this.list; prv.succ != null; ) {
+      emb = prv.succ;           /* traverse the embeddings */
+      if (!(emb instanceof EmbDelta)) {
+        prv = emb; continue; }  /* skip normal embeddings */
+      prv = prv.succ = ((EmbDelta)emb).materialize();
+      prv.succ = emb.succ;      /* replace the relative embedding */
+    }                           /* by a normal embedding */
+    this.tail   = prv;          /* note the new tail of the list */
+    this.flags &= ~LAZY;        /* and clear the flag */
+  }  /* materialize() */
+
+  /*------------------------------------------------------------------*/
+  /** Release the node and edge arrays of relative embeddings.
+   *  @see    #reduce(boolean)
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  protected void release ()
+  {                             /* --- release node and edge arrays */
+    if ((this.flags & DELTA) == 0)
+      return;                   /* check for relative embeddings */
+    for (Embedding emb = this.list; emb != null; emb = emb.succ)
+      if (emb instanceof EmbDelta) ((EmbDelta)emb).release();
+  }  /* release() */
+
+  /*------------------------------------------------------------------*/
+  /** Get the number of stored embeddings of the fragment.
+   *  <p>Packed embeddings, which are recreated by reembedding, are not
+   *  counted, embeddings in compact blocks are.</p>
+   *  @return the number of stored embeddings
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  protected int stored ()
+  {                             /* --- count the stored embeddings */
+    int n = 0;                  /* number of stored embeddings */
+    for (Embedding emb = this.list; emb != null; emb = emb.succ)
+      n += emb.count();         /* sum the embedding counts */
+    return n;                   /* return the number of embeddings */
+  }  /* stored() */
+
+  /*------------------------------------------------------------------*/
+  /** Estimate the memory needed by the embeddings of the fragment.
+   *  @return the estimated number of bytes needed by the embeddings
+   *  @see    Embedding#memory()
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  protected long memory ()
+  {                             /* --- estimate memory usage */
+    long m = 0;                 /* memory needed by the embeddings */
+    for (Embedding emb = this.list; emb != null; emb = emb.succ)
+      m += emb.memory();        /* sum the memory estimates */
+    return m;                   /* return the total memory */
+  }  /* memory() */
+
+  /*------------------------------------------------------------------*/
+  /** Replace all compact blocks and relative embeddings by normal
+   *  embeddings.
+   *  <p>This function is needed before the embeddings are reorganized,
+   *  since neither the rows of a block nor a relative embedding can
+   *  be reordered directly.</p>
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  private void uncompact ()
+  {                             /* --- expand compact blocks */
+    Embedding emb, prv, nxt;    /* to traverse the embeddings */
+
+    if ((this.flags & (COMPACT|DELTA)) == 0)
+      return;                   /* check for blocks/relative embs. */
+    for (prv = this.list; prv.succ != null; ) {
+      emb = prv.succ;           /* traverse the embeddings */
+      if (emb instanceof EmbDelta) {
+        nxt = ((EmbDelta)emb).expand();
+        prv = prv.succ = new Embedding(nxt.graph, nxt.nodes, nxt.edges);
+        prv.succ = emb.succ;    /* replace a relative embedding */
+        continue;               /* by a normal embedding */
+      }
+      if (!(emb instanceof EmbBlock)) {
+        prv = emb; continue; }  /* skip normal embeddings */
+      nxt = emb.succ;           /* replace the block */
+      prv.succ = ((EmbBlock)emb).expand();
+      while (prv.succ != null)  /* by the embeddings it represents */
+        prv = prv.succ;         /* and find the end of the list */
+      prv.succ = nxt;           /* of recreated embeddings */
+    }
+    this.tail  = prv;           /* note the new tail of the list */
+    this.curr  = this.list;     /* and reset the embedding cursor */
+    this.flags &= ~(COMPACT|DELTA);   /* clear flags for blocks */
+  }  /* uncompact() */                /* and relative embeddings */
 
   /*------------------------------------------------------------------*/
   /** Get the first embedding of the fragment.
@@ -568,7 +1190,10 @@ public int hashCode ()
    *  have been packed and thus are not available directly. Rather
    *  these two functions regenerate the embeddings from a packed
    *  embedding by reembedding the subgraph representing the
-   *  fragment into the corresponding graph.</p>
+   *  fragment into the corresponding graph (or by taking them from
+   *  the embedding cache of the current thread, see the class
+   *  <code>EmbCache</code>). Embeddings that are stored in compact
+   *  blocks are recreated from the blocks.</p>
    *  <p>Note that this function, just as the accompanying function
    *  <code>next()</code>, modifies the <code>tail</code> pointer,
    *  which is reused as a cursor for packed embeddings, and thus it
@@ -606,8 +1231,12 @@ public int hashCode ()
     }
     if (this.curr.nodes != null)/* if this is not a packed element, */
       return this.curr;         /* it can be returned directly */
+    if (this.curr instanceof EmbDelta)  /* create the arrays */
+      return ((EmbDelta)this.curr).expand();  /* of a relative emb. */
     this.tail = this.curr.succ; /* advance packed element pointer */
-    return this.curr = this.curr.graph.embed(this.graph);
+    if (this.curr instanceof EmbBlock)  /* recreate block embeddings */
+      return this.curr = ((EmbBlock)this.curr).expand();
+    return this.curr = EmbCache.get().embed(this, this.curr.graph);
   }  /* next() */               /* reembed fragment into graph */
 
   /*------------------------------------------------------------------*/
@@ -651,43 +1280,86 @@ public int hashCode ()
    *  <p>The minimum number of different nodes a node is mapped to is
    *  determined separately for the two graph groups (<code>FOCUS</code>
    *  and <code>COMPL</code>) and stored in <code>this.supp</code>.</p>
+   *  <p>The different images of the fragment nodes in a graph are
+   *  recorded in bit sets (one per fragment node), which are indexed
+   *  with the node identifiers relative to the identifier of the first
+   *  node of the graph (see <code>Markers.number()</code>). Hence no
+   *  markers are set, so that the list of embeddings can be traversed
+   *  with <code>first()</code> and <code>next()</code> even if it is
+   *  packed (reembedding uses the markers).</p>
    *  @since  2007.08.10 (Christian Borgelt) */
   /*------------------------------------------------------------------*/
 
   private void getMinImage ()
   {                             /* --- compute min. node images */
-    int       i;                /* loop variable */
-    Graph     g;                /* to traverse the graphs */
+    int       i, k, n, w = 0;   /* loop variables, words per set */
+    int       base = 0;         /* identifier of first graph node */
+    Graph     g = null;         /* graph of the current embedding */
     Embedding emb;              /* to traverse the embeddings */
-    int[]     ics = new int[2]; /* node image counters */
-
+    long[]    imgs = null;      /* node images in the current graph */
+    int[][]   ics;              /* node image counters */
+    int[]     cnts;             /* counters of the current group */
+    int[]     ris  = this.ris;  /* buffers for the ring node indices */
+    Embedding tail = this.tail; /* and the tail of the embedding list */
+
+    n   = this.size();          /* get the number of nodes and */
+    ics = new int[2][n];        /* create the node image counters */
+    for (emb = this.first(); emb != null; emb = this.next()) {
+      if (emb.graph != g) {     /* traverse the embeddings and */
+        g    = emb.graph;       /* if the next graph is reached, */
+        base = g.nodes[0].id;   /* note the first node identifier */
+        w    = (g.nodecnt +63) >>> 6;
+        if ((imgs == null) || (imgs.length < n*w))
+          imgs = new long[n*w]; /* create bit sets for the images */
+        else Arrays.fill(imgs, 0, n*w, 0);
+      }                         /* or clear the existing ones */
+      cnts = ics[emb.getGroup()];
+      for (i = n; --i >= 0; ) { /* traverse the fragment nodes */
+        k = (base >= 0) ? emb.nodes[i].id -base
+          : Fragment.indexOf(g, emb.nodes[i]);
+        assert (k >= 0) && (k < g.nodecnt);
+        if (k < 0) continue;    /* (node must be in the graph) */
+        k += (i*w) << 6;        /* get the bit of the node image */
+        if ((imgs[k >>> 6] & (1L << k)) != 0)
+          continue;             /* skip already known node images */
+        imgs[k >>> 6] |= 1L << k;
+        cnts[i]++;              /* record and count */
+      }                         /* the new node images */
+    }
+    this.ris  = ris;            /* restore the ring node indices */
+    this.tail = tail;           /* and the list tail */
+    /* The functions first() and next() clear the ring node indices */
+    /* and the list tail, which are still needed for adapting ring  */
+    /* extensions (see Extension.adaptRing()).                      */
     this.supp[FOCUS] =          /* init. the node image minima */
     this.supp[COMPL] = Integer.MAX_VALUE;
-    this.unpack();              /* unpack the list of embeddings */
-    /* A packed embedding list must be unpacked in order to avoid   */
-    /* re-embedding, because re-embedding interferes with the node  */
-    /* marking used in this function to count the number of images. */
-    /* Unpacking is almost without cost if the list is not packed.  */
-    for (i = this.size(); --i >= 0; ) {
-      ics[FOCUS] = 0;           /* traverse the nodes of the fragment */
-      ics[COMPL] = 0;           /* init. the node image counters */
-      for (emb = this.list; emb != null; emb = emb.succ) {
-        if (emb.nodes[i].mark == i) continue;
-        emb.nodes[i].mark = i;  /* traverse the embeddings, */
-        ics[emb.getGroup()]++;  /* mark any new node image and */
-      }                         /* count the different node images */
-      if (ics[FOCUS] < this.supp[FOCUS]) this.supp[FOCUS] = ics[FOCUS];
-      if (ics[COMPL] < this.supp[COMPL]) this.supp[COMPL] = ics[COMPL];
+    for (i = n; --i >= 0; ) {   /* traverse the fragment nodes */
+      if (ics[FOCUS][i] < this.supp[FOCUS])
+        this.supp[FOCUS] = ics[FOCUS][i];
+      if (ics[COMPL][i] < this.supp[COMPL])
+        this.supp[COMPL] = ics[COMPL][i];
     }                           /* update the node image minima */
-    this.pack();                /* repack list of embeddings */
-    /* Repacking the list of embeddings is basically without cost  */
-    /* if the list was not packed before this function was called. */
-    for (g = this.firstGraph(); g != null; g = this.nextGraph()) {
-      for (i = g.nodecnt; --i >= 0; )
-        if (g.nodes[i].mark >= 0) g.nodes[i].mark = -1;
-    }                           /* clear all node markers */
   }  /* getMinImage() */
 
+  /*------------------------------------------------------------------*/
+  /** Find the index of a node in a graph.
+   *  <p>This function is needed only for graphs the nodes of which
+   *  have not been numbered (see <code>Markers.number()</code>).</p>
+   *  @param  graph the graph in which to find the node
+   *  @param  node  the node to find
+   *  @return the index of the node in the graph or -1
+   *          if the node is not contained in the graph
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  private static int indexOf (Graph graph, Node node)
+  {                             /* --- find the index of a node */
+    int i;                      /* loop variable */
+    for (i = graph.nodecnt; --i >= 0; )
+      if (graph.nodes[i] == node) break;
+    return i;                   /* return the index of the node */
+  }  /* indexOf() */
+
   /*------------------------------------------------------------------*/
   /** Find the size of a maximum independent set of the overlap graph.
    *  <p>The size of a maximum independent set of the overlap graph is
@@ -703,6 +1375,8 @@ public int hashCode ()
     Embedding    emb;           /* to traverse the embeddings */
     Graph        g;             /* graph underlying current embedding */
     int          group;         /* group of a graph (focus/compl.) */
+    int[]        ris  = this.ris;   /* buffers for the ring node */
+    Embedding    tail = this.tail;  /* indices and the list tail */
 
     this.supp[FOCUS] = this.supp[COMPL] = 0;
     olap  = new OverlapGraph((type & SUPPMASK) == MIS_HARM);
@@ -719,6 +1393,8 @@ public int hashCode ()
     }                           /* to the overlap graph */
     if (g != null)              /* process the last graph */
       this.supp[group] += olap.getMISSize((type & GREEDY) != 0);
+    this.ris  = ris;            /* restore the ring node indices */
+    this.tail = tail;           /* and the list tail */
   }  /* getMISSize() */
 
   /*------------------------------------------------------------------*/
@@ -733,19 +1409,104 @@ public int hashCode ()
   /*------------------------------------------------------------------*/
 
   public void computeSupport (int type)
+  { this.computeSupport(type, null); }
+
+  /*------------------------------------------------------------------*/
+  /** Compute the support of the fragment.
+   *  <p>If a thread pool is given, the contributions of the graphs
+   *  to the support are computed in parallel if the fragment occurs
+   *  in sufficiently many graphs (see class <code>SuppPool</code>).
+   *  The result is the same as for a sequential computation.</p>
+   *  @param  type the type of support to compute
+   *  @param  pool the thread pool for a parallel computation
+   *               (may be <code>null</code>)
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  public void computeSupport (int type, SuppPool pool)
   {                             /* --- compute the support */
     int t = type & SUPPMASK;    /* get the pure support type */
     if (t == GRAPHS)            /* if the support of a fragment */
       return;                   /* is the number of graphs, abort */
+    this.materialize();         /* create normal embeddings */
     if (this.list.nodes.length <= 1) {
       this.supp[FOCUS] = this.supp[2+FOCUS];
       this.supp[COMPL] = this.supp[2+COMPL];
       return;                   /* if the fragment has only one node, */
     }                           /* the support is the number of embs. */
+    if ((pool != null) && this.computeParallel(type, pool))
+      return;                   /* try a parallel computation */
     if (t == MIN_IMAGE) this.getMinImage();
     else                this.getMISSize(type);
   }  /* computeSupport() */     /* otherwise call special function */
 
+  /*------------------------------------------------------------------*/
+  /** Compute the support of the fragment in parallel.
+   *  <p>The embeddings are collected (reembedding packed lists with
+   *  the current thread) and split into runs of embeddings into the
+   *  same graph, the contributions of which are then computed by the
+   *  threads of the given pool and the current thread. A parallel
+   *  computation is carried out only if the fragment occurs in at
+   *  least <code>SuppPool.MINRUNS</code> graphs (and, for minimum
+   *  image support, if the nodes of the graphs are numbered).</p>
+   *  @param  type the type of support to compute
+   *  @param  pool the thread pool to use
+   *  @return whether the support was computed
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  private boolean computeParallel (int type, SuppPool pool)
+  {                             /* --- compute support in parallel */
+    int         i, k, n;        /* loop variables, number of nodes */
+    Embedding   emb;            /* to traverse the embeddings */
+    Embedding[] embs;           /* collected embeddings */
+    int[]       runs;           /* start indices of graph runs */
+    int[]       sums;           /* summed contributions */
+    Graph       g;              /* graph of the current run */
+    int[]       ris;            /* buffers for the ring node indices */
+    Embedding   tail;           /* and the tail of the embedding list */
+
+    if ((this.supp[FOCUS] +this.supp[COMPL] < SuppPool.MINRUNS)
+    ||  (this.list.graph.nodes[0].id < 0))
+      return false;             /* check for enough (numbered) graphs */
+    embs = new Embedding[this.supp[2+FOCUS] +this.supp[2+COMPL]];
+    runs = new int[this.supp[FOCUS] +this.supp[COMPL] +1];
+    ris  = this.ris; tail = this.tail;
+    g = null; i = k = 0;        /* collect the embeddings */
+    for (emb = this.first(); emb != null; emb = this.next()) {
+      if (emb.graph != g) {     /* if the next graph is reached */
+        if (k >= runs.length-1) /* enlarge the run array if needed */
+          runs = Arrays.copyOf(runs,
+                   runs.length +(runs.length >> 1) +16);
+        runs[k++] = i; g = emb.graph;
+      }                         /* note the start of the run */
+      if (i >= embs.length)     /* enlarge the embedding array */
+        embs = Arrays.copyOf(embs,
+                 embs.length +(embs.length >> 1) +16);
+      embs[i++] = emb;          /* store the embedding */
+    }
+    runs[k] = i;                /* store the sentinel */
+    this.ris  = ris;            /* restore the ring node indices */
+    this.tail = tail;           /* and the list tail */
+    n = this.size();            /* get the number of nodes */
+    if ((type & SUPPMASK) != MIN_IMAGE) {
+      sums = pool.execute(new MISJob(embs, runs, k, type));
+      this.supp[FOCUS] = sums[FOCUS];
+      this.supp[COMPL] = sums[COMPL];
+      return true;              /* sum the MIS sizes per group */
+    }                           /* and store them as the support */
+    sums = pool.execute(new ImageJob(embs, runs, k, n));
+    this.supp[FOCUS] =          /* init. the node image minima */
+    this.supp[COMPL] = Integer.MAX_VALUE;
+    for (i = n; --i >= 0; ) {   /* traverse the fragment nodes */
+      if (sums[FOCUS*n +i] < this.supp[FOCUS])
+        this.supp[FOCUS] = sums[FOCUS*n +i];
+      if (sums[COMPL*n +i] < this.supp[COMPL])
+        this.supp[COMPL] = sums[COMPL*n +i];
+    }                           /* update the node image minima */
+    return true;                /* return 'support computed' */
+  }  /* computeParallel() */
+
   /*------------------------------------------------------------------*/
   /** Get the support of a fragment (in both groups together).
    *  @return the (total) support of a fragment
@@ -878,7 +1639,8 @@ public int hashCode ()
         xe = emb.extend(this.src, d, edge, node);
         if (xe != null) this.add(xe, 0);
       }                         /* create extended embeddings */
-    }                           /* and add them to the fragment */
+      this.base.release();      /* and add them to the fragment, */
+    }                           /* release arrays of base embs. */
     /* Note that some of the base embeddings may not be extendable  */
     /* and that some of the graphs containing the base fragment may */
     /* not contain the extended fragment. In such cases g.embed and */
@@ -1055,18 +1817,22 @@ public int hashCode ()
   {                             /* --- check for equivalence */
     int       i, k;             /* loop variables */
     Embedding emb, ref;         /* to traverse the embeddings */
+    Markers   mk;               /* markers of the current thread */
 
+    this.materialize();         /* create normal embeddings */
+    frag.materialize();         /* for both fragments */
     ref = frag.list;            /* get the embeddings of */
     emb = this.list;            /* the fragments to compare */
     if ((ref.graph != emb.graph)/* if basic properties differ */
     ||  (ref.nodes.length != emb.nodes.length)
     ||  (ref.edges.length != emb.edges.length))
       return false;             /* fragments cannot be equivalent */
+    mk = Markers.get();         /* get the markers of the thread */
     for (i = ref.edges.length; --i >= 0; )
-      ref.edges[i].mark = 0;    /* mark the embedding in the graph */
+      mk.set(ref.edges[i], 0);  /* mark the embedding in the graph */
     do {                        /* embedding comparison loop */
       for (k = emb.edges.length; --k >= 0; )
-        if (emb.edges[k].mark < 0) /* if a edge marker is not set, */
+        if (mk.get(emb.edges[k]) < 0) /* if an edge marker is unset, */
           break;                   /* the embeddings differ */
       if (k < 0) break;         /* if an equiv. embed. found, abort, */
       emb = emb.succ;           /* otherwise go to the next fragment */
@@ -1076,7 +1842,7 @@ public int hashCode ()
     /* this.first() and this.next(), since only the embeddings into  */
     /* the first graph are accessed, which will never be packed.     */
     for (i = ref.edges.length; --i >= 0; )
-      ref.edges[i].mark = -1;   /* unmark the embedding in graph */
+      mk.set(ref.edges[i], -1); /* unmark the embedding in graph */
     return (k < 0);             /* return comparison result */
   }  /* isEquivTo() */
 
@@ -1087,22 +1853,23 @@ public int hashCode ()
    *  It is the question whether it is worth the effort to remove this
    *  redundancy, as it requires to store more information per ring
    *  edge.</p>
-   *  @param  src the index of the source      node of the first edge
-   *  @param  re  the first edge of a possible ring extension
-   *  @param  dst the index of the destination node of the first edge
-   *  @param  buf a buffer for the ring edge information
-   *  @param  mna the maximum number of new nodes
+   *  @param  exts the extension list to add the ring extensions to
+   *  @param  src  the index of the source      node of the first edge
+   *  @param  re   the first edge of a possible ring extension
+   *  @param  dst  the index of the destination node of the first edge
+   *  @param  buf  a buffer for the ring edge information
+   *  @param  mna  the maximum number of new nodes
+   *  @param  mk   the markers of the current thread
    *  @since  2002.03.11 (Christian Borgelt) */
   /*------------------------------------------------------------------*/
 
-  private static ExtList rings (Node src, Edge re, Node dst,
-                                int[] buf, int mna)
+  private static void rings (ExtList exts, Node src, Edge re, Node dst,
+                             int[] buf, int mna, Markers mk)
   {                             /* --- create ring extensions */
     int     i, k, n;            /* loop variables */
     long    all, cur;           /* all ring flags and current one */
     Node    node;               /* to traverse the nodes of the ring */
     Edge    edge, x = null;     /* to traverse the edges of the ring */
-    ExtList e,    l = null;     /* list of ring extensions */
 
     all = re.getRings(); cur = 1;  /* note the ring flags */
     while (all != 0) {          /* while there is another ring flag */
@@ -1111,7 +1878,7 @@ public int hashCode ()
       edge = re; node = dst;    /* get initial edge and dest. node */
       n = k = 0;                /* initialize the counters */
       do {                      /* traverse the ring */
-        if (node.mark < 0) k++; /* count new nodes */
+        if (mk.get(node) < 0) k++;  /* count new nodes */
         for (i = node.deg; --i >= 0; ) {
           x = node.edges[i];    /* traverse the edges of the node */
           if (((x.flags & cur) != 0) && (x != edge))
@@ -1122,45 +1889,47 @@ public int hashCode ()
         node = (edge.src != node) ? edge.src : edge.dst;
         buf[n++] = edge.type;   /* store the edge type, */
         buf[n++] = node.type;   /* the destination node type, */
-        buf[n++] = node.mark;   /* and the dest. node index */
+        buf[n++] = mk.get(node);/* and the dest. node index */
       } while (node != src);    /* while the ring is not closed */
       if ((node != src)         /* check whether the ring was closed */
       ||  (k    > mna))         /* and whether it is small enough */
         continue;               /* if it is not, skip the ring */
-      e = new ExtList(src.mark, dst.mark, re.type, dst.type, buf, n);
-      e.succ = l; l = e;        /* create a new ring extension and */
-    }                           /* add it at the head of the list */
-    return l;                   /* return the created extensions */
+      exts.add(mk.get(src), mk.get(dst), re.type, dst.type, buf, n);
+    }                           /* add a new ring extension */
   }  /* rings() */
 
   /*------------------------------------------------------------------*/
   /** Check whether there is a matching ring extension.
    *  <p>All ring flags of the given edge are checked whether they
    *  lead to a ring extension matching the one described by the
-   *  given extension list element.</p>
-   *  @param  e   the extension list element to match
+   *  given extension record.</p>
+   *  @param  p   the array containing the extension record
+   *  @param  e   the offset of the extension record to match
    *  @param  src the index of the source node of the first edge
    *  @param  re  the first edge of a ring extension
    *  @param  dst the index of the destination node of the first edge
+   *  @param  mk  the markers of the current thread
    *  @return whether there is a matching ring extension
    *  @since  2005.07.23 (Christian Borgelt) */
   /*------------------------------------------------------------------*/
 
-  private static boolean match (ExtList e, Node src, Edge re, Node dst)
+  private static boolean match (int[] p, int e, Node src, Edge re,
+                                Node dst, Markers mk)
   {                             /* --- match ring extensions */
-    int   i, n;                 /* loop variables */
+    int   i, n, r;              /* loop variables, end of ring info. */
     long  all, cur;             /* all ring flags and current one */
     Node  node;                 /* to traverse the nodes of the ring */
     Edge  edge, x = null;       /* to traverse the edges of the ring */
 
+    r   = e +ExtList.RING +p[e+ExtList.LEN];
     all = re.getRings(); cur = 1;  /* note the ring flags */
     while (all != 0) {          /* while there is another ring flag */
       while ((all & cur) == 0) cur <<= 1;
       all &= ~cur;              /* find and remove the next ring flag */
       edge = re; node = dst;    /* get initial edge and dest. node */
-      n = 0;                    /* initialize the node counter */
+      n = e +ExtList.RING;      /* initialize the field index */
       do {                      /* traverse the ring */
-        if (n >= e.ring.length) {
+        if (n >= r) {
           n = -1; break; }      /* check the size of the ring */
         for (i = node.deg; --i >= 0; ) {
           x = node.edges[i];    /* traverse the edges of the node */
@@ -1170,12 +1939,12 @@ public int hashCode ()
         if (i < 0) break;       /* if the ring is incomplete, abort */
         edge = x;               /* go to the next edge and node */
         node = (edge.src != node) ? edge.src : edge.dst;
-        if ((e.ring[n++] != edge.type)
-        ||  (e.ring[n++] != node.type)
-        ||  (e.ring[n++] != node.mark)) {
+        if ((p[n++] != edge.type)
+        ||  (p[n++] != node.type)
+        ||  (p[n++] != mk.get(node))) {
           n = -1; break; }      /* check the edge properties */
       } while (node != src);    /* while the ring is not closed */
-      if (n >= e.ring.length)   /* check whether all edges */
+      if (n >= r)               /* check whether all edges */
         return true;            /* of the ring were matched */
     }
     return false;               /* no matching ring found */
@@ -1214,6 +1983,15 @@ public int hashCode ()
    *  the fragment is not closed, since each of the extensions that
    *  remain in the list can be done in all graphs and thus lead to
    *  a superstructure with the same support.</p>
+   *  <p>The extensions are kept in a table of integer records (class
+   *  <code>ExtList</code>), which is kept sorted (to remove duplicates)
+   *  while the first graph is processed. Extensions that match
+   *  in the current graph are moved to the front of the table, so that
+   *  the remaining embeddings into a graph are skipped as soon as all
+   *  extensions have been matched. This test is only a fallback: if
+   *  the search already found an extension with the same support, the
+   *  closed flag was cleared (see <code>setClosed()</code>) and the
+   *  function returns immediately.</p>
    *  @param  ext the extension object defining
    *              which extensions must be considered
    *  @return whether the fragment is closed
@@ -1222,84 +2000,86 @@ public int hashCode ()
 
   protected boolean isClosed (Extension ext)
   {                             /* --- check for a closed fragment */
-    int       i, k;             /* loop variables */
+    int       i, k, x;          /* loop variables, record offset */
+    int       n, m;             /* number of (matched) extensions */
     int       mnn;              /* maximal number of new nodes */
+    boolean   rng;              /* whether to create ring extensions */
     Embedding emb;              /* to traverse the embeddings */
     Graph     cur;              /* to traverse the graphs */
     Node      s, d;             /* to traverse the nodes */
     Edge      edge;             /* edge of previous extension */
-    ExtList   l1, l2, l3, e;    /* list of extensions */
+    ExtList   exts;             /* list of extensions */
+    int[]     p, o;             /* extension records and offsets */
+    Markers   mk;               /* markers of the current thread */
 
     if ((this.flags & CLOSED) == 0)
       return false;             /* check the non-closed flag */
 
     /* --- collect extensions in first graph --- */
-    mnn = ext.max -this.size(); /* get max. number of new nodes */
-    emb = this.first();         /* and the first embedding */
-    cur = emb.graph; l1 = null; /* note graph and init. list */
+    mnn  = ext.max -this.size();/* get max. number of new nodes */
+    rng  = (ext.mode & (Extension.RING|Miner.CLOSERINGS)) != 0;
+    emb  = this.first();        /* get the first embedding */
+    cur  = emb.graph;           /* and note its graph */
+    exts = new ExtList();       /* create an extension list */
+    mk   = Markers.get();       /* get the markers of the thread */
     do {                        /* extension generation loop */
-      emb.index();              /* mark embedding in the graph */
-      l2 = null;                /* and init. list */
+      emb.index(mk);            /* mark embedding in the graph */
       for (i = emb.nodes.length; --i >= 0; ) {
         s = emb.nodes[i];       /* traverse the embedding's nodes */
         for (k = s.deg; --k >= 0; ) {
           edge = s.edges[k];    /* traverse the unmarked edges */
-          if (edge.mark >= 0) continue;
+          if (mk.get(edge) >= 0) continue;
           d = (edge.src != s) ? edge.src : edge.dst;
-          if ((mnn <= 0) && (d.mark < 0))
+          if ((mnn <= 0) && (mk.get(d) < 0))
             continue;           /* if a new node is not allowed */
-          if (!edge.isInRing()  /* if this is not a ring extension */
-          ||  ((ext.mode & (Extension.RING|Miner.CLOSERINGS)) == 0))
-            l3 = e = new ExtList(s.mark, d.mark, edge.type, d.type);
-          else {                /* create single edge extension */
-            l3 = e = rings(s, edge, d, ext.word, mnn);
-            if (e == null) continue;
-            while (e.succ != null) e = e.succ;
-          }                     /* create ring extension(s) */
-          e.succ = l2; l2 = l3; /* add the new list element(s) */
-        }                       /* at the head of the extension list */
+          if (!edge.isInRing() || !rng)
+            exts.add(i, mk.get(d), edge.type, d.type);
+          else                  /* create single edge extension */
+            rings(exts, s, edge, d, ext.word, mnn, mk);
+        }                       /* or ring extension(s) */
       }
-      emb.mark(-1);             /* unmark the embedding again */
-      if ((ext.mode & (Extension.RING|Miner.CLOSERINGS)) != 0)
-        l2 = ExtList.sort(l2);  /* sort new extensions if necessary */
-      l1 = ExtList.merge(l1,l2);/* merge the extension lists */
-      emb = this.next();        /* (and remove duplicates) */
+      emb.mark(mk, -1);         /* unmark the embedding again */
+      exts.sort();              /* sort the new extensions and */
+      emb = this.next();        /* remove duplicate extensions */
     } while ((emb != null) && (emb.graph == cur));
+    n = exts.size();            /* get the number of extensions */
+    p = exts.data; o = exts.offs;
 
     /* --- check extensions in remaining graphs --- */
     while ((emb != null)        /* traverse remaining embeddings */
-    &&     (l1  != null)) {     /* while there are extensions left */
-      cur = emb.graph;          /* note the next graph */
-      l2  = null;               /* clear the waiting list */
+    &&     (n   >  0)) {        /* while there are extensions left */
+      cur = emb.graph;          /* note the next graph and */
+      m   = 0;                  /* clear the number of matched exts. */
       do {                      /* extension match loop */
-        emb.index();            /* mark embedding in the graph */
-        for (l3 = null; l1 != null; ) {
-          e = l1; l1 = e.succ;  /* traverse unmatched extensions */
-          s = emb.nodes[e.src]; /* get the extension's source node */
-          for (i = s.deg; --i >= 0; ) {
-            edge = s.edges[i];  /* traverse the unmarked edges */
-            if ((edge.mark >= 0) || (edge.type != e.edge))
-              continue;         /* check the edge type */
-            d = (edge.src != s) ? edge.src : edge.dst;
-            if ((d.type != e.node)
-            ||  (d.mark != e.dst))
-              continue;         /* check dest. node type and index */
-            if ((e.ring == null)
-            ||  match(e, s, edge, d))
-              break;            /* if there is a matching extension, */
-          }                     /* abort the search loop */
-          if (i >= 0) { e.succ = l2; l2 = e; }
-          else        { e.succ = l3; l3 = e; }
-        }                       /* distribute according to match */
-        l1 = l3;                /* get unmatched extensions */
-        emb.mark(-1);           /* unmark the embedding again */
-        emb = this.next();      /* and go to the next embedding */
+        if (m < n) {            /* if some exts. are still unmatched */
+          emb.index(mk);        /* mark embedding in the graph */
+          for (k = m; k < n; k++) {
+            x = o[k];           /* traverse unmatched extensions */
+            s = emb.nodes[p[x+ExtList.SRC]];
+            for (i = s.deg; --i >= 0; ) {
+              edge = s.edges[i];/* traverse the unmarked edges */
+              if ((mk.get(edge) >= 0)
+              ||  (edge.type != p[x+ExtList.EDGE]))
+                continue;       /* check the edge type */
+              d = (edge.src != s) ? edge.src : edge.dst;
+              if ((d.type    != p[x+ExtList.NODE])
+              ||  (mk.get(d) != p[x+ExtList.DST]))
+                continue;       /* check dest. node type and index */
+              if ((p[x+ExtList.LEN] <= 0)
+              ||  match(p, x, s, edge, d, mk))
+                break;          /* if there is a matching extension, */
+            }                   /* abort the search loop */
+            if (i >= 0) { o[k] = o[m]; o[m++] = x; }
+          }                     /* move matched extensions to front */
+          emb.mark(mk, -1);     /* unmark the embedding again */
+        }
+        emb = this.next();      /* go to the next embedding */
       } while ((emb != null) && (emb.graph == cur));
-      l1 = l2;                  /* get list of potential extensions */
-    }                           /* (may still match all graphs) */
-    if (l1 != null)             /* if there are extensions left, */
+      n = m;                    /* keep only the extensions that */
+    }                           /* were matched in the current graph */
+    if (n > 0)                  /* if there are extensions left, */
       this.flags &= ~CLOSED;    /* the fragment is not closed */
-    return (l1 == null);        /* return whether fragment is closed */
+    return (n <= 0);            /* return whether fragment is closed */
   }  /* isClosed() */
 
   /*------------------------------------------------------------------*/
@@ -1353,6 +2133,7 @@ public int hashCode ()
     Edge[]    esrc;             /* source for edge array */
 
     this.graph.map(ext);        /* reorganize the subgraph */
+    this.cid = 0;               /* invalidate cached reembeddings */
     n = this.list.nodes.length; /* get number of nodes and */
     e = this.list.edges.length; /* the number of edges */
     if (this.idx >= 0) {        /* if this fragment is the result */
@@ -1365,6 +2146,8 @@ public int hashCode ()
     ear  = (this.base != null) && (emb.edges.length == e);
     nsrc = ext.nodes;           /* get default source arrays */
     esrc = ext.edges;           /* for the reordering */
+    this.materialize();         /* create normal embeddings and */
+    this.uncompact();           /* expand compact blocks */
     for (emb = this.list; emb != null; emb = emb.succ) {
       if (emb.edges == null)    /* if this is a packed embedding, */
         continue;               /* it can be skipped (no adaptation) */
@@ -1609,6 +2392,9 @@ public int hashCode ()
          { this.src = x.src.mark; this.dst = x.dst.mark; k = -1; }
     else { this.src = x.dst.mark; this.dst = x.src.mark; k = -1; }
     n = this.dst -k;            /* adapt the node indices */
+    this.materialize();         /* create normal embeddings, */
+    this.uncompact();           /* expand compact blocks and */
+    this.cid = 0;               /* invalidate cached reembeddings */
     if ((k < 0) || (n <= 0)) {  /* if only to adapt the edges */
       for (emb = this.list; emb != null; emb = emb.succ) {
         if (emb.edges == null)  /* if this is a packed embedding, */
@@ -1655,6 +2441,7 @@ public int hashCode ()
     Embedding emb;              /* to traverse the embeddings */
     Edge      e;                /* to traverse the edges */
     Node      s, d;             /* to traverse the chain atoms */
+    Markers   mk;               /* markers of the current thread */
 
     n = this.chcnt;             /* get the number of chains */
     if (n <= 0) return true;    /* if there are no chains, abort */
@@ -1672,19 +2459,20 @@ public int hashCode ()
     /* buf[4k] and the current counting result allow a decision.  */
 
     /* --- process the first embedding --- */
-    emb = this.list;            /* get the first embedding */
+    emb = this.first();         /* get the first embedding */
+    mk  = Markers.get();        /* and the markers of the thread */
     for (i = emb.nodes.length; --i >= 0; )
-      emb.nodes[i].mark = i;    /* mark the nodes of the embedding */
+      mk.set(emb.nodes[i], i);  /* mark the nodes of the embedding */
     for (k = n, i = emb.edges.length; --i >= 0; ) {
       e = emb.edges[i];         /* traverse the embedding's edges */
-      if ((e.src.mark >= 0) && (e.dst.mark >= 0))
+      if ((mk.get(e.src) >= 0) && (mk.get(e.dst) >= 0))
         continue;               /* skip non-chain edges */
-      d = (e.src.mark < 0) ? e.dst : e.src;
-      buf[--k] = d.mark;        /* note index of node before chain */
+      d = (mk.get(e.src) < 0) ? e.dst : e.src;
+      buf[--k] = mk.get(d);     /* note index of node before chain */
       e = emb.edges[--i];       /* get the first chain edge */
       buf[--k] = i;             /* and note its index */
-      s = (e.src.mark < 0) ? e.dst : e.src;
-      buf[--k] = s.mark;        /* note index of node after chain */
+      s = (mk.get(e.src) < 0) ? e.dst : e.src;
+      buf[--k] = mk.get(s);     /* note index of node after chain */
       for (c = 0; true; ) {     /* traverse the chain */
         s = (e.src != s) ? e.src : e.dst;
         if (s == d) break;      /* if at end of chain, abort loop */
@@ -1694,10 +2482,10 @@ public int hashCode ()
       buf[--k] = c;             /* note the number of chain nodes */
     }
     for (i = emb.nodes.length; --i >= 0; )
-      emb.nodes[i].mark = -1;   /* unmark the nodes of the embedding */
+      mk.set(emb.nodes[i], -1); /* unmark the nodes of the embedding */
 
     /* --- process the remaining embeddings --- */
-    for (emb = emb.succ; emb != null; emb = emb.succ) {
+    for (emb = this.next(); emb != null; emb = this.next()) {
       for (i = n, k = n = 0; k < i; k += 4) {
         s = emb.nodes[buf[k+1]];/* traverse the remaining chains */
         e = emb.edges[buf[k+2]];/* for each chain get the nodes */
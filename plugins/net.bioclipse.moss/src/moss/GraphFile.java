@@ -0,0 +1,280 @@
+/*******************************************************************************
+ *Copyright (c) 2008 The Bioclipse Team and others.
+ *All rights reserved. This program and the accompanying materials
+ *are made available under the terms of the Eclipse Public License v1.0
+ *which accompanies this distribution, and is available at
+ *http://www.eclipse.org/legal/epl-v10.html
+ *
+ *******************************************************************************/
+/*----------------------------------------------------------------------
+  File    : GraphFile.java
+  Contents: class for binary files of prepared graph databases
+  Author  : The Bioclipse Team
+  History : 2026.10.17 file created
+----------------------------------------------------------------------*/
+package moss;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/*--------------------------------------------------------------------*/
+/** Class for binary files of prepared graph databases.
+ *  <p>A graph file stores a list of named graphs as it is after
+ *  parsing and preprocessing (conversion of Kekul&eacute;
+ *  representations, marking of bridges and rings, masking of the
+ *  node and edge types), so that a later search on the same graph
+ *  data set can start from it without parsing and preprocessing the
+ *  graphs again. For each graph the name, the associated value, the
+ *  group, the node types and markers, the edge types, markers and
+ *  (ring and bridge) flags and the order of the edges at each node
+ *  are stored, so that the restored graphs are identical to the
+ *  stored ones.</p>
+ *  <p>The file starts with a key, which is an array of integers that
+ *  describes the parameters of the preprocessing (for example, the
+ *  type masks and the ring sizes). A file is only read if its key is
+ *  equal to the key given when the graph file object was created;
+ *  otherwise it is considered to be outdated. The file is read with
+ *  a memory-mapped buffer.</p>
+ *  @author The Bioclipse Team
+ *  @since  2026.10.17 */
+/*--------------------------------------------------------------------*/
+public class GraphFile {
+
+  /*------------------------------------------------------------------*/
+  /*  constants                                                       */
+  /*------------------------------------------------------------------*/
+  /** the magic number at the start of a graph file ("MoSG") */
+  private static final int MAGIC   = 0x4d6f5347;
+  /** the version of the file format */
+  private static final int VERSION = 1;
+  /** the size of the output buffer */
+  private static final int BUFSIZE = 65536;
+
+  /*------------------------------------------------------------------*/
+  /*  instance variables                                              */
+  /*------------------------------------------------------------------*/
+  /** the name of the graph file */
+  private String fname;
+  /** the key describing the preprocessing of the graphs */
+  private int[]  key;
+  /** the flags stored with the graphs */
+  private int    flags;
+
+  /*------------------------------------------------------------------*/
+  /** Create a graph file object.
+   *  @param  fname the name of the graph file
+   *  @param  key   the key describing the preprocessing of the graphs
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  public GraphFile (String fname, int[] key)
+  {                             /* --- create a graph file object */
+    this.fname = fname;         /* note the file name */
+    this.key   = key;           /* and the preprocessing key */
+    this.flags = 0;             /* clear the stored flags */
+  }  /* GraphFile() */
+
+  /*------------------------------------------------------------------*/
+  /** Get the flags that were stored with the graphs.
+   *  <p>The flags are only valid after the graphs have been read
+   *  successfully with the function <code>read()</code>.</p>
+   *  @return the flags that were stored with the graphs
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  public int getFlags ()
+  { return this.flags; }
+
+  /*------------------------------------------------------------------*/
+  /** Write a list of named graphs to the graph file.
+   *  @param  graphs the list of graphs to write
+   *  @param  flags  additional flags to store with the graphs
+   *  @throws IOException if an i/o error occurs
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  public void write (NamedGraph graphs, int flags) throws IOException
+  {                             /* --- write graphs to a file */
+    int              i, k, n;   /* loop variables, number of graphs */
+    NamedGraph       graph;     /* to traverse the graphs */
+    Node             node;      /* to traverse the nodes */
+    Edge             edge;      /* to traverse the edges */
+    String           name;      /* name of a graph */
+    int[]            nids;      /* buffer for the node identifiers */
+    int[]            eids;      /* buffer for the edge identifiers */
+    DataOutputStream out;       /* output stream for the file */
+
+    for (n = 0, graph = graphs; graph != null; graph = graph.succ)
+      n++;                      /* count the graphs */
+    out = new DataOutputStream(new BufferedOutputStream(
+            new FileOutputStream(this.fname), BUFSIZE));
+    try {                       /* open the output file */
+      out.writeInt(MAGIC);      /* write the file header */
+      out.writeInt(VERSION);    /* (magic number, version, */
+      out.writeInt(this.key.length);   /* preprocessing key, */
+      for (i = 0; i < this.key.length; i++)
+        out.writeInt(this.key[i]);     /* flags, and */
+      out.writeInt(flags);      /* the number of graphs) */
+      out.writeInt(n);
+      nids = new int[16];       /* create buffers for */
+      eids = new int[16];       /* the identifiers */
+      for (graph = graphs; graph != null; graph = graph.succ) {
+        name = graph.name;      /* traverse the graphs */
+        out.writeInt(graph.nodecnt);
+        out.writeInt(graph.edgecnt);
+        out.writeInt(graph.group);
+        out.writeFloat(graph.value);
+        out.writeInt((name != null) ? name.length() : -1);
+        if (name != null) out.writeChars(name);
+        if (graph.nodecnt > nids.length)
+          nids = new int[graph.nodecnt +(graph.nodecnt >> 1)];
+        if (graph.edgecnt > eids.length)
+          eids = new int[graph.edgecnt +(graph.edgecnt >> 1)];
+        for (i = 0; i < graph.nodecnt; i++) {
+          node = graph.nodes[i];/* traverse the nodes */
+          out.writeInt(node.type);
+          out.writeInt(node.mark);
+          out.writeInt(node.id);
+          out.writeInt(node.deg);
+          nids[i] = node.id;    /* write the node information and */
+          node.id = i;          /* replace the node identifier */
+        }                       /* by the node index */
+        for (i = 0; i < graph.edgecnt; i++) {
+          edge = graph.edges[i];/* traverse the edges */
+          out.writeInt(edge.src.id);
+          out.writeInt(edge.dst.id);
+          out.writeInt(edge.type);
+          out.writeInt(edge.mark);
+          out.writeInt(edge.id);
+          out.writeLong(edge.flags);
+          eids[i] = edge.id;    /* write the edge information and */
+          edge.id = i;          /* replace the edge identifier */
+        }                       /* by the edge index */
+        for (i = 0; i < graph.nodecnt; i++) {
+          node = graph.nodes[i];/* traverse the nodes again */
+          for (k = 0; k < node.deg; k++)
+            out.writeInt(node.edges[k].id);
+        }                       /* write the edge order of the nodes */
+        for (i = 0; i < graph.edgecnt; i++)
+          graph.edges[i].id = eids[i];
+        for (i = 0; i < graph.nodecnt; i++)
+          graph.nodes[i].id = nids[i];
+      }                         /* restore the identifiers */
+      out.close(); }            /* close the output file */
+    catch (IOException e) {     /* on error delete the file */
+      try { out.close(); } catch (IOException x) { }
+      new File(this.fname).delete(); throw e; }
+  }  /* write() */
+
+  /*------------------------------------------------------------------*/
+  /** Read a list of named graphs from the graph file.
+   *  @param  ntn the notation to set for the graphs
+   *  @return the list of graphs read or <code>null</code>
+   *          if the file does not exist, is outdated (different
+   *          preprocessing key), or is damaged
+   *  @throws IOException if an i/o error occurs
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  public NamedGraph read (Notation ntn) throws IOException
+  {                             /* --- read graphs from a file */
+    File             file;      /* the graph file */
+    RandomAccessFile raf;       /* file to map into memory */
+    FileChannel      chan;      /* channel of the mapped file */
+    ByteBuffer       buf;       /* buffer of the mapped file */
+
+    file = new File(this.fname);/* check whether the file exists */
+    if (!file.isFile() || (file.length() > Integer.MAX_VALUE))
+      return null;              /* and can be mapped in one piece */
+    raf = new RandomAccessFile(file, "r");
+    try {                       /* map the file into memory */
+      chan = raf.getChannel();
+      buf  = chan.map(FileChannel.MapMode.READ_ONLY, 0, chan.size());
+      return this.read(buf, ntn); }
+    catch (RuntimeException e) { return null; }
+    finally { raf.close(); }    /* a damaged file is outdated */
+  }  /* read() */
+
+  /*------------------------------------------------------------------*/
+  /** Read a list of named graphs from a buffer.
+   *  @param  buf the buffer to read from
+   *  @param  ntn the notation to set for the graphs
+   *  @return the list of graphs read or <code>null</code>
+   *          if the buffer contents is outdated
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  private NamedGraph read (ByteBuffer buf, Notation ntn)
+  {                             /* --- read graphs from a buffer */
+    int        i, k, n, m;      /* loop variables, numbers */
+    int        nc, ec;          /* number of nodes and edges */
+    int        t, d;            /* type and degree of a node */
+    int        grp;             /* group of a graph */
+    float      val;             /* value associated with a graph */
+    String     name;            /* name of a graph */
+    char[]     chs;             /* buffer for the graph names */
+    NamedGraph graph;           /* to traverse the graphs */
+    NamedGraph list, tail;      /* list of graphs read */
+    Node       node;            /* to traverse the nodes */
+    Edge       edge;            /* to traverse the edges */
+
+    if ((buf.getInt() != MAGIC) /* check the magic number */
+    ||  (buf.getInt() != VERSION)  /* and the format version */
+    ||  (buf.getInt() != this.key.length))
+      return null;              /* check the length of the key */
+    for (i = 0; i < this.key.length; i++)
+      if (buf.getInt() != this.key[i]) return null;
+    this.flags = buf.getInt();  /* check the preprocessing key */
+    n    = buf.getInt();        /* and get the flags and */
+    list = tail = null;         /* the number of graphs */
+    chs  = new char[64];        /* create a name buffer */
+    while (--n >= 0) {          /* graph read loop */
+      nc  = buf.getInt();       /* get the number of nodes */
+      ec  = buf.getInt();       /* and the number of edges */
+      grp = buf.getInt();       /* get the group and */
+      val = buf.getFloat();     /* the associated value */
+      m   = buf.getInt();       /* get the length of the name */
+      if (m < 0) name = null;   /* if there is no name, clear it */
+      else {                    /* if there is a name */
+        if (m > chs.length) chs = new char[m +(m >> 1)];
+        for (i = 0; i < m; i++) chs[i] = buf.getChar();
+        name = new String(chs, 0, m);
+      }                         /* read the graph name */
+      graph = new NamedGraph(ntn, nc, ec, name, val, grp);
+      for (i = 0; i < nc; i++) {/* traverse the nodes */
+        t = buf.getInt();       /* get the node type */
+        k = buf.getInt();       /* and the node marker */
+        m = buf.getInt();       /* get the node identifier */
+        d = buf.getInt();       /* and the node degree */
+        graph.nodes[i] = node = new Node(t, d);
+        node.mark = k; node.id = m;
+      }                         /* create the nodes */
+      graph.nodecnt = nc;       /* (edge arrays of final size) */
+      for (i = 0; i < ec; i++) {/* traverse the edges */
+        node = graph.nodes[buf.getInt()];
+        graph.edges[i] = edge = new Edge(node,
+                                  graph.nodes[buf.getInt()],
+                                  buf.getInt());
+        edge.mark  = buf.getInt();
+        edge.id    = buf.getInt();
+        edge.flags = buf.getLong();
+      }                         /* create the edges */
+      graph.edgecnt = ec;       /* (edges are added to the nodes) */
+      for (i = 0; i < nc; i++) {/* traverse the nodes again */
+        node = graph.nodes[i];  /* and restore the edge order */
+        for (k = 0; k < node.deg; k++)
+          node.edges[k] = graph.edges[buf.getInt()];
+      }
+      if (tail == null) list = graph; else tail.succ = graph;
+      tail = graph;             /* append the graph to the list */
+    }
+    return list;                /* return the list of graphs */
+  }  /* read() */
+
+}  /* class GraphFile */
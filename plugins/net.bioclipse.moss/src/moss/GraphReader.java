@@ -10,16 +10,25 @@
   File    : GraphReader.java
   Contents: class for readers for graph data sets
   Author  : Christian Borgelt
+            The Bioclipse Team (changes of 2026.10.17)
   History : 2007.02.24 file created as part of Notation.java
             2007.03.04 generalized and made a separated class
             2007.03.21 functions for numbers of nodes and edges added
             2007.06.26 split into reader and writer
+            2026.10.17 split mode added (parsing in other threads)
+            2026.10.17 function createReader() for file names added
+            2026.10.17 transparent reading of gzip compressed files
 ----------------------------------------------------------------------*/
 package moss;
 
 import java.io.IOException;
 import java.io.Reader;
+import java.io.FileReader;
+import java.io.FileInputStream;
+import java.io.InputStreamReader;
+import java.io.BufferedReader;
 import java.io.PushbackReader;
+import java.util.zip.GZIPInputStream;
 
 /*--------------------------------------------------------------------*/
 /** Class for a reader for graph data sets.
@@ -35,6 +44,8 @@ public abstract class GraphReader extends PushbackReader {
   public static final int GRAPHS = 0;
   /** read mode: substructures */
   public static final int SUBS   = 1;
+  /** the buffer size for reading compressed files */
+  public static final int GZBUFSIZE = 1 << 16;
 
   /*------------------------------------------------------------------*/
   /*  instance variables                                              */
@@ -63,6 +74,8 @@ public abstract class GraphReader extends PushbackReader {
   protected int      cabs  = 0;
   /** the relative support in the complement */
   protected float    crel  = 0.0F;
+  /** whether graph descriptions are only split off (not parsed) */
+  protected boolean  split = false;
 
   /*------------------------------------------------------------------*/
   /** Create a reader for a graph data set.
@@ -156,6 +169,62 @@ public abstract class GraphReader extends PushbackReader {
   public Graph getGraph () throws IOException
   { return this.graph; }
 
+  /*------------------------------------------------------------------*/
+  /** Set whether graph descriptions are only split off.
+   *  <p>In split mode the function <code>readGraph()</code> only
+   *  extracts the (unparsed) description of the next graph, which
+   *  can be retrieved with <code>getRecord()</code>. It may then be
+   *  parsed with the function <code>parse()</code> and a notation
+   *  obtained from <code>createNotation()</code>, possibly in another
+   *  thread, so that reading and parsing can be pipelined. By default
+   *  split mode is not supported.</p>
+   *  @param  split whether to only split off graph descriptions
+   *  @return whether split mode is supported by the reader
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  public boolean setSplit (boolean split)
+  { return this.split = false; }
+
+  /*------------------------------------------------------------------*/
+  /** Get the unparsed description of the current graph.
+   *  @return the unparsed description of the current graph
+   *          (only available in split mode)
+   *  @see    #setSplit(boolean)
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  public String getRecord ()
+  { return null; }
+
+  /*------------------------------------------------------------------*/
+  /** Create a notation for parsing graph descriptions.
+   *  <p>The created notation is independent of the notation of the
+   *  reader and thus may be used in another thread.</p>
+   *  @return a new notation for parsing graph descriptions
+   *          or <code>null</code> if split mode is not supported
+   *  @see    #setSplit(boolean)
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  public Notation createNotation ()
+  { return null; }
+
+  /*------------------------------------------------------------------*/
+  /** Parse an unparsed graph description.
+   *  @param  rec the graph description as returned by
+   *              <code>getRecord()</code>
+   *  @param  ntn the notation to use for parsing,
+   *              as created with <code>createNotation()</code>
+   *  @return the parsed graph
+   *  @throws IOException if a parse error occurs
+   *  @see    #setSplit(boolean)
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  public Graph parse (String rec, Notation ntn) throws IOException
+  { throw new IOException("split mode is not supported"); }
+
   /*------------------------------------------------------------------*/
   /** Get the number of nodes of the current graph.
    *  @return the number of nodes of the current graph
@@ -250,4 +319,58 @@ public abstract class GraphReader extends PushbackReader {
     return null;                /* evaluate the format/notation name */
   }  /* createReader() */
 
+  /*------------------------------------------------------------------*/
+  /** Open a file for reading.
+   *  <p>If the name of the file ends in "<code>.gz</code>", the file
+   *  is assumed to be compressed with gzip and it is decompressed
+   *  while it is read (with large buffers for the compressed data and
+   *  for the decoded characters). Otherwise a plain file reader is
+   *  returned.</p>
+   *  @param  fname the name of the file to read from
+   *  @return a reader for the (decompressed) file contents
+   *  @throws IOException if the file cannot be opened
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  public static Reader openFile (String fname) throws IOException
+  {                             /* --- open a file for reading */
+    if (!fname.endsWith(".gz")) /* if the file is not compressed, */
+      return new FileReader(fname);     /* use a plain file reader */
+    return new BufferedReader(new InputStreamReader(
+             new GZIPInputStream(new FileInputStream(fname), GZBUFSIZE)),
+             GZBUFSIZE);        /* decompress the file */
+  }  /* openFile() */           /* while it is read */
+
+  /*------------------------------------------------------------------*/
+  /** Create a graph reader for a given file, format and mode.
+   *  <p>For the table formats (SMILES, SLN, LiNoG) the file is mapped
+   *  into memory (see class <code>MappedTableReader</code>), for all
+   *  other formats it is read with a file reader. Files with names
+   *  ending in "<code>.gz</code>" cannot be mapped into memory; they
+   *  are decompressed while they are read (see function
+   *  <code>openFile()</code>).</p>
+   *  @param  fname  the name of the file to read from
+   *  @param  mode   the read mode
+   *  @param  format the name of the format/notation
+   *  @return the created graph reader
+   *  @throws IOException if the file cannot be opened
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  public static GraphReader createReader (String fname, int mode,
+                                          String format)
+    throws IOException
+  {                             /* --- create a graph reader */
+    if (fname.endsWith(".gz"))  /* compressed files cannot be mapped */
+      return GraphReader.createReader(GraphReader.openFile(fname),
+                                      mode, format);
+    if (format.equalsIgnoreCase("smiles"))
+      return new MappedTableReader(fname, mode, new SMILES());
+    if (format.equalsIgnoreCase("sln"))
+      return new MappedTableReader(fname, mode, new SLN());
+    if (format.equalsIgnoreCase("linog"))
+      return new MappedTableReader(fname, mode, new LiNoG());
+    return GraphReader.createReader(new FileReader(fname), mode, format);
+  }  /* createReader() */       /* evaluate the format/notation name */
+
 }  /* class GraphReader */
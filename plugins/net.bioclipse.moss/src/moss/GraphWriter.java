@@ -10,16 +10,22 @@
   File    : GraphWriter.java
   Contents: class for writers for graph data sets
   Author  : Christian Borgelt
+            The Bioclipse Team (changes of 2026.10.17)
   History : 2007.02.24 file created as part of Notation.java
             2007.03.04 generalized and made a separated class
             2007.03.21 functions for numbers of nodes and edges added
             2007.06.26 split into reader and writer
+            2026.10.17 transparent writing of gzip compressed files
 ----------------------------------------------------------------------*/
 package moss;
 
 import java.io.IOException;
 import java.io.Writer;
+import java.io.FileWriter;
+import java.io.FileOutputStream;
+import java.io.OutputStreamWriter;
 import java.io.BufferedWriter;
+import java.util.zip.GZIPOutputStream;
 
 /*--------------------------------------------------------------------*/
 /** Class for a writer for graph data sets.
@@ -35,6 +41,8 @@ public abstract class GraphWriter extends BufferedWriter {
   public static final int GRAPHS = 0;
   /** write mode: substructures */
   public static final int SUBS   = 1;
+  /** the buffer size for writing compressed files */
+  public static final int GZBUFSIZE = 1 << 16;
 
   /*------------------------------------------------------------------*/
   /*  instance variables                                              */
@@ -211,4 +219,44 @@ public abstract class GraphWriter extends BufferedWriter {
     return null;                /* evaluate the notation name */
   }  /* createWriter() */
 
+  /*------------------------------------------------------------------*/
+  /** Open a file for writing.
+   *  <p>If the name of the file ends in "<code>.gz</code>", the file
+   *  is compressed with gzip while it is written (with a large buffer
+   *  for the compressed data). The compressed data is completed when
+   *  the returned writer is closed. Otherwise a plain file writer is
+   *  returned.</p>
+   *  @param  fname the name of the file to write to
+   *  @return a writer for the (compressed) file
+   *  @throws IOException if the file cannot be opened
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  public static Writer openFile (String fname) throws IOException
+  {                             /* --- open a file for writing */
+    if (!fname.endsWith(".gz")) /* if not to compress the file, */
+      return new FileWriter(fname);     /* use a plain file writer */
+    return new OutputStreamWriter(new GZIPOutputStream(
+             new FileOutputStream(fname), GZBUFSIZE));
+  }  /* openFile() */           /* compress the file while writing */
+
+  /*------------------------------------------------------------------*/
+  /** Create a graph writer for a given file, format and mode.
+   *  <p>If the name of the file ends in "<code>.gz</code>", the file
+   *  is compressed while it is written (see function
+   *  <code>openFile()</code>).</p>
+   *  @param  fname  the name of the file to write to
+   *  @param  mode   the write mode
+   *  @param  format the name of the format
+   *  @return the created graph writer
+   *  @throws IOException if the file cannot be opened
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  public static GraphWriter createWriter (String fname, int mode,
+                                          String format)
+    throws IOException
+  { return GraphWriter.createWriter(GraphWriter.openFile(fname),
+                                    mode, format); }
+
 }  /* class GraphWriter */
@@ -0,0 +1,86 @@
+/*******************************************************************************
+ *Copyright (c) 2008 The Bioclipse Team and others.
+ *All rights reserved. This program and the accompanying materials
+ *are made available under the terms of the Eclipse Public License v1.0
+ *which accompanies this distribution, and is available at
+ *http://www.eclipse.org/legal/epl-v10.html
+ *
+ *******************************************************************************/
+/*----------------------------------------------------------------------
+  File    : ImageJob.java
+  Contents: class for jobs that count the different images of nodes
+  Author  : The Bioclipse Team
+  History : 2026.10.17 file created
+----------------------------------------------------------------------*/
+package moss;
+
+import java.util.Arrays;
+
+/*--------------------------------------------------------------------*/
+/** Class for a job that counts the different images of nodes.
+ *  <p>For each graph run the different images of each fragment node
+ *  are recorded in bit sets (see <code>Fragment.getMinImage()</code>)
+ *  and counted per group. The sums are arranged as
+ *  <code>sums[group*size +node]</code>.</p>
+ *  @author The Bioclipse Team
+ *  @since  2026.10.17 */
+/*--------------------------------------------------------------------*/
+class ImageJob extends SuppJob {
+
+  /*------------------------------------------------------------------*/
+  /*  instance variables                                              */
+  /*------------------------------------------------------------------*/
+  /** the number of nodes of the fragment */
+  private int size;
+
+  /*------------------------------------------------------------------*/
+  /** Create a job that counts the different images of nodes.
+   *  @param  embs the embeddings of the fragment (grouped by graph)
+   *  @param  runs the start indices of the graph runs
+   *  @param  cnt  the number of graph runs
+   *  @param  size the number of nodes of the fragment
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  protected ImageJob (Embedding[] embs, int[] runs, int cnt, int size)
+  { super(embs, runs, cnt, 2*size); this.size = size; }
+
+  /*------------------------------------------------------------------*/
+  /** Process graph runs until all runs have been claimed.
+   *  @param  sums the array in which to sum the contributions
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  @Override
+  protected void work (int[] sums)
+  {                             /* --- count node images */
+    int       r, i, k, n, w;    /* loop variables, words per set */
+    int       base, off, b;     /* node identifier, offset, bit */
+    Graph     g;                /* graph of the current run */
+    Embedding emb;              /* to traverse the embeddings */
+    long[]    imgs = null;      /* node images in the current graph */
+
+    n = this.size;              /* get the number of nodes */
+    while ((r = this.claim()) < this.cnt) {
+      emb  = this.embs[this.runs[r]];
+      g    = emb.graph;         /* get the graph of the run */
+      base = g.nodes[0].id;     /* and its first node identifier */
+      off  = emb.getGroup() *n; /* get the offset of the group */
+      w    = (g.nodecnt +63) >>> 6;
+      if ((imgs == null) || (imgs.length < n*w))
+        imgs = new long[n*w];   /* create bit sets for the images */
+      else Arrays.fill(imgs, 0, n*w, 0);
+      for (k = this.runs[r]; k < this.runs[r+1]; k++) {
+        emb = this.embs[k];     /* traverse the embeddings */
+        for (i = n; --i >= 0; ) {
+          b = emb.nodes[i].id -base +((i*w) << 6);
+          if ((imgs[b >>> 6] & (1L << b)) != 0)
+            continue;           /* skip already known node images */
+          imgs[b >>> 6] |= 1L << b;
+          sums[off+i]++;        /* record and count */
+        }                       /* the new node images */
+      }
+    }
+  }  /* work() */
+
+}  /* class ImageJob */
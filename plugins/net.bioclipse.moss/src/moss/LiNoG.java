@@ -12,6 +12,7 @@
   Authors : Christian Borgelt
   History : 2007.07.02 file created from file SLN.java
             2007.07.05 first version completed
+            2026.10.17 parsing from character buffers added
 ----------------------------------------------------------------------*/
 package moss;
 
@@ -221,17 +222,16 @@ public boolean isLine ()
   }  /* parse() */
   
   /*------------------------------------------------------------------*/
-  /** Parse a description of an attributed graph.
-   *  @param  reader the reader to read from
+  /** Parse the description of an attributed graph.
+   *  <p>The reader or the character buffer to read from must have
+   *  been set before this function is called.</p>
    *  @return the parsed attributed graph
    *  @throws IOException if a parse error or an i/o error occurs
-   *  @since  2007.07.02 (Christian Borgelt) */
+   *  @since  2026.10.17 (The Bioclipse Team) */
   /*------------------------------------------------------------------*/
 
-  @Override
-public Graph parse (Reader reader) throws IOException
-  {                             /* --- parse a molecule description */
-    this.setReader(reader);     /* note the reader */
+  private Graph parse () throws IOException
+  {                             /* --- parse a graph description */
     for (int i = this.labels.length; --i >= 0; )
       this.labels[i] = -1;      /* clear the label node index map */
     this.graph = new Graph(this);
@@ -241,6 +241,34 @@ public Graph parse (Reader reader) throws IOException
     return this.graph;          /* return the created graph */
   }  /* parse() */
 
+  /*------------------------------------------------------------------*/
+  /** Parse a description of an attributed graph.
+   *  @param  reader the reader to read from
+   *  @return the parsed attributed graph
+   *  @throws IOException if a parse error or an i/o error occurs
+   *  @since  2007.07.02 (Christian Borgelt) */
+  /*------------------------------------------------------------------*/
+
+  @Override
+public Graph parse (Reader reader) throws IOException
+  { this.setReader(reader); return this.parse(); }
+
+  /*------------------------------------------------------------------*/
+  /** Parse the description of an attributed graph.
+   *  <p>The description is read directly from the character buffer,
+   *  that is, without the indirection through a reader.</p>
+   *  @param  chars the character buffer containing the description
+   *  @param  off   the start of the description
+   *  @param  len   the length of the description
+   *  @return the parsed attributed graph
+   *  @throws IOException if a parse error occurs
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  @Override
+public Graph parse (char[] chars, int off, int len) throws IOException
+  { this.setChars(chars, off, len); return this.parse(); }
+
   /*------------------------------------------------------------------*/
   /** Create a description of a node.
    *  @param  type  the type  of the node
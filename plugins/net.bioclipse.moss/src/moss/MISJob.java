@@ -0,0 +1,71 @@
+/*******************************************************************************
+ *Copyright (c) 2008 The Bioclipse Team and others.
+ *All rights reserved. This program and the accompanying materials
+ *are made available under the terms of the Eclipse Public License v1.0
+ *which accompanies this distribution, and is available at
+ *http://www.eclipse.org/legal/epl-v10.html
+ *
+ *******************************************************************************/
+/*----------------------------------------------------------------------
+  File    : MISJob.java
+  Contents: class for jobs that sum maximum independent set sizes
+  Author  : The Bioclipse Team
+  History : 2026.10.17 file created
+----------------------------------------------------------------------*/
+package moss;
+
+/*--------------------------------------------------------------------*/
+/** Class for a job that sums maximum independent set sizes.
+ *  <p>For each graph run an overlap graph (normal or harmful) is
+ *  built and the size of a maximum independent set is added to the
+ *  sum of the group (<code>FOCUS</code> or <code>COMPL</code>) of the
+ *  graph.</p>
+ *  @author The Bioclipse Team
+ *  @since  2026.10.17 */
+/*--------------------------------------------------------------------*/
+class MISJob extends SuppJob {
+
+  /*------------------------------------------------------------------*/
+  /*  instance variables                                              */
+  /*------------------------------------------------------------------*/
+  /** the support type (MIS_OLAP or MIS_HARM, possibly with GREEDY) */
+  private int type;
+
+  /*------------------------------------------------------------------*/
+  /** Create a job that sums maximum independent set sizes.
+   *  @param  embs the embeddings of the fragment (grouped by graph)
+   *  @param  runs the start indices of the graph runs
+   *  @param  cnt  the number of graph runs
+   *  @param  type the support type
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  protected MISJob (Embedding[] embs, int[] runs, int cnt, int type)
+  { super(embs, runs, cnt, 2); this.type = type; }
+
+  /*------------------------------------------------------------------*/
+  /** Process graph runs until all runs have been claimed.
+   *  @param  sums the array in which to sum the contributions
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  @Override
+  protected void work (int[] sums)
+  {                             /* --- sum MIS sizes */
+    int          r, i;          /* graph run index, loop variable */
+    OverlapGraph olap;          /* overlap graph of embeddings */
+    boolean      greedy;        /* whether to use greedy algorithm */
+
+    olap   = new OverlapGraph((this.type & Fragment.SUPPMASK)
+                              == Fragment.MIS_HARM);
+    greedy = (this.type & Fragment.GREEDY) != 0;
+    while ((r = this.claim()) < this.cnt) {
+      olap.clear();             /* traverse the graph runs */
+      for (i = this.runs[r]; i < this.runs[r+1]; i++)
+        olap.add(this.embs[i]); /* build the overlap graph */
+      sums[this.embs[this.runs[r]].getGroup()]
+        += olap.getMISSize(greedy);
+    }                           /* sum the MIS sizes per group */
+  }  /* work() */
+
+}  /* class MISJob */
@@ -0,0 +1,304 @@
+/*******************************************************************************
+ *Copyright (c) 2008 The Bioclipse Team and others.
+ *All rights reserved. This program and the accompanying materials
+ *are made available under the terms of the Eclipse Public License v1.0
+ *which accompanies this distribution, and is available at
+ *http://www.eclipse.org/legal/epl-v10.html
+ *
+ *******************************************************************************/
+/*----------------------------------------------------------------------
+  File    : Markers.java
+  Contents: class for thread-confined node and edge markers
+  Author  : The Bioclipse Team
+  History : 2026.10.17 file created
+----------------------------------------------------------------------*/
+package moss;
+
+import java.util.Arrays;
+
+/*--------------------------------------------------------------------*/
+/** Class for thread-confined node and edge markers.
+ *  <p>The nodes and edges of the graphs of a prepared graph database
+ *  are numbered consecutively (over all graphs) with the function
+ *  <code>Markers.number()</code>. For such nodes and edges the markers
+ *  that are used in the search are not stored in the fields
+ *  <code>Node.mark</code> and <code>Edge.mark</code>, but in arrays
+ *  that are indexed with the node and edge identifiers and that are
+ *  private to a thread. Therefore several threads can work on the
+ *  same graph database at the same time.</p>
+ *  <p>Each marker is stored together with the epoch in which it was
+ *  set, so that all markers can be cleared in constant time by simply
+ *  starting a new epoch. A marker that has not been set in the current
+ *  epoch has the default value -1. Trimming the graph database for a
+ *  start node type (function <code>trim()</code>) starts a new epoch
+ *  and marks the trimmed nodes and edges with -2.</p>
+ *  <p>Nodes and edges without an identifier (for example, the nodes
+ *  and edges of a fragment as a graph, which is never shared between
+ *  threads) keep their markers in the fields <code>mark</code>.
+ *  The same holds for all nodes and edges if the thread has exclusive
+ *  access to the graph database (see <code>setExclusive()</code>),
+ *  because the fields can be accessed faster than the arrays.</p>
+ *  @author The Bioclipse Team
+ *  @since  2026.10.17 */
+/*--------------------------------------------------------------------*/
+public class Markers {
+
+  /*------------------------------------------------------------------*/
+  /*  class variables                                                 */
+  /*------------------------------------------------------------------*/
+  /** the markers of the different threads */
+  private static final ThreadLocal<Markers> LOCAL =
+    new ThreadLocal<Markers>();
+
+  /*------------------------------------------------------------------*/
+  /*  instance variables                                              */
+  /*------------------------------------------------------------------*/
+  /** the node markers (indexed with node identifiers,
+   *  epoch in the upper, marker in the lower 32 bits) */
+  private long[]     nodes;
+  /** the edge markers (indexed with edge identifiers,
+   *  epoch in the upper, marker in the lower 32 bits) */
+  private long[]     edges;
+  /** the current epoch */
+  private int        epoch;
+  /** whether the thread has exclusive access to the graphs */
+  private boolean    excl;
+  /** the graph database for which the trimming was done */
+  private NamedGraph graphs;
+  /** the recoder with which the trimming was determined */
+  private Recoder    coder;
+  /** the node type for which the trimming was determined */
+  private int        level;
+
+  /*------------------------------------------------------------------*/
+  /** Create a set of node and edge markers.
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  private Markers ()
+  {                             /* --- create a set of markers */
+    this.nodes  = new long[0];  /* create empty marker arrays */
+    this.edges  = new long[0];  /* and start the first epoch */
+    this.epoch  = 1;            /* (there is no trimming yet) */
+    this.excl   = false;        /* the graphs may be shared */
+    this.graphs = null;
+    this.coder  = null;
+    this.level  = 0;
+  }  /* Markers() */
+
+  /*------------------------------------------------------------------*/
+  /** Get the markers of the current thread.
+   *  @return the node and edge markers of the current thread
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  public static Markers get ()
+  {                             /* --- get markers of current thread */
+    Markers mk = LOCAL.get();
+    if (mk == null) { mk = new Markers(); LOCAL.set(mk); }
+    return mk;                  /* create markers if necessary */
+  }  /* get() */
+
+  /*------------------------------------------------------------------*/
+  /** Number the nodes and edges of a list of graphs.
+   *  <p>The nodes and edges of all graphs in the list (linked with
+   *  the field <code>succ</code>) receive consecutive identifiers,
+   *  so that their markers are kept in thread-confined arrays.
+   *  Afterwards the structure of the graphs must not be changed.</p>
+   *  @param  graphs the list of graphs to number
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  public static void number (NamedGraph graphs)
+  {                             /* --- number nodes and edges */
+    int        i, n, e;         /* loop variable, identifiers */
+    NamedGraph graph;           /* to traverse the graphs */
+
+    n = e = 0;                  /* traverse the graphs */
+    for (graph = graphs; graph != null; graph = graph.succ) {
+      for (i = 0; i < graph.nodecnt; i++)
+        graph.nodes[i].id = n++;/* number the nodes */
+      for (i = 0; i < graph.edgecnt; i++)
+        graph.edges[i].id = e++;/* and the edges */
+    }                           /* of each graph */
+  }  /* number() */
+
+  /*------------------------------------------------------------------*/
+  /** Get the marker of a node.
+   *  @param  node the node the marker of which to get
+   *  @return the marker of the node
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  public int get (Node node)
+  {                             /* --- get a node marker */
+    int  i = node.id;           /* get the node identifier */
+    long m;                     /* marker with epoch */
+
+    if (this.excl || (i < 0))   /* check for exclusive access */
+      return node.mark;         /* or an unnumbered node */
+    if (i >= this.nodes.length) return -1;
+    m = this.nodes[i];          /* get the marker and its epoch */
+    return ((int)(m >>> 32) == this.epoch) ? (int)m : -1;
+  }  /* get() */                /* return a marker of this epoch */
+
+  /*------------------------------------------------------------------*/
+  /** Set the marker of a node.
+   *  @param  node the node the marker of which to set
+   *  @param  mark the value of the marker
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  public void set (Node node, int mark)
+  {                             /* --- set a node marker */
+    int i = node.id;            /* get the node identifier */
+    if (this.excl || (i < 0)) { node.mark = mark; return; }
+    if (i >= this.nodes.length) /* enlarge the array if necessary */
+      this.nodes = Markers.resize(this.nodes, i);
+    this.nodes[i] = ((long)this.epoch << 32) | (mark & 0xffffffffL);
+  }  /* set() */                /* store marker and current epoch */
+
+  /*------------------------------------------------------------------*/
+  /** Get the marker of an edge.
+   *  @param  edge the edge the marker of which to get
+   *  @return the marker of the edge
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  public int get (Edge edge)
+  {                             /* --- get an edge marker */
+    int  i = edge.id;           /* get the edge identifier */
+    long m;                     /* marker with epoch */
+
+    if (this.excl || (i < 0))   /* check for exclusive access */
+      return edge.mark;         /* or an unnumbered edge */
+    if (i >= this.edges.length) return -1;
+    m = this.edges[i];          /* get the marker and its epoch */
+    return ((int)(m >>> 32) == this.epoch) ? (int)m : -1;
+  }  /* get() */                /* return a marker of this epoch */
+
+  /*------------------------------------------------------------------*/
+  /** Set the marker of an edge.
+   *  @param  edge the edge the marker of which to set
+   *  @param  mark the value of the marker
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  public void set (Edge edge, int mark)
+  {                             /* --- set an edge marker */
+    int i = edge.id;            /* get the edge identifier */
+    if (this.excl || (i < 0)) { edge.mark = mark; return; }
+    if (i >= this.edges.length) /* enlarge the array if necessary */
+      this.edges = Markers.resize(this.edges, i);
+    this.edges[i] = ((long)this.epoch << 32) | (mark & 0xffffffffL);
+  }  /* set() */                /* store marker and current epoch */
+
+  /*------------------------------------------------------------------*/
+  /** Enlarge a marker array.
+   *  @param  a the array to enlarge
+   *  @param  i the index that must be contained in the new array
+   *  @return the enlarged array
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  private static long[] resize (long[] a, int i)
+  {                             /* --- enlarge an array */
+    int    n = a.length;        /* get the current size */
+    long[] b;                   /* enlarged array */
+
+    n += (n > 1024) ? n >> 1 : 1024;
+    if (n <= i) n = i+1;        /* compute the new array size */
+    b = new long[n];            /* and create a new array */
+    System.arraycopy(a, 0, b, 0, a.length);
+    return b;                   /* copy the old array contents */
+  }  /* resize() */             /* and return the new array */
+
+  /*------------------------------------------------------------------*/
+  /** Set whether the thread has exclusive access to the graphs.
+   *  <p>If the current thread is the only one that works on the graph
+   *  database (as in a sequential search), the markers are kept in the
+   *  fields <code>Node.mark</code> and <code>Edge.mark</code> also for
+   *  numbered nodes and edges, because the fields can be accessed
+   *  considerably faster than the marker arrays. All markers must be
+   *  cleared (-1) when the access mode is changed.</p>
+   *  @param  excl whether the thread has exclusive access
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  public void setExclusive (boolean excl)
+  {                             /* --- set exclusive access */
+    if (excl != this.excl) this.clear();
+    this.excl   = excl;         /* clear the marker arrays */
+    this.graphs = null;         /* and force a new trimming */
+  }  /* setExclusive() */
+
+  /*------------------------------------------------------------------*/
+  /** Clear all node and edge markers (start a new epoch).
+   *  <p>This clears only the markers that are kept in the arrays,
+   *  not those that are kept in the fields of nodes and edges.</p>
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  public void clear ()
+  {                             /* --- clear all markers */
+    if (++this.epoch > 0) return;
+    Arrays.fill(this.nodes, 0); /* on an overflow of the epoch */
+    Arrays.fill(this.edges, 0); /* counter clear the marker arrays */
+    this.epoch = 1;             /* and restart with the first epoch */
+  }  /* clear() */
+
+  /*------------------------------------------------------------------*/
+  /** Trim a graph database for a search from a given node type.
+   *  <p>All nodes with types that are marked as excluded in the given
+   *  recoder or that have a code less than the given type and are not
+   *  marked as maximal, as well as all incident edges, are marked as
+   *  removed (marker -2). The recoder is not changed, so that several
+   *  threads can trim the same graph database differently. If the
+   *  trimming changes, all markers are cleared; otherwise this function
+   *  does nothing (so that it may be called within a search).</p>
+   *  @param  graphs the list of graphs to trim
+   *  @param  coder  the recoder with which the node types are encoded
+   *  @param  type   the code of the node type the search starts from
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  public void trim (NamedGraph graphs, Recoder coder, int type)
+  {                             /* --- trim graphs for a start type */
+    int        i, k, t;         /* loop variables, node type */
+    boolean[]  cut;             /* flags for trimmed node types */
+    NamedGraph graph;           /* to traverse the graphs */
+    Node       node;            /* to traverse the nodes */
+
+    if ((graphs == this.graphs) && (coder == this.coder)
+    &&  (type   == this.level))  /* check for a change */
+      return;                   /* of the trimming */
+    this.clear();               /* clear all markers and */
+    this.graphs = graphs;       /* note the trimming parameters */
+    this.coder  = coder;
+    this.level  = type;
+    if (this.excl) {            /* if markers are kept in the fields */
+      for (graph = graphs; graph != null; graph = graph.succ) {
+        for (i = graph.nodecnt; --i >= 0; )
+          graph.nodes[i].mark = -1;
+        for (i = graph.edgecnt; --i >= 0; )
+          graph.edges[i].mark = -1;
+      }                         /* clear the markers of all graphs */
+    }                           /* (a new epoch does not suffice) */
+    if (coder == null) return;  /* check for a type recoder */
+    cut = new boolean[coder.size()];
+    for (i = cut.length; --i >= 0; )
+      cut[i] = coder.isExcluded(i) || ((i < type) && !coder.isMaximal(i));
+    for (graph = graphs; graph != null; graph = graph.succ) {
+      for (i = graph.nodecnt; --i >= 0; ) {
+        node = graph.nodes[i];  /* traverse the nodes */
+        if (node.isSpecial()) continue;
+        t = node.type;          /* skip nodes that are to be kept */
+        if ((t >= cut.length) || !cut[t]) continue;
+        this.set(node, -2);     /* mark trimmed nodes as removed */
+        for (k = node.deg; --k >= 0; )
+          this.set(node.edges[k], -2);
+      }                         /* also mark all incident edges */
+    }                           /* (the recoder is not changed) */
+  }  /* trim() */
+
+}  /* class Markers */
@@ -10,6 +10,7 @@
   File    : Node.java
   Contents: class for nodes for attributed (labeled/typed) graphs
   Author  : Christian Borgelt
+            The Bioclipse Team (changes of 2026.10.17)
   History : 2002.03.11 file created (as Atom.java)
             2002.03.14 memory optimization added
             2002.03.19 bug in function sortEdges() fixed
@@ -29,6 +30,7 @@
             2007.06.25 function isWildcard(), constant WILDCARD added
             2007.06.14 function compareTo() added (node markers)
             2007.11.05 functions getDegree() and getEdge() added
+            2026.10.17 identifier added (thread-confined markers)
 ----------------------------------------------------------------------*/
 package moss;
 
@@ -71,6 +73,9 @@ public class Node implements Comparable {
   protected int    type;
   /** a marker for internal use (e.g. for a substructure) */
   protected int    mark;
+  /** the identifier of the node in a graph database
+   *  (index of the thread-confined markers, -1 if none) */
+  protected int    id;
   /** the current number of incident edges (node degree) */
   protected int    deg;
   /** the array of incident edges (may not be fully used) */
@@ -99,6 +104,7 @@ public class Node implements Comparable {
   protected Node (int type, int size)
   {                             /* --- create an node */
     this.type  = type;          /* note the type of the node */
+    this.id    = -1;            /* clear the node identifier */
     this.deg   = 0;             /* create an empty edge array */
     this.edges = new Edge[size];/* of the given size */
   }  /* Node() */
@@ -10,6 +10,7 @@
   File    : Notation.java
   Contents: abstract class for notations of attributed graphs
   Author  : Christian Borgelt
+            The Bioclipse Team (changes of 2026.10.17)
   History : 2006.08.12 file created from file Molecule.java
             2006.10.23 parameter graph added to function parse
             2006.10.25 comments in javadoc style added
@@ -17,9 +18,11 @@
             2007.06.21 adapted to new classes Atoms and Bonds
             2007.06.22 rewritten to use readers and writers
             2007.07.01 function setTypeMgrs(Notation) added
+            2026.10.17 parsing from character buffers added
 ----------------------------------------------------------------------*/
 package moss;
 
+import java.io.CharArrayReader;
 import java.io.IOException;
 import java.io.Reader;
 import java.io.Writer;
@@ -40,6 +43,14 @@ public abstract class Notation {
   protected int[]  stack  = null;
   /** the number of unread/pushed back characters */
   protected int    cnt    = 0;
+  /** the character buffer from which to read the graph description */
+  protected char[] chars  = null;
+  /** the current position in the character buffer */
+  protected int    pos    = 0;
+  /** the end of the graph description in the character buffer */
+  protected int    end    = 0;
+  /** the buffer for copying character sequences */
+  private   char[] copy   = null;
 
   /*------------------------------------------------------------------*/
   /** Whether this is a line notation (single line description).
@@ -120,10 +131,31 @@ public abstract class Notation {
   protected void setReader (Reader reader)
   {                             /* --- init. a molecule notation */
     this.reader = reader;       /* note the reader to read from */
+    this.chars  = null;         /* and clear the character buffer */
     if (this.stack == null) this.stack = new int[4];
     this.cnt = 0;               /* create/reinit. character stack */
   }  /* setReader() */
 
+  /*------------------------------------------------------------------*/
+  /** Set the character buffer to read from.
+   *  <p>In contrast to reading from a reader, characters are pushed
+   *  back by simply moving back the current position. Hence only the
+   *  characters most recently read may be pushed back.</p>
+   *  @param  chars the character buffer to read from
+   *  @param  off   the start of the graph description
+   *  @param  len   the length of the graph description
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  protected void setChars (char[] chars, int off, int len)
+  {                             /* --- set the character buffer */
+    this.chars  = chars;        /* note the character buffer */
+    this.pos    = off;          /* and the range of the */
+    this.end    = off +len;     /* graph description */
+    this.reader = null;         /* clear the reader and */
+    this.cnt    = 0;            /* the character stack */
+  }  /* setChars() */
+
   /*------------------------------------------------------------------*/
   /** Read the next character.
    *  @return the character read
@@ -132,6 +164,8 @@ public abstract class Notation {
 
   protected int read () throws IOException
   {                             /* --- read the next character */
+    if (this.chars != null)     /* if to read from a buffer */
+      return (this.pos < this.end) ? this.chars[this.pos++] : -1;
     if (this.cnt > 0) return this.stack[--this.cnt];
     return this.reader.read();  /* return a pushed back character */
   }  /* read() */               /* or actually read a new character */
@@ -143,7 +177,11 @@ public abstract class Notation {
   /*------------------------------------------------------------------*/
 
   protected void unread (int c)
-  { if (c >= 0) this.stack[this.cnt++] = c; }
+  {                             /* --- push back a character */
+    if (c < 0) return;          /* the end of input is not stored */
+    if (this.chars != null) this.pos--;
+    else this.stack[this.cnt++] = c;
+  }  /* unread() */             /* move back or push on the stack */
 
   /*------------------------------------------------------------------*/
   /** Parse a description of an attributed graph.
@@ -155,6 +193,58 @@ public abstract class Notation {
 
   public abstract Graph parse (Reader reader) throws IOException;
 
+  /*------------------------------------------------------------------*/
+  /** Parse a description of an attributed graph.
+   *  <p>The graph description is read directly from the character
+   *  buffer (that is, without a reader), if the notation supports
+   *  this. Otherwise the description is read with a reader. In both
+   *  cases <code>getDelim()</code> returns the first character of
+   *  the description that was not processed by the parser, so that
+   *  garbage at the end of the description can be detected.</p>
+   *  @param  chars the character buffer containing the description
+   *  @param  off   the start of the description
+   *  @param  len   the length of the description
+   *  @return the parsed graph
+   *  @throws IOException if a parse error occurs
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  public Graph parse (char[] chars, int off, int len) throws IOException
+  {                             /* --- parse a graph description */
+    Reader reader;              /* reader for the character buffer */
+    Graph  graph;               /* parsed graph */
+
+    reader = new CharArrayReader(chars, off, len);
+    this.setReader(reader);     /* create a reader for the buffer */
+    graph  = this.parse(reader);/* and parse the description */
+    if (this.getDelim() < 0)    /* push back a possible unread char. */
+      this.unread(reader.read());
+    return graph;               /* return the parsed graph */
+  }  /* parse() */
+
+  /*------------------------------------------------------------------*/
+  /** Parse a description of an attributed graph.
+   *  <p>The description is copied into a buffer that is reused for
+   *  subsequent calls and then parsed with the function
+   *  <code>parse(char[], int, int)</code>.</p>
+   *  @param  desc the description to parse
+   *  @return the parsed graph
+   *  @throws IOException if a parse error occurs
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  public Graph parse (CharSequence desc) throws IOException
+  {                             /* --- parse a graph description */
+    int i, n = desc.length();   /* loop variable, length */
+
+    if ((this.copy == null) || (this.copy.length < n))
+      this.copy = new char[n +(n >> 1) +16];
+    if (desc instanceof String) /* get a (larger) copy buffer */
+      ((String)desc).getChars(0, n, this.copy, 0);
+    else for (i = 0; i < n; i++) this.copy[i] = desc.charAt(i);
+    return this.parse(this.copy, 0, n);
+  }  /* parse() */              /* copy and parse the description */
+
   /*------------------------------------------------------------------*/
   /** Get the delimiter character.
    *  <p>The delimiter character is the character at which parsing
@@ -165,7 +255,11 @@ public abstract class Notation {
   /*------------------------------------------------------------------*/
 
   public int getDelim ()
-  { return (this.cnt > 0) ? this.stack[this.cnt-1] : -1; }
+  {                             /* --- get the delimiter character */
+    if (this.chars != null)     /* if reading from a buffer */
+      return (this.pos < this.end) ? this.chars[this.pos] : -1;
+    return (this.cnt > 0) ? this.stack[this.cnt-1] : -1;
+  }  /* getDelim() */
 
   /*------------------------------------------------------------------*/
   /** Create a string description of a graph.
@@ -0,0 +1,682 @@
+/*******************************************************************************
+ *Copyright (c) 2008 The Bioclipse Team and others.
+ *All rights reserved. This program and the accompanying materials
+ *are made available under the terms of the Eclipse Public License v1.0
+ *which accompanies this distribution, and is available at
+ *http://www.eclipse.org/legal/epl-v10.html
+ *
+ *******************************************************************************/
+/*----------------------------------------------------------------------
+  File    : Repository.java
+  Contents: class for a repository of processed fragments
+  Author  : The Bioclipse Team (based on code by Christian Borgelt)
+  History : 2026.10.17 file created from parts of Miner.java
+            2026.10.17 keys with canonical code words added
+            2026.10.17 fingerprints and Bloom filter pre-screen added
+----------------------------------------------------------------------*/
+package moss;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+/*--------------------------------------------------------------------*/
+/** Class for a repository of already processed fragments.
+ *  <p>If no canonical form pruning is used, every fragment that is
+ *  processed is stored in a repository, so that other fragments can be
+ *  checked against it and can be discarded if they have already been
+ *  processed (see <code>Miner.duplicate()</code>).</p>
+ *  <p>A fragment is represented by (one embedding of) it, namely by
+ *  the identifiers of the edges of its first embedding (see
+ *  <code>Markers.number()</code>), which are stored in sorted order
+ *  together with the identifier of the graph (the identifier of the
+ *  first node of the graph), the support and the number of embeddings
+ *  of the fragment and its hash code. In contrast to a representation
+ *  by objects, this does not keep any embeddings alive. The encoded
+ *  fragments are stored as consecutive records in fixed size blocks
+ *  of integers, which are organized as a hash table with chaining
+ *  (the bin array holds the addresses of the first records).</p>
+ *  <p>Alternatively, a fragment can be represented by its canonical
+ *  code word (w.r.t. maximum source extensions, which is computed by
+ *  turning a copy of the fragment into canonical form). Then checking
+ *  whether a fragment is contained in the repository is a simple hash
+ *  table look-up with a comparison of code words, which does not need
+ *  to traverse the embeddings of the fragment and thus is independent
+ *  of the type of extensions used in the search. The price is that
+ *  the canonical form has to be determined for each checked fragment
+ *  and that code words need more memory than edge identifiers.
+ *  Note that the support and the number of embeddings are still part
+ *  of the key, because with certain search modes (filtered ring
+ *  extensions, heuristic support computation) the same structure may
+ *  be found with different sets of embeddings or different support,
+ *  which must be processed separately (as with embedding keys).</p>
+ *  <p>The blocks are allocated on the heap or, if requested, outside
+ *  the heap (as direct buffers). The repository is bounded by a memory
+ *  budget. If the budget is exceeded, further blocks are spilled to a
+ *  temporary file, which is mapped into memory, so that the operating
+ *  system can page them out. Thus the search can continue without
+ *  losing any repository entries (which would lead to redundant search
+ *  and duplicate output), only at the price of slower access.
+ *  Note that the hash bin array is always kept on the heap.</p>
+ *  <p>With each record a 64 bit fingerprint of the fragment is stored
+ *  (see <code>Fragment.fingerprint()</code>), which is computed from
+ *  the node and edge types and the degrees of the nodes and their
+ *  neighbors. Since it is invariant under isomorphism, fragments with
+ *  different fingerprints cannot be equal, so that most of the costly
+ *  isomorphism tests (or code word comparisons) are avoided.
+ *  In addition, the fingerprints of all stored fragments can be
+ *  entered into a Bloom filter, which is checked before the hash bin
+ *  list is traversed. Since most fragments that are checked against
+ *  the repository are new (at least with the standard extensions),
+ *  this saves most of the (random) memory accesses to the records,
+ *  which is particularly useful if parts of the repository have been
+ *  spilled to a file.</p>
+ *  @author The Bioclipse Team
+ *  @since  2026.10.17 */
+/*--------------------------------------------------------------------*/
+public class Repository {
+
+  /*------------------------------------------------------------------*/
+  /*  constants                                                       */
+  /*------------------------------------------------------------------*/
+  /** flag for allocating the blocks outside of the heap */
+  public  static final int DIRECT = 0x0001;
+  /** flag for using canonical code words as keys */
+  public  static final int WORDS  = 0x0002;
+  /** flag for pre-screening look-ups with a Bloom filter */
+  public  static final int FILTER = 0x0004;
+  /** the number of bits for the offset of a record in a block */
+  private static final int BITS  = 18;
+  /** the size of a block (number of integers) */
+  private static final int BLOCK = 1 << BITS;
+  /** the mask for the offset of a record in a block */
+  private static final int MASK  = BLOCK -1;
+  /** the size of the header of a record (number of integers) */
+  private static final int HEAD  = 11;
+  /** the size of the header of a code word record */
+  private static final int WHEAD = 9;
+  /** the initial number of hash bins */
+  private static final int BINS  = 1023;
+  /** the number of filter bits per hash bin (power of 2) */
+  private static final int FBITS = 16;
+  /** the number of bits that are set per fragment in the filter */
+  private static final int PROBES = 4;
+
+  /*------------------------------------------------------------------*/
+  /*  instance variables                                              */
+  /*------------------------------------------------------------------*/
+  /** the hash bins (addresses of the first records, -1: empty) */
+  private int[]       bins;
+  /** the number of fragments in the repository */
+  private int         size;
+  /** the number of fragments at which to rehash the repository */
+  private int         limit;
+  /** the blocks of encoded fragments */
+  private IntBuffer[] blocks;
+  /** the number of used blocks (the last may be partially filled) */
+  private int         cnt;
+  /** the fill of the current (last used) block */
+  private int         fill;
+  /** the number of allocated blocks that are not spilled */
+  private int         mcnt;
+  /** the number of integers used by the stored fragments */
+  private long        used;
+  /** the memory budget (in bytes, 0: no limit) */
+  private long        budget;
+  /** whether to allocate the blocks outside of the heap */
+  private boolean     direct;
+  /** the temporary file for spilled blocks */
+  private File        file;
+  /** the channel to the file for spilled blocks */
+  private FileChannel chn;
+  /** the number of spilled blocks (mapped into memory) */
+  private int         spilled;
+  /** buffer for the edge identifiers of a fragment */
+  private int[]       ids;
+  /** the extension defining the canonical form for code word keys
+   *  (<code>null</code> if edge identifiers are used) */
+  private Extension   cnf;
+  /** the Bloom filter for the fingerprints of the stored fragments
+   *  (<code>null</code> if no filter is used) */
+  private long[]      filter;
+  /** the mask for the bit indices of the Bloom filter */
+  private int         fmask;
+  /** the maximum number of fragments in the repository */
+  private int         maxsize;
+  /** the maximum memory used by the repository (in bytes) */
+  private long        maxmem;
+  /** for benchmarking: the number of comparisons with fragments */
+  protected long      cmpcnt;
+  /** for benchmarking: the number of actual isomorphism tests */
+  protected long      isocnt;
+  /** for benchmarking: the number of comparisons with embeddings */
+  protected long      embcmps;
+  /** for benchmarking: the number of look-ups rejected by the filter */
+  protected long      fltneg;
+  /** for benchmarking: the number of look-ups passed by the filter */
+  protected long      fltpos;
+  /** for benchmarking: the number of false positives of the filter */
+  protected long      fltfp;
+
+  /*------------------------------------------------------------------*/
+  /** Create an (empty) repository.
+   *  @param  budget the memory budget (in bytes, 0: no limit)
+   *  @param  flags  the repository flags, which may be a combination
+   *                 of the flags <code>DIRECT</code> (allocate memory
+   *                 outside of the heap), <code>WORDS</code> (use
+   *                 canonical code words as keys) and
+   *                 <code>FILTER</code> (use a Bloom filter)
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  public Repository (long budget, int flags)
+  {                             /* --- create a repository */
+    this.cnf     = ((flags & WORDS) != 0) ? new MaxSrcExt() : null;
+    this.budget  = (budget > 0) ? budget : 0;
+    this.direct  = (flags & DIRECT) != 0;  /* note memory parameters */
+    this.bins    = new int[BINS];
+    Arrays.fill(this.bins, -1); /* create an empty bin array */
+    this.limit   = (int)(BINS *0.75);
+    this.blocks  = new IntBuffer[16];
+    this.cnt     = this.mcnt = this.spilled = this.size = 0;
+    this.used    = 0;           /* there are no fragments yet */
+    this.fill    = BLOCK;       /* there is no current block yet */
+    this.ids     = new int[64]; /* create an edge identifier buffer */
+    this.maxsize = 0; this.maxmem = 0;
+    this.cmpcnt  = this.isocnt = this.embcmps = 0;
+    this.fltneg  = this.fltpos = this.fltfp   = 0;
+    if ((flags & FILTER) != 0)  /* if to use a Bloom filter, */
+      this.refilter();          /* create an empty filter */
+  }  /* Repository() */
+
+  /*------------------------------------------------------------------*/
+  /** Clear the repository (remove all fragments).
+   *  <p>The allocated blocks (and the bin array) are kept and reused,
+   *  the benchmark counters are not reset.</p>
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  public void clear ()
+  {                             /* --- clear the repository */
+    Arrays.fill(this.bins, -1); /* clear the hash bins */
+    if (this.filter != null)    /* and the Bloom filter */
+      Arrays.fill(this.filter, 0);
+    this.size = this.cnt = 0;   /* and reset the block usage */
+    this.used = 0;              /* (there is no current block, */
+    this.fill = BLOCK;          /* but the blocks are kept) */
+  }  /* clear() */
+
+  /*------------------------------------------------------------------*/
+  /** Close the repository (release all memory and the spill file).
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  public void close ()
+  {                             /* --- close the repository */
+    this.clear();               /* clear the repository and */
+    this.blocks = new IntBuffer[16];  /* "delete" all blocks */
+    this.mcnt   = this.spilled = 0;
+    if (this.chn != null) {     /* if there is a spill file, */
+      try { this.chn.close(); } /* close and delete it */
+      catch (IOException e) {}
+      this.file.delete();
+      this.chn  = null; this.file = null;
+    }                           /* (errors on closing are ignored, */
+  }  /* close() */              /* the file is deleted on exit) */
+
+  /*------------------------------------------------------------------*/
+  /** Get the number of fragments in the repository.
+   *  @return the number of fragments in the repository
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  public int size ()
+  { return this.size; }
+
+  /*------------------------------------------------------------------*/
+  /** Get the maximum number of fragments in the repository.
+   *  <p>The maximum is taken over the whole lifetime of the repository,
+   *  including the times before it was cleared.</p>
+   *  @return the maximum number of fragments in the repository
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  public int getMaxSize ()
+  { return this.maxsize; }
+
+  /*------------------------------------------------------------------*/
+  /** Get the memory currently used by the repository.
+   *  <p>This comprises the hash bin array, the Bloom filter (if any)
+   *  and the encoded fragments (regardless of whether they are stored
+   *  in spilled blocks or not), but not the unused parts of the
+   *  allocated blocks.</p>
+   *  @return the memory used by the repository (in bytes)
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  public long getMemory ()
+  {                             /* --- get the used memory */
+    return 4L *this.bins.length +4L *this.used
+         + ((this.filter != null) ? 8L *this.filter.length : 0);
+  }  /* getMemory() */
+
+  /*------------------------------------------------------------------*/
+  /** Get the maximum memory used by the repository.
+   *  @return the maximum memory used by the repository (in bytes)
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  public long getMaxMemory ()
+  { return this.maxmem; }
+
+  /*------------------------------------------------------------------*/
+  /** Get the size of the spilled part of the repository.
+   *  @return the size of the spill file (in bytes)
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  public long getSpilled ()
+  { return 4L *BLOCK *this.spilled; }
+
+  /*------------------------------------------------------------------*/
+  /** Reorganize the repository.
+   *  <p>The hash bin array is enlarged and the fragments are rehashed
+   *  to achieve faster access.</p>
+   *  @since  2006.11.03 (Christian Borgelt) */
+  /*------------------------------------------------------------------*/
+
+  private void rehash ()
+  {                             /* --- reorganize the repository */
+    int   i, k;                 /* loop variable, hash bin index */
+    int   n;                    /* new number of hash bins */
+    int[] buf;                  /* buffer for reallocation */
+    int   e, t;                 /* to traverse the hash bin lists */
+
+    n   = (this.bins.length << 1) +1;
+    buf = new int[n];           /* allocate a new hash bin array */
+    Arrays.fill(buf, -1);       /* and clear all hash bins */
+    for (i = this.bins.length; --i >= 0; ) {
+      e = this.bins[i];         /* traverse the nonempty bins */
+      while (e >= 0) {          /* of the old bin array */
+        t = e; e = this.get(e); /* get the next hash bin element */
+        this.set(t, buf[k = this.get(t+1) % n]);
+        buf[k] = t;             /* add the element at the head */
+      }                         /* of the approriate hash bin list */
+    }                           /* in the new hash bin array */
+    this.bins  = buf;           /* set the new hash bin array */
+    this.limit = (int)(n*0.75); /* and the new rehashing threshold */
+    if (this.filter != null)    /* enlarge the Bloom filter */
+      this.refilter();          /* to keep the false positive rate */
+  }  /* rehash() */
+
+  /*------------------------------------------------------------------*/
+  /** Create the Bloom filter for the current number of hash bins.
+   *  <p>The fingerprints of all stored fragments are entered into the
+   *  new filter.</p>
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  private void refilter ()
+  {                             /* --- (re)create the Bloom filter */
+    int i, n;                   /* loop variable, number of bits */
+    int r;                      /* to traverse the hash bin lists */
+
+    for (n = 64; n < this.bins.length *FBITS; n <<= 1);
+    this.filter = new long[n >>> 6];
+    this.fmask  = n-1;          /* create an empty filter */
+    for (i = this.bins.length; --i >= 0; )
+      for (r = this.bins[i]; r >= 0; r = this.get(r))
+        this.mark(this.fingerprint(r));
+  }  /* refilter() */           /* enter all stored fragments */
+
+  /*------------------------------------------------------------------*/
+  /** Enter a fingerprint into the Bloom filter.
+   *  <p>The bit indices are computed with double hashing from the
+   *  lower and the upper half of the fingerprint.</p>
+   *  @param  fp the fingerprint to enter
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  private void mark (long fp)
+  {                             /* --- enter a fingerprint */
+    int i, b;                   /* loop variable, bit index */
+    int h = (int)fp;            /* first  hash value */
+    int d = (int)(fp >>> 32) | 1;  /* second hash value (odd) */
+
+    for (i = PROBES; --i >= 0; h += d) {
+      b = h & this.fmask; this.filter[b >>> 6] |= 1L << b; }
+  }  /* mark() */
+
+  /*------------------------------------------------------------------*/
+  /** Check whether a fingerprint may be in the Bloom filter.
+   *  @param  fp the fingerprint to check
+   *  @return whether the fingerprint may be in the filter
+   *          (<code>false</code> if it is certainly not)
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  private boolean test (long fp)
+  {                             /* --- check a fingerprint */
+    int i, b;                   /* loop variable, bit index */
+    int h = (int)fp;            /* first  hash value */
+    int d = (int)(fp >>> 32) | 1;  /* second hash value (odd) */
+
+    for (i = PROBES; --i >= 0; h += d) {
+      b = h & this.fmask;       /* check all bits of the fingerprint */
+      if ((this.filter[b >>> 6] & (1L << b)) == 0) return false; }
+    return true;                /* return 'fingerprint may be in' */
+  }  /* test() */
+
+  /*------------------------------------------------------------------*/
+  /** Get the fingerprint of an encoded fragment.
+   *  @param  addr the address of the record
+   *  @return the fingerprint of the fragment
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  private long fingerprint (int addr)
+  { return ((long)this.get(addr+3) << 32)
+         | (this.get(addr+2) & 0xffffffffL); }
+
+  /*------------------------------------------------------------------*/
+  /** Get an integer of an encoded fragment.
+   *  @param  addr the address of the integer
+   *  @return the integer at the given address
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  private int get (int addr)
+  { return this.blocks[addr >>> BITS].get(addr & MASK); }
+
+  /*------------------------------------------------------------------*/
+  /** Set an integer of an encoded fragment.
+   *  @param  addr the address of the integer
+   *  @param  val  the value to set
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  private void set (int addr, int val)
+  { this.blocks[addr >>> BITS].put(addr & MASK, val); }
+
+  /*------------------------------------------------------------------*/
+  /** Allocate memory for an encoded fragment.
+   *  <p>If the current block cannot hold the record, the next block
+   *  is used. If there is no next block, a new one is allocated on
+   *  the heap or outside of the heap or, if this would exceed the
+   *  memory budget, in the spill file.</p>
+   *  @param  n the size of the record (number of integers)
+   *  @return the address of the allocated record
+   *  @throws IOException if the spill file cannot be created
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  private int alloc (int n) throws IOException
+  {                             /* --- allocate a record */
+    IntBuffer[] buf;            /* buffer for reallocation */
+    IntBuffer   blk;            /* new block */
+    long        mem;            /* memory for non-spilled blocks */
+
+    if (n > BLOCK)              /* check the size of the record */
+      throw new IOException("error: fragment too large"
+                           +" for repository");
+    if (this.fill +n <= BLOCK) {/* if the record fits into the block */
+      this.fill += n; return ((this.cnt-1) << BITS) +this.fill -n; }
+    if (this.cnt >= this.blocks.length) {
+      buf = new IntBuffer[this.blocks.length << 1];
+      System.arraycopy(this.blocks, 0, buf, 0, this.cnt);
+      this.blocks = buf;        /* enlarge the block array */
+    }                           /* if necessary */
+    if (this.blocks[this.cnt] == null) {
+      mem = 4L *this.bins.length +4L *BLOCK *(this.mcnt+1);
+      if ((this.budget > 0) && (mem > this.budget))
+        blk = this.spill();     /* if the budget would be exceeded, */
+      else {                    /* spill the block to a file */
+        blk = (this.direct)     /* otherwise allocate the block */
+            ? ByteBuffer.allocateDirect(4 *BLOCK)
+                        .order(ByteOrder.nativeOrder()).asIntBuffer()
+            : IntBuffer.allocate(BLOCK);
+        this.mcnt++;            /* on the heap or outside of it */
+      }                         /* and count it */
+      this.blocks[this.cnt] = blk;
+    }                           /* (reuse blocks after clearing) */
+    this.fill = n;              /* store the record at the start */
+    return (this.cnt++) << BITS;/* of the next block */
+  }  /* alloc() */
+
+  /*------------------------------------------------------------------*/
+  /** Create a block in the spill file.
+   *  @return the created block (mapped into memory)
+   *  @throws IOException if the spill file cannot be created
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  private IntBuffer spill () throws IOException
+  {                             /* --- spill a block to a file */
+    long pos;                   /* position of the block in the file */
+
+    if (this.chn == null) {     /* if there is no spill file yet */
+      this.file = File.createTempFile("moss", ".rep");
+      this.file.deleteOnExit(); /* create a temporary file */
+      this.chn  = new RandomAccessFile(this.file, "rw").getChannel();
+    }                           /* and open a channel to it */
+    pos = 4L *BLOCK *this.spilled++;
+    return this.chn.map(FileChannel.MapMode.READ_WRITE, pos, 4L*BLOCK)
+                   .order(ByteOrder.nativeOrder()).asIntBuffer();
+  }  /* spill() */              /* map the block into memory */
+
+  /*------------------------------------------------------------------*/
+  /** Add a fragment to the repository if it is not yet contained.
+   *  <p>The fragment is compared to the fragments in its hash bin.
+   *  Only if the fingerprint, the graph of the first embedding, the
+   *  support, the number of embeddings and the size coincide, the
+   *  (costly) isomorphism test is carried out, which checks whether
+   *  one of the embeddings of the fragment into the graph uses the
+   *  same set of edges as the stored embedding. If there is a Bloom
+   *  filter, which rejects the fingerprint, the hash bin list is not
+   *  traversed at all.</p>
+   *  @param  frag the fragment to add
+   *  @return whether the fragment was added
+   *          (<code>false</code> if it is already contained)
+   *  @throws IOException if the spill file cannot be created
+   *  @since  2006.06.22 (Christian Borgelt),
+   *          2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  public boolean add (Fragment frag) throws IOException
+  {                             /* --- add a fragment */
+    int       i, k, m, n;       /* loop variables, buffers */
+    int       s;                /* number of nodes of the fragment */
+    int       hash, gid;        /* hash code and graph identifier */
+    long      fp;               /* fingerprint of the fragment */
+    int       r, a;             /* addresses of records */
+    int[]     ids;              /* edge identifiers of a record */
+    Embedding emb;              /* to traverse the embeddings */
+    boolean   found = false;    /* whether the fragment was found */
+
+    fp = frag.fingerprint();    /* compute the fingerprint */
+    if (this.cnf != null)       /* if to use code words as keys, */
+      return this.addWord(frag, fp);   /* delegate to special func. */
+    hash = (int)(fp ^ (fp >>> 32)) & Integer.MAX_VALUE;
+    i = hash % this.bins.length;/* get the hash bin index */
+    r = this.first(i, fp);      /* and the first record to check */
+    emb = frag.list;            /* get the first embedding */
+    gid = emb.graph.nodes[0].id;/* and the graph identifier */
+    s   = emb.nodes.length;     /* get the number of nodes */
+    m   = emb.edges.length;     /* and the number of edges */
+    if (m > this.ids.length)    /* enlarge the identifier buffer */
+      this.ids = new int[m +(m >> 1)];
+    ids = this.ids;             /* get the identifier buffer */
+    for ( ; r >= 0; r = this.get(r)) {
+      this.cmpcnt++;            /* traverse the hash bin list */
+      if ((this.get(r+1) != hash)
+      ||  (this.fingerprint(r) != fp)
+      ||  (this.get(r+4) != gid)
+      ||  (this.get(r+5) != frag.supp[0])
+      ||  (this.get(r+6) != frag.supp[1])
+      ||  (this.get(r+7) != frag.supp[2])
+      ||  (this.get(r+8) != frag.supp[3])
+      ||  (this.get(r+9) != s)
+      ||  (this.get(r+10) != m))
+        continue;               /* do simple comparisons first */
+      this.isocnt++;            /* count the isomorphism test */
+      for (a = r +HEAD, k = 0; k < m; k++)
+        ids[k] = this.get(a+k); /* get the edge identifiers */
+      emb = frag.list;          /* traverse the embeddings */
+      while ((emb != null) && (emb.graph == frag.list.graph)) {
+        this.embcmps++;         /* count the embedding */
+        for (k = m; --k >= 0; ) /* check for the same set of edges */
+          if (Arrays.binarySearch(ids, 0, m, emb.edges[k].id) < 0)
+            break;
+        if (k < 0) { found = true; break; }
+        emb = emb.succ;         /* if any embedding uses the same */
+      }                         /* edges, the fragment is a duplicate */
+      if (found) return false;  /* in the underlying graph */
+    }                           /* and evaluate the test result */
+    emb = frag.list;            /* get the first embedding */
+    for (k = m; --k >= 0; )     /* collect and sort */
+      ids[k] = emb.edges[k].id; /* the edge identifiers */
+    Arrays.sort(ids, 0, m);
+    r = this.alloc(n = HEAD +m);/* allocate a record */
+    this.set(r,   this.bins[i]);/* and encode the fragment */
+    this.set(r+1, hash);
+    this.set(r+2, (int)fp);
+    this.set(r+3, (int)(fp >>> 32));
+    this.set(r+4, gid);
+    this.set(r+5, frag.supp[0]);
+    this.set(r+6, frag.supp[1]);
+    this.set(r+7, frag.supp[2]);
+    this.set(r+8, frag.supp[3]);
+    this.set(r+9, s);
+    this.set(r+10, m);
+    for (k = HEAD; k < n; k++)
+      this.set(r+k, ids[k-HEAD]);
+    this.insert(i, r, n, fp);   /* insert the record */
+    return true;                /* return 'fragment added' */
+  }  /* add() */
+
+  /*------------------------------------------------------------------*/
+  /** Add a fragment to the repository if it is not yet contained,
+   *  using its canonical code word as the key.
+   *  <p>The code word has to be computed even if the Bloom filter
+   *  rejects the fingerprint, because it has to be stored.</p>
+   *  @param  frag the fragment to add
+   *  @param  fp   the fingerprint of the fragment
+   *  @return whether the fragment was added
+   *          (<code>false</code> if it is already contained)
+   *  @throws IOException if the spill file cannot be created
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  private boolean addWord (Fragment frag, long fp)
+    throws IOException
+  {                             /* --- add a fragment with code word */
+    int   i, k, m;              /* loop variables, code word length */
+    int   hash;                 /* hash code of the code word */
+    int   r, a;                 /* addresses of records */
+    int[] word;                 /* canonical code word */
+    Graph graph;                /* fragment as a graph */
+
+    graph = new Graph(frag);    /* turn the fragment into a graph, */
+    graph.makeCanonic(this.cnf);/* make the graph canonic, and */
+    m = this.cnf.makeWord(graph, graph.edgecnt);  /* get the */
+    word = this.cnf.word;       /* canonical code word */
+    for (hash = m, k = 0; k < m; k++)
+      hash = hash *31 +word[k]; /* compute the hash code */
+    for (k = 0; k < 4; k++)     /* incorporate the support */
+      hash = hash *31 +frag.supp[k];
+    hash = (hash ^ (hash >>> 16)) & Integer.MAX_VALUE;
+    i = hash % this.bins.length;/* get the hash bin index */
+    r = this.first(i, fp);      /* and the first record to check */
+    for ( ; r >= 0; r = this.get(r)) {
+      this.cmpcnt++;            /* traverse the hash bin list */
+      if ((this.get(r+1) != hash)
+      ||  (this.fingerprint(r) != fp)
+      ||  (this.get(r+4) != m)
+      ||  (this.get(r+5) != frag.supp[0])
+      ||  (this.get(r+6) != frag.supp[1])
+      ||  (this.get(r+7) != frag.supp[2])
+      ||  (this.get(r+8) != frag.supp[3]))
+        continue;               /* do simple comparisons first */
+      this.isocnt++;            /* count the code word comparison */
+      for (a = r +WHEAD, k = 0; k < m; k++)
+        if (this.get(a+k) != word[k]) break;
+      if (k >= m) return false; /* if the code words are equal, */
+    }                           /* the fragment is a duplicate */
+    r = this.alloc(WHEAD +m);   /* allocate a record */
+    this.set(r,   this.bins[i]);/* and store the code word */
+    this.set(r+1, hash);
+    this.set(r+2, (int)fp);
+    this.set(r+3, (int)(fp >>> 32));
+    this.set(r+4, m);
+    this.set(r+5, frag.supp[0]);
+    this.set(r+6, frag.supp[1]);
+    this.set(r+7, frag.supp[2]);
+    this.set(r+8, frag.supp[3]);
+    for (a = r +WHEAD, k = 0; k < m; k++)
+      this.set(a+k, word[k]);
+    this.insert(i, r, WHEAD +m, fp);  /* insert the record */
+    return true;                /* return 'fragment added' */
+  }  /* addWord() */
+
+  /*------------------------------------------------------------------*/
+  /** Get the first record of a hash bin list to compare to.
+   *  <p>If the Bloom filter rejects the fingerprint, the fragment
+   *  cannot be in the repository and thus there is no record to
+   *  compare to. Otherwise the look-up passed the filter, which is
+   *  counted as a (possibly false) positive.</p>
+   *  @param  i  the index of the hash bin
+   *  @param  fp the fingerprint of the fragment
+   *  @return the address of the first record to compare to
+   *          (-1 if there is none)
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  private int first (int i, long fp)
+  {                             /* --- get first record to compare */
+    if (this.filter == null)    /* if there is no filter, */
+      return this.bins[i];      /* return the head of the list */
+    if (!this.test(fp)) { this.fltneg++; return -1; }
+    this.fltpos++;              /* count a look-up passing the filter */
+    return this.bins[i];        /* and return the head of the list */
+  }  /* first() */
+
+  /*------------------------------------------------------------------*/
+  /** Insert a new record into the repository.
+   *  @param  i  the index of the hash bin
+   *  @param  r  the address of the record
+   *  @param  n  the size of the record (number of integers)
+   *  @param  fp the fingerprint of the fragment
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  private void insert (int i, int r, int n, long fp)
+  {                             /* --- insert a new record */
+    if (this.filter != null) {  /* if there is a Bloom filter */
+      if (this.test(fp)) this.fltfp++;
+      this.mark(fp);            /* count a false positive and */
+    }                           /* enter the fingerprint */
+    this.used += n;             /* update the used memory */
+    this.bins[i] = r;           /* add the new fragment at the head */
+    if (++this.size > this.limit)   /* of the hash bin list and */
+      this.rehash();            /* reorganize hash table if necessary */
+    this.update();              /* update the maximum size/memory */
+  }  /* insert() */
+
+  /*------------------------------------------------------------------*/
+  /** Update the maximum size and the maximum memory.
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  private void update ()
+  {                             /* --- update maximum size/memory */
+    long mem = this.getMemory();/* get the currently used memory */
+    if (this.size > this.maxsize) this.maxsize = this.size;
+    if (mem       > this.maxmem)  this.maxmem  = mem;
+  }  /* update() */
+
+}  /* class Repository */
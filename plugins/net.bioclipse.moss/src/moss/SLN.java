@@ -24,6 +24,7 @@
             2007.06.26 charge parsing improved
             2007.07.02 buffers for creating descriptions added
             2007.07.05 loop check added (it must be src != dst)
+            2026.10.17 parsing from character buffers added
 ----------------------------------------------------------------------*/
 package moss;
 
@@ -270,17 +271,16 @@ public boolean isLine ()
   }  /* parse() */
   
   /*------------------------------------------------------------------*/
-  /** Parse a description of a molecule.
-   *  @param  reader the reader to read from
+  /** Parse the description of a molecule.
+   *  <p>The reader or the character buffer to read from must have
+   *  been set before this function is called.</p>
    *  @return the parsed molecule
    *  @throws IOException if a parse error or an i/o error occurs
-   *  @since  2006.08.12 (Christian Borgelt) */
+   *  @since  2026.10.17 (The Bioclipse Team) */
   /*------------------------------------------------------------------*/
 
-  @Override
-public Graph parse (Reader reader) throws IOException
+  private Graph parse () throws IOException
   {                             /* --- parse a molecule description */
-    this.setReader(reader);     /* note the reader */
     for (int i = this.labels.length; --i >= 0; )
       this.labels[i] = -1;      /* clear the label to node index map */
     this.mol = new Graph(this); /* create a new molecule */
@@ -290,6 +290,34 @@ public Graph parse (Reader reader) throws IOException
     return this.mol;            /* return the created molecule */
   }  /* parse() */
 
+  /*------------------------------------------------------------------*/
+  /** Parse a description of a molecule.
+   *  @param  reader the reader to read from
+   *  @return the parsed molecule
+   *  @throws IOException if a parse error or an i/o error occurs
+   *  @since  2006.08.12 (Christian Borgelt) */
+  /*------------------------------------------------------------------*/
+
+  @Override
+public Graph parse (Reader reader) throws IOException
+  { this.setReader(reader); return this.parse(); }
+
+  /*------------------------------------------------------------------*/
+  /** Parse the description of a molecule.
+   *  <p>The description is read directly from the character buffer,
+   *  that is, without the indirection through a reader.</p>
+   *  @param  chars the character buffer containing the description
+   *  @param  off   the start of the description
+   *  @param  len   the length of the description
+   *  @return the parsed molecule
+   *  @throws IOException if a parse error occurs
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  @Override
+public Graph parse (char[] chars, int off, int len) throws IOException
+  { this.setChars(chars, off, len); return this.parse(); }
+
   /*------------------------------------------------------------------*/
   /** Create a description of an atom.
    *  @param  type  the type  of the atom
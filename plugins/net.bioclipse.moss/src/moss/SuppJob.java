@@ -0,0 +1,148 @@
+/*******************************************************************************
+ *Copyright (c) 2008 The Bioclipse Team and others.
+ *All rights reserved. This program and the accompanying materials
+ *are made available under the terms of the Eclipse Public License v1.0
+ *which accompanies this distribution, and is available at
+ *http://www.eclipse.org/legal/epl-v10.html
+ *
+ *******************************************************************************/
+/*----------------------------------------------------------------------
+  File    : SuppJob.java
+  Contents: class for jobs of parallel support computations
+  Author  : The Bioclipse Team
+  History : 2026.10.17 file created
+----------------------------------------------------------------------*/
+package moss;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*--------------------------------------------------------------------*/
+/** Class for a job of a parallel support computation.
+ *  <p>A job refers to the embeddings of a fragment, which are grouped
+ *  into runs of embeddings into the same graph. The runs are claimed
+ *  one by one by the threads that execute the job, so that the load
+ *  is balanced automatically. Each thread sums its contributions in
+ *  a private array, which is added to the result when the thread has
+ *  no more runs to process. Since the contributions are integers,
+ *  the result does not depend on the order of the runs.</p>
+ *  @author The Bioclipse Team
+ *  @since  2026.10.17 */
+/*--------------------------------------------------------------------*/
+abstract class SuppJob implements Runnable {
+
+  /*------------------------------------------------------------------*/
+  /*  instance variables                                              */
+  /*------------------------------------------------------------------*/
+  /** the embeddings of the fragment (grouped by graph) */
+  protected Embedding[]   embs;
+  /** the start indices of the graph runs (with a final sentinel) */
+  protected int[]         runs;
+  /** the number of graph runs */
+  protected int           cnt;
+  /** the summed contributions of the graph runs */
+  protected int[]         sums;
+  /** the index of the next graph run to process */
+  private   AtomicInteger next;
+  /** the number of threads that are executing the job */
+  private   int           active;
+  /** whether the job has been closed (no more threads may start) */
+  private   boolean       closed;
+  /** the first error that occurred in one of the threads */
+  private   RuntimeException error;
+
+  /*------------------------------------------------------------------*/
+  /** Create a job of a parallel support computation.
+   *  @param  embs the embeddings of the fragment (grouped by graph)
+   *  @param  runs the start indices of the graph runs
+   *               (<code>runs[cnt]</code> must be the number of
+   *               embeddings)
+   *  @param  cnt  the number of graph runs
+   *  @param  size the number of values to sum
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  protected SuppJob (Embedding[] embs, int[] runs, int cnt, int size)
+  {                             /* --- create a support job */
+    this.embs   = embs;         /* store the embeddings */
+    this.runs   = runs;         /* and the graph runs */
+    this.cnt    = cnt;
+    this.sums   = new int[size];/* create the result array */
+    this.next   = new AtomicInteger(0);
+    this.active = 0;            /* no thread is executing the job */
+    this.closed = false;        /* and it is still open */
+    this.error  = null;
+  }  /* SuppJob() */
+
+  /*------------------------------------------------------------------*/
+  /** Claim the next graph run.
+   *  @return the index of the claimed graph run; if this index is not
+   *          less than <code>cnt</code>, all runs have been claimed
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  protected int claim ()
+  { return this.next.getAndIncrement(); }
+
+  /*------------------------------------------------------------------*/
+  /** Process graph runs until all runs have been claimed.
+   *  @param  sums the array in which to sum the contributions
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  protected abstract void work (int[] sums);
+
+  /*------------------------------------------------------------------*/
+  /** Execute the job (in the current thread).
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  public void run ()
+  {                             /* --- execute the job */
+    int[] sums;                 /* private sums of the thread */
+
+    synchronized (this) {       /* if the job has been closed, */
+      if (this.closed) return;  /* there is nothing left to do, */
+      this.active++;            /* otherwise count the thread */
+    }
+    sums = new int[this.sums.length];
+    try { this.work(sums); }    /* process graph runs */
+    catch (RuntimeException e) {
+      synchronized (this) { if (this.error == null) this.error = e; } }
+    finally {                   /* note the first error */
+      synchronized (this) {     /* add the private sums */
+        for (int i = sums.length; --i >= 0; )
+          this.sums[i] += sums[i];
+        this.active--;          /* uncount the thread and */
+        this.notifyAll();       /* wake up the waiting thread */
+      }
+    }
+  }  /* run() */
+
+  /*------------------------------------------------------------------*/
+  /** Close the job and wait for all executing threads.
+   *  <p>Threads that start the job after it has been closed return
+   *  immediately (all graph runs have been claimed at this point).
+   *  The waiting is not interruptible, because the result must be
+   *  complete; an interruption is passed on to the current thread.
+   *  </p>
+   *  @return the summed contributions of the graph runs
+   *  @throws RuntimeException if an error occurred in one of
+   *          the threads that executed the job
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  protected synchronized int[] await ()
+  {                             /* --- wait for the threads */
+    boolean intr = false;       /* whether the thread was interrupted */
+
+    this.closed = true;         /* close the job and wait */
+    while (this.active > 0) {   /* for the executing threads */
+      try { this.wait(); }
+      catch (InterruptedException e) { intr = true; }
+    }
+    if (intr) Thread.currentThread().interrupt();
+    if (this.error != null) throw this.error;
+    return this.sums;           /* return the summed contributions */
+  }  /* await() */
+
+}  /* class SuppJob */
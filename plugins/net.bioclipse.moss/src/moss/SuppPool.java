@@ -0,0 +1,96 @@
+/*******************************************************************************
+ *Copyright (c) 2008 The Bioclipse Team and others.
+ *All rights reserved. This program and the accompanying materials
+ *are made available under the terms of the Eclipse Public License v1.0
+ *which accompanies this distribution, and is available at
+ *http://www.eclipse.org/legal/epl-v10.html
+ *
+ *******************************************************************************/
+/*----------------------------------------------------------------------
+  File    : SuppPool.java
+  Contents: class for a thread pool for parallel support computations
+  Author  : The Bioclipse Team
+  History : 2026.10.17 file created
+----------------------------------------------------------------------*/
+package moss;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/*--------------------------------------------------------------------*/
+/** Class for a thread pool for parallel support computations.
+ *  <p>For the support types that are not simply the number of graphs
+ *  (maximum independent set sizes of overlap graphs and minimum
+ *  numbers of node images), the contributions of the graphs can be
+ *  computed independently. If a fragment occurs in many graphs,
+ *  these contributions are computed by the threads of this pool
+ *  together with the thread that requests the support (see
+ *  <code>Fragment.computeSupport(int, SuppPool)</code>).</p>
+ *  <p>The requesting thread always takes part in the computation and
+ *  only waits for pool threads that have actually started the job.
+ *  Hence the pool may be shared by the worker threads of a parallel
+ *  search without the danger of a deadlock, and a busy pool merely
+ *  reduces the degree of parallelism.</p>
+ *  @author The Bioclipse Team
+ *  @since  2026.10.17 */
+/*--------------------------------------------------------------------*/
+public class SuppPool {
+
+  /*------------------------------------------------------------------*/
+  /*  constants                                                       */
+  /*------------------------------------------------------------------*/
+  /** the minimum number of graphs for a parallel computation */
+  public static final int MINRUNS = 32;
+
+  /*------------------------------------------------------------------*/
+  /*  instance variables                                              */
+  /*------------------------------------------------------------------*/
+  /** the executor that manages the pool threads */
+  private ExecutorService exec;
+  /** the number of pool threads */
+  private int             threads;
+
+  /*------------------------------------------------------------------*/
+  /** Create a thread pool for parallel support computations.
+   *  @param  threads the number of pool threads (in addition to the
+   *                  threads that request support computations)
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  public SuppPool (int threads)
+  {                             /* --- create a thread pool */
+    this.threads = (threads > 1) ? threads : 1;
+    this.exec    = Executors.newFixedThreadPool(this.threads,
+      new ThreadFactory() {     /* create daemon threads */
+        public Thread newThread (Runnable r) {
+          Thread t = new Thread(r, "moss-support");
+          t.setDaemon(true); return t; } });
+  }  /* SuppPool() */
+
+  /*------------------------------------------------------------------*/
+  /** Execute a job with the pool threads and the current thread.
+   *  @param  job the job to execute
+   *  @return the summed contributions of the graph runs
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  protected int[] execute (SuppJob job)
+  {                             /* --- execute a support job */
+    int n = job.cnt -1;         /* get the number of pool threads */
+    if (n > this.threads) n = this.threads;
+    while (--n >= 0)            /* hand the job to the pool threads */
+      this.exec.execute(job);   /* and take part in it */
+    job.run();                  /* in the current thread */
+    return job.await();         /* wait for the pool threads */
+  }  /* execute() */
+
+  /*------------------------------------------------------------------*/
+  /** Shut down the thread pool.
+   *  @since  2026.10.17 (The Bioclipse Team) */
+  /*------------------------------------------------------------------*/
+
+  public void shutdown ()
+  { this.exec.shutdownNow(); }
+
+}  /* class SuppPool */
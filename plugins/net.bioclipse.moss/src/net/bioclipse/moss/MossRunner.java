@@ -103,6 +103,9 @@ public class MossRunner {
             LogUtils.debugTrace(logger, e);
         }
 
+        // One notation parses all molecules (directly from the strings)
+        SMILES smiles = new SMILES();
+
         // Loop over all inputMolecules in mossModel
 //        for (int i = 0; i < mossModel.getInputMolecules().size(); i++) {
             for(InputMolecule mol : mossModel.getInputMolecules()){
@@ -113,12 +116,9 @@ public class MossRunner {
                 // encountered use this print
                 // System.out.println(">> Molecule. id: " + mol.getId() + " ) "
                 // + mol.getDescription());
-                SMILES smiles = new SMILES();
-                StringReader reader = new StringReader(mol.getDescription());
-
                 Graph graph = null;
                 try {
-                    graph = smiles.parse(reader);
+                    graph = smiles.parse(mol.getDescription());
                 } catch (IOException e) {
                     LogUtils.debugTrace(logger, e);
                     System.exit(1);